@@ -16,21 +16,58 @@
 package org.kie.kogito.persistence;
 
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.kie.kogito.persistence.filesystem.FileSystemProcessInstances;
+import org.kie.kogito.persistence.filesystem.SegmentFileProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
  *
  */
-public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
+public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory, AutoCloseable {
 
-    public FileSystemProcessInstances createProcessInstances(Process<?> process) {
-        return new FileSystemProcessInstances(process, Paths.get(path()));
+    private final List<SegmentFileProcessInstances> segmentStores = new CopyOnWriteArrayList<>();
+
+    public MutableProcessInstances<?> createProcessInstances(Process<?> process) {
+        ProcessInstanceMarshallerService marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+        if (segmented()) {
+            SegmentFileProcessInstances instances = new SegmentFileProcessInstances(process, Paths.get(path()), marshaller);
+            segmentStores.add(instances);
+            return instances;
+        }
+        return new FileSystemProcessInstances(process, Paths.get(path()), marshaller,
+                delta() ? FileSystemProcessInstances.DEFAULT_DELTA_COMPACTION_THRESHOLD : 0);
     }
 
     public abstract String path();
 
+    /**
+     * When enabled, updates are appended to the file of every instance as deltas and the file is
+     * rewritten as a full snapshot every {@link FileSystemProcessInstances#DEFAULT_DELTA_COMPACTION_THRESHOLD} updates.
+     */
+    public boolean delta() {
+        return false;
+    }
+
+    /**
+     * When enabled, instances are stored in append only segment files, see {@link SegmentFileProcessInstances}.
+     */
+    public boolean segmented() {
+        return false;
+    }
+
+    /**
+     * Stops the background threads of the segment stores created by this factory and syncs them to disk.
+     */
+    @Override
+    public void close() {
+        segmentStores.forEach(SegmentFileProcessInstances::close);
+        segmentStores.clear();
+    }
 }
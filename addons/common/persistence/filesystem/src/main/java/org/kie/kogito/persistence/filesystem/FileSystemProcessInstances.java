@@ -15,15 +15,25 @@
  */
 package org.kie.kogito.persistence.filesystem;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.TreeSet;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -32,8 +42,11 @@ import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstancePage;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.ProcessInstanceIdentityMap;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,17 +61,36 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
     public static final String PI_DESCRIPTION = "ProcessInstanceDescription";
     public static final String PI_STATUS = "ProcessInstanceStatus";
 
+    /**
+     * Number of deltas after which the file of an instance is rewritten as a plain snapshot.
+     */
+    public static final int DEFAULT_DELTA_COMPACTION_THRESHOLD = 10;
+
+    // a binary process instance never starts with a zero byte, so journal files are told apart from plain snapshots
+    private static final byte[] JOURNAL_HEADER = { 0x00, 'K', 'D', 1 };
+
     private Process<?> process;
     private Path storage;
 
     private ProcessInstanceMarshallerService marshaller;
+    private int deltaCompactionThreshold;
 
     public FileSystemProcessInstances(Process<?> process, Path storage) {
         this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
     }
 
     public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller) {
+        this(process, storage, marshaller, 0);
+    }
+
+    /**
+     * @param deltaCompactionThreshold when greater than zero, updates append the changes since the previous write
+     *        to the file of the instance instead of rewriting it. Once the given number of deltas is reached the
+     *        file is rewritten as a plain snapshot.
+     */
+    public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller, int deltaCompactionThreshold) {
         this.process = process;
+        this.deltaCompactionThreshold = deltaCompactionThreshold;
         this.storage = Paths.get(storage.toString(), process.id());
         this.marshaller = marshaller;
 
@@ -81,6 +113,10 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
 
     @Override
     public Optional findById(String id, ProcessInstanceReadMode mode) {
+        return ProcessInstanceIdentityMap.findById(process, id, mode, key -> load(key, mode));
+    }
+
+    private Optional load(String id, ProcessInstanceReadMode mode) {
         Path processInstanceStorage = Paths.get(storage.toString(), id);
 
         if (Files.notExists(processInstanceStorage)) {
@@ -103,6 +139,37 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public ProcessInstancePage find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return ProcessInstancePage.scan(query, (after, offset, limit) -> findPageInternal(after, offset, limit, mode));
+    }
+
+    private List findPageInternal(String after, int offset, int limit, ProcessInstanceReadMode mode) {
+        // only file names are kept while listing the directory, contents are read for the selected page
+        NavigableSet<String> ids = new TreeSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(storage)) {
+            for (Path file : stream) {
+                String id = file.getFileName().toString();
+                if (!Files.isDirectory(file) && (after == null || id.compareTo(after) > 0)) {
+                    ids.add(id);
+                    if (ids.size() > offset + limit) {
+                        ids.pollLast();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read process instances ", e);
+        }
+        return ids.stream()
+                .skip(offset)
+                .map(id -> Paths.get(storage.toString(), id))
+                .filter(Files::exists)
+                .map(this::readBytesFromFile)
+                .map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public boolean exists(String id) {
         return Files.exists(Paths.get(storage.toString(), id));
@@ -126,7 +193,11 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         if (isActive(instance)) {
             Path processInstanceStorage = Paths.get(storage.toString(), id);
             if (Files.exists(processInstanceStorage)) {
-                storeProcessInstance(processInstanceStorage, instance);
+                if (deltaCompactionThreshold > 0) {
+                    storeProcessInstanceDelta(processInstanceStorage, instance);
+                } else {
+                    storeProcessInstance(processInstanceStorage, instance);
+                }
             }
         }
     }
@@ -154,9 +225,80 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         }
     }
 
+    protected void storeProcessInstanceDelta(Path processInstanceStorage, ProcessInstance<?> instance) {
+        try {
+            byte[] data = marshaller.marshallProcessInstance(instance);
+            List<byte[]> records = readRecords(Files.readAllBytes(processInstanceStorage));
+            if (records.size() >= deltaCompactionThreshold) {
+                Files.write(processInstanceStorage, data);
+            } else {
+                byte[] base = marshaller.applyDeltas(records.get(0), records.subList(1, records.size()));
+                byte[] delta = marshaller.createDelta(base, data);
+                if (records.size() == 1) {
+                    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(processInstanceStorage)))) {
+                        out.write(JOURNAL_HEADER);
+                        writeRecord(out, records.get(0));
+                        writeRecord(out, delta);
+                    }
+                } else {
+                    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(processInstanceStorage, StandardOpenOption.APPEND)))) {
+                        writeRecord(out, delta);
+                    }
+                }
+            }
+            setMetadata(processInstanceStorage, PI_DESCRIPTION, instance.description());
+            setMetadata(processInstanceStorage, PI_STATUS, String.valueOf(instance.status()));
+
+            disconnect(processInstanceStorage, instance);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to store process instance with id " + instance.id(), e);
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, byte[] record) throws IOException {
+        out.writeInt(record.length);
+        out.write(record);
+    }
+
+    /**
+     * Returns the snapshot followed by the deltas stored in the given file content.
+     */
+    private static List<byte[]> readRecords(byte[] content) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        if (!isJournal(content)) {
+            records.add(content);
+            return records;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(content, JOURNAL_HEADER.length, content.length - JOURNAL_HEADER.length))) {
+            while (in.available() > 0) {
+                byte[] record = new byte[in.readInt()];
+                in.readFully(record);
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private static boolean isJournal(byte[] content) {
+        if (content.length < JOURNAL_HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < JOURNAL_HEADER.length; i++) {
+            if (content[i] != JOURNAL_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected byte[] readBytesFromFile(Path processInstanceStorage) {
         try {
-            return Files.readAllBytes(processInstanceStorage);
+            byte[] content = Files.readAllBytes(processInstanceStorage);
+            if (!isJournal(content)) {
+                return content;
+            }
+            List<byte[]> records = readRecords(content);
+            return marshaller.applyDeltas(records.get(0), records.subList(1, records.size()));
         } catch (IOException e) {
             throw new RuntimeException("Unable to read process instance from " + processInstanceStorage, e);
         }
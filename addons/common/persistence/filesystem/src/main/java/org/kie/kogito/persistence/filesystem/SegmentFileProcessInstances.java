@@ -0,0 +1,620 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.filesystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstancePage;
+import org.kie.kogito.process.ProcessInstanceQuery;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.ProcessInstanceIdentityMap;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
+
+/**
+ * Log structured alternative to {@link FileSystemProcessInstances}, meant for single node deployments
+ * with many instances.
+ * <p>
+ * Every write appends a record (instance id, payload or removal marker, checksum) to the active segment file.
+ * Once the active segment reaches its maximum size it is sealed and memory mapped for reads. The location of the
+ * last record of every instance is kept in memory and rebuilt on startup by replaying the segments, discarding a
+ * torn record at the end of the log. Segments are synced to disk periodically rather than on every write, and
+ * sealed segments mostly made of overwritten records are compacted in background by copying their live records
+ * to the active segment, which is synced before the compacted segment is deleted. Removal markers are carried over
+ * only while an older segment may still hold a value of the removed instance.
+ */
+@SuppressWarnings({ "rawtypes" })
+public class SegmentFileProcessInstances implements MutableProcessInstances, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentFileProcessInstances.class);
+
+    public static final long DEFAULT_MAX_SEGMENT_SIZE = 16L * 1024 * 1024;
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 100;
+    public static final long DEFAULT_COMPACTION_INTERVAL_MILLIS = 30_000;
+    /**
+     * Ratio of live bytes below which a sealed segment is compacted.
+     */
+    public static final double COMPACTION_THRESHOLD = 0.5;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    // key length, value length (-1 for removals) and checksum
+    private static final int HEADER_SIZE = 12;
+    private static final int REMOVED = -1;
+
+    private static class Location {
+
+        private final Segment segment;
+        private final long offset;
+        private final int recordSize;
+        private final int valueSize;
+
+        private Location(Segment segment, long offset, int recordSize, int valueSize) {
+            this.segment = segment;
+            this.offset = offset;
+            this.recordSize = recordSize;
+            this.valueSize = valueSize;
+        }
+    }
+
+    /**
+     * Removal marker that must survive compaction because an older segment may still hold a value of the instance.
+     */
+    private static class Tombstone {
+
+        // id of the segment holding the value that was removed, older segments may hold previous values
+        private final long staleSegment;
+        private Segment segment;
+        private long offset;
+        private int recordSize;
+
+        private Tombstone(long staleSegment) {
+            this.staleSegment = staleSegment;
+        }
+    }
+
+    private static class Segment {
+
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private MappedByteBuffer mapped;
+        private long size;
+        private long liveBytes;
+
+        private Segment(long id, Path path, FileChannel channel, long size) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        private void seal() throws IOException {
+            channel.force(false);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        private byte[] read(long position, int length) throws IOException {
+            byte[] data = new byte[length];
+            if (mapped != null) {
+                ByteBuffer view = mapped.duplicate();
+                view.position((int) position);
+                view.get(data);
+            } else {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new IOException("Unexpected end of segment " + path);
+                    }
+                }
+            }
+            return data;
+        }
+    }
+
+    private final Process<?> process;
+    private final Path storage;
+    private final ProcessInstanceMarshallerService marshaller;
+    private final long maxSegmentSize;
+    private final long syncIntervalMillis;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    // guarded by the write lock
+    private final Map<String, Tombstone> tombstones = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService scheduler;
+    private Segment active;
+    private boolean dirty;
+
+    public SegmentFileProcessInstances(Process<?> process, Path storage) {
+        this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
+    }
+
+    public SegmentFileProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller) {
+        this(process, storage, marshaller, DEFAULT_MAX_SEGMENT_SIZE, DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_COMPACTION_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param syncIntervalMillis interval between syncs of the active segment, when zero every write is synced
+     * @param compactionIntervalMillis interval between compaction runs, when zero segments are never compacted
+     */
+    public SegmentFileProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller, long maxSegmentSize,
+            long syncIntervalMillis, long compactionIntervalMillis) {
+        if (maxSegmentSize <= 0 || maxSegmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be positive and fit in a memory mapped buffer, found " + maxSegmentSize);
+        }
+        this.process = process;
+        this.storage = Paths.get(storage.toString(), process.id());
+        this.marshaller = marshaller;
+        this.maxSegmentSize = maxSegmentSize;
+        this.syncIntervalMillis = syncIntervalMillis;
+        try {
+            Files.createDirectories(this.storage);
+            recover();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to open segment files of process instances in " + this.storage, e);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kogito-segment-files-" + process.id());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (syncIntervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::sync, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        if (compactionIntervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::compact, compactionIntervalMillis, compactionIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Integer size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return index.containsKey(id);
+    }
+
+    @Override
+    public Optional findById(String id, ProcessInstanceReadMode mode) {
+        return ProcessInstanceIdentityMap.findById(process, id, mode, key -> load(key, mode));
+    }
+
+    private Optional load(String id, ProcessInstanceReadMode mode) {
+        byte[] data = read(id);
+        if (data == null) {
+            return Optional.empty();
+        }
+        return Optional.of(unmarshall(data, mode));
+    }
+
+    @Override
+    public Collection values(ProcessInstanceReadMode mode) {
+        List<ProcessInstance> result = new ArrayList<>(index.size());
+        for (String id : index.keySet()) {
+            byte[] data = read(id);
+            if (data != null) {
+                result.add(unmarshall(data, mode));
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ProcessInstancePage find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return ProcessInstancePage.scan(query, (after, offset, limit) -> findPageInternal(after, offset, limit, mode));
+    }
+
+    private List findPageInternal(String after, int offset, int limit, ProcessInstanceReadMode mode) {
+        TreeMap<String, Boolean> ids = new TreeMap<>();
+        for (String id : index.keySet()) {
+            if (after == null || id.compareTo(after) > 0) {
+                ids.put(id, Boolean.TRUE);
+                if (ids.size() > offset + limit) {
+                    ids.pollLastEntry();
+                }
+            }
+        }
+        List<ProcessInstance> result = new ArrayList<>(limit);
+        ids.keySet().stream().skip(offset).forEach(id -> {
+            byte[] data = read(id);
+            if (data != null) {
+                result.add(unmarshall(data, mode));
+            }
+        });
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void create(String id, ProcessInstance instance) {
+        if (isActive(instance)) {
+            byte[] data = marshaller.marshallProcessInstance(instance);
+            lock.writeLock().lock();
+            try {
+                if (index.containsKey(id)) {
+                    throw new ProcessInstanceDuplicatedException(id);
+                }
+                append(id, data);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            disconnect(id, instance);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void update(String id, ProcessInstance instance) {
+        if (isActive(instance)) {
+            byte[] data = marshaller.marshallProcessInstance(instance);
+            lock.writeLock().lock();
+            try {
+                if (!index.containsKey(id)) {
+                    return;
+                }
+                append(id, data);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            disconnect(id, instance);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            if (index.containsKey(id)) {
+                append(id, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Syncs the active segment to disk if it has been written since the last sync.
+     */
+    public void sync() {
+        lock.writeLock().lock();
+        try {
+            if (dirty) {
+                active.channel.force(false);
+                dirty = false;
+            }
+        } catch (IOException e) {
+            LOGGER.error("Error syncing segment {}", active.path, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the live records of the sealed segments that are mostly made of overwritten or removed records.
+     */
+    public void compact() {
+        for (Segment segment : segments.values()) {
+            if (segment != active && segment.liveBytes < segment.size * COMPACTION_THRESHOLD) {
+                lock.writeLock().lock();
+                try {
+                    compact(segment);
+                } catch (IOException e) {
+                    LOGGER.error("Error compacting segment {}", segment.path, e);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                if (segment == active) {
+                    segment.channel.force(false);
+                }
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Error closing segment files in {}", storage, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private ProcessInstance unmarshall(byte[] data, ProcessInstanceReadMode mode) {
+        return mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process);
+    }
+
+    private byte[] read(String id) {
+        lock.readLock().lock();
+        try {
+            Location location = index.get(id);
+            if (location == null) {
+                return null;
+            }
+            return location.segment.read(location.offset + location.recordSize - location.valueSize, location.valueSize);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read process instance with id " + id, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void disconnect(String id, ProcessInstance instance) {
+        Supplier<byte[]> supplier = () -> read(id);
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
+    }
+
+    // must be called holding the write lock
+    private void append(String id, byte[] value) {
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int valueSize = value == null ? 0 : value.length;
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + key.length + valueSize);
+        record.putInt(key.length);
+        record.putInt(value == null ? REMOVED : value.length);
+        record.putInt(checksum(key, value));
+        record.put(key);
+        if (value != null) {
+            record.put(value);
+        }
+        record.flip();
+        try {
+            if (active.size + record.remaining() > maxSegmentSize && active.size > 0) {
+                roll();
+            }
+            long offset = active.size;
+            while (record.hasRemaining()) {
+                active.channel.write(record, offset + record.position());
+            }
+            active.size += record.limit();
+            if (syncIntervalMillis > 0) {
+                dirty = true;
+            } else {
+                active.channel.force(false);
+            }
+            if (value == null) {
+                unindex(id, active, offset, record.limit());
+            } else {
+                index(id, new Location(active, offset, record.limit(), valueSize));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to store process instance with id " + id, e);
+        }
+    }
+
+    private void index(String id, Location location) {
+        Location previous = index.put(id, location);
+        if (previous != null) {
+            previous.segment.liveBytes -= previous.recordSize;
+        }
+        dropTombstone(tombstones.remove(id));
+        location.segment.liveBytes += location.recordSize;
+    }
+
+    private void unindex(String id, Segment segment, long offset, int recordSize) {
+        Location previous = index.remove(id);
+        Tombstone tombstone;
+        if (previous != null) {
+            previous.segment.liveBytes -= previous.recordSize;
+            dropTombstone(tombstones.remove(id));
+            tombstone = new Tombstone(previous.segment.id);
+            tombstones.put(id, tombstone);
+        } else {
+            // a marker carried over by compaction, the instance was already removed by an earlier marker
+            tombstone = tombstones.get(id);
+            if (tombstone == null) {
+                return;
+            }
+            dropTombstone(tombstone);
+        }
+        tombstone.segment = segment;
+        tombstone.offset = offset;
+        tombstone.recordSize = recordSize;
+        segment.liveBytes += recordSize;
+    }
+
+    private static void dropTombstone(Tombstone tombstone) {
+        if (tombstone != null) {
+            tombstone.segment.liveBytes -= tombstone.recordSize;
+        }
+    }
+
+    // markers are only needed while a segment that may hold a value of the removed instance exists
+    private void pruneTombstones() {
+        long oldest = segments.firstKey();
+        Iterator<Tombstone> iterator = tombstones.values().iterator();
+        while (iterator.hasNext()) {
+            Tombstone tombstone = iterator.next();
+            if (tombstone.staleSegment < oldest) {
+                dropTombstone(tombstone);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        active.seal();
+        active = openSegment(active.id + 1);
+    }
+
+    private void compact(Segment segment) throws IOException {
+        if (!segments.containsKey(segment.id)) {
+            return;
+        }
+        ByteBuffer buffer = segment.mapped.duplicate();
+        while (buffer.remaining() >= HEADER_SIZE) {
+            long offset = buffer.position();
+            int keySize = buffer.getInt();
+            int valueSize = buffer.getInt();
+            buffer.getInt();
+            byte[] key = new byte[keySize];
+            buffer.get(key);
+            byte[] value = valueSize == REMOVED ? null : new byte[valueSize];
+            if (value != null) {
+                buffer.get(value);
+            }
+            String id = new String(key, StandardCharsets.UTF_8);
+            Location location = index.get(id);
+            if (value != null && location != null && location.segment == segment && location.offset == offset) {
+                append(id, value);
+            } else if (value == null && location == null && isNeeded(tombstones.get(id), segment, offset)) {
+                append(id, null);
+            }
+        }
+        // the copied records must be on disk before the only other copy is deleted
+        if (dirty) {
+            active.channel.force(false);
+            dirty = false;
+        }
+        segments.remove(segment.id);
+        segment.channel.close();
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete compacted segment {}", segment.path, e);
+        }
+        pruneTombstones();
+        LOGGER.debug("Compacted segment {}", segment.path);
+    }
+
+    private boolean isNeeded(Tombstone tombstone, Segment segment, long offset) {
+        return tombstone != null && tombstone.segment == segment && tombstone.offset == offset
+                && segments.firstKey() <= Math.min(tombstone.staleSegment, segment.id - 1);
+    }
+
+    private void recover() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(storage, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                ids.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        ids.sort(null);
+        for (int i = 0; i < ids.size(); i++) {
+            Segment segment = openSegment(ids.get(i));
+            replay(segment, i == ids.size() - 1);
+            active = segment;
+        }
+        if (active == null) {
+            active = openSegment(0);
+        }
+        for (Segment segment : segments.values()) {
+            if (segment != active) {
+                segment.seal();
+            }
+        }
+    }
+
+    private void replay(Segment segment, boolean last) throws IOException {
+        ByteBuffer buffer = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.size);
+        long valid = 0;
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int keySize = buffer.getInt();
+            int valueSize = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (keySize < 0 || valueSize < REMOVED || (long) keySize + Math.max(valueSize, 0) > buffer.remaining()) {
+                break;
+            }
+            byte[] key = new byte[keySize];
+            buffer.get(key);
+            byte[] value = valueSize == REMOVED ? null : new byte[valueSize];
+            if (value != null) {
+                buffer.get(value);
+            }
+            if (checksum(key, value) != checksum) {
+                break;
+            }
+            int recordSize = HEADER_SIZE + keySize + Math.max(valueSize, 0);
+            String id = new String(key, StandardCharsets.UTF_8);
+            if (value == null) {
+                unindex(id, segment, valid, recordSize);
+            } else {
+                index(id, new Location(segment, valid, recordSize, valueSize));
+            }
+            valid += recordSize;
+        }
+        if (valid < segment.size) {
+            if (!last) {
+                throw new IOException("Corrupted segment " + segment.path + " at offset " + valid);
+            }
+            LOGGER.warn("Discarding incomplete record at the end of segment {}", segment.path);
+            segment.channel.truncate(valid);
+            segment.size = valid;
+        }
+    }
+
+    private Segment openSegment(long id) throws IOException {
+        Path path = storage.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(id, path, channel, channel.size());
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private static int checksum(byte[] key, byte[] value) {
+        CRC32 crc = new CRC32();
+        crc.update(key);
+        if (value != null) {
+            crc.update(value);
+        }
+        return (int) crc.getValue();
+    }
+}
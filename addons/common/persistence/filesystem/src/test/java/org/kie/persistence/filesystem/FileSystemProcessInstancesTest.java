@@ -15,7 +15,14 @@
  */
 package org.kie.persistence.filesystem;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.drools.core.io.impl.ClassPathResource;
 import org.jbpm.process.instance.impl.Action;
@@ -30,6 +37,8 @@ import org.kie.kogito.persistence.filesystem.FileSystemProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstancePage;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.WorkItem;
@@ -124,6 +133,77 @@ class FileSystemProcessInstancesTest {
         assertThat(instances.size()).isZero();
     }
 
+    @Test
+    void testFindPage() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        List<String> ids = IntStream.range(0, 5).mapToObj(i -> {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+            processInstance.start();
+            return processInstance.id();
+        }).sorted().collect(Collectors.toList());
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        ProcessInstancePage<BpmnVariables> page = instances.find(ProcessInstanceQuery.page(1, 2));
+        assertThat(page.instances()).extracting(ProcessInstance::id).containsExactly(ids.get(1), ids.get(2));
+        assertThat(page.continuationToken()).hasValue(ids.get(2));
+
+        page = instances.find(ProcessInstanceQuery.first(3).after(page.continuationToken().get()));
+        assertThat(page.instances()).extracting(ProcessInstance::id).containsExactly(ids.get(3), ids.get(4));
+        assertThat(page.continuationToken()).isEmpty();
+
+        page = instances.find(ProcessInstanceQuery.first(10).withStatus(STATE_COMPLETED));
+        assertThat(page.isEmpty()).isTrue();
+
+        instances.find(ProcessInstanceQuery.first(10), ProcessInstanceReadMode.MUTABLE).instances().forEach(ProcessInstance::abort);
+        assertThat(instances.size()).isZero();
+    }
+
+    @Test
+    void testFindByBusinessKey() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("order-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        process.createInstance("order-2", BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.findByBusinessKey("order-1")).hasValueSatisfying(pi -> assertThat(pi.id()).isEqualTo(processInstance.id()));
+        assertThat(instances.findByBusinessKey("order-3")).isEmpty();
+
+        instances.values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+        assertThat(instances.size()).isZero();
+    }
+
+    @Test
+    void testDeltaUpdates() throws IOException {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        process.setProcessInstancesFactory(new FileSystemProcessInstancesFactory(true));
+        process.configure();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        Path file = Paths.get("target", process.id(), processInstance.id());
+        long snapshotSize = Files.size(file);
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "delta-1")));
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "delta-2")));
+        assertThat(Files.readAllBytes(file)[0]).isZero();
+        assertThat(Files.size(file)).isLessThan(snapshotSize * 3);
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.findById(processInstance.id()))
+                .hasValueSatisfying(pi -> assertThat(pi.variables().toMap()).containsEntry("test", "delta-2"));
+
+        // the update reaching the threshold rewrites the file as a plain snapshot
+        for (int i = 2; i < FileSystemProcessInstances.DEFAULT_DELTA_COMPACTION_THRESHOLD; i++) {
+            processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "compacted-" + i)));
+        }
+        assertThat(Files.readAllBytes(file)[0]).isNotZero();
+        assertThat(instances.findById(processInstance.id()))
+                .hasValueSatisfying(pi -> assertThat(pi.variables().toMap()).containsEntry("test", "compacted-9"));
+
+        instances.values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+        assertThat(instances.size()).isZero();
+    }
+
     @Test
     void testBasicFlow() {
         BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
@@ -234,9 +314,24 @@ class FileSystemProcessInstancesTest {
 
     private class FileSystemProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
+        private final boolean delta;
+
+        FileSystemProcessInstancesFactory() {
+            this(false);
+        }
+
+        FileSystemProcessInstancesFactory(boolean delta) {
+            this.delta = delta;
+        }
+
+        @Override
+        public boolean delta() {
+            return delta;
+        }
+
         @Override
         public FileSystemProcessInstances createProcessInstances(Process<?> process) {
-            FileSystemProcessInstances instances = spy(super.createProcessInstances(process));
+            FileSystemProcessInstances instances = spy((FileSystemProcessInstances) super.createProcessInstances(process));
             return instances;
         }
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.filesystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.auth.SecurityPolicy;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.persistence.filesystem.SegmentFileProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
+import org.kie.kogito.services.identity.StaticIdentityProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ACTIVE;
+import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_COMPLETED;
+
+@SuppressWarnings("unchecked")
+class SegmentFileProcessInstancesTest {
+
+    private static final String STORAGE = "target/segments";
+
+    private SecurityPolicy securityPolicy = SecurityPolicy.of(new StaticIdentityProvider("john"));
+
+    private BpmnProcess createProcess() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new SegmentFileProcessInstancesFactory());
+        process.configure();
+        process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+        return process;
+    }
+
+    @Test
+    void testBasicFlow() {
+        BpmnProcess process = createProcess();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+
+        SegmentFileProcessInstances instances = (SegmentFileProcessInstances) process.instances();
+        assertThat(instances.exists(processInstance.id())).isTrue();
+        assertThat(instances.size()).isOne();
+        assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> instances.create(processInstance.id(), processInstance));
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        assertThat(instances.findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY))
+                .hasValueSatisfying(pi -> assertThat(((ProcessInstance<BpmnVariables>) pi).variables().toMap()).containsEntry("test", "updated"));
+
+        WorkItem workItem = processInstance.workItems(securityPolicy).get(0);
+        processInstance.completeWorkItem(workItem.getId(), null, securityPolicy);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(instances.exists(processInstance.id())).isFalse();
+        assertThat(instances.size()).isZero();
+    }
+
+    @Test
+    void testIndexRebuiltOnStartup() {
+        BpmnProcess process = createProcess();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        ((SegmentFileProcessInstances) process.instances()).close();
+
+        try (SegmentFileProcessInstances reopened = new SegmentFileProcessInstances(process, Paths.get(STORAGE))) {
+            assertThat(reopened.size()).isOne();
+            assertThat(reopened.findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY))
+                    .hasValueSatisfying(pi -> assertThat(((ProcessInstance<BpmnVariables>) pi).variables().toMap()).containsEntry("test", "updated"));
+            reopened.remove(processInstance.id());
+        }
+    }
+
+    @Test
+    void testCompaction() {
+        BpmnProcess process = createProcess();
+        ((SegmentFileProcessInstances) process.instances()).close();
+        try (SegmentFileProcessInstances instances = new SegmentFileProcessInstances(process, Paths.get(STORAGE),
+                ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build(), 4096, 0, 0)) {
+            process.setProcessInstancesFactory(p -> instances);
+            process.configure();
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+            processInstance.start();
+            for (int i = 0; i < 50; i++) {
+                processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "update-" + i)));
+            }
+            instances.compact();
+
+            assertThat(instances.size()).isOne();
+            assertThat(instances.findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY))
+                    .hasValueSatisfying(pi -> assertThat(((ProcessInstance<BpmnVariables>) pi).variables().toMap()).containsEntry("test", "update-49"));
+            processInstance.abort();
+            assertThat(instances.size()).isZero();
+        }
+    }
+
+    @Test
+    void testCompactionDropsObsoleteRemovals() throws IOException {
+        BpmnProcess process = createProcess();
+        ((SegmentFileProcessInstances) process.instances()).close();
+        ProcessInstanceMarshallerService marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+        String removedId;
+        String liveId;
+        try (SegmentFileProcessInstances instances = new SegmentFileProcessInstances(process, Paths.get(STORAGE), marshaller, 4096, 0, 0)) {
+            process.setProcessInstancesFactory(p -> instances);
+            process.configure();
+            ProcessInstance<BpmnVariables> removed = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+            removed.start();
+            for (int i = 0; i < 50; i++) {
+                removed.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "update-" + i)));
+            }
+            removed.abort();
+            ProcessInstance<BpmnVariables> live = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+            live.start();
+            for (int i = 0; i < 50; i++) {
+                live.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "update-" + i)));
+            }
+            removedId = removed.id();
+            liveId = live.id();
+
+            instances.compact();
+            List<Path> segments = segmentFiles(process);
+            instances.compact();
+            assertThat(segmentFiles(process)).isEqualTo(segments);
+        }
+
+        try (SegmentFileProcessInstances reopened = new SegmentFileProcessInstances(process, Paths.get(STORAGE), marshaller, 4096, 0, 0)) {
+            assertThat(reopened.exists(removedId)).isFalse();
+            assertThat(reopened.exists(liveId)).isTrue();
+            reopened.remove(liveId);
+        }
+    }
+
+    @Test
+    void testFactoryClosesSegmentStores() {
+        SegmentFileProcessInstancesFactory factory = new SegmentFileProcessInstancesFactory();
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(factory);
+        process.configure();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        factory.close();
+
+        try (SegmentFileProcessInstances reopened = new SegmentFileProcessInstances(process, Paths.get(STORAGE))) {
+            assertThat(reopened.exists(processInstance.id())).isTrue();
+            reopened.remove(processInstance.id());
+        }
+    }
+
+    private static List<Path> segmentFiles(BpmnProcess process) throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(STORAGE, process.id()))) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static class SegmentFileProcessInstancesFactory extends KogitoProcessInstancesFactory {
+
+        @Override
+        public boolean segmented() {
+            return true;
+        }
+
+        @Override
+        public String path() {
+            return STORAGE;
+        }
+    }
+}
@@ -15,20 +15,35 @@
  */
 package org.kie.kogito.infinispan;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.commons.util.CloseableIterator;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstancePage;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.ProcessInstanceIdentityMap;
+import org.kie.kogito.process.impl.ProcessInstanceMetadata;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
@@ -36,7 +51,16 @@ import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 @SuppressWarnings({ "rawtypes" })
 public class CacheProcessInstances implements MutableProcessInstances {
 
+    private static final String SEPARATOR = "\n";
+    // subscriptions entry recording that the instances stored before the index existed have been indexed
+    private static final String INDEXED = "$indexed";
+
     private final RemoteCache<String, byte[]> cache;
+    // instance id -> event types the instance is listening to, used to update the subscribers of the previous types
+    private final RemoteCache<String, String> subscriptions;
+    // event type -> ids of the instances listening to it, looked up on broadcast signals
+    private final RemoteCache<String, String> subscribers;
+    private volatile boolean indexed;
     private ProcessInstanceMarshallerService marshaller;
     private org.kie.kogito.process.Process<?> process;
     private final boolean lock;
@@ -44,6 +68,8 @@ public class CacheProcessInstances implements MutableProcessInstances {
     public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, boolean lock) {
         this.process = process;
         this.cache = cacheManager.administration().getOrCreateCache(process.id() + "_store", ignoreNullOrEmpty(templateName));
+        this.subscriptions = cacheManager.administration().getOrCreateCache(process.id() + "_subscriptions", ignoreNullOrEmpty(templateName));
+        this.subscribers = cacheManager.administration().getOrCreateCache(process.id() + "_subscribers", ignoreNullOrEmpty(templateName));
         this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
         this.lock = lock;
     }
@@ -55,7 +81,7 @@ public class CacheProcessInstances implements MutableProcessInstances {
 
     @Override
     public Optional<? extends ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
-        return this.lock ? findWithLock(id, mode) : findInternal(id, mode);
+        return ProcessInstanceIdentityMap.findById(process, id, mode, key -> this.lock ? findWithLock(key, mode) : findInternal(key, mode));
     }
 
     private Optional<? extends ProcessInstance> findInternal(String id, ProcessInstanceReadMode mode) {
@@ -85,6 +111,107 @@ public class CacheProcessInstances implements MutableProcessInstances {
                 .collect(Collectors.toList());
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public ProcessInstancePage find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return ProcessInstancePage.scan(query, (after, offset, limit) -> findPageInternal(after, offset, limit, query.eventType(), mode));
+    }
+
+    private List findPageInternal(String after, int offset, int limit, String eventType, ProcessInstanceReadMode mode) {
+        // the remote cache is not ordered, keep only the lowest keys after the cursor while iterating them
+        NavigableSet<String> keys = new TreeSet<>();
+        Consumer<String> collector = key -> {
+            if (after == null || key.compareTo(after) > 0) {
+                keys.add(key);
+                if (keys.size() > offset + limit) {
+                    keys.pollLast();
+                }
+            }
+        };
+        if (eventType == null) {
+            try (CloseableIterator<String> iterator = cache.keySet().iterator()) {
+                iterator.forEachRemaining(collector);
+            }
+        } else {
+            subscribedTo(eventType).forEach(collector);
+        }
+        for (int i = 0; i < offset && !keys.isEmpty(); i++) {
+            keys.pollFirst();
+        }
+        if (this.lock) {
+            return keys.stream()
+                    .map(key -> findWithLock(key, mode))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .collect(Collectors.toList());
+        }
+        Map<String, byte[]> entries = cache.getAll(keys);
+        return keys.stream()
+                .map(entries::get)
+                .filter(Objects::nonNull)
+                .map(data -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process))
+                .collect(Collectors.toList());
+    }
+
+    private Set<String> subscribedTo(String eventType) {
+        ensureIndexed();
+        return split(subscribers.get(eventType));
+    }
+
+    // instances stored before the subscriptions index existed are indexed once, on the first broadcast signal
+    private synchronized void ensureIndexed() {
+        if (indexed) {
+            return;
+        }
+        if (subscriptions.get(INDEXED) == null) {
+            try (CloseableIterator<Map.Entry<String, byte[]>> entries = cache.entrySet().iterator()) {
+                while (entries.hasNext()) {
+                    Map.Entry<String, byte[]> entry = entries.next();
+                    if (!subscriptions.containsKey(entry.getKey())) {
+                        ProcessInstance<?> instance = marshaller.unmarshallReadOnlyProcessInstance(entry.getValue(), process);
+                        subscribe(entry.getKey(), ProcessInstanceMetadata.of(instance).eventTypes());
+                    }
+                }
+            }
+            subscriptions.put(INDEXED, Boolean.TRUE.toString());
+        }
+        indexed = true;
+    }
+
+    private void subscribe(String id, List<String> eventTypes) {
+        Set<String> previous = split(subscriptions.get(id));
+        if (eventTypes.isEmpty()) {
+            if (!previous.isEmpty()) {
+                subscriptions.remove(id);
+            }
+        } else {
+            subscriptions.put(id, String.join(SEPARATOR, eventTypes));
+        }
+        previous.stream().filter(eventType -> !eventTypes.contains(eventType)).forEach(eventType -> updateSubscribers(eventType, ids -> ids.remove(id)));
+        eventTypes.stream().filter(eventType -> !previous.contains(eventType)).forEach(eventType -> updateSubscribers(eventType, ids -> ids.add(id)));
+    }
+
+    // other nodes may update the same event type concurrently, retry until the versioned write succeeds
+    private void updateSubscribers(String eventType, Consumer<Set<String>> change) {
+        boolean updated;
+        do {
+            MetadataValue<String> current = subscribers.getWithMetadata(eventType);
+            Set<String> ids = split(current == null ? null : current.getValue());
+            change.accept(ids);
+            if (current == null) {
+                updated = ids.isEmpty() || subscribers.putIfAbsent(eventType, String.join(SEPARATOR, ids)) == null;
+            } else if (ids.isEmpty()) {
+                updated = subscribers.removeWithVersion(eventType, current.getVersion());
+            } else {
+                updated = subscribers.replaceWithVersion(eventType, String.join(SEPARATOR, ids), current.getVersion());
+            }
+        } while (!updated);
+    }
+
+    private static Set<String> split(String value) {
+        return value == null ? new LinkedHashSet<>() : new LinkedHashSet<>(Arrays.asList(value.split(SEPARATOR)));
+    }
+
     @Override
     public void update(String id, ProcessInstance instance) {
         updateStorage(id, instance, false);
@@ -101,6 +228,7 @@ public class CacheProcessInstances implements MutableProcessInstances {
         } else {
             cache.remove(id);
         }
+        subscribe(id, Collections.emptyList());
     }
 
     protected String ignoreNullOrEmpty(String value) {
@@ -136,6 +264,7 @@ public class CacheProcessInstances implements MutableProcessInstances {
                     cache.put(id, data);
                 }
             }
+            subscribe(id, ProcessInstanceMetadata.of(instance).eventTypes());
             disconnect(id, instance);
         }
     }
@@ -53,6 +53,7 @@ import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STAT
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_COMPLETED;
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ERROR;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.matches;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -70,6 +71,7 @@ public class MockCacheProcessInstancesTest {
         RemoteCache<Object, Object> cache = mock(RemoteCache.class);
         when(cacheManager.administration()).thenReturn(admin);
         when(admin.getOrCreateCache(any(), (String) any())).thenReturn(cache);
+        when(admin.getOrCreateCache(matches(".*_subscri(ptions|bers)"), (String) any())).thenReturn(mock(RemoteCache.class));
 
         when(cache.put(any(), any())).then(invocation -> {
             Object key = invocation.getArgument(0, Object.class);
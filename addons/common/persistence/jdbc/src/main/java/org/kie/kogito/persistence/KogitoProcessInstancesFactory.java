@@ -17,18 +17,23 @@ package org.kie.kogito.persistence;
 
 import javax.sql.DataSource;
 
+import org.kie.kogito.persistence.jdbc.JDBCGroupCommitWriter;
 import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.process.impl.ProcessInstanceSnapshotCache;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
+import org.kie.kogito.serialization.process.impl.LZProcessInstanceCodec;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
  *
  */
-public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
+public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory, AutoCloseable {
 
     private final boolean autoDDL;
     private final DataSource dataSource;
+    private JDBCGroupCommitWriter groupCommitWriter;
 
     protected KogitoProcessInstancesFactory() {
         this(null, true);
@@ -41,8 +46,65 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     public abstract boolean lock();
 
+    /**
+     * When enabled, writes of all the processes are coalesced into batches committed together,
+     * see {@link JDBCGroupCommitWriter}.
+     */
+    public boolean groupCommit() {
+        return false;
+    }
+
+    /**
+     * When enabled, every process keeps a bounded near-cache of the snapshots of its instances,
+     * see {@link ProcessInstanceSnapshotCache}. Cached snapshots are checked against the version stored
+     * in the database before being used, so the cache only takes effect together with {@link #lock()}.
+     */
+    public boolean nearCache() {
+        return false;
+    }
+
+    /**
+     * When enabled, updates only store the changes since the previous write and the full snapshot is
+     * rewritten every {@link JDBCProcessInstances#DEFAULT_DELTA_COMPACTION_THRESHOLD} updates.
+     */
+    public boolean delta() {
+        return false;
+    }
+
+    /**
+     * When enabled, payloads bigger than {@link ProcessInstanceMarshallerService#DEFAULT_COMPRESSION_THRESHOLD}
+     * are compressed with {@link LZProcessInstanceCodec}.
+     */
+    public boolean compression() {
+        return false;
+    }
+
     @Override
     public JDBCProcessInstances createProcessInstances(Process<?> process) {
-        return new JDBCProcessInstances(process, dataSource, autoDDL, lock());
+        ProcessInstanceMarshallerService.Builder marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies();
+        if (compression()) {
+            marshaller.withCompression(new LZProcessInstanceCodec());
+        }
+        return new JDBCProcessInstances(process, dataSource, autoDDL, lock(), groupCommit() ? getGroupCommitWriter() : null,
+                nearCache() ? new ProcessInstanceSnapshotCache() : null, delta() ? JDBCProcessInstances.DEFAULT_DELTA_COMPACTION_THRESHOLD : 0,
+                marshaller.build());
+    }
+
+    protected synchronized JDBCGroupCommitWriter getGroupCommitWriter() {
+        if (groupCommitWriter == null) {
+            groupCommitWriter = new JDBCGroupCommitWriter(dataSource);
+        }
+        return groupCommitWriter;
+    }
+
+    /**
+     * Stops the group commit writer, if any, once the writes already queued are committed.
+     */
+    @Override
+    public synchronized void close() {
+        if (groupCommitWriter != null) {
+            groupCommitWriter.close();
+            groupCommitWriter = null;
+        }
     }
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the writes issued concurrently by different units of work into JDBC batches executed in a single
+ * transaction, so that the database pays one commit for many process instance changes.
+ * <p>
+ * Callers are blocked until the transaction containing their statement is committed and get back the update count
+ * of their own statement. Drivers may not report the count of the statements sent as a JDBC batch, so statements whose
+ * count matters, like the versioned updates used for optimistic locking, are executed on their own within the
+ * shared transaction. If a batch fails, its statements are retried one by one so that a failure only affects the
+ * caller that caused it. Callers wait at most the configured timeout, a statement that is still queued
+ * by then is withdrawn, one that is already being written may still be committed.
+ */
+public class JDBCGroupCommitWriter implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCGroupCommitWriter.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    public static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    @FunctionalInterface
+    public interface StatementBinder {
+
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    private static class WriteRequest {
+
+        private final String sql;
+        private final StatementBinder binder;
+        private final boolean exactCount;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        private WriteRequest(String sql, StatementBinder binder, boolean exactCount) {
+            this.sql = sql;
+            this.binder = binder;
+            this.exactCount = exactCount;
+        }
+    }
+
+    private final DataSource dataSource;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+    private final BlockingQueue<WriteRequest> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean stopped;
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong statements = new AtomicLong();
+
+    public JDBCGroupCommitWriter(DataSource dataSource) {
+        this(dataSource, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public JDBCGroupCommitWriter(DataSource dataSource, int maxBatchSize) {
+        this(dataSource, maxBatchSize, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param timeoutMillis maximum time callers wait for their statement to be committed
+     */
+    public JDBCGroupCommitWriter(DataSource dataSource, int maxBatchSize, long timeoutMillis) {
+        this.dataSource = dataSource;
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+        this.writer = new Thread(this::run, "kogito-jdbc-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Enqueues the statement and waits until the batch containing it is committed.
+     *
+     * @return the update count of the statement, or {@link Statement#SUCCESS_NO_INFO} when the driver
+     *         did not report it
+     */
+    public int execute(String sql, StatementBinder binder) throws SQLException {
+        return execute(sql, binder, false);
+    }
+
+    /**
+     * Enqueues the statement and waits until the batch containing it is committed.
+     *
+     * @param exactCount whether the caller relies on the update count, if so the statement is not sent
+     *        as part of a JDBC batch so that the driver always reports its count
+     * @return the update count of the statement, or {@link Statement#SUCCESS_NO_INFO} when the driver
+     *         did not report it and <code>exactCount</code> is <code>false</code>
+     */
+    public int execute(String sql, StatementBinder binder, boolean exactCount) throws SQLException {
+        if (!running || stopped) {
+            throw new IllegalStateException("JDBC group commit writer has been closed");
+        }
+        WriteRequest request = new WriteRequest(sql, binder, exactCount);
+        queue.add(request);
+        if (stopped) {
+            // the writer exited after the check above, nothing would ever take the request
+            failPending();
+        }
+        try {
+            return request.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            queue.remove(request);
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for group commit", e);
+        } catch (TimeoutException e) {
+            if (queue.remove(request)) {
+                throw new SQLException("Statement not written within " + timeoutMillis + " ms, it has been withdrawn", e);
+            }
+            throw new SQLException("Statement not committed within " + timeoutMillis + " ms, it may still be committed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Error executing statement in group commit", e.getCause());
+        }
+    }
+
+    private void run() {
+        List<WriteRequest> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    WriteRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    write(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    batch.forEach(request -> request.result.completeExceptionally(new SQLException("JDBC group commit writer has been interrupted", e)));
+                    break;
+                } catch (RuntimeException e) {
+                    batch.forEach(request -> request.result.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            running = false;
+            stopped = true;
+            failPending();
+        }
+    }
+
+    private void failPending() {
+        WriteRequest pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new SQLException("JDBC group commit writer has been stopped"));
+        }
+    }
+
+    private void write(List<WriteRequest> batch) {
+        LOGGER.debug("Writing batch of {} statements", batch.size());
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            int[] counts;
+            try {
+                counts = executeBatch(connection, batch);
+                connection.commit();
+                transactions.incrementAndGet();
+                statements.addAndGet(batch.size());
+            } catch (SQLException e) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+                if (batch.size() == 1) {
+                    batch.get(0).result.completeExceptionally(e);
+                } else {
+                    LOGGER.debug("Batch of {} statements failed, executing them one by one", batch.size(), e);
+                    writeOneByOne(connection, batch);
+                }
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(counts[i]);
+            }
+        } catch (SQLException e) {
+            batch.forEach(request -> request.result.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Consecutive statements sharing the same SQL are sent as a single JDBC batch, the original order
+     * is kept so several changes of the same instance within the batch are applied as issued.
+     * Statements requiring an exact update count are executed one by one.
+     */
+    private int[] executeBatch(Connection connection, List<WriteRequest> batch) throws SQLException {
+        int[] counts = new int[batch.size()];
+        int start = 0;
+        while (start < batch.size()) {
+            WriteRequest first = batch.get(start);
+            if (first.exactCount) {
+                try (PreparedStatement statement = connection.prepareStatement(first.sql)) {
+                    first.binder.bind(statement);
+                    counts[start++] = statement.executeUpdate();
+                }
+                continue;
+            }
+            String sql = first.sql;
+            int end = start;
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                while (end < batch.size() && !batch.get(end).exactCount && batch.get(end).sql.equals(sql)) {
+                    batch.get(end).binder.bind(statement);
+                    statement.addBatch();
+                    end++;
+                }
+                int[] result = statement.executeBatch();
+                System.arraycopy(result, 0, counts, start, result.length);
+            }
+            start = end;
+        }
+        return counts;
+    }
+
+    private void writeOneByOne(Connection connection, List<WriteRequest> batch) {
+        for (WriteRequest request : batch) {
+            try (PreparedStatement statement = connection.prepareStatement(request.sql)) {
+                request.binder.bind(statement);
+                request.result.complete(statement.executeUpdate());
+            } catch (SQLException e) {
+                request.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of transactions committed so far.
+     */
+    public long committedTransactions() {
+        return transactions.get();
+    }
+
+    /**
+     * Returns the number of statements committed so far as part of a batch.
+     */
+    public long committedStatements() {
+        return statements.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failPending();
+    }
+}
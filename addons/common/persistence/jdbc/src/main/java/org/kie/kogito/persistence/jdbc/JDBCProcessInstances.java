@@ -20,9 +20,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -32,11 +36,17 @@ import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
 
+import org.kie.kogito.persistence.jdbc.JDBCGroupCommitWriter.StatementBinder;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstancePage;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.ProcessInstanceIdentityMap;
+import org.kie.kogito.process.impl.ProcessInstanceMetadata;
+import org.kie.kogito.process.impl.ProcessInstanceSnapshotCache;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +59,13 @@ public class JDBCProcessInstances implements MutableProcessInstances {
 
     private static final String PAYLOAD = "payload";
 
+    private static final String ID = "id";
+
+    /**
+     * Number of deltas after which the full snapshot of an instance is rewritten and its deltas dropped.
+     */
+    public static final int DEFAULT_DELTA_COMPACTION_THRESHOLD = 10;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(JDBCProcessInstances.class);
 
     private final Process<?> process;
@@ -56,21 +73,78 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     private final boolean autoDDL;
     private final DataSource dataSource;
     private final boolean lock;
-
-    private static final String FIND_ALL = "SELECT payload FROM process_instances WHERE process_id = ?";
-    private static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE id = ?";
-    private static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, version) VALUES (?, ?, ?, ?)";
-    private static final String UPDATE = "UPDATE process_instances SET payload = ? WHERE id = ?";
-    private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = ?, version = ? WHERE id = ? and version = ?";
+    private final JDBCGroupCommitWriter groupCommitWriter;
+    private final ProcessInstanceSnapshotCache snapshotCache;
+    private final int deltaCompactionThreshold;
+
+    private static final String FIND_ALL = "SELECT id, payload FROM process_instances WHERE process_id = ?";
+    private static final String FIND_PAGE = "SELECT id, payload, version FROM process_instances WHERE process_id = ?";
+    private static final String FIND_BY_ID = "SELECT id, payload, version FROM process_instances WHERE id = ?";
+    private static final String EXISTS = "SELECT 1 FROM process_instances WHERE id = ?";
+    private static final String FIND_VERSION = "SELECT version FROM process_instances WHERE id = ?";
+    private static final String METADATA_COLUMNS = "state, business_key, root_process_instance_id, parent_process_instance_id, start_date, last_update, waiting_on, event_types";
+    private static final String METADATA_UPDATE =
+            "state = ?, business_key = ?, root_process_instance_id = ?, parent_process_instance_id = ?, start_date = ?, last_update = ?, waiting_on = ?, event_types = ?";
+    private static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, version, " + METADATA_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE process_instances SET payload = ?, " + METADATA_UPDATE + " WHERE id = ?";
+    private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = ?, version = ?, " + METADATA_UPDATE + " WHERE id = ? and version = ?";
     private static final String DELETE = "DELETE FROM process_instances WHERE id = ?";
     private static final String COUNT = "SELECT COUNT(id) FROM process_instances WHERE process_id = ?";
+    private static final String UPDATE_METADATA = "UPDATE process_instances SET " + METADATA_UPDATE + " WHERE id = ?";
+    private static final String UPDATE_METADATA_WITH_LOCK = "UPDATE process_instances SET version = ?, " + METADATA_UPDATE + " WHERE id = ? and version = ?";
+    private static final String UPDATE_PAYLOAD = "UPDATE process_instances SET payload = ? WHERE id = ?";
+    private static final String FIND_DELTAS = "SELECT process_instance_id, payload FROM process_instance_deltas WHERE process_instance_id = ANY(?) ORDER BY sequence";
+    private static final String DELTAS_STATUS = "SELECT COUNT(sequence) AS count, COALESCE(MAX(sequence), 0) AS sequence FROM process_instance_deltas WHERE process_instance_id = ?";
+    private static final String INSERT_DELTA = "INSERT INTO process_instance_deltas (process_instance_id, sequence, payload) VALUES (?, ?, ?)";
+    private static final String DELETE_DELTAS = "DELETE FROM process_instance_deltas WHERE process_instance_id = ?";
 
     public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock) {
+        this(process, dataSource, autoDDL, lock, null);
+    }
+
+    /**
+     * @param groupCommitWriter when not <code>null</code>, inserts, updates and deletes are coalesced with the ones
+     *        of other concurrent units of work and committed in batches by the given writer
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, JDBCGroupCommitWriter groupCommitWriter) {
+        this(process, dataSource, autoDDL, lock, groupCommitWriter, null);
+    }
+
+    /**
+     * @param snapshotCache when not <code>null</code>, the last snapshot written or read for every instance is kept
+     *        and used to serve lookups and reloads without transferring the payload: only the version stored in the
+     *        database is read, and the snapshot is used when it matches. A version conflict on update evicts the
+     *        cached snapshot. As versions only change when optimistic locking is enabled, the cache is ignored
+     *        when <code>lock</code> is <code>false</code>.
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, JDBCGroupCommitWriter groupCommitWriter,
+            ProcessInstanceSnapshotCache snapshotCache) {
+        this(process, dataSource, autoDDL, lock, groupCommitWriter, snapshotCache, 0);
+    }
+
+    /**
+     * @param deltaCompactionThreshold when greater than zero, updates store only the variables and node instances
+     *        changed since the previous write, in the <code>process_instance_deltas</code> table. Once the given
+     *        number of deltas is reached the full snapshot is rewritten and the deltas are dropped. Every loaded
+     *        instance keeps the state it was read as, which is the base of its next delta. Updates in this
+     *        mode run in their own transaction and are not coalesced by the group commit writer.
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, JDBCGroupCommitWriter groupCommitWriter,
+            ProcessInstanceSnapshotCache snapshotCache, int deltaCompactionThreshold) {
+        this(process, dataSource, autoDDL, lock, groupCommitWriter, snapshotCache, deltaCompactionThreshold,
+                ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
+    }
+
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, JDBCGroupCommitWriter groupCommitWriter,
+            ProcessInstanceSnapshotCache snapshotCache, int deltaCompactionThreshold, ProcessInstanceMarshallerService marshaller) {
         this.dataSource = dataSource;
+        this.deltaCompactionThreshold = deltaCompactionThreshold;
+        this.groupCommitWriter = groupCommitWriter;
+        this.snapshotCache = lock ? snapshotCache : null;
         this.process = process;
         this.autoDDL = autoDDL;
         this.lock = lock;
-        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+        this.marshaller = marshaller;
         init();
     }
 
@@ -109,6 +183,7 @@ public class JDBCProcessInstances implements MutableProcessInstances {
                         })
                         .orElseGet(() -> {
                             LOGGER.info("Table process_instances already exists.");
+                            upgradeTable(connection);
                             return false;
                         });
             }
@@ -124,6 +199,14 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         }
     }
 
+    private void upgradeTable(Connection connection) {
+        try (PreparedStatement prepareStatement = connection.prepareStatement(getQueryFromFile("upgrade_tables"))) {
+            prepareStatement.execute();
+        } catch (SQLException e) {
+            LOGGER.error("Error adding metadata columns to process_instances table", e);
+        }
+    }
+
     private String getQueryFromFile(String scriptName) {
 
         try (InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(String.format("sql/%s.sql", scriptName))) {
@@ -137,26 +220,40 @@ public class JDBCProcessInstances implements MutableProcessInstances {
 
     @Override
     public boolean exists(String id) {
-        return findById(id).isPresent();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(EXISTS)) {
+            statement.setObject(1, UUID.fromString(id));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error checking existence of process instance %s", id);
+        }
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public void create(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            insertInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+            byte[] payload = marshaller.marshallProcessInstance(instance);
+            insertInternal(UUID.fromString(id), payload, ProcessInstanceMetadata.of(instance));
+            cache(id, payload, 1L);
+            keepBase(instance, payload);
+        } else {
+            invalidate(id);
         }
         disconnect(instance);
     }
 
-    private void insertInternal(UUID id, byte[] payload) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(INSERT)) {
-            statement.setObject(1, id);
-            statement.setBytes(2, payload);
-            statement.setString(3, process.id());
-            statement.setLong(4, 1L);
-            statement.executeUpdate();
+    private void insertInternal(UUID id, byte[] payload, ProcessInstanceMetadata metadata) {
+        try {
+            executeUpdate(INSERT, statement -> {
+                statement.setObject(1, id);
+                statement.setBytes(2, payload);
+                statement.setString(3, process.id());
+                statement.setLong(4, 1L);
+                bindMetadata(statement, 5, metadata);
+            });
         } catch (Exception e) {
             throw uncheckedException(e, "Error inserting process instance %s", id);
         }
@@ -166,45 +263,183 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     @Override
     public void update(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            if (lock) {
-                boolean isUpdated = updateWithLock(UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
+            byte[] payload = marshaller.marshallProcessInstance(instance);
+            ProcessInstanceMetadata metadata = ProcessInstanceMetadata.of(instance);
+            if (deltaCompactionThreshold > 0) {
+                byte[] base = ((AbstractProcessInstance<?>) instance).snapshot();
+                boolean isUpdated = updateWithDelta(UUID.fromString(id), base, payload, metadata, instance.version());
+                if (!isUpdated) {
+                    invalidate(id);
+                    throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
+                }
+                cache(id, payload, lock ? instance.version() + 1 : instance.version());
+                keepBase(instance, payload);
+            } else if (lock) {
+                boolean isUpdated = updateWithLock(UUID.fromString(id), payload, metadata, instance.version());
                 if (!isUpdated) {
+                    invalidate(id);
                     throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
                 }
+                cache(id, payload, instance.version() + 1);
             } else {
-                updateInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+                updateInternal(UUID.fromString(id), payload, metadata);
+                cache(id, payload, instance.version());
             }
+        } else {
+            invalidate(id);
         }
         disconnect(instance);
     }
 
-    private void updateInternal(UUID id, byte[] payload) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(UPDATE)) {
-            statement.setBytes(1, payload);
-            statement.setObject(2, id);
-            statement.executeUpdate();
+    private void updateInternal(UUID id, byte[] payload, ProcessInstanceMetadata metadata) {
+        try {
+            executeUpdate(UPDATE, statement -> {
+                statement.setBytes(1, payload);
+                int index = bindMetadata(statement, 2, metadata);
+                statement.setObject(index, id);
+            });
         } catch (Exception e) {
             throw uncheckedException(e, "Error updating process instance %s", id);
         }
     }
 
-    private boolean updateWithLock(UUID id, byte[] payload, long version) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(UPDATE_WITH_LOCK)) {
-            statement.setBytes(1, payload);
-            statement.setLong(2, version + 1);
-            statement.setObject(3, id);
-            statement.setLong(4, version);
-            int count = statement.executeUpdate();
+    private boolean updateWithLock(UUID id, byte[] payload, ProcessInstanceMetadata metadata, long version) {
+        try {
+            int count = executeUpdate(UPDATE_WITH_LOCK, statement -> {
+                statement.setBytes(1, payload);
+                statement.setLong(2, version + 1);
+                int index = bindMetadata(statement, 3, metadata);
+                statement.setObject(index++, id);
+                statement.setLong(index, version);
+            }, true);
             return count == 1;
         } catch (Exception e) {
             throw uncheckedException(e, "Error updating process instance %s", id);
         }
     }
 
+    /**
+     * @param base the state the instance was loaded from, when known, otherwise it is read from the database
+     */
+    private boolean updateWithDelta(UUID id, byte[] base, byte[] payload, ProcessInstanceMetadata metadata, long version) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                // updating the header first locks the row, so deltas of the same instance are written one at a time
+                if (!updateMetadata(connection, id, metadata, version)) {
+                    connection.rollback();
+                    return false;
+                }
+                long count = 0;
+                long sequence = 0;
+                try (PreparedStatement statement = connection.prepareStatement(DELTAS_STATUS)) {
+                    statement.setObject(1, id);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        if (resultSet.next()) {
+                            count = resultSet.getLong("count");
+                            sequence = resultSet.getLong("sequence");
+                        }
+                    }
+                }
+                if (count + 1 >= deltaCompactionThreshold) {
+                    try (PreparedStatement statement = connection.prepareStatement(UPDATE_PAYLOAD)) {
+                        statement.setBytes(1, payload);
+                        statement.setObject(2, id);
+                        statement.executeUpdate();
+                    }
+                    try (PreparedStatement statement = connection.prepareStatement(DELETE_DELTAS)) {
+                        statement.setObject(1, id);
+                        statement.executeUpdate();
+                    }
+                } else {
+                    try (PreparedStatement statement = connection.prepareStatement(INSERT_DELTA)) {
+                        statement.setObject(1, id);
+                        statement.setLong(2, sequence + 1);
+                        statement.setBytes(3, marshaller.createDelta(base != null ? base : findBase(connection, id, version), payload));
+                        statement.executeUpdate();
+                    }
+                }
+                connection.commit();
+                return true;
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error updating process instance %s", id);
+        }
+    }
+
+    private boolean updateMetadata(Connection connection, UUID id, ProcessInstanceMetadata metadata, long version) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(lock ? UPDATE_METADATA_WITH_LOCK : UPDATE_METADATA)) {
+            int index = 1;
+            if (lock) {
+                statement.setLong(index++, version + 1);
+            }
+            index = bindMetadata(statement, index, metadata);
+            statement.setObject(index++, id);
+            if (lock) {
+                statement.setLong(index, version);
+            }
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private byte[] findBase(Connection connection, UUID id, long version) throws SQLException {
+        if (snapshotCache != null) {
+            Optional<byte[]> cached = snapshotCache.get(id.toString())
+                    .filter(snapshot -> snapshot.version() == version)
+                    .map(ProcessInstanceSnapshotCache.Snapshot::payload);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(FIND_BY_ID)) {
+            statement.setObject(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return applyDeltas(connection, Collections.singletonMap(id, resultSet.getBytes(PAYLOAD))).get(id);
+            }
+        }
+    }
+
+    private Map<UUID, byte[]> applyDeltas(Connection connection, Map<UUID, byte[]> snapshots) throws SQLException {
+        if (deltaCompactionThreshold <= 0 || snapshots.isEmpty()) {
+            return snapshots;
+        }
+        Map<UUID, List<byte[]>> deltas = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_DELTAS)) {
+            statement.setArray(1, connection.createArrayOf("uuid", snapshots.keySet().toArray()));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    deltas.computeIfAbsent(resultSet.getObject("process_instance_id", UUID.class), k -> new ArrayList<>()).add(resultSet.getBytes(PAYLOAD));
+                }
+            }
+        }
+        Map<UUID, byte[]> result = new LinkedHashMap<>();
+        snapshots.forEach((id, snapshot) -> result.put(id, marshaller.applyDeltas(snapshot, deltas.getOrDefault(id, Collections.emptyList()))));
+        return result;
+    }
+
+    private static int bindMetadata(PreparedStatement statement, int index, ProcessInstanceMetadata metadata) throws SQLException {
+        statement.setInt(index++, metadata.state());
+        statement.setString(index++, metadata.businessKey());
+        statement.setString(index++, metadata.rootProcessInstanceId());
+        statement.setString(index++, metadata.parentProcessInstanceId());
+        statement.setTimestamp(index++, toTimestamp(metadata.startDate()));
+        statement.setTimestamp(index++, toTimestamp(metadata.lastUpdate()));
+        statement.setString(index++, metadata.waitingOn().isEmpty() ? null : String.join(",", metadata.waitingOn()));
+        statement.setArray(index++, statement.getConnection().createArrayOf("varchar", metadata.eventTypes().toArray()));
+        return index;
+    }
+
+    private static Timestamp toTimestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+
     @Override
     public void remove(String id) {
+        invalidate(id);
         boolean isDeleted = deleteInternal(UUID.fromString(id));
         if (lock && !isDeleted) {
             throw uncheckedException(null, "The document with ID: %s was deleted by other request.", id);
@@ -212,26 +447,46 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     }
 
     private boolean deleteInternal(UUID id) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(DELETE)) {
-            statement.setObject(1, id);
-            int count = statement.executeUpdate();
+        try {
+            int count = executeUpdate(DELETE, statement -> statement.setObject(1, id), lock);
             return count == 1;
         } catch (Exception e) {
             throw uncheckedException(e, "Error deleting process instance %s", id);
         }
+    }
+
+    private int executeUpdate(String sql, StatementBinder binder) throws SQLException {
+        return executeUpdate(sql, binder, false);
+    }
 
+    /**
+     * @param exactCount whether the returned update count is checked, see {@link JDBCGroupCommitWriter#execute(String, StatementBinder, boolean)}
+     */
+    private int executeUpdate(String sql, StatementBinder binder, boolean exactCount) throws SQLException {
+        if (groupCommitWriter != null) {
+            return groupCommitWriter.execute(sql, binder, exactCount);
+        }
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            return statement.executeUpdate();
+        }
     }
 
     @Override
     public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
+        return ProcessInstanceIdentityMap.findById(process, id, mode, key -> load(key, mode));
+    }
+
+    private Optional<ProcessInstance> load(String id, ProcessInstanceReadMode mode) {
         ProcessInstance<?> instance = null;
-        Map<String, Object> map = findByIdInternal(UUID.fromString(id));
+        Map<String, Object> map = findByIdCached(id);
         if (map.containsKey(PAYLOAD)) {
             byte[] b = (byte[]) map.get(PAYLOAD);
             instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process)
                     : marshaller.unmarshallReadOnlyProcessInstance(b, process);
             ((AbstractProcessInstance<?>) instance).setVersion((Long) map.get(VERSION));
+            keepBase(instance, b);
             return Optional.of(instance);
         }
         return Optional.empty();
@@ -243,6 +498,119 @@ public class JDBCProcessInstances implements MutableProcessInstances {
                 .collect(Collectors.toList());
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public ProcessInstancePage find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return ProcessInstancePage.of(query, findPageInternal(query, mode));
+    }
+
+    private List findPageInternal(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        List<ProcessInstance<?>> result = new ArrayList<>(query.limit());
+        StringBuilder sql = new StringBuilder(FIND_PAGE);
+        if (query.after() != null) {
+            sql.append(" AND id > ?");
+        }
+        if (query.status() != null) {
+            sql.append(" AND state = ?");
+        }
+        if (query.businessKey() != null) {
+            sql.append(" AND business_key = ?");
+        }
+        if (query.eventType() != null) {
+            // rows stored before the column existed are not indexed yet, they match until their next update
+            sql.append(" AND (event_types @> ARRAY[?]::varchar[] OR event_types IS NULL)");
+        }
+        sql.append(" ORDER BY id LIMIT ? OFFSET ?");
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            statement.setString(index++, process.id());
+            if (query.after() != null) {
+                statement.setObject(index++, UUID.fromString(query.after()));
+            }
+            if (query.status() != null) {
+                statement.setInt(index++, query.status());
+            }
+            if (query.businessKey() != null) {
+                statement.setString(index++, query.businessKey());
+            }
+            if (query.eventType() != null) {
+                statement.setString(index++, query.eventType());
+            }
+            statement.setInt(index++, query.limit());
+            statement.setInt(index, query.offset());
+            Map<UUID, byte[]> payloads = new LinkedHashMap<>();
+            Map<UUID, Long> versions = new HashMap<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    UUID id = resultSet.getObject(ID, UUID.class);
+                    payloads.put(id, resultSet.getBytes(PAYLOAD));
+                    versions.put(id, resultSet.getLong(VERSION));
+                }
+            }
+            applyDeltas(connection, payloads).forEach((id, b) -> {
+                ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process);
+                ((AbstractProcessInstance<?>) instance).setVersion(versions.get(id));
+                keepBase(instance, b);
+                result.add(instance);
+            });
+            return result;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding process instances page, for processId %s", process.id());
+        }
+    }
+
+    private Map<String, Object> findByIdCached(String id) {
+        if (snapshotCache == null) {
+            return findByIdInternal(UUID.fromString(id));
+        }
+        Optional<ProcessInstanceSnapshotCache.Snapshot> snapshot = snapshotCache.get(id);
+        if (snapshot.isPresent()) {
+            // the instance may have been updated or deleted by another node, check the version before using the snapshot
+            Optional<Long> version = findVersion(UUID.fromString(id));
+            if (version.isEmpty()) {
+                invalidate(id);
+                return Collections.emptyMap();
+            }
+            if (version.get().equals(snapshot.get().version())) {
+                Map<String, Object> result = new HashMap<>();
+                result.put(PAYLOAD, snapshot.get().payload());
+                result.put(VERSION, snapshot.get().version());
+                return result;
+            }
+            invalidate(id);
+        }
+        Map<String, Object> result = findByIdInternal(UUID.fromString(id));
+        if (result.containsKey(PAYLOAD)) {
+            cache(id, (byte[]) result.get(PAYLOAD), (Long) result.get(VERSION));
+        }
+        return result;
+    }
+
+    private void cache(String id, byte[] payload, Long version) {
+        if (snapshotCache != null) {
+            snapshotCache.put(id, payload, version);
+        }
+    }
+
+    private void invalidate(String id) {
+        if (snapshotCache != null) {
+            snapshotCache.invalidate(id);
+        }
+    }
+
+    private Optional<Long> findVersion(UUID id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_VERSION)) {
+            statement.setObject(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getLong(VERSION)) : Optional.empty();
+            }
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding version of process instance %s", id);
+        }
+    }
+
     private Map<String, Object> findByIdInternal(UUID id) {
         Map<String, Object> result = new HashMap<>();
         try (Connection connection = dataSource.getConnection();
@@ -252,7 +620,7 @@ public class JDBCProcessInstances implements MutableProcessInstances {
                 if (resultSet.next()) {
                     Optional<byte[]> b = Optional.ofNullable(resultSet.getBytes(PAYLOAD));
                     if (b.isPresent()) {
-                        result.put(PAYLOAD, b.get());
+                        result.put(PAYLOAD, applyDeltas(connection, Collections.singletonMap(id, b.get())).get(id));
                     }
                     result.put(VERSION, resultSet.getLong(VERSION));
                     return result;
@@ -264,17 +632,17 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return result;
     }
 
-    private List<byte[]> findAllInternal() {
-        List<byte[]> result = new ArrayList<>();
+    private Collection<byte[]> findAllInternal() {
+        Map<UUID, byte[]> result = new LinkedHashMap<>();
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(FIND_ALL)) {
             statement.setString(1, process.id());
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    result.add(resultSet.getBytes(PAYLOAD));
+                    result.put(resultSet.getObject(ID, UUID.class), resultSet.getBytes(PAYLOAD));
                 }
             }
-            return result;
+            return applyDeltas(connection, result).values();
         } catch (Exception e) {
             throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
         }
@@ -305,10 +673,21 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return 0l;
     }
 
+    /**
+     * In delta mode every instance keeps the state it was loaded from or stored as, so that updates compute their
+     * delta without reading the snapshot and the previous deltas back from the database.
+     */
+    private void keepBase(ProcessInstance<?> instance, byte[] payload) {
+        if (deltaCompactionThreshold > 0) {
+            ((AbstractProcessInstance<?>) instance).setSnapshot(payload);
+        }
+    }
+
     private void disconnect(ProcessInstance instance) {
         Supplier<byte[]> supplier = () -> {
-            Map<String, Object> map = findByIdInternal(UUID.fromString(instance.id()));
+            Map<String, Object> map = findByIdCached(instance.id());
             ((AbstractProcessInstance<?>) instance).setVersion((Long) map.get(VERSION));
+            keepBase(instance, (byte[]) map.get(PAYLOAD));
             return (byte[]) map.get(PAYLOAD);
         };
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
@@ -2,9 +2,55 @@ CREATE TABLE process_instances(id uuid NOT NULL,
                                       payload bytea NOT NULL,
                                       process_id character varying NOT NULL,
                                       version bigint,
+                                      state integer,
+                                      business_key character varying,
+                                      root_process_instance_id character varying,
+                                      parent_process_instance_id character varying,
+                                      start_date timestamp,
+                                      last_update timestamp,
+                                      waiting_on character varying,
+                                      event_types character varying[],
                                       CONSTRAINT process_instances_pkey PRIMARY KEY (id)
                                       );
 CREATE INDEX idx_process_instances_process_id ON process_instances
     (
      process_id
-    );
\ No newline at end of file
+    );
+CREATE INDEX idx_process_instances_state ON process_instances
+    (
+     process_id, state
+    );
+CREATE INDEX idx_process_instances_business_key ON process_instances
+    (
+     process_id, business_key
+    );
+CREATE INDEX idx_process_instances_root_id ON process_instances
+    (
+     root_process_instance_id
+    );
+CREATE INDEX idx_process_instances_parent_id ON process_instances
+    (
+     parent_process_instance_id
+    );
+CREATE INDEX idx_process_instances_start_date ON process_instances
+    (
+     process_id, start_date
+    );
+CREATE INDEX idx_process_instances_last_update ON process_instances
+    (
+     process_id, last_update
+    );
+CREATE INDEX idx_process_instances_event_types ON process_instances USING GIN
+    (
+     event_types
+    );
+CREATE INDEX idx_process_instances_unindexed ON process_instances
+    (
+     process_id
+    ) WHERE event_types IS NULL;
+CREATE TABLE process_instance_deltas(process_instance_id uuid NOT NULL,
+                                      sequence bigint NOT NULL,
+                                      payload bytea NOT NULL,
+                                      CONSTRAINT process_instance_deltas_pkey PRIMARY KEY (process_instance_id, sequence),
+                                      CONSTRAINT process_instance_deltas_fkey FOREIGN KEY (process_instance_id) REFERENCES process_instances (id) ON DELETE CASCADE
+                                      );
@@ -0,0 +1,46 @@
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS state integer;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS business_key character varying;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS root_process_instance_id character varying;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS parent_process_instance_id character varying;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS start_date timestamp;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS last_update timestamp;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS waiting_on character varying;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS event_types character varying[];
+CREATE INDEX IF NOT EXISTS idx_process_instances_state ON process_instances
+    (
+     process_id, state
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_business_key ON process_instances
+    (
+     process_id, business_key
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_root_id ON process_instances
+    (
+     root_process_instance_id
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_parent_id ON process_instances
+    (
+     parent_process_instance_id
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_start_date ON process_instances
+    (
+     process_id, start_date
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_last_update ON process_instances
+    (
+     process_id, last_update
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_event_types ON process_instances USING GIN
+    (
+     event_types
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_unindexed ON process_instances
+    (
+     process_id
+    ) WHERE event_types IS NULL;
+CREATE TABLE IF NOT EXISTS process_instance_deltas(process_instance_id uuid NOT NULL,
+                                      sequence bigint NOT NULL,
+                                      payload bytea NOT NULL,
+                                      CONSTRAINT process_instance_deltas_pkey PRIMARY KEY (process_instance_id, sequence),
+                                      CONSTRAINT process_instance_deltas_fkey FOREIGN KEY (process_instance_id) REFERENCES process_instances (id) ON DELETE CASCADE
+                                      );
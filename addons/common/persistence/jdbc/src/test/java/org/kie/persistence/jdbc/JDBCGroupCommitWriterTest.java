@@ -0,0 +1,211 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.jdbc.JDBCGroupCommitWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JDBCGroupCommitWriterTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private PreparedStatement statement;
+    private JDBCGroupCommitWriter writer;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        writer = new JDBCGroupCommitWriter(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.close();
+    }
+
+    @Test
+    void testSingleStatementIsCommitted() throws SQLException {
+        when(statement.executeBatch()).thenReturn(new int[] { 1 });
+
+        assertThat(writer.execute("UPDATE", s -> s.setString(1, "a"))).isOne();
+
+        verify(statement).setString(1, "a");
+        verify(statement).addBatch();
+        verify(connection).setAutoCommit(false);
+        verify(connection).commit();
+    }
+
+    @Test
+    void testConcurrentStatementsAreCoalesced() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        when(statement.executeBatch()).thenAnswer(invocation -> {
+            firstBatchStarted.countDown();
+            releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            return new int[] { 1 };
+        }).thenReturn(new int[] { 1, 0, 1 });
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> execute("a"));
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<Integer>> others = new ArrayList<>();
+        for (String value : new String[] { "b", "c", "d" }) {
+            others.add(CompletableFuture.supplyAsync(() -> execute(value)));
+        }
+        // let the three statements queue up behind the first batch
+        Thread.sleep(200);
+        releaseFirstBatch.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isOne();
+        assertThat(others.stream().mapToInt(CompletableFuture::join).sum()).isEqualTo(2);
+        verify(connection, times(2)).commit();
+    }
+
+    @Test
+    void testFailedBatchIsRetriedOneByOne() throws Exception {
+        when(statement.executeBatch()).thenThrow(new SQLException("duplicated key"));
+        when(statement.executeUpdate()).thenThrow(new SQLException("duplicated key")).thenReturn(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            blocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return connection;
+        }).thenReturn(connection);
+
+        CompletableFuture<Integer> warmup = CompletableFuture.supplyAsync(() -> execute("warmup"));
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> failing = CompletableFuture.supplyAsync(() -> execute("a"));
+        Thread.sleep(100);
+        CompletableFuture<Integer> succeeding = CompletableFuture.supplyAsync(() -> execute("b"));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThatExceptionOfType(Exception.class).isThrownBy(() -> warmup.get(5, TimeUnit.SECONDS));
+        assertThatExceptionOfType(Exception.class).isThrownBy(() -> failing.get(5, TimeUnit.SECONDS));
+        assertThat(succeeding.get(5, TimeUnit.SECONDS)).isOne();
+        verify(connection, times(2)).rollback();
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    void testUnknownCountIsNotReportedAsSuccess() throws SQLException {
+        when(statement.executeBatch()).thenReturn(new int[] { Statement.SUCCESS_NO_INFO });
+
+        assertThat(writer.execute("UPDATE", s -> s.setString(1, "a"))).isEqualTo(Statement.SUCCESS_NO_INFO);
+    }
+
+    @Test
+    void testExactCountStatementIsNotBatched() throws SQLException {
+        when(statement.executeUpdate()).thenReturn(0);
+
+        assertThat(writer.execute("UPDATE", s -> s.setString(1, "a"), true)).isZero();
+
+        verify(statement, never()).addBatch();
+        verify(statement, never()).executeBatch();
+        verify(connection).commit();
+        assertThat(writer.committedTransactions()).isOne();
+        assertThat(writer.committedStatements()).isOne();
+    }
+
+    @Test
+    void testClosedWriterRejectsStatements() {
+        writer.close();
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> writer.execute("UPDATE", s -> {
+        }));
+    }
+
+    @Test
+    void testQueuedStatementIsWithdrawnOnTimeout() throws Exception {
+        writer.close();
+        writer = new JDBCGroupCommitWriter(dataSource, JDBCGroupCommitWriter.DEFAULT_MAX_BATCH_SIZE, 200);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(statement.executeBatch()).thenReturn(new int[] { 1 });
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            blocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return connection;
+        });
+
+        CompletableFuture<Integer> inFlight = CompletableFuture.supplyAsync(() -> execute("a"));
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatExceptionOfType(SQLException.class).isThrownBy(() -> writer.execute("UPDATE", s -> s.setString(1, "b")))
+                .withMessageContaining("withdrawn");
+        assertThatExceptionOfType(Exception.class).isThrownBy(() -> inFlight.get(5, TimeUnit.SECONDS))
+                .withMessageContaining("may still be committed");
+        release.countDown();
+
+        verify(statement, never()).setString(1, "b");
+    }
+
+    @Test
+    void testInterruptedWriterFailsPendingStatements() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            blocked.countDown();
+            new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+            return connection;
+        });
+
+        CompletableFuture<Integer> inFlight = CompletableFuture.supplyAsync(() -> execute("a"));
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> queued = CompletableFuture.supplyAsync(() -> execute("b"));
+        Thread.sleep(100);
+        Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("kogito-jdbc-group-commit") && thread.isAlive())
+                .forEach(Thread::interrupt);
+
+        assertThatExceptionOfType(Exception.class).isThrownBy(() -> inFlight.get(5, TimeUnit.SECONDS));
+        assertThatExceptionOfType(Exception.class).isThrownBy(() -> queued.get(5, TimeUnit.SECONDS));
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> writer.execute("UPDATE", s -> {
+        }));
+    }
+
+    private int execute(String value) {
+        try {
+            return writer.execute("UPDATE", s -> s.setString(1, value));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.jdbc.JDBCGroupCommitWriter;
+import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JdbcProcessInstancesGroupCommitIT extends TestHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcProcessInstancesGroupCommitIT.class);
+
+    private static final int THREADS = 16;
+    private static final int INSTANCES = 1600;
+
+    @Test
+    void testBasicFlow() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", false, true);
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        assertThat(processInstances.size()).isOne();
+        assertThat(processInstances.findById(processInstance.id())).isPresent();
+
+        processInstances.remove(processInstance.id());
+        assertThat(processInstances.size()).isZero();
+    }
+
+    @Test
+    void testOptimisticLockIsReportedPerInstance() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", true, true);
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        Optional<?> found = processInstances.findById(processInstance.id());
+        BpmnProcessInstance instanceOne = (BpmnProcessInstance) found.get();
+        found = processInstances.findById(processInstance.id());
+        BpmnProcessInstance instanceTwo = (BpmnProcessInstance) found.get();
+
+        instanceOne.updateVariables(BpmnVariables.create(Collections.singletonMap("s", "test")));
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> instanceTwo.updateVariables(BpmnVariables.create(Collections.singletonMap("ss", "test"))))
+                .withMessage("The document with ID: " + instanceOne.id() + " was updated or deleted by other request.");
+
+        instanceOne = (BpmnProcessInstance) processInstances.findById(processInstance.id()).get();
+        assertEquals(2L, instanceOne.version());
+
+        processInstances.remove(processInstance.id());
+        assertThat(processInstances.size()).isZero();
+    }
+
+    @Test
+    void benchmarkConcurrentCreation() throws Exception {
+        long withoutGroupCommit = createConcurrently(createProcess(null, "BPMN2-UserTask.bpmn2", false, false));
+        JDBCProcessInstancesFactory factory = getFactory(false, true);
+        try {
+            long withGroupCommit = createConcurrently(createProcess(null, "BPMN2-UserTask.bpmn2", factory));
+
+            LOGGER.info("Created {} instances with {} threads: {} instances/s without group commit, {} instances/s with group commit",
+                    INSTANCES, THREADS, throughput(withoutGroupCommit), throughput(withGroupCommit));
+
+            JDBCGroupCommitWriter writer = factory.writer();
+            assertThat(writer.committedStatements()).isGreaterThanOrEqualTo(INSTANCES);
+            // concurrent writes must have shared transactions
+            assertThat(writer.committedTransactions()).isLessThan(writer.committedStatements());
+        } finally {
+            factory.close();
+        }
+    }
+
+    private long createConcurrently(BpmnProcess process) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(INSTANCES);
+            long start = System.nanoTime();
+            for (int i = 0; i < INSTANCES; i++) {
+                futures.add(executor.submit(() -> process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test"))).start()));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            long elapsed = System.nanoTime() - start;
+            assertThat(process.instances().size()).isEqualTo(INSTANCES);
+            return elapsed;
+        } finally {
+            executor.shutdownNow();
+            process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+        }
+    }
+
+    private static long throughput(long elapsedNanos) {
+        return INSTANCES * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
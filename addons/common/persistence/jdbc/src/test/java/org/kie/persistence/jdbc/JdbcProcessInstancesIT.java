@@ -18,9 +18,13 @@ package org.kie.persistence.jdbc;
 import java.util.Collections;
 import java.util.Optional;
 
+import org.drools.core.io.impl.ClassPathResource;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
@@ -71,6 +75,28 @@ class JdbcProcessInstancesIT extends TestHelper {
         assertThat(process.instances().values()).isEmpty();
     }
 
+    @Test
+    void testDeltaUpdatesStartFromLoadedState() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(p -> new JDBCProcessInstances(p, dataSource(), true, true, null, null, JDBCProcessInstances.DEFAULT_DELTA_COMPACTION_THRESHOLD));
+        process.configure();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        BpmnProcessInstance instance = (BpmnProcessInstance) process.instances().findById(processInstance.id()).get();
+        assertThat(instance.snapshot()).isNotNull();
+        for (int i = 0; i < 3; i++) {
+            instance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "update" + i)));
+        }
+
+        BpmnProcessInstance reloaded = (BpmnProcessInstance) process.instances().findById(processInstance.id()).get();
+        assertThat(reloaded.variables().get("test")).isEqualTo("update2");
+        assertThat(reloaded.version()).isEqualTo(4L);
+
+        reloaded.abort();
+        assertThat(process.instances().size()).isZero();
+    }
+
     @Test
     void testBasicFlow() {
         BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", false);
@@ -95,6 +121,23 @@ class JdbcProcessInstancesIT extends TestHelper {
         assertThat(process.instances().values()).isEmpty();
     }
 
+    @Test
+    void testFindByBusinessKey() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", false);
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("order-1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        process.createInstance("order-2", BpmnVariables.create(Collections.singletonMap("test", "test"))).start();
+
+        ProcessInstances<BpmnVariables> processInstances = process.instances();
+        assertThat(processInstances.findByBusinessKey("order-1")).hasValueSatisfying(pi -> assertThat(pi.id()).isEqualTo(processInstance.id()));
+        assertThat(processInstances.findByBusinessKey("order-3")).isEmpty();
+        assertThat(processInstances.find(ProcessInstanceQuery.first(10).withStatus(STATE_ACTIVE)).instances()).hasSize(2);
+        assertThat(processInstances.find(ProcessInstanceQuery.first(10).withStatus(STATE_COMPLETED)).isEmpty()).isTrue();
+
+        processInstances.values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+        assertThat(((JDBCProcessInstances) processInstances).exists(processInstance.id())).isFalse();
+    }
+
     @Test
     void testException() {
         BpmnProcess process = configure(false);
@@ -24,6 +24,7 @@ import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.ProcessInstanceSnapshotCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -60,6 +61,26 @@ class JdbcProcessInstancesWithLockIT extends TestHelper {
         assertThat(process.instances().values()).isEmpty();
     }
 
+    @Test
+    public void testNearCacheChecksVersion() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", true);
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        // another node sharing the database, with its own near cache
+        JDBCProcessInstances otherNode = new JDBCProcessInstances(process, dataSource(), false, true, null, new ProcessInstanceSnapshotCache());
+        assertEquals(1L, ((BpmnProcessInstance) otherNode.findById(processInstance.id()).get()).version());
+        assertThat(otherNode.exists(processInstance.id())).isTrue();
+
+        BpmnProcessInstance instance = (BpmnProcessInstance) process.instances().findById(processInstance.id()).get();
+        instance.updateVariables(BpmnVariables.create(Collections.singletonMap("s", "test")));
+        assertEquals(2L, ((BpmnProcessInstance) otherNode.findById(processInstance.id()).get()).version());
+
+        ((JDBCProcessInstances) process.instances()).remove(processInstance.id());
+        assertThat(otherNode.exists(processInstance.id())).isFalse();
+        assertThat(otherNode.findById(processInstance.id())).isEmpty();
+    }
+
     @Test
     public void testRemove() {
         BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2", true);
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.kie.kogito.auth.IdentityProviders;
 import org.kie.kogito.auth.SecurityPolicy;
 import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.persistence.jdbc.JDBCGroupCommitWriter;
 import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
@@ -50,6 +51,8 @@ public class TestHelper {
 
     private boolean enableLock;
 
+    private boolean enableGroupCommit;
+
     @BeforeAll
     public static void startContainerAndPublicPortIsAvailable() {
         container.start();
@@ -62,20 +65,33 @@ public class TestHelper {
     }
 
     public static BpmnProcess createProcess(ProcessConfig config, String fileName, boolean lock) {
+        return createProcess(config, fileName, lock, false);
+    }
+
+    public static BpmnProcess createProcess(ProcessConfig config, String fileName, boolean lock, boolean groupCommit) {
+        return createProcess(config, fileName, getFactory(lock, groupCommit));
+    }
+
+    static BpmnProcess createProcess(ProcessConfig config, String fileName, JDBCProcessInstancesFactory factory) {
 
         BpmnProcess process = BpmnProcess.from(config, new ClassPathResource(fileName)).get(0);
-        process.setProcessInstancesFactory(getFactory(lock));
+        process.setProcessInstancesFactory(factory);
         process.configure();
         process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(p -> p.abort());
         return process;
     }
 
-    private static JDBCProcessInstancesFactory getFactory(boolean lock) {
+    static JDBCProcessInstancesFactory getFactory(boolean lock, boolean groupCommit) {
         TestHelper t = new TestHelper();
         t.setEnableLock(lock);
+        t.setEnableGroupCommit(groupCommit);
         return t.new JDBCProcessInstancesFactory(ds);
     }
 
+    static DataSource dataSource() {
+        return ds;
+    }
+
     private static DataSource getDataSource(final PostgreSQLContainer postgreSQLContainer) {
 
         PGSimpleDataSource ds = new PGSimpleDataSource();
@@ -100,7 +116,11 @@ public class TestHelper {
         this.enableLock = enableLock;
     }
 
-    private class JDBCProcessInstancesFactory extends KogitoProcessInstancesFactory {
+    public void setEnableGroupCommit(boolean enableGroupCommit) {
+        this.enableGroupCommit = enableGroupCommit;
+    }
+
+    class JDBCProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
         public JDBCProcessInstancesFactory(DataSource dataSource) {
             super(dataSource, true);
@@ -116,5 +136,14 @@ public class TestHelper {
         public boolean lock() {
             return enableLock;
         }
+
+        @Override
+        public boolean groupCommit() {
+            return enableGroupCommit;
+        }
+
+        JDBCGroupCommitWriter writer() {
+            return getGroupCommitWriter();
+        }
     }
 }
@@ -28,8 +28,14 @@ import org.kie.kogito.mongodb.transaction.MongoDBTransactionManager;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstancePage;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.ProcessInstanceIdentityMap;
+import org.kie.kogito.process.impl.ProcessInstanceMetadata;
+import org.kie.kogito.process.impl.ProcessInstanceSnapshotCache;
+import org.kie.kogito.process.impl.ProcessInstanceSnapshotCache.Snapshot;
 import org.kie.kogito.serialization.process.MarshallerContextName;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 
@@ -39,11 +45,23 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
 import static java.util.Collections.singletonMap;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_BUSINESS_KEY;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_EVENT_TYPES;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_LAST_UPDATE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_PARENT_ID;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ROOT_ID;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_START_DATE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_STATE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_WAITING_ON;
 import static org.kie.kogito.mongodb.utils.DocumentUtils.getCollection;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
@@ -55,9 +73,23 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     private final MongoCollection<Document> collection;
     private MongoDBTransactionManager transactionManager;
     private final boolean lock;
+    private final ProcessInstanceSnapshotCache snapshotCache;
 
     public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName, MongoDBTransactionManager transactionManager, boolean lock) {
+        this(mongoClient, process, dbName, transactionManager, lock, null);
+    }
+
+    /**
+     * @param snapshotCache when not <code>null</code>, the last document written or read for every instance is kept
+     *        and used to serve lookups and reloads without transferring the document: only the version stored in
+     *        the collection is read, and the snapshot is used when it matches. A version conflict on update evicts the
+     *        cached snapshot. The cache is bypassed while a transaction is in progress and, as versions only change
+     *        when optimistic locking is enabled, it is ignored when <code>lock</code> is <code>false</code>.
+     */
+    public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName, MongoDBTransactionManager transactionManager, boolean lock,
+            ProcessInstanceSnapshotCache snapshotCache) {
         this.process = process;
+        this.snapshotCache = lock ? snapshotCache : null;
         this.collection = getCollection(mongoClient, process.id(), dbName);
         this.marshaller = ProcessInstanceMarshallerService.newBuilder()
                 .withDefaultObjectMarshallerStrategies()
@@ -65,17 +97,31 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
                 .build();
         this.transactionManager = transactionManager;
         this.lock = lock;
+        createIndexes();
+    }
+
+    private void createIndexes() {
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_ID), new IndexOptions().unique(true));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_STATE));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_BUSINESS_KEY));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_ROOT_ID));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_PARENT_ID));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_START_DATE));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_LAST_UPDATE));
+        collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_EVENT_TYPES));
     }
 
     @Override
     public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
-        Document piDoc = find(id);
-        if (piDoc != null) {
-            ProcessInstance<T> instance = unmarshall(piDoc, mode);
-            ((AbstractProcessInstance<?>) instance).setVersion(piDoc.getLong(VERSION));
-            return Optional.of(instance);
-        }
-        return Optional.empty();
+        return ProcessInstanceIdentityMap.findById(process, id, mode, key -> load(key, mode));
+    }
+
+    private Optional<ProcessInstance<T>> load(String id, ProcessInstanceReadMode mode) {
+        return findSnapshot(id).map(snapshot -> {
+            ProcessInstance<T> instance = unmarshall(snapshot.payload(), mode);
+            ((AbstractProcessInstance<?>) instance).setVersion(snapshot.version());
+            return instance;
+        });
     }
 
     @Override
@@ -92,8 +138,54 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return list;
     }
 
+    @Override
+    public ProcessInstancePage<T> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        Bson filter = toFilter(query);
+        FindIterable<Document> docs = Optional.ofNullable(transactionManager.getClientSession())
+                .map(r -> collection.find(r, filter))
+                .orElseGet(() -> collection.find(filter))
+                .sort(Sorts.ascending(PROCESS_INSTANCE_ID))
+                .skip(query.offset())
+                .limit(query.limit());
+        List<ProcessInstance<T>> list = new ArrayList<>(query.limit());
+        try (MongoCursor<Document> cursor = docs.iterator()) {
+            while (cursor.hasNext()) {
+                Document piDoc = cursor.next();
+                ProcessInstance<T> instance = unmarshall(piDoc, mode);
+                ((AbstractProcessInstance<?>) instance).setVersion(piDoc.getLong(VERSION));
+                list.add(instance);
+            }
+        }
+        return ProcessInstancePage.of(query, list);
+    }
+
+    private static Bson toFilter(ProcessInstanceQuery query) {
+        List<Bson> filters = new ArrayList<>();
+        if (query.after() != null) {
+            filters.add(Filters.gt(PROCESS_INSTANCE_ID, query.after()));
+        }
+        if (query.status() != null) {
+            // default values are not written by the json format, so pending instances have no state field
+            filters.add(query.status() == ProcessInstance.STATE_PENDING
+                    ? Filters.or(Filters.eq(PROCESS_INSTANCE_STATE, query.status()), Filters.exists(PROCESS_INSTANCE_STATE, false))
+                    : Filters.eq(PROCESS_INSTANCE_STATE, query.status()));
+        }
+        if (query.businessKey() != null) {
+            filters.add(Filters.eq(PROCESS_INSTANCE_BUSINESS_KEY, query.businessKey()));
+        }
+        if (query.eventType() != null) {
+            // matches any element of the multikey indexed array, documents stored before the field existed
+            // match too until their next update
+            filters.add(Filters.in(PROCESS_INSTANCE_EVENT_TYPES, query.eventType(), null));
+        }
+        return filters.isEmpty() ? new Document() : Filters.and(filters);
+    }
+
     private ProcessInstance<T> unmarshall(Document document, ProcessInstanceReadMode mode) {
-        byte[] content = document.toJson().getBytes();
+        return unmarshall(document.toJson().getBytes(), mode);
+    }
+
+    private ProcessInstance<T> unmarshall(byte[] content, ProcessInstanceReadMode mode) {
         return mode == MUTABLE ? (ProcessInstance<T>) marshaller.unmarshallProcessInstance(content, process) : (ProcessInstance<T>) marshaller.unmarshallReadOnlyProcessInstance(content, process);
     }
 
@@ -113,16 +205,32 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
 
     protected void updateStorage(String id, ProcessInstance<T> instance, boolean checkDuplicates) {
         if (!isActive(instance)) {
+            invalidate(id);
             reloadProcessInstance(instance, id);
             return;
         }
 
         ClientSession clientSession = transactionManager.getClientSession();
         Document doc = Document.parse(new String(marshaller.marshallProcessInstance(instance)));
-        if (checkDuplicates) {
-            createInternal(id, clientSession, doc);
+        // the json format already carries state, business key, hierarchy and start date as top level fields
+        ProcessInstanceMetadata metadata = ProcessInstanceMetadata.of(instance);
+        doc.put(PROCESS_INSTANCE_LAST_UPDATE, metadata.lastUpdate());
+        doc.put(PROCESS_INSTANCE_WAITING_ON, metadata.waitingOn());
+        doc.put(PROCESS_INSTANCE_EVENT_TYPES, metadata.eventTypes());
+        try {
+            if (checkDuplicates) {
+                createInternal(id, clientSession, doc);
+            } else {
+                updateInternal(id, instance, clientSession, doc);
+            }
+        } catch (RuntimeException e) {
+            invalidate(id);
+            throw e;
+        }
+        if (clientSession == null) {
+            cache(id, doc);
         } else {
-            updateInternal(id, instance, clientSession, doc);
+            invalidate(id);
         }
         reloadProcessInstance(instance, id);
     }
@@ -157,6 +265,39 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         }
     }
 
+    private Optional<Snapshot> findSnapshot(String id) {
+        boolean cacheable = snapshotCache != null && transactionManager.getClientSession() == null;
+        Optional<Snapshot> cached = cacheable ? snapshotCache.get(id) : Optional.empty();
+        if (cached.isPresent()) {
+            // the instance may have been updated or deleted by another node, check the version before using the snapshot
+            Document version = collection.find(Filters.eq(PROCESS_INSTANCE_ID, id)).projection(Projections.include(VERSION)).first();
+            if (version != null && cached.get().version().equals(version.getLong(VERSION))) {
+                return cached;
+            }
+            invalidate(id);
+        }
+        Document piDoc = find(id);
+        if (piDoc == null) {
+            return Optional.empty();
+        }
+        if (cacheable) {
+            cache(id, piDoc);
+        }
+        return Optional.of(new Snapshot(piDoc.toJson().getBytes(), piDoc.getLong(VERSION)));
+    }
+
+    private void cache(String id, Document doc) {
+        if (snapshotCache != null) {
+            snapshotCache.put(id, doc.toJson().getBytes(), doc.getLong(VERSION));
+        }
+    }
+
+    private void invalidate(String id) {
+        if (snapshotCache != null) {
+            snapshotCache.invalidate(id);
+        }
+    }
+
     private Document find(String id) {
         return Optional.ofNullable(transactionManager.getClientSession())
                 .map(r -> collection.find(r, Filters.eq(PROCESS_INSTANCE_ID, id)).first())
@@ -165,11 +306,17 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
 
     @Override
     public boolean exists(String id) {
-        return find(id) != null;
+        Bson filter = Filters.eq(PROCESS_INSTANCE_ID, id);
+        return Optional.ofNullable(transactionManager.getClientSession())
+                .map(r -> collection.find(r, filter))
+                .orElseGet(() -> collection.find(filter))
+                .projection(Projections.include(PROCESS_INSTANCE_ID))
+                .first() != null;
     }
 
     @Override
     public void remove(String id) {
+        invalidate(id);
         ClientSession clientSession = transactionManager.getClientSession();
         DeleteResult result = null;
         if (clientSession != null) {
@@ -184,10 +331,10 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
 
     private void reloadProcessInstance(ProcessInstance<T> instance, String id) {
         Supplier<byte[]> supplier = () -> {
-            Document reloaded = find(id);
-            if (reloaded != null) {
-                ((AbstractProcessInstance<?>) instance).setVersion(reloaded.getLong(VERSION));
-                return reloaded.toJson().getBytes();
+            Optional<Snapshot> reloaded = findSnapshot(id);
+            if (reloaded.isPresent()) {
+                ((AbstractProcessInstance<?>) instance).setVersion(reloaded.get().version());
+                return reloaded.get().payload();
             } else {
                 throw new IllegalArgumentException("process instance id " + id + " does not exists in mongodb");
             }
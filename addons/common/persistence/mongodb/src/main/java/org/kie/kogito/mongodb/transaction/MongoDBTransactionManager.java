@@ -16,6 +16,7 @@
 
 package org.kie.kogito.mongodb.transaction;
 
+import org.kie.kogito.uow.ExecutionContext;
 import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
 import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
 import org.kie.kogito.uow.events.UnitOfWorkEventListener;
@@ -32,8 +33,6 @@ public abstract class MongoDBTransactionManager implements UnitOfWorkEventListen
 
     private MongoClient mongoClient;
 
-    private ThreadLocal<ClientSession> clientSessionLocal = new ThreadLocal<>();
-
     public MongoDBTransactionManager(MongoClient mongoClient) {
         this.mongoClient = mongoClient;
     }
@@ -45,7 +44,8 @@ public abstract class MongoDBTransactionManager implements UnitOfWorkEventListen
         }
 
         ClientSession clientSession = mongoClient.startSession();
-        this.clientSessionLocal.set(clientSession);
+        // bound to the execution context, as the unit of work is, so the session follows it across threads
+        ExecutionContext.current().put(this, clientSession);
         TransactionOptions txnOptions = TransactionOptions.builder()
                 .readPreference(ReadPreference.primary())
                 .readConcern(ReadConcern.MAJORITY)
@@ -63,7 +63,7 @@ public abstract class MongoDBTransactionManager implements UnitOfWorkEventListen
         try (ClientSession clientSession = this.getClientSession()) {
             clientSession.commitTransaction();
         } finally {
-            clientSessionLocal.remove();
+            ExecutionContext.current().remove(this);
         }
     }
 
@@ -76,12 +76,12 @@ public abstract class MongoDBTransactionManager implements UnitOfWorkEventListen
         try (ClientSession clientSession = this.getClientSession()) {
             clientSession.abortTransaction();
         } finally {
-            clientSessionLocal.remove();
+            ExecutionContext.current().remove(this);
         }
     }
 
     public ClientSession getClientSession() {
-        return clientSessionLocal.get();
+        return ExecutionContext.current().get(this);
     }
 
     public abstract boolean enabled();
@@ -21,6 +21,14 @@ public class DocumentConstants {
     public static final String VALUE = "value";
     public static final String DOCUMENT_ID = "_id";
     public static final String PROCESS_INSTANCE_ID = "id";
+    public static final String PROCESS_INSTANCE_STATE = "state";
+    public static final String PROCESS_INSTANCE_BUSINESS_KEY = "businessKey";
+    public static final String PROCESS_INSTANCE_ROOT_ID = "rootProcessInstanceId";
+    public static final String PROCESS_INSTANCE_PARENT_ID = "parentProcessInstanceId";
+    public static final String PROCESS_INSTANCE_START_DATE = "startDate";
+    public static final String PROCESS_INSTANCE_LAST_UPDATE = "lastUpdate";
+    public static final String PROCESS_INSTANCE_WAITING_ON = "waitingOn";
+    public static final String PROCESS_INSTANCE_EVENT_TYPES = "eventTypes";
     public static final String STRATEGIES = "strategies";
     public static final String NAME = "name";
     public static final String PROCESS_INSTANCE = "processInstance";
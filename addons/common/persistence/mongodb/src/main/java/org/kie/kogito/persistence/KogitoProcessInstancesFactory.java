@@ -19,6 +19,7 @@ import org.kie.kogito.mongodb.MongoDBProcessInstances;
 import org.kie.kogito.mongodb.transaction.MongoDBTransactionManager;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.process.impl.ProcessInstanceSnapshotCache;
 
 import com.mongodb.client.MongoClient;
 
@@ -40,8 +41,18 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     public abstract boolean lock();
 
+    /**
+     * When enabled, every process keeps a bounded near-cache of the snapshots of its instances,
+     * see {@link ProcessInstanceSnapshotCache}. Cached snapshots are checked against the version stored
+     * in the database before being used, so the cache only takes effect together with {@link #lock()}.
+     */
+    public boolean nearCache() {
+        return false;
+    }
+
     @Override
     public MongoDBProcessInstances<?> createProcessInstances(Process<?> process) {
-        return new MongoDBProcessInstances<>(mongoClient, process, dbName(), transactionManager(), lock());
+        return new MongoDBProcessInstances<>(mongoClient, process, dbName(), transactionManager(), lock(),
+                nearCache() ? new ProcessInstanceSnapshotCache() : null);
     }
 }
\ No newline at end of file
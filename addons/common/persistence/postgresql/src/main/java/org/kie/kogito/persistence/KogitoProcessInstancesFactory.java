@@ -18,6 +18,7 @@ package org.kie.kogito.persistence;
 import org.kie.kogito.persistence.postgresql.PostgreProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.process.impl.ProcessInstanceSnapshotCache;
 
 import io.vertx.pgclient.PgPool;
 
@@ -48,8 +49,18 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     public abstract boolean lock();
 
+    /**
+     * When enabled, every process keeps a bounded near-cache of the snapshots of its instances,
+     * see {@link ProcessInstanceSnapshotCache}. Cached snapshots are checked against the version stored
+     * in the database before being used, so the cache only takes effect together with {@link #lock()}.
+     */
+    public boolean nearCache() {
+        return false;
+    }
+
     @Override
     public PostgreProcessInstances createProcessInstances(Process<?> process) {
-        return new PostgreProcessInstances(process, client(), autoDDL, queryTimeout, lock());
+        return new PostgreProcessInstances(process, client(), autoDDL, queryTimeout, lock(),
+                nearCache() ? new ProcessInstanceSnapshotCache() : null);
     }
 }
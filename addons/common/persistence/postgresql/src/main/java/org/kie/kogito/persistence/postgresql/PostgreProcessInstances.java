@@ -16,13 +16,17 @@
 package org.kie.kogito.persistence.postgresql;
 
 import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -30,11 +34,18 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import org.kie.kogito.process.AsyncProcessInstances;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstancePage;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.ProcessInstanceIdentityMap;
+import org.kie.kogito.process.impl.ProcessInstanceMetadata;
+import org.kie.kogito.process.impl.ProcessInstanceSnapshotCache;
+import org.kie.kogito.process.impl.ProcessInstanceSnapshotCache.Snapshot;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,12 +62,14 @@ import io.vertx.sqlclient.Tuple;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
 @SuppressWarnings({ "rawtypes" })
-public class PostgreProcessInstances implements MutableProcessInstances {
+public class PostgreProcessInstances implements MutableProcessInstances, AsyncProcessInstances {
 
     private static final String VERSION = "version";
 
     private static final String PAYLOAD = "payload";
 
+    private static final String METADATA_COLUMNS = "state, business_key, root_process_instance_id, parent_process_instance_id, start_date, last_update, waiting_on";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgreProcessInstances.class);
 
     private final Process<?> process;
@@ -65,10 +78,24 @@ public class PostgreProcessInstances implements MutableProcessInstances {
     private final boolean autoDDL;
     private final Long queryTimeoutMillis;
     private final boolean lock;
+    private final ProcessInstanceSnapshotCache snapshotCache;
 
     public PostgreProcessInstances(Process<?> process, PgPool client, boolean autoDDL, Long queryTimeoutMillis,
             boolean lock) {
+        this(process, client, autoDDL, queryTimeoutMillis, lock, null);
+    }
+
+    /**
+     * @param snapshotCache when not <code>null</code>, the last snapshot written or read for every instance is kept
+     *        and used to serve lookups and reloads without transferring the payload: only the version stored in the
+     *        database is read, and the snapshot is used when it matches. A version conflict on update evicts the
+     *        cached snapshot. As versions only change when optimistic locking is enabled, the cache is ignored
+     *        when <code>lock</code> is <code>false</code>.
+     */
+    public PostgreProcessInstances(Process<?> process, PgPool client, boolean autoDDL, Long queryTimeoutMillis,
+            boolean lock, ProcessInstanceSnapshotCache snapshotCache) {
         this.process = process;
+        this.snapshotCache = lock ? snapshotCache : null;
         this.client = client;
         this.autoDDL = autoDDL;
         this.queryTimeoutMillis = queryTimeoutMillis;
@@ -79,72 +106,163 @@ public class PostgreProcessInstances implements MutableProcessInstances {
 
     @Override
     public boolean exists(String id) {
-        return findById(id).isPresent();
+        return await(existsAsync(id));
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsAsync(String id) {
+        return execute("SELECT 1 FROM process_instances WHERE id = $1", Tuple.of(UUID.fromString(id)),
+                "Error checking existence of process instance %s", id)
+                        .thenApply(rows -> rows.iterator().hasNext());
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void create(String id, ProcessInstance instance) {
+        await(createAsync(id, instance));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance instance) {
         if (!isActive(instance)) {
+            invalidate(id);
             disconnect(instance);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-        insertInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
-        disconnect(instance);
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        ProcessInstanceMetadata metadata = ProcessInstanceMetadata.of(instance);
+        return execute("INSERT INTO process_instances (id, payload, process_id, version, " + METADATA_COLUMNS + ") VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11)",
+                addMetadata(Tuple.of(UUID.fromString(id), Buffer.buffer(payload), process.id(), 1L), metadata),
+                "Error inserting process instance %s", id)
+                        .thenRun(() -> {
+                            cache(id, payload, 1L);
+                            disconnect(instance);
+                        });
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void update(String id, ProcessInstance instance) {
+        await(updateAsync(id, instance));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance instance) {
         if (!isActive(instance)) {
+            invalidate(id);
             disconnect(instance);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        ProcessInstanceMetadata metadata = ProcessInstanceMetadata.of(instance);
         if (lock) {
-            updateWithLock(UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
-        } else {
-            updateInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+            long version = instance.version();
+            return execute("UPDATE process_instances SET payload = $1, version = $2, state = $3, business_key = $4, root_process_instance_id = $5, " +
+                    "parent_process_instance_id = $6, start_date = $7, last_update = $8, waiting_on = $9 WHERE id = $10 and version = $11",
+                    addMetadata(Tuple.of(Buffer.buffer(payload), version + 1), metadata).addUUID(UUID.fromString(id)).addLong(version),
+                    "Error updating process instance %s", id)
+                            .thenAccept(rows -> {
+                                if (rows.rowCount() != 1) {
+                                    invalidate(id);
+                                    throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
+                                }
+                                cache(id, payload, version + 1);
+                                disconnect(instance);
+                            });
         }
-        disconnect(instance);
+        return execute("UPDATE process_instances SET payload = $1, state = $2, business_key = $3, root_process_instance_id = $4, parent_process_instance_id = $5, " +
+                "start_date = $6, last_update = $7, waiting_on = $8 WHERE id = $9",
+                addMetadata(Tuple.of(Buffer.buffer(payload)), metadata).addUUID(UUID.fromString(id)),
+                "Error updating process instance %s", id)
+                        .thenRun(() -> {
+                            cache(id, payload, instance.version());
+                            disconnect(instance);
+                        });
     }
 
     @Override
     public void remove(String id) {
-        boolean isDeleted = deleteInternal(UUID.fromString(id));
-        if (lock && !isDeleted) {
-            throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
-        }
+        await(removeAsync(id));
+    }
+
+    @Override
+    public CompletionStage<Void> removeAsync(String id) {
+        invalidate(id);
+        return execute("DELETE FROM process_instances WHERE id = $1", Tuple.of(UUID.fromString(id)), "Error deleting process instance %s", id)
+                .thenAccept(rows -> {
+                    if (lock && rows.rowCount() != 1) {
+                        throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
+                    }
+                });
     }
 
     @Override
     public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
-        Optional<Row> row = findByIdInternal(UUID.fromString(id));
-
-        if (row.isPresent()) {
-            Optional<byte[]> payload = row
-                    .map(r -> r.getBuffer(PAYLOAD))
-                    .map(Buffer::getBytes);
-            if (payload.isPresent()) {
-                ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload.get(),
-                        process)
-                        : marshaller.unmarshallReadOnlyProcessInstance(payload.get(), process);
-                ((AbstractProcessInstance) instance).setVersion(row.get().getLong(VERSION));
-                return Optional.of(instance);
-            }
-        }
-        return Optional.empty();
+        return await(findByIdAsync(id, mode));
+    }
+
+    @Override
+    public CompletionStage<Optional<ProcessInstance>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        return ProcessInstanceIdentityMap.findByIdAsync(process, id, mode,
+                key -> findSnapshot(key).thenApply(snapshot -> snapshot.map(s -> unmarshall(s.payload(), s.version(), mode))));
     }
 
     @Override
     public Collection<ProcessInstance> values(ProcessInstanceReadMode mode) {
-        return findAllInternal().stream().map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process)
-                : marshaller.unmarshallReadOnlyProcessInstance(b, process))
-                .collect(Collectors.toList());
+        return await(execute("SELECT payload FROM process_instances WHERE process_id = $1", Tuple.of(process.id()),
+                "Error finding all process instances, for processId %s", process.id())
+                        .thenApply(rows -> StreamSupport.stream(rows.spliterator(), false)
+                                .map(row -> unmarshall(row.getBuffer(PAYLOAD).getBytes(), null, mode))
+                                .collect(Collectors.toList())));
+    }
+
+    @Override
+    public ProcessInstancePage find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return await(findAsync(query, mode));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<ProcessInstancePage> findAsync(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        StringBuilder sql = new StringBuilder("SELECT payload, version FROM process_instances WHERE process_id = $1");
+        Tuple params = Tuple.of(process.id());
+        if (query.after() != null) {
+            params.addUUID(UUID.fromString(query.after()));
+            sql.append(" AND id > $").append(params.size());
+        }
+        if (query.status() != null) {
+            params.addInteger(query.status());
+            sql.append(" AND state = $").append(params.size());
+        }
+        if (query.businessKey() != null) {
+            params.addString(query.businessKey());
+            sql.append(" AND business_key = $").append(params.size());
+        }
+        params.addInteger(query.limit());
+        sql.append(" ORDER BY id LIMIT $").append(params.size());
+        params.addInteger(query.offset());
+        sql.append(" OFFSET $").append(params.size());
+        return execute(sql.toString(), params, "Error finding process instances page, for processId %s", process.id())
+                .thenApply(rows -> {
+                    List<ProcessInstance> result = new ArrayList<>(query.limit());
+                    rows.forEach(row -> result.add(unmarshall(row.getBuffer(PAYLOAD).getBytes(), row.getLong(VERSION), mode)));
+                    return ProcessInstancePage.of(query, (List) result);
+                });
     }
 
     @Override
     public Integer size() {
-        return countInternal().intValue();
+        return await(sizeAsync());
+    }
+
+    @Override
+    public CompletionStage<Integer> sizeAsync() {
+        return execute("SELECT COUNT(id) FROM process_instances WHERE process_id = $1", Tuple.of(process.id()),
+                "Error counting process instances, for processId %s", process.id())
+                        .thenApply(rows -> {
+                            RowIterator<Row> iterator = rows.iterator();
+                            return iterator.hasNext() ? iterator.next().getLong("count").intValue() : 0;
+                        });
     }
 
     @Override
@@ -152,127 +270,137 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         return this.lock;
     }
 
+    private ProcessInstance unmarshall(byte[] payload, Long version, ProcessInstanceReadMode mode) {
+        ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload, process)
+                : marshaller.unmarshallReadOnlyProcessInstance(payload, process);
+        if (version != null) {
+            ((AbstractProcessInstance) instance).setVersion(version);
+        }
+        return instance;
+    }
+
     private void disconnect(ProcessInstance instance) {
         Supplier<byte[]> supplier = () -> {
-            Optional<Row> row = findByIdInternal(UUID.fromString(instance.id()));
-            ((AbstractProcessInstance) instance).setVersion(row.get().getLong(VERSION));
-            return row
-                    .map(r -> r.getBuffer(PAYLOAD))
-                    .map(Buffer::getBytes).get();
+            Snapshot snapshot = await(findSnapshot(instance.id())).get();
+            ((AbstractProcessInstance) instance).setVersion(snapshot.version());
+            return snapshot.payload();
         };
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
-    private boolean insertInternal(UUID id, byte[] payload) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("INSERT INTO process_instances (id, payload, process_id, version) VALUES ($1, $2, $3, $4)")
-                    .execute(Tuple.of(id, Buffer.buffer(payload), process.id(), 1L), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error inserting process instance %s", id);
+    private CompletionStage<Optional<Snapshot>> findSnapshot(String id) {
+        Optional<Snapshot> cached = snapshotCache == null ? Optional.empty() : snapshotCache.get(id);
+        if (cached.isPresent()) {
+            // the instance may have been updated or deleted by another node, check the version before using the snapshot
+            return execute("SELECT version FROM process_instances WHERE id = $1", Tuple.of(UUID.fromString(id)), "Error finding version of process instance %s", id)
+                    .thenCompose(rows -> {
+                        RowIterator<Row> iterator = rows.iterator();
+                        if (!iterator.hasNext()) {
+                            invalidate(id);
+                            return CompletableFuture.completedFuture(Optional.<Snapshot> empty());
+                        }
+                        if (cached.get().version().equals(iterator.next().getLong(VERSION))) {
+                            return CompletableFuture.completedFuture(cached);
+                        }
+                        invalidate(id);
+                        return loadSnapshot(id);
+                    });
         }
+        return loadSnapshot(id);
     }
 
-    private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
-        return new RuntimeException(String.format(message, param), ex);
+    private CompletionStage<Optional<Snapshot>> loadSnapshot(String id) {
+        return execute("SELECT payload, version FROM process_instances WHERE id = $1", Tuple.of(UUID.fromString(id)), "Error finding process instance %s", id)
+                .thenApply(rows -> {
+                    RowIterator<Row> iterator = rows.iterator();
+                    Optional<Snapshot> snapshot = Optional.of(iterator)
+                            .filter(Iterator::hasNext)
+                            .map(Iterator::next)
+                            .filter(row -> row.getBuffer(PAYLOAD) != null)
+                            .map(row -> new Snapshot(row.getBuffer(PAYLOAD).getBytes(), row.getLong(VERSION)));
+                    snapshot.ifPresent(s -> cache(id, s.payload(), s.version()));
+                    return snapshot;
+                });
     }
 
-    private Handler<AsyncResult<RowSet<Row>>> getAsyncResultHandler(CompletableFuture<RowSet<Row>> future) {
-        return ar -> {
-            if (ar.succeeded()) {
-                future.complete(ar.result());
-            } else {
-                future.completeExceptionally(ar.cause());
-            }
-        };
+    private void cache(String id, byte[] payload, Long version) {
+        if (snapshotCache != null) {
+            snapshotCache.put(id, payload, version);
+        }
     }
 
-    private boolean updateInternal(UUID id, byte[] payload) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("UPDATE process_instances SET payload = $1 WHERE id = $2")
-                    .execute(Tuple.of(Buffer.buffer(payload), id), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
+    private void invalidate(String id) {
+        if (snapshotCache != null) {
+            snapshotCache.invalidate(id);
         }
     }
 
-    private boolean deleteInternal(UUID id) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("DELETE FROM process_instances WHERE id = $1")
-                    .execute(Tuple.of(id), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s", id);
-        }
+    private static Tuple addMetadata(Tuple tuple, ProcessInstanceMetadata metadata) {
+        return tuple.addInteger(metadata.state())
+                .addString(metadata.businessKey())
+                .addString(metadata.rootProcessInstanceId())
+                .addString(metadata.parentProcessInstanceId())
+                .addLocalDateTime(toLocalDateTime(metadata.startDate()))
+                .addLocalDateTime(toLocalDateTime(metadata.lastUpdate()))
+                .addString(metadata.waitingOn().isEmpty() ? null : String.join(",", metadata.waitingOn()));
     }
 
-    private Boolean getExecutedResult(CompletableFuture<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
-        try {
-            return getResultFromFuture(future)
-                    .map(RowSet::rowCount)
-                    .map(count -> count == 1)
-                    .orElse(false);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw e;
-        }
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
     }
 
-    private Optional<RowSet<Row>> getResultFromFuture(CompletableFuture<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
+    /**
+     * Runs the given statement without blocking, the returned stage fails with an unchecked exception carrying
+     * the given message when the statement fails.
+     */
+    private CompletableFuture<RowSet<Row>> execute(String sql, Tuple params, String errorMessage, Object... errorParams) {
+        final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
+        client.preparedQuery(sql).execute(params, ar -> {
+            if (ar.succeeded()) {
+                future.complete(ar.result());
+            } else {
+                future.completeExceptionally(uncheckedException(ar.cause(), errorMessage, errorParams));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Blocks the caller until the given stage completes, used by the synchronous {@link MutableProcessInstances} API.
+     */
+    private <R> R await(CompletionStage<R> stage) {
         try {
-            return Optional.ofNullable(future.get(queryTimeoutMillis, TimeUnit.MILLISECONDS));
+            return stage.toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw e;
+            throw uncheckedException(e, "Interrupted while waiting for process instances of %s", process.id());
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : uncheckedException(e, "Error accessing process instances of %s", process.id());
+        } catch (TimeoutException e) {
+            throw uncheckedException(e, "Timeout accessing process instances of %s", process.id());
         }
     }
 
-    private Optional<Row> findByIdInternal(UUID id) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("SELECT payload, version FROM process_instances WHERE id = $1")
-                    .execute(Tuple.of(id), getAsyncResultHandler(future));
-            return getResultFromFuture(future)
-                    .map(RowSet::iterator)
-                    .filter(Iterator::hasNext)
-                    .map(Iterator::next);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error finding process instance %s", id);
-        }
+    private RuntimeException uncheckedException(Throwable ex, String message, Object... param) {
+        return new RuntimeException(String.format(message, param), ex);
     }
 
-    private List<byte[]> findAllInternal() {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("SELECT payload FROM process_instances WHERE process_id = $1")
-                    .execute(Tuple.of(process.id()), getAsyncResultHandler(future));
-            return getResultFromFuture(future)
-                    .map(r -> StreamSupport.stream(r.spliterator(), false)
-                            .map(row -> row.getBuffer(PAYLOAD))
-                            .map(Buffer::getBytes)
-                            .collect(Collectors.toList()))
-                    .orElseGet(Collections::emptyList);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
-        }
+    private Handler<AsyncResult<RowSet<Row>>> getAsyncResultHandler(CompletableFuture<RowSet<Row>> future) {
+        return ar -> {
+            if (ar.succeeded()) {
+                future.complete(ar.result());
+            } else {
+                future.completeExceptionally(ar.cause());
+            }
+        };
     }
 
-    private Long countInternal() {
+    private Optional<RowSet<Row>> getResultFromFuture(CompletableFuture<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
         try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("SELECT COUNT(id) FROM process_instances WHERE process_id = $1")
-                    .execute(Tuple.of(process.id()), getAsyncResultHandler(future));
-            return getResultFromFuture(future)
-                    .map(RowSet::iterator)
-                    .map(RowIterator::next)
-                    .map(row -> row.getLong("count"))
-                    .orElse(0l);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error counting process instances, for processId %s", process.id());
+            return Optional.ofNullable(future.get(queryTimeoutMillis, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
         }
     }
 
@@ -309,8 +437,8 @@ public class PostgreProcessInstances implements MutableProcessInstances {
                             return futureCreate;
                         })
                         .orElseGet(() -> {
-                            futureCreate.complete(null);
                             LOGGER.info("Table process_instances already exists.");
+                            client.query(getQueryFromFile("upgrade_tables")).execute(getAsyncResultHandler(futureCreate));
                             return futureCreate;
                         });
             });
@@ -341,22 +469,4 @@ public class PostgreProcessInstances implements MutableProcessInstances {
             throw uncheckedException(e, "Error reading query script file %s", scriptName);
         }
     }
-
-    private boolean updateWithLock(UUID id, byte[] payload, long version) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("UPDATE process_instances SET payload = $1, version = $2 WHERE id = $3 and version = $4")
-                    .execute(Tuple.of(Buffer.buffer(payload), version + 1, id, version), getAsyncResultHandler(future));
-            boolean result = getExecutedResult(future);
-            if (!result) {
-                throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
-            }
-            return result;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
-        return false;
-    }
 }
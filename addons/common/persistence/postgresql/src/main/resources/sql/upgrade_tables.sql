@@ -0,0 +1,31 @@
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS state integer;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS business_key character varying;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS root_process_instance_id character varying;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS parent_process_instance_id character varying;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS start_date timestamp;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS last_update timestamp;
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS waiting_on character varying;
+CREATE INDEX IF NOT EXISTS idx_process_instances_state ON process_instances
+    (
+     process_id, state
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_business_key ON process_instances
+    (
+     process_id, business_key
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_root_id ON process_instances
+    (
+     root_process_instance_id
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_parent_id ON process_instances
+    (
+     parent_process_instance_id
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_start_date ON process_instances
+    (
+     process_id, start_date
+    );
+CREATE INDEX IF NOT EXISTS idx_process_instances_last_update ON process_instances
+    (
+     process_id, last_update
+    );
\ No newline at end of file
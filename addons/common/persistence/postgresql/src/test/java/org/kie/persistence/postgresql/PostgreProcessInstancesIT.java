@@ -28,6 +28,7 @@ import org.kie.kogito.persistence.postgresql.PostgreProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
@@ -119,6 +120,24 @@ class PostgreProcessInstancesIT {
         assertThat(process.instances().values()).isEmpty();
     }
 
+    @Test
+    void testAsyncFlow() throws Exception {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        PostgreProcessInstances processInstances = (PostgreProcessInstances) process.instances();
+        assertThat(processInstances.sizeAsync().toCompletableFuture().get()).isOne();
+        assertThat(processInstances.existsAsync(processInstance.id()).toCompletableFuture().get()).isTrue();
+        assertThat(processInstances.findByIdAsync(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().get())
+                .hasValueSatisfying(pi -> assertThat(pi.status()).isEqualTo(STATE_ACTIVE));
+        assertThat(processInstances.findAsync(ProcessInstanceQuery.first(10), ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().get().instances()).hasSize(1);
+
+        processInstances.removeAsync(processInstance.id()).toCompletableFuture().get();
+        assertThat(processInstances.existsAsync(processInstance.id()).toCompletableFuture().get()).isFalse();
+        assertThat(processInstances.findByIdAsync(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().get()).isEmpty();
+    }
+
     private class PostgreProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
         public PostgreProcessInstancesFactory(PgPool client) {
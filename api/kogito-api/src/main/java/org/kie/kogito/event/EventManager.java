@@ -48,6 +48,16 @@ public interface EventManager {
      */
     void addPublisher(EventPublisher publisher);
 
+    /**
+     * Returns whether there is any publisher the events of a batch would be delivered to,
+     * if not, producers may skip creating events nobody else listens to.
+     * 
+     * @return true if at least one publisher is available
+     */
+    default boolean hasPublishers() {
+        return true;
+    }
+
     /**
      * Sets the service information that will be attached to events as source.
      * This is expected to be URL like structure that will allow consumer of the
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.internal.process.event;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Append only journal of the process events raised within a unit of work, kept as a flat array of event
+ * codes next to the array of raw events so it can be replayed in order in a single pass.
+ * The meaning of the codes is up to the component that records the events.
+ */
+public final class ProcessEventJournal {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private byte[] codes = new byte[INITIAL_CAPACITY];
+    private Object[] events = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    public void append(int code, Object event) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+            events = Arrays.copyOf(events, size * 2);
+        }
+        codes[size] = (byte) code;
+        events[size] = event;
+        size++;
+    }
+
+    /**
+     * Returns the number of recorded events, events appended while replaying the journal are accounted for.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int code(int index) {
+        return codes[index];
+    }
+
+    public Object event(int index) {
+        return events[index];
+    }
+
+    public void forEachEvent(Consumer<Object> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(events[i]);
+        }
+    }
+}
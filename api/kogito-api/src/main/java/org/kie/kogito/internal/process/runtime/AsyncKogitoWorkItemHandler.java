@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.internal.process.runtime;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import org.kie.kogito.uow.ExecutionContext;
+
+/**
+ * Work item handler that can perform its work asynchronously, typically a remote call.
+ * <p>
+ * Work items are executed synchronously, through {@link #executeWorkItem(KogitoWorkItem, KogitoWorkItemManager)},
+ * unless they opt in with the {@value #ASYNC_PARAMETER} parameter set to <code>true</code>. For those the engine
+ * does not wait for the returned stage: the work item stays active, the process instance is
+ * persisted in that waiting state and the unit of work that triggered it ends. Once the stage completes the
+ * process instance is loaded again and the work item is completed with the results (or failed with the error)
+ * in a new unit of work.
+ * <p>
+ * When the engine cannot resume the process instance later, for instance when the work item does not belong
+ * to a managed process instance, {@link #executeWorkItem(KogitoWorkItem, KogitoWorkItemManager)} is used
+ * instead and waits for the stage.
+ */
+public interface AsyncKogitoWorkItemHandler extends KogitoWorkItemHandler {
+
+    String ASYNC_PARAMETER = "Async";
+
+    /**
+     * Tells whether the given work item should be executed asynchronously.
+     *
+     * @param workItem the work item about to be executed
+     * @return true when the work item opted in with the {@value #ASYNC_PARAMETER} parameter
+     */
+    default boolean isAsync(KogitoWorkItem workItem) {
+        Object async = workItem.getParameter(ASYNC_PARAMETER);
+        return async != null && Boolean.parseBoolean(async.toString());
+    }
+
+    /**
+     * The given work item should be executed without blocking the calling thread.
+     *
+     * @param workItem the work item that should be executed
+     * @param manager the manager that requested the work item to be executed
+     * @return stage completed with the results of the work item
+     */
+    CompletionStage<Map<String, Object>> executeWorkItemAsync(KogitoWorkItem workItem, KogitoWorkItemManager manager);
+
+    @Override
+    default void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        Map<String, Object> results;
+        try {
+            results = executeWorkItemAsync(workItem, manager).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        manager.completeWorkItem(workItem.getStringId(), results);
+    }
+
+    /**
+     * Runs a blocking call on a thread dedicated to such calls, for handlers whose client only offers
+     * blocking invocations but that should still release the engine thread.
+     *
+     * @param call the blocking call
+     * @return stage completed with the result of the call
+     */
+    static <T> CompletionStage<T> supplyBlocking(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, ExecutionContext.isolating(BlockingCalls.EXECUTOR));
+    }
+}
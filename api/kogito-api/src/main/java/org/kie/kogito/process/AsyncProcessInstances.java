@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non blocking counterpart of {@link MutableProcessInstances}, implemented by storages backed by an asynchronous
+ * client. Returned stages complete on the client threads, so callers must never block waiting for them there.
+ */
+public interface AsyncProcessInstances<T> {
+
+    CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode);
+
+    CompletionStage<ProcessInstancePage<T>> findAsync(ProcessInstanceQuery query, ProcessInstanceReadMode mode);
+
+    CompletionStage<Boolean> existsAsync(String id);
+
+    CompletionStage<Integer> sizeAsync();
+
+    CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> removeAsync(String id);
+}
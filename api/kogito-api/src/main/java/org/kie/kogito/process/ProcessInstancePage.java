@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Result of a {@link ProcessInstanceQuery}: the instances of the page, ordered by id, plus the continuation
+ * token to be used to retrieve the next page, if there might be one.
+ */
+public class ProcessInstancePage<T> {
+
+    private static final int MIN_CHUNK_SIZE = 100;
+
+    /**
+     * Loads, in id order, up to <code>limit</code> instances whose id is greater than <code>after</code>
+     * (all of them when <code>after</code> is <code>null</code>), skipping the first <code>offset</code>.
+     */
+    @FunctionalInterface
+    public interface ChunkLoader<T> {
+
+        List<ProcessInstance<T>> load(String after, int offset, int limit);
+    }
+
+    private final List<ProcessInstance<T>> instances;
+    private final String continuationToken;
+
+    public ProcessInstancePage(List<ProcessInstance<T>> instances, String continuationToken) {
+        this.instances = Collections.unmodifiableList(instances);
+        this.continuationToken = continuationToken;
+    }
+
+    public static <T> ProcessInstancePage<T> empty() {
+        return new ProcessInstancePage<>(Collections.emptyList(), null);
+    }
+
+    /**
+     * Builds the page out of instances already filtered and limited by the storage.
+     */
+    public static <T> ProcessInstancePage<T> of(ProcessInstanceQuery query, List<ProcessInstance<T>> instances) {
+        String token = instances.size() < query.limit() ? null : instances.get(instances.size() - 1).id();
+        return new ProcessInstancePage<>(instances, token);
+    }
+
+    /**
+     * Builds the page for storages that can only iterate instances by id and are not able to evaluate the
+     * query filters natively. When the query has filters, instances are loaded in chunks and checked one by one
+     * until the page is full, so memory consumption stays bounded by the chunk size.
+     */
+    public static <T> ProcessInstancePage<T> scan(ProcessInstanceQuery query, ChunkLoader<T> loader) {
+        if (!query.hasFilters()) {
+            return of(query, loader.load(query.after(), query.offset(), query.limit()));
+        }
+        int chunkSize = Math.max(query.limit(), MIN_CHUNK_SIZE);
+        int toSkip = query.offset();
+        String cursor = query.after();
+        List<ProcessInstance<T>> result = new ArrayList<>(query.limit());
+        List<ProcessInstance<T>> chunk;
+        do {
+            chunk = loader.load(cursor, 0, chunkSize);
+            for (ProcessInstance<T> instance : chunk) {
+                cursor = instance.id();
+                if (!query.matches(instance)) {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                } else {
+                    result.add(instance);
+                    if (result.size() == query.limit()) {
+                        return of(query, result);
+                    }
+                }
+            }
+        } while (chunk.size() == chunkSize);
+        return of(query, result);
+    }
+
+    public List<ProcessInstance<T>> instances() {
+        return instances;
+    }
+
+    public Optional<String> continuationToken() {
+        return Optional.ofNullable(continuationToken);
+    }
+
+    public boolean isEmpty() {
+        return instances.isEmpty();
+    }
+}
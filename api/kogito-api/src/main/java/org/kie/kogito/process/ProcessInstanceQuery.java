@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Objects;
+
+/**
+ * Describes a page of process instances to be retrieved from {@link ProcessInstances}.
+ * <p>
+ * Instances are always returned ordered by id. A page is identified either by an <code>offset</code>
+ * (number of matching instances to skip) or by a continuation token (the id of the last instance
+ * of the previous page, see {@link ProcessInstancePage#continuationToken()}), or both.
+ * Optionally instances can be filtered by status and business key.
+ * <p>
+ * An event type can also be given as a hint to retrieve only the instances currently waiting for it. Storages
+ * keeping a subscription index use it to avoid loading any other instance, the rest may ignore it, given that
+ * signalling an instance that does not wait for an event has no effect.
+ */
+public final class ProcessInstanceQuery {
+
+    /**
+     * Page size used when a page is requested through an offset only, callers that give no paging
+     * parameter at all are expected to retrieve every instance.
+     */
+    public static final int DEFAULT_LIMIT = 10;
+
+    private final int offset;
+    private final int limit;
+    private final String after;
+    private final Integer status;
+    private final String businessKey;
+    private final String eventType;
+
+    private ProcessInstanceQuery(int offset, int limit, String after, Integer status, String businessKey, String eventType) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must be a positive number, was " + offset);
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than zero, was " + limit);
+        }
+        this.offset = offset;
+        this.limit = limit;
+        this.after = after;
+        this.status = status;
+        this.businessKey = businessKey;
+        this.eventType = eventType;
+    }
+
+    public static ProcessInstanceQuery page(int offset, int limit) {
+        return new ProcessInstanceQuery(offset, limit, null, null, null, null);
+    }
+
+    public static ProcessInstanceQuery first(int limit) {
+        return page(0, limit);
+    }
+
+    public ProcessInstanceQuery after(String continuationToken) {
+        return new ProcessInstanceQuery(offset, limit, continuationToken, status, businessKey, eventType);
+    }
+
+    public ProcessInstanceQuery withStatus(int status) {
+        return new ProcessInstanceQuery(offset, limit, after, status, businessKey, eventType);
+    }
+
+    public ProcessInstanceQuery withBusinessKey(String businessKey) {
+        return new ProcessInstanceQuery(offset, limit, after, status, businessKey, eventType);
+    }
+
+    public ProcessInstanceQuery withEventType(String eventType) {
+        return new ProcessInstanceQuery(offset, limit, after, status, businessKey, eventType);
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * @return the continuation token, instances with an id lower or equal to it are not returned;
+     *         <code>null</code> when starting from the beginning
+     */
+    public String after() {
+        return after;
+    }
+
+    public Integer status() {
+        return status;
+    }
+
+    public String businessKey() {
+        return businessKey;
+    }
+
+    /**
+     * @return the event type the instances are expected to wait for, see the class description
+     */
+    public String eventType() {
+        return eventType;
+    }
+
+    public boolean hasFilters() {
+        return status != null || businessKey != null;
+    }
+
+    /**
+     * Checks the status and business key filters against an already loaded instance,
+     * used by storages that cannot evaluate them natively.
+     */
+    public boolean matches(ProcessInstance<?> instance) {
+        return (status == null || status == instance.status()) &&
+                (businessKey == null || businessKey.equals(instance.businessKey()));
+    }
+
+    public boolean isAfterToken(String id) {
+        return after == null || id.compareTo(after) > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ProcessInstanceQuery that = (ProcessInstanceQuery) o;
+        return offset == that.offset && limit == that.limit && Objects.equals(after, that.after) &&
+                Objects.equals(status, that.status) && Objects.equals(businessKey, that.businessKey) && Objects.equals(eventType, that.eventType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, limit, after, status, businessKey, eventType);
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstanceQuery [offset=" + offset + ", limit=" + limit + ", after=" + after + ", status=" + status +
+                ", businessKey=" + businessKey + ", eventType=" + eventType + "]";
+    }
+}
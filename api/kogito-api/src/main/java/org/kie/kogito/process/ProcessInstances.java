@@ -16,7 +16,9 @@
 package org.kie.kogito.process;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface ProcessInstances<T> {
 
@@ -26,11 +28,51 @@ public interface ProcessInstances<T> {
 
     Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode);
 
+    /**
+     * Checks whether an instance with the given id is stored. Storages are expected to answer it from their index
+     * or keys, without loading and unmarshalling the instance.
+     */
+    default boolean exists(String id) {
+        return findById(id, ProcessInstanceReadMode.READ_ONLY).isPresent();
+    }
+
     default Collection<ProcessInstance<T>> values() {
         return values(ProcessInstanceReadMode.READ_ONLY);
     }
 
     Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode);
 
+    default ProcessInstancePage<T> find(ProcessInstanceQuery query) {
+        return find(query, ProcessInstanceReadMode.READ_ONLY);
+    }
+
+    /**
+     * Retrieves a single page of instances ordered by id.
+     * <p>
+     * The default implementation relies on {@link #values(ProcessInstanceReadMode)} and therefore loads all instances,
+     * storages are expected to override it using their native cursors so only the requested page is loaded.
+     */
+    default ProcessInstancePage<T> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return ProcessInstancePage.of(query, values(mode).stream()
+                .filter(pi -> query.isAfterToken(pi.id()))
+                .filter(query::matches)
+                .sorted(Comparator.comparing(ProcessInstance::id))
+                .skip(query.offset())
+                .limit(query.limit())
+                .collect(Collectors.toList()));
+    }
+
+    default Optional<ProcessInstance<T>> findByBusinessKey(String businessKey) {
+        return findByBusinessKey(businessKey, ProcessInstanceReadMode.MUTABLE);
+    }
+
+    /**
+     * Retrieves the instance with the given business key, if any. Storages keeping the business key as an indexed
+     * attribute resolve it without unmarshalling any other instance.
+     */
+    default Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        return find(ProcessInstanceQuery.first(1).withBusinessKey(businessKey), mode).instances().stream().findFirst();
+    }
+
     Integer size();
 }
@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import org.kie.kogito.MapOutput;
@@ -41,14 +42,60 @@ public interface ProcessService {
 
     <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process);
 
+    <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, int offset, int limit);
+
     <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id);
 
+    /**
+     * Same as {@link #getProcessInstanceOutput(Process)} without blocking the caller.
+     */
+    <T extends MappableToModel<R>, R> CompletionStage<List<R>> getProcessInstanceOutputAsync(Process<T> process);
+
+    /**
+     * Same as {@link #getProcessInstanceOutput(Process, int, int)} without blocking the caller when the process
+     * instances are stored in an {@link AsyncProcessInstances} storage.
+     */
+    <T extends MappableToModel<R>, R> CompletionStage<List<R>> getProcessInstanceOutputAsync(Process<T> process, int offset, int limit);
+
+    /**
+     * Same as {@link #findById(Process, String)} without blocking the caller when the process instances are stored
+     * in an {@link AsyncProcessInstances} storage.
+     */
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id);
+
     <T extends MappableToModel<R>, R> Optional<R> delete(Process<T> process, String id);
 
     <T extends MappableToModel<R>, R> Optional<R> update(Process<T> process, String id, T resource);
 
     <T extends Model> Optional<List<WorkItem>> getTasks(Process<T> process, String id, String user, List<String> groups);
 
+    /**
+     * Same as {@link #createProcessInstance(Process, String, Model, String)} without blocking the caller.
+     * Executing the process still goes through a synchronous unit of work, so it runs on the executor of the
+     * service rather than on the calling thread.
+     */
+    <T extends Model> CompletionStage<ProcessInstance<T>> createProcessInstanceAsync(Process<T> process, String businessKey,
+            T model,
+            String startFromNodeId);
+
+    /**
+     * Same as {@link #delete(Process, String)} without blocking the caller. When the process instances are stored in
+     * an {@link AsyncProcessInstances} storage, missing instances are reported without using the executor of the service.
+     */
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> deleteAsync(Process<T> process, String id);
+
+    /**
+     * Same as {@link #update(Process, String, MappableToModel)} without blocking the caller. When the process instances
+     * are stored in an {@link AsyncProcessInstances} storage, missing instances are reported without using the executor
+     * of the service.
+     */
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> updateAsync(Process<T> process, String id, T resource);
+
+    /**
+     * Same as {@link #getTasks(Process, String, String, List)} without blocking the caller.
+     */
+    <T extends Model> CompletionStage<Optional<List<WorkItem>>> getTasksAsync(Process<T> process, String id, String user, List<String> groups);
+
     <T extends Model> Optional<WorkItem> signalTask(Process<T> process, String id, String taskNodeName, String taskName);
 
     <T extends Model> Optional<WorkItem> getTaskByName(ProcessInstance<T> pi, String taskName);
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.uow;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * State that belongs to a logical execution rather than to the thread running it, such as the current
+ * unit of work or the process instances it loaded.
+ * <p>
+ * Every thread starts with its own implicit context, so code running on a single thread behaves as if
+ * the state was thread bound. To continue an execution on another thread (asynchronous work item
+ * completion, reactive continuations, virtual threads) capture the context with {@link #current()} and
+ * resume it there with {@link #run(Runnable)}, {@link #call(Supplier)} or any of the <code>wrap</code>
+ * methods, typically by passing {@link #propagating(Executor)} to the <code>*Async</code> methods of a
+ * <code>CompletionStage</code>.
+ * <p>
+ * Components keep their state in the context attributes, using themselves as key so that several
+ * instances of the same component do not interfere.
+ */
+public final class ExecutionContext {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private static final ThreadLocal<ExecutionContext> CURRENT = ThreadLocal.withInitial(ExecutionContext::new);
+
+    private final long id = SEQUENCE.incrementAndGet();
+    private final Map<Object, Object> attributes = new ConcurrentHashMap<>();
+
+    private ExecutionContext() {
+    }
+
+    /**
+     * @return the context of the execution running on the current thread
+     */
+    public static ExecutionContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return a new context, not shared with any thread until it is resumed
+     */
+    public static ExecutionContext create() {
+        return new ExecutionContext();
+    }
+
+    /**
+     * Returns an executor that runs every task in the context that was current when the task was submitted.
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> executor.execute(current().wrap(task));
+    }
+
+    /**
+     * Returns an executor that runs every task in a new context of its own. To be used for tasks that start
+     * a new execution, such as a job or an inbound message, instead of continuing the submitting one, which
+     * may keep running concurrently.
+     */
+    public static Executor isolating(Executor executor) {
+        return task -> executor.execute(create().wrap(task));
+    }
+
+    public long id() {
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key) {
+        return (T) attributes.get(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(Object key, Supplier<T> supplier) {
+        return (T) attributes.computeIfAbsent(key, k -> supplier.get());
+    }
+
+    public void put(Object key, Object value) {
+        if (value == null) {
+            attributes.remove(key);
+        } else {
+            attributes.put(key, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T remove(Object key) {
+        return (T) attributes.remove(key);
+    }
+
+    /**
+     * Runs the given task with this context as the current one, restoring the previous context afterwards.
+     */
+    public <T> T call(Supplier<T> task) {
+        ExecutionContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    public void run(Runnable task) {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public Runnable wrap(Runnable task) {
+        return () -> run(task);
+    }
+
+    public <T> Supplier<T> wrap(Supplier<T> task) {
+        return () -> call(task);
+    }
+
+    public <T, R> Function<T, R> wrap(Function<T, R> function) {
+        return value -> call(() -> function.apply(value));
+    }
+
+    public Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionContext [id=" + id + "]";
+    }
+}
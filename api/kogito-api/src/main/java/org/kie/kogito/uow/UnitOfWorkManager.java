@@ -28,7 +28,7 @@ import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 public interface UnitOfWorkManager {
 
     /**
-     * Returns current unit of work for this execution context (usually thread).
+     * Returns current unit of work for this execution context, see {@link ExecutionContext}.
      * 
      * @return current unit of work
      */
@@ -55,4 +55,17 @@ public interface UnitOfWorkManager {
      * @param listener
      */
     void register(UnitOfWorkEventListener listener);
+
+    /**
+     * Registers an action to be invoked once the current unit of work has ended and every listener,
+     * including the ones committing transactions, has been notified. The action is discarded
+     * if the unit of work is aborted or fails to end.
+     * <p>
+     * The default implementation can only run the action as the last work of the current unit of work.
+     * 
+     * @param action action to be invoked after the current unit of work
+     */
+    default void afterEnd(Runnable action) {
+        currentUnitOfWork().intercept(WorkUnit.create(action, Runnable::run));
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.internal.process.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessEventJournalTest {
+
+    @Test
+    void testAppendKeepsOrderBeyondInitialCapacity() {
+        ProcessEventJournal journal = new ProcessEventJournal();
+        for (int i = 0; i < 100; i++) {
+            journal.append(i % 17, "event" + i);
+        }
+
+        assertThat(journal.size()).isEqualTo(100);
+        assertThat(journal.code(0)).isZero();
+        assertThat(journal.code(50)).isEqualTo(50 % 17);
+        assertThat(journal.event(99)).isEqualTo("event99");
+
+        List<Object> events = new ArrayList<>();
+        journal.forEachEvent(events::add);
+        assertThat(events).hasSize(100).startsWith("event0", "event1").endsWith("event99");
+    }
+
+    @Test
+    void testEmptyJournal() {
+        ProcessEventJournal journal = new ProcessEventJournal();
+        journal.forEachEvent(e -> {
+            throw new IllegalStateException("No event expected");
+        });
+        assertThat(journal.size()).isZero();
+    }
+}
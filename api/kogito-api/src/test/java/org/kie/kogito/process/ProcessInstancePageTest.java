@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessInstancePageTest {
+
+    private final List<ProcessInstance<Object>> storage = IntStream.range(0, 250)
+            .mapToObj(i -> instance(String.format("%03d", i), i % 2 == 0 ? ProcessInstance.STATE_ACTIVE : ProcessInstance.STATE_ERROR, "key" + (i % 5)))
+            .collect(Collectors.toList());
+
+    private final AtomicInteger loadedChunks = new AtomicInteger();
+
+    private List<ProcessInstance<Object>> load(String after, int offset, int limit) {
+        loadedChunks.incrementAndGet();
+        return storage.stream()
+                .filter(pi -> after == null || pi.id().compareTo(after) > 0)
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testPageWithoutFilters() {
+        ProcessInstancePage<Object> page = ProcessInstancePage.scan(ProcessInstanceQuery.page(5, 10), this::load);
+        assertThat(page.instances()).extracting(ProcessInstance::id).containsExactly("005", "006", "007", "008", "009", "010", "011", "012", "013", "014");
+        assertThat(page.continuationToken()).hasValue("014");
+        assertThat(loadedChunks).hasValue(1);
+
+        page = ProcessInstancePage.scan(ProcessInstanceQuery.first(10).after("014"), this::load);
+        assertThat(page.instances()).extracting(ProcessInstance::id).startsWith("015").endsWith("024");
+    }
+
+    @Test
+    void testLastPageHasNoContinuationToken() {
+        ProcessInstancePage<Object> page = ProcessInstancePage.scan(ProcessInstanceQuery.first(10).after("245"), this::load);
+        assertThat(page.instances()).extracting(ProcessInstance::id).containsExactly("246", "247", "248", "249");
+        assertThat(page.continuationToken()).isEmpty();
+    }
+
+    @Test
+    void testPageWithFilters() {
+        ProcessInstanceQuery query = ProcessInstanceQuery.page(2, 5).withStatus(ProcessInstance.STATE_ACTIVE).withBusinessKey("key0");
+        ProcessInstancePage<Object> page = ProcessInstancePage.scan(query, this::load);
+        assertThat(page.instances()).extracting(ProcessInstance::id).containsExactly("020", "030", "040", "050", "060");
+        assertThat(page.continuationToken()).hasValue("060");
+
+        page = ProcessInstancePage.scan(ProcessInstanceQuery.first(30).withStatus(ProcessInstance.STATE_ACTIVE).withBusinessKey("key0").after("060"), this::load);
+        assertThat(page.instances()).extracting(ProcessInstance::id).hasSize(18).startsWith("070").endsWith("240");
+        assertThat(page.continuationToken()).isEmpty();
+        assertThat(loadedChunks).hasValue(3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ProcessInstance<Object> instance(String id, int status, String businessKey) {
+        return (ProcessInstance<Object>) Proxy.newProxyInstance(ProcessInstancePageTest.class.getClassLoader(), new Class<?>[] { ProcessInstance.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "id":
+                    return id;
+                case "status":
+                    return status;
+                case "businessKey":
+                    return businessKey;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
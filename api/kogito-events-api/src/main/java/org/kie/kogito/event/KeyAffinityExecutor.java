@@ -0,0 +1,289 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executor that runs tasks sharing the same key strictly in submission order, while tasks with different
+ * keys run in parallel on the delegate executor.
+ * <p>
+ * Keys are hashed onto a fixed number of lanes; each lane drains its queue on one delegate thread at a time.
+ * A lane accepts at most <code>laneCapacity</code> pending tasks, further submissions are rejected with a
+ * {@link RejectedExecutionException} rather than blocking the caller, which is usually a messaging or event loop
+ * thread. The same happens when the delegate rejects the lane. {@link #supplyAsync(Object, Supplier)} and
+ * {@link #composeAsync(Object, Supplier)} report the rejection through the returned future, so the caller can
+ * nack the message and let it be redelivered. Tasks without a key are spread over the lanes in round robin.
+ * <p>
+ * A task submitted with {@link #composeAsync(Object, Supplier)} keeps its lane until the stage it returns
+ * completes, without holding a delegate thread meanwhile.
+ * <p>
+ * Tasks submitted without a key from a thread that is already draining a lane of this executor run
+ * immediately on that thread, so nested asynchronous steps of a keyed task keep its ordering.
+ */
+public class KeyAffinityExecutor extends AbstractExecutorService {
+
+    public static final int DEFAULT_LANES = 16;
+    public static final int DEFAULT_LANE_CAPACITY = 128;
+
+    private static final ThreadLocal<KeyAffinityExecutor> DRAINING = new ThreadLocal<>();
+
+    private final ExecutorService delegate;
+    private final Lane[] lanes;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    /**
+     * Wraps the given executor unless it already is a key affinity executor, reading the number of lanes and
+     * their capacity from system properties, for applications without a configuration source.
+     */
+    public static KeyAffinityExecutor of(ExecutorService delegate) {
+        return of(delegate,
+                Integer.getInteger(KogitoEventExecutor.LANES_PROPERTY, DEFAULT_LANES),
+                Integer.getInteger(KogitoEventExecutor.LANE_CAPACITY_PROPERTY, DEFAULT_LANE_CAPACITY));
+    }
+
+    public static KeyAffinityExecutor of(ExecutorService delegate, int lanes, int laneCapacity) {
+        if (delegate instanceof KeyAffinityExecutor) {
+            return (KeyAffinityExecutor) delegate;
+        }
+        return new KeyAffinityExecutor(delegate, lanes, laneCapacity);
+    }
+
+    public KeyAffinityExecutor(ExecutorService delegate, int lanes, int laneCapacity) {
+        if (lanes < 1 || laneCapacity < 1) {
+            throw new IllegalArgumentException("Lanes and lane capacity must be at least 1, were " + lanes + " and " + laneCapacity);
+        }
+        this.delegate = delegate;
+        this.lanes = new Lane[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new Lane(laneCapacity);
+        }
+    }
+
+    /**
+     * Runs the task after every task previously submitted with the same key.
+     *
+     * @param key ordering key, usually a process instance id or correlation key; <code>null</code> for no ordering
+     */
+    public void execute(Object key, Runnable task) {
+        dispatch(key, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Object key, Supplier<T> supplier) {
+        return composeAsync(key, () -> CompletableFuture.completedFuture(supplier.get()));
+    }
+
+    /**
+     * Runs the task after every task previously submitted with the same key, the next one starting only once the
+     * stage returned by this one has completed.
+     *
+     * @param key ordering key, usually a process instance id or correlation key; <code>null</code> for no ordering
+     */
+    public <T> CompletableFuture<T> composeAsync(Object key, Supplier<? extends CompletionStage<? extends T>> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            dispatch(key, () -> {
+                try {
+                    supplier.get().whenComplete((value, e) -> {
+                        if (e == null) {
+                            result.complete(value);
+                        } else {
+                            result.completeExceptionally(e);
+                        }
+                    });
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+                return result;
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        execute(null, task);
+    }
+
+    private void dispatch(Object key, Supplier<CompletableFuture<?>> task) {
+        if (key != null) {
+            lanes[Math.floorMod(spread(key.hashCode()), lanes.length)].submit(task);
+        } else if (DRAINING.get() == this) {
+            task.get();
+        } else {
+            lanes[Math.floorMod(roundRobin.getAndIncrement(), lanes.length)].submit(task);
+        }
+    }
+
+    /**
+     * @return number of tasks waiting in all lanes
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.tasks.size();
+        }
+        return depth;
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private class Lane implements Runnable {
+
+        private final Queue<LaneTask> tasks = new ConcurrentLinkedQueue<>();
+        private final Semaphore capacity;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Lane(int capacity) {
+            this.capacity = new Semaphore(capacity);
+        }
+
+        private void submit(Supplier<CompletableFuture<?>> task) {
+            if (isShutdown()) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+            boolean acquired = capacity.tryAcquire();
+            // a lane thread is never rejected, the task it is running may depend on the one being submitted
+            if (!acquired && DRAINING.get() != KeyAffinityExecutor.this) {
+                throw new RejectedExecutionException("Lane is full, the task has been rejected");
+            }
+            LaneTask laneTask = new LaneTask(task, acquired);
+            tasks.add(laneTask);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    delegate.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    if (tasks.remove(laneTask)) {
+                        laneTask.release();
+                    }
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            KeyAffinityExecutor previous = DRAINING.get();
+            DRAINING.set(KeyAffinityExecutor.this);
+            try {
+                do {
+                    LaneTask task;
+                    while ((task = tasks.poll()) != null) {
+                        CompletableFuture<?> pending = task.run();
+                        if (pending != null) {
+                            // the lane stays scheduled and resumes once the task completes, releasing the delegate thread meanwhile
+                            pending.whenComplete((value, e) -> resume());
+                            return;
+                        }
+                    }
+                    scheduled.set(false);
+                    // a task may have been added after the last poll but before the flag was cleared
+                } while (!tasks.isEmpty() && scheduled.compareAndSet(false, true));
+            } finally {
+                DRAINING.set(previous);
+            }
+        }
+
+        private void resume() {
+            try {
+                delegate.execute(this);
+            } catch (RejectedExecutionException e) {
+                // the tasks already accepted by the lane must not be stranded, keep draining on the completing thread
+                run();
+            }
+        }
+
+        private class LaneTask {
+
+            private final Supplier<CompletableFuture<?>> task;
+            private final boolean acquired;
+
+            private LaneTask(Supplier<CompletableFuture<?>> task, boolean acquired) {
+                this.task = task;
+                this.acquired = acquired;
+            }
+
+            /**
+             * @return the stage the lane has to wait for, or <code>null</code> when the task is already done
+             */
+            private CompletableFuture<?> run() {
+                CompletableFuture<?> stage = null;
+                try {
+                    stage = task.get();
+                } catch (RuntimeException e) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+                if (stage == null || stage.isDone()) {
+                    release();
+                    return null;
+                }
+                return stage.whenComplete((value, e) -> release());
+            }
+
+            private void release() {
+                if (acquired) {
+                    capacity.release();
+                }
+            }
+        }
+    }
+}
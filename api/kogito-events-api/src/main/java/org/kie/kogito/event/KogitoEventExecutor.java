@@ -18,6 +18,7 @@ package org.kie.kogito.event;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -30,18 +31,56 @@ public class KogitoEventExecutor {
     public static final int DEFAULT_QUEUE_SIZE_INT = 1;
     public static final String DEFAULT_QUEUE_SIZE = "1";
     public static final String QUEUE_SIZE_PROPERTY = "kogito.quarkus.events.threads.queueSize";
+    public static final String VIRTUAL_THREADS_PROPERTY = "kogito.quarkus.events.threads.virtual";
+    public static final String DEFAULT_VIRTUAL_THREADS = "false";
+    public static final String LANES_PROPERTY = "kogito.quarkus.events.threads.lanes";
+    public static final int DEFAULT_LANES_INT = KeyAffinityExecutor.DEFAULT_LANES;
+    public static final String DEFAULT_LANES = "16";
+    public static final String LANE_CAPACITY_PROPERTY = "kogito.quarkus.events.threads.laneCapacity";
+    public static final int DEFAULT_LANE_CAPACITY_INT = KeyAffinityExecutor.DEFAULT_LANE_CAPACITY;
+    public static final String DEFAULT_LANE_CAPACITY = "128";
     public static final String BEAN_NAME = "kogito-event-executor";
+    public static final String THREAD_NAME = "kogito-event";
 
     public static ExecutorService getEventExecutor() {
         return getEventExecutor(DEFAULT_MAX_THREADS_INT, DEFAULT_QUEUE_SIZE_INT);
     }
 
+    /**
+     * When virtual threads are requested and supported by the JVM, <code>numOfThreads</code> is used as the
+     * maximum number of events processed concurrently and at most <code>blockQueueSize</code> events wait for
+     * their turn, further ones are rejected. Otherwise it falls back to the thread pool of
+     * {@link #getEventExecutor(int, int)}.
+     */
+    public static ExecutorService getEventExecutor(int numOfThreads, int blockQueueSize, boolean virtualThreads) {
+        if (virtualThreads && VirtualThreadExecutor.isSupported()) {
+            return new VirtualThreadExecutor(THREAD_NAME, numOfThreads, blockQueueSize);
+        }
+        return getEventExecutor(numOfThreads, blockQueueSize);
+    }
+
+    /**
+     * Events submitted while all the threads are busy and the queue is full are rejected rather than processed on
+     * the submitting thread, which is usually a messaging thread that must not be blocked.
+     */
     public static ExecutorService getEventExecutor(int numOfThreads, int blockQueueSize) {
         BlockingQueue<Runnable> blockingQueue = new ArrayBlockingQueue<>(blockQueueSize);
-        RejectedExecutionHandler rejectedExecutionHandler = new ThreadPoolExecutor.CallerRunsPolicy();
+        RejectedExecutionHandler rejectedExecutionHandler = new ThreadPoolExecutor.AbortPolicy();
         return new ThreadPoolExecutor(1, numOfThreads, 1L, TimeUnit.MINUTES, blockingQueue, rejectedExecutionHandler);
     }
 
+    /**
+     * Executor processing one event at a time in arrival order, for applications without a configuration source.
+     * A single virtual thread drains the events when the {@value #VIRTUAL_THREADS_PROPERTY} system property is
+     * <code>true</code>.
+     */
+    public static ExecutorService getSingleEventExecutor() {
+        if (Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY) && VirtualThreadExecutor.isSupported()) {
+            return new VirtualThreadExecutor(THREAD_NAME, 1);
+        }
+        return Executors.newSingleThreadExecutor();
+    }
+
     private KogitoEventExecutor() {
     }
 
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor that runs tasks on at most <code>maxConcurrency</code> virtual threads, started on demand, which
+ * drain a FIFO queue of submitted tasks.
+ * <p>
+ * Tasks start in submission order, so an instance with a concurrency of one runs them one at a time in order,
+ * like a single thread executor. The queue holds at most <code>maxQueueSize</code> tasks, further submissions
+ * are rejected with a {@link RejectedExecutionException}. Queue depth and the time spent in the queue are
+ * exposed so they can be published as metrics.
+ * <p>
+ * Virtual threads require JDK 21 or later; use {@link #isSupported()} to check before creating an instance.
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService {
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = virtualThreadFactory();
+
+    private final String name;
+    private final int maxConcurrency;
+    private final int maxQueueSize;
+    private final Queue<QueuedTask> tasks = new ConcurrentLinkedQueue<>();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger workers = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private final Object lifecycle = new Object();
+    private volatile boolean shutdown;
+    private volatile boolean stopped;
+    private int running;
+
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    public VirtualThreadExecutor(String name, int maxConcurrency) {
+        this(name, maxConcurrency, Integer.MAX_VALUE);
+    }
+
+    public VirtualThreadExecutor(String name, int maxConcurrency, int maxQueueSize) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM (" + System.getProperty("java.version") + ")");
+        }
+        if (maxConcurrency < 1 || maxQueueSize < 1) {
+            throw new IllegalArgumentException("Max concurrency and queue size must be at least 1, were " + maxConcurrency + " and " + maxQueueSize);
+        }
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        synchronized (lifecycle) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor " + name + " has been shut down");
+            }
+            if (waiting.get() >= maxQueueSize) {
+                throw new RejectedExecutionException("Queue of executor " + name + " is full, the task has been rejected");
+            }
+            waiting.incrementAndGet();
+            running++;
+        }
+        QueuedTask task = new QueuedTask(command, System.nanoTime());
+        tasks.add(task);
+        if (stopped && tasks.remove(task)) {
+            // shutdownNow drained the queue while the task was being added
+            waiting.decrementAndGet();
+            terminated(1);
+            throw new RejectedExecutionException("Executor " + name + " has been shut down");
+        }
+        startWorker();
+    }
+
+    private void startWorker() {
+        int current;
+        while ((current = workers.get()) < maxConcurrency) {
+            if (workers.compareAndSet(current, current + 1)) {
+                Thread thread = VIRTUAL_THREAD_FACTORY.newThread(this::drain);
+                thread.setName(name + "-" + thread.getId());
+                threads.add(thread);
+                thread.start();
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            do {
+                QueuedTask task;
+                while (!stopped && (task = tasks.poll()) != null) {
+                    runTask(task);
+                }
+                workers.decrementAndGet();
+                // a task may have been queued after the last poll but before the worker count was decremented
+            } while (!stopped && !tasks.isEmpty() && reacquireWorker());
+        } finally {
+            threads.remove(Thread.currentThread());
+        }
+    }
+
+    private boolean reacquireWorker() {
+        int current;
+        while ((current = workers.get()) < maxConcurrency) {
+            if (workers.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runTask(QueuedTask task) {
+        waiting.decrementAndGet();
+        recordWait(System.nanoTime() - task.submitted);
+        active.incrementAndGet();
+        try {
+            task.command.run();
+        } catch (RuntimeException e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        } finally {
+            active.decrementAndGet();
+            completed.incrementAndGet();
+            // a task interrupted by shutdownNow must not leave the flag set for the next one
+            Thread.interrupted();
+            terminated(1);
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void terminated(int count) {
+        synchronized (lifecycle) {
+            running -= count;
+            if (running == 0) {
+                lifecycle.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @return number of submitted tasks waiting in the queue
+     */
+    public int getQueueDepth() {
+        return waiting.get();
+    }
+
+    /**
+     * @return number of tasks currently running
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public long getCompletedTaskCount() {
+        return completed.get();
+    }
+
+    /**
+     * @return accumulated time tasks spent in the queue
+     */
+    public long getTotalWaitTime(TimeUnit unit) {
+        return unit.convert(totalWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return longest time a single task spent in the queue
+     */
+    public long getMaxWaitTime(TimeUnit unit) {
+        return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (lifecycle) {
+            shutdown = true;
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        stopped = true;
+        threads.forEach(Thread::interrupt);
+        List<Runnable> pending = new ArrayList<>();
+        QueuedTask task;
+        while ((task = tasks.poll()) != null) {
+            waiting.decrementAndGet();
+            pending.add(task.command);
+        }
+        terminated(pending.size());
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        synchronized (lifecycle) {
+            return shutdown && running == 0;
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lifecycle) {
+            while (!(shutdown && running == 0)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lifecycle, remaining);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualThreadExecutor [name=" + name + ", maxConcurrency=" + maxConcurrency + ", active=" + getActiveCount() + ", queueDepth=" + getQueueDepth() + "]";
+    }
+
+    // Thread.ofVirtual() is looked up reflectively so that this class still compiles and loads on JDK 11
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static class QueuedTask {
+
+        private final Runnable command;
+        private final long submitted;
+
+        private QueuedTask(Runnable command, long submitted) {
+            this.command = command;
+            this.submitted = submitted;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class KeyAffinityExecutorTest {
+
+    private ExecutorService pool;
+    private KeyAffinityExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        pool = Executors.newFixedThreadPool(4);
+        executor = new KeyAffinityExecutor(pool, 4, 256);
+    }
+
+    @AfterEach
+    void cleanup() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testSameKeyRunsInOrder() throws Exception {
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        List<CompletableFuture<?>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String key = "instance-" + (i % 5);
+            int sequence = i;
+            results.add(executor.supplyAsync(key, () -> seen.computeIfAbsent(key, k -> new ArrayList<>()).add(sequence)));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertThat(seen).hasSize(5);
+        seen.values().forEach(sequences -> assertThat(sequences).hasSize(40).isSorted());
+    }
+
+    @Test
+    void testDifferentKeysRunInParallel() throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        String first = "a";
+        String second = keyOnAnotherLane(first);
+
+        CompletableFuture<Boolean> one = executor.supplyAsync(first, () -> awaitOther(bothRunning));
+        CompletableFuture<Boolean> two = executor.supplyAsync(second, () -> awaitOther(bothRunning));
+
+        assertThat(one.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(two.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testUnkeyedTaskFromLaneRunsInline() throws Exception {
+        CompletableFuture<Boolean> sameThread = executor.supplyAsync("key", () -> {
+            Thread lane = Thread.currentThread();
+            return CompletableFuture.supplyAsync(Thread::currentThread, executor).join() == lane;
+        });
+        assertThat(sameThread.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testFullLaneRejectsWithoutBlocking() throws Exception {
+        KeyAffinityExecutor single = new KeyAffinityExecutor(pool, 1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = single.supplyAsync("key", () -> {
+            running.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Boolean> rejected = single.supplyAsync("key", () -> true);
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .withCauseInstanceOf(RejectedExecutionException.class);
+        assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> single.execute("key", () -> {
+        }));
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testComposedTaskHoldsLaneWithoutHoldingThread() throws Exception {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            KeyAffinityExecutor single = new KeyAffinityExecutor(singleThread, 4, 16);
+            CompletableFuture<String> processing = new CompletableFuture<>();
+            List<String> seen = new ArrayList<>();
+
+            CompletableFuture<String> first = single.composeAsync("key", () -> processing);
+            CompletableFuture<Boolean> second = single.supplyAsync("key", () -> seen.add("second"));
+            // the only delegate thread is free while the first task is in progress, so another lane can run
+            assertThat(single.supplyAsync(keyOnAnotherLane("key"), () -> seen.isEmpty()).get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(second).isNotDone();
+
+            processing.complete("first");
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(seen).containsExactly("second");
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDelegateRejectionFailsTheTask() throws Exception {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        ExecutorService saturated = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                if (rejecting.get()) {
+                    throw new RejectedExecutionException("saturated");
+                }
+                super.execute(command);
+            }
+        };
+        try {
+            KeyAffinityExecutor single = new KeyAffinityExecutor(saturated, 1, 1);
+
+            CompletableFuture<Boolean> rejected = single.supplyAsync("key", () -> true);
+            assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                    .withCauseInstanceOf(RejectedExecutionException.class);
+            assertThat(single.getQueueDepth()).isZero();
+
+            // neither the lane nor its capacity are left taken by the rejected task
+            rejecting.set(false);
+            assertThat(single.supplyAsync("key", () -> true).get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            saturated.shutdownNow();
+        }
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String keyOnAnotherLane(String key) {
+        int lane = Math.floorMod(spread(key.hashCode()), 4);
+        for (int i = 0;; i++) {
+            String candidate = key + i;
+            if (Math.floorMod(spread(candidate.hashCode()), 4) != lane) {
+                return candidate;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadExecutorTest {
+
+    @BeforeEach
+    void requireVirtualThreads() {
+        assumeTrue(VirtualThreadExecutor.isSupported(), "virtual threads require JDK 21+");
+    }
+
+    @Test
+    void testConcurrencyIsBounded() throws InterruptedException {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor("test", 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            });
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor.getQueueDepth() != 8 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.getActiveCount()).isEqualTo(2);
+        assertThat(executor.getQueueDepth()).isEqualTo(8);
+
+        release.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(executor.getCompletedTaskCount()).isEqualTo(10);
+        assertThat(executor.getQueueDepth()).isZero();
+        assertThat(executor.getMaxWaitTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    void testSingleThreadRunsInSubmissionOrder() throws InterruptedException {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor("test", 1);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            executor.execute(() -> order.add(value));
+        }
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).isEqualTo(IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws InterruptedException {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor("test", 1, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> {
+        });
+        executor.execute(() -> {
+        });
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getCompletedTaskCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testRejectsAfterShutdown() {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor("test", 1);
+        executor.shutdown();
+        assertThat(executor.isTerminated()).isTrue();
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+    }
+}
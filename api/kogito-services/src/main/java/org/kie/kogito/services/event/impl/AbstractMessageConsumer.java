@@ -23,12 +23,14 @@ import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.event.EventConverter;
 import org.kie.kogito.event.EventReceiver;
+import org.kie.kogito.event.KeyAffinityExecutor;
 import org.kie.kogito.event.SubscriptionInfo;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.services.event.AbstractProcessDataEvent;
 import org.kie.kogito.services.event.EventConsumer;
 import org.kie.kogito.services.event.EventConsumerFactory;
+import org.kie.kogito.uow.ExecutionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +44,7 @@ public abstract class AbstractMessageConsumer<M extends Model, D, T extends Abst
     private EventConsumer<M> eventConsumer;
     private Class<?> outputClass;
     private EventConverter<String> eventConverter;
+    private KeyAffinityExecutor executor;
 
     // in general we should favor the non-empty constructor
     // but there is an issue with Quarkus https://github.com/quarkusio/quarkus/issues/2949#issuecomment-513017781
@@ -78,7 +81,10 @@ public abstract class AbstractMessageConsumer<M extends Model, D, T extends Abst
         this.application = application;
         this.trigger = trigger;
         this.eventConverter = eventConverter;
-        this.eventConsumer = eventConsumerFactory.get(processService, executorService, this::eventToModel, useCloudEvents);
+        // messages for the same process instance are processed in order, the rest in parallel;
+        // only this consumer sees the ordering wrapper, the shared event executor stays a plain one
+        this.executor = KeyAffinityExecutor.of(executorService);
+        this.eventConsumer = eventConsumerFactory.get(processService, executor, this::eventToModel, useCloudEvents);
         if (useCloudEvents) {
             this.outputClass = cloudEventClass;
             eventReceiver.subscribe(this::consumeCloud, new SubscriptionInfo<>(eventConverter, cloudEventClass, Optional.of(trigger)));
@@ -90,16 +96,28 @@ public abstract class AbstractMessageConsumer<M extends Model, D, T extends Abst
     }
 
     protected CompletionStage<?> consumeCloud(T payload) {
-        return consume(payload);
+        return consume(payload, orderingKey(payload));
     }
 
     protected CompletionStage<?> consumeNotCloud(D payload) {
-        return consume(payload);
+        return consume(payload, null);
     }
 
-    private CompletionStage<?> consume(Object payload) {
+    /**
+     * Key used to order the processing of the given event, by default the id of the process instance it targets.
+     */
+    protected Object orderingKey(T payload) {
+        String referenceId = payload.getKogitoReferenceId();
+        return referenceId != null && !referenceId.isEmpty() ? referenceId : payload.getKogitoProcessinstanceId();
+    }
+
+    private CompletionStage<?> consume(Object payload, Object key) {
         logger.trace("Received {} for trigger {}", payload, trigger);
-        CompletionStage<?> result = eventConsumer.consume(application, process, payload, trigger);
+        // the lane is held until the returned stage completes, otherwise the next event for the same key could overtake it;
+        // when the lane or the executor are full the returned stage fails so the message is nacked instead of blocking the messaging thread;
+        // each event is processed in an execution context of its own as the messaging thread keeps receiving meanwhile
+        CompletionStage<?> result = executor.composeAsync(key,
+                ExecutionContext.create().wrap(() -> eventConsumer.consume(application, process, payload, trigger)));
         if (logger.isTraceEnabled()) {
             result = result.thenAccept(v -> logger.trace("Completed {} for trigger {}", payload, trigger));
         }
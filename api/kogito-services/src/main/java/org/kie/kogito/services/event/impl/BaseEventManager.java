@@ -52,6 +52,11 @@ public class BaseEventManager implements EventManager {
         this.publishers.add(publisher);
     }
 
+    @Override
+    public boolean hasPublishers() {
+        return !publishers.isEmpty();
+    }
+
     @Override
     public void setService(String service) {
         this.service = service;
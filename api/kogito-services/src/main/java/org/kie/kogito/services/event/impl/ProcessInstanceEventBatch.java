@@ -24,17 +24,20 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.kie.api.event.process.MessageEvent;
 import org.kie.api.event.process.ProcessCompletedEvent;
 import org.kie.api.event.process.ProcessEvent;
 import org.kie.api.event.process.ProcessNodeEvent;
 import org.kie.api.event.process.ProcessNodeLeftEvent;
 import org.kie.api.event.process.ProcessNodeTriggeredEvent;
 import org.kie.api.event.process.ProcessVariableChangedEvent;
+import org.kie.api.event.process.SignalEvent;
 import org.kie.kogito.Addons;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventBatch;
 import org.kie.kogito.internal.process.event.HumanTaskDeadlineEvent;
 import org.kie.kogito.internal.process.event.KogitoProcessVariableChangedEvent;
+import org.kie.kogito.internal.process.event.ProcessEventJournal;
 import org.kie.kogito.internal.process.event.ProcessWorkItemTransitionEvent;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
@@ -52,7 +55,8 @@ public class ProcessInstanceEventBatch implements EventBatch {
 
     private final String service;
     private Addons addons;
-    private List<ProcessEvent> rawEvents = new ArrayList<>();
+    // process events and journals of process events, in the order they were appended
+    private List<Object> rawEvents = new ArrayList<>();
 
     public ProcessInstanceEventBatch(String service, Addons addons) {
         this.service = service;
@@ -61,8 +65,10 @@ public class ProcessInstanceEventBatch implements EventBatch {
 
     @Override
     public void append(Object rawEvent) {
-        if (rawEvent instanceof ProcessEvent) {
-            rawEvents.add((ProcessEvent) rawEvent);
+        // journals are only expanded when building the events, so the ones appended while the journal
+        // is replayed to the listeners are published too
+        if (rawEvent instanceof ProcessEvent || rawEvent instanceof ProcessEventJournal) {
+            rawEvents.add(rawEvent);
         }
     }
 
@@ -73,7 +79,7 @@ public class ProcessInstanceEventBatch implements EventBatch {
         Set<VariableInstanceEventBody> variables = new LinkedHashSet<>();
 
         Collection<DataEvent<?>> processedEvents = new ArrayList<>();
-        for (ProcessEvent event : rawEvents) {
+        for (ProcessEvent event : processEvents()) {
             ProcessInstanceEventBody body = processInstances.computeIfAbsent(((KogitoProcessInstance) event.getProcessInstance()).getStringId(), key -> create(event));
 
             if (event instanceof ProcessNodeTriggeredEvent) {
@@ -96,6 +102,27 @@ public class ProcessInstanceEventBatch implements EventBatch {
         return processedEvents;
     }
 
+    private List<ProcessEvent> processEvents() {
+        List<ProcessEvent> processEvents = new ArrayList<>();
+        for (Object rawEvent : rawEvents) {
+            if (rawEvent instanceof ProcessEventJournal) {
+                ((ProcessEventJournal) rawEvent).forEachEvent(event -> {
+                    if (isPublished(event)) {
+                        processEvents.add((ProcessEvent) event);
+                    }
+                });
+            } else if (isPublished(rawEvent)) {
+                processEvents.add((ProcessEvent) rawEvent);
+            }
+        }
+        return processEvents;
+    }
+
+    // signals and messages are only journaled for the listeners, they do not change the published process instance
+    private static boolean isPublished(Object event) {
+        return event instanceof ProcessEvent && !(event instanceof SignalEvent) && !(event instanceof MessageEvent);
+    }
+
     private DataEvent<?> buildUserTaskDeadlineEvent(HumanTaskDeadlineEvent event) {
 
         HumanTaskWorkItem workItem = event.getWorkItem();
@@ -15,11 +15,15 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.kie.kogito.event.EventManager;
 import org.kie.kogito.services.event.impl.BaseEventManager;
+import org.kie.kogito.uow.ExecutionContext;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkFactory;
 import org.kie.kogito.uow.UnitOfWorkManager;
@@ -29,13 +33,12 @@ import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import org.kie.kogito.uow.events.UnitOfWorkStartEvent;
 
 /**
- * Default implementation of the UnitOfWorkManager that is backed by
- * thread local to keep the associated unit of work.
+ * Default implementation of the UnitOfWorkManager that keeps the associated
+ * unit of work in the current {@link ExecutionContext}, so it follows the
+ * execution when it is continued on another thread.
  *
  */
 public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
-    // uses thread local to associate unit of works to execution context/thread
-    private ThreadLocal<UnitOfWork> currentUnitOfWork = new ThreadLocal<>();
     // uses pass through unit of work as fallback if no unit of work has been started
     private UnitOfWork fallbackUnitOfWork = new PassThroughUnitOfWork();
     // factory used to create unit of work 
@@ -44,6 +47,8 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
     private EventManager eventManager = new BaseEventManager();
 
     private Set<UnitOfWorkEventListener> listeners = new LinkedHashSet<>();
+    // key of the actions waiting for the end of the current unit of work
+    private final Object afterEndActions = new Object();
 
     public DefaultUnitOfWorkManager(UnitOfWorkFactory factory) {
         super();
@@ -58,7 +63,7 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
 
     @Override
     public UnitOfWork currentUnitOfWork() {
-        UnitOfWork unit = currentUnitOfWork.get();
+        UnitOfWork unit = ExecutionContext.current().get(this);
 
         if (unit == null) {
             return fallbackUnitOfWork;
@@ -78,20 +83,47 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
 
     protected void onEnd(UnitOfWork unit) {
         this.dissociate(unit);
-        listeners.forEach(l -> l.onAfterEndEvent(new UnitOfWorkEndEvent(unit)));
+        List<Runnable> actions = ExecutionContext.current().remove(afterEndActions);
+        notifyListeners(l -> l.onAfterEndEvent(new UnitOfWorkEndEvent(unit)));
+        if (actions != null) {
+            actions.forEach(Runnable::run);
+        }
     }
 
     protected void onAbort(UnitOfWork unit) {
         this.dissociate(unit);
-        listeners.forEach(l -> l.onAfterAbortEvent(new UnitOfWorkAbortEvent(unit)));
+        ExecutionContext.current().remove(afterEndActions);
+        notifyListeners(l -> l.onAfterAbortEvent(new UnitOfWorkAbortEvent(unit)));
+    }
+
+    /**
+     * Notifies every listener even if some of them fail, the first failure is then rethrown
+     * with the following ones suppressed.
+     */
+    private void notifyListeners(Consumer<UnitOfWorkEventListener> notification) {
+        RuntimeException failure = null;
+        for (UnitOfWorkEventListener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
     protected void associate(UnitOfWork unit) {
-        currentUnitOfWork.set(unit);
+        ExecutionContext.current().put(this, unit);
     }
 
     protected void dissociate(UnitOfWork unit) {
-        currentUnitOfWork.set(null);
+        ExecutionContext.current().remove(this);
     }
 
     @Override
@@ -103,4 +135,18 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
     public void register(UnitOfWorkEventListener listener) {
         listeners.add(listener);
     }
+
+    /**
+     * Runs the action after the listeners of the current unit of work, or right away when no unit of work
+     * has been started.
+     */
+    @Override
+    public void afterEnd(Runnable action) {
+        ExecutionContext context = ExecutionContext.current();
+        if (context.get(this) == null) {
+            action.run();
+        } else {
+            context.<List<Runnable>> computeIfAbsent(afterEndActions, ArrayList::new).add(action);
+        }
+    }
 }
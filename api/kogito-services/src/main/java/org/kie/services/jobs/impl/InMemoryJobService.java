@@ -19,10 +19,13 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.kie.kogito.event.VirtualThreadExecutor;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.jobs.JobDescription;
@@ -31,6 +34,7 @@ import org.kie.kogito.jobs.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.ProcessJobDescription;
 import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.kie.kogito.timer.TimerInstance;
+import org.kie.kogito.uow.ExecutionContext;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,9 +44,17 @@ public class InMemoryJobService implements JobsService {
     private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryJobService.class);
     private static final String TRIGGER = "timer";
 
+    public static final String VIRTUAL_THREADS_PROPERTY = "kogito.jobs.threads.virtual";
+    public static final String DEFAULT_VIRTUAL_THREADS = "false";
+    public static final String MAX_CONCURRENCY_PROPERTY = "kogito.jobs.threads.maxConcurrency";
+    public static final int DEFAULT_MAX_CONCURRENCY_INT = 10;
+    public static final String DEFAULT_MAX_CONCURRENCY = "10";
+
     protected final ScheduledThreadPoolExecutor scheduler;
     protected final KogitoProcessRuntime processRuntime;
     protected final UnitOfWorkManager unitOfWorkManager;
+    // when set, expired jobs are handed over to it so the scheduler thread only keeps track of time
+    protected final ExecutorService jobExecutor;
 
     protected ConcurrentHashMap<String, ScheduledFuture<?>> scheduledJobs = new ConcurrentHashMap<>();
 
@@ -51,19 +63,44 @@ public class InMemoryJobService implements JobsService {
     }
 
     public InMemoryJobService(int threadPoolSize, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
+        this(threadPoolSize, defaultJobExecutor(), processRuntime, unitOfWorkManager);
+    }
+
+    public InMemoryJobService(int threadPoolSize, ExecutorService jobExecutor, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
         this.scheduler = new ScheduledThreadPoolExecutor(threadPoolSize);
+        this.jobExecutor = jobExecutor;
         this.processRuntime = processRuntime;
         this.unitOfWorkManager = unitOfWorkManager;
     }
 
+    /**
+     * Executor expired jobs are handed over to, or <code>null</code> when jobs should run on the scheduler thread
+     * because virtual threads are not requested or not supported by the JVM.
+     */
+    public static ExecutorService jobExecutor(boolean virtualThreads, int maxConcurrency) {
+        if (virtualThreads && VirtualThreadExecutor.isSupported()) {
+            return new VirtualThreadExecutor("kogito-job", maxConcurrency);
+        }
+        return null;
+    }
+
+    // applications without a configuration source use system properties
+    private static ExecutorService defaultJobExecutor() {
+        return jobExecutor(Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY), Integer.getInteger(MAX_CONCURRENCY_PROPERTY, DEFAULT_MAX_CONCURRENCY_INT));
+    }
+
+    protected Runnable dispatched(String id, Runnable job) {
+        return jobExecutor == null ? job : new DispatchedJob(id, job);
+    }
+
     @Override
     public String scheduleProcessJob(ProcessJobDescription description) {
         LOGGER.debug("ScheduleProcessJob: {}", description);
         ScheduledFuture<?> future = null;
         if (description.expirationTime().repeatInterval() != null) {
-            future = scheduler.scheduleAtFixedRate(repeatableProcessJobByDescription(description), calculateDelay(description), description.expirationTime().repeatInterval(), TimeUnit.MILLISECONDS);
+            future = scheduler.scheduleAtFixedRate(dispatched(description.id(), repeatableProcessJobByDescription(description)), calculateDelay(description), description.expirationTime().repeatInterval(), TimeUnit.MILLISECONDS);
         } else {
-            future = scheduler.schedule(processJobByDescription(description), calculateDelay(description), TimeUnit.MILLISECONDS);
+            future = scheduler.schedule(dispatched(description.id(), processJobByDescription(description)), calculateDelay(description), TimeUnit.MILLISECONDS);
         }
         scheduledJobs.put(description.id(), future);
         return description.id();
@@ -73,11 +110,11 @@ public class InMemoryJobService implements JobsService {
     public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
         ScheduledFuture<?> future = null;
         if (description.expirationTime().repeatInterval() != null) {
-            future = scheduler.scheduleAtFixedRate(new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), false, description.expirationTime().repeatLimit()),
+            future = scheduler.scheduleAtFixedRate(dispatched(description.id(), new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), false, description.expirationTime().repeatLimit())),
                     calculateDelay(description), description.expirationTime().repeatInterval(), TimeUnit.MILLISECONDS);
         } else {
-            future = scheduler.schedule(new SignalProcessInstanceOnExpiredTimer(description.id(), description
-                    .processInstanceId(), true, 1), calculateDelay(description), TimeUnit.MILLISECONDS);
+            future = scheduler.schedule(dispatched(description.id(), new SignalProcessInstanceOnExpiredTimer(description.id(), description
+                    .processInstanceId(), true, 1)), calculateDelay(description), TimeUnit.MILLISECONDS);
         }
         scheduledJobs.put(description.id(), future);
         return description.id();
@@ -86,11 +123,8 @@ public class InMemoryJobService implements JobsService {
     @Override
     public boolean cancelJob(String id) {
         LOGGER.debug("Cancel Job: {}", id);
-        if (scheduledJobs.containsKey(id)) {
-            return scheduledJobs.remove(id).cancel(true);
-        }
-
-        return false;
+        ScheduledFuture<?> future = scheduledJobs.remove(id);
+        return future != null && future.cancel(true);
     }
 
     @Override
@@ -127,18 +161,53 @@ public class InMemoryJobService implements JobsService {
         }
     }
 
+    /**
+     * Hands the executions of a job over to the job executor one at a time, so like on the scheduler thread an
+     * execution that takes longer than the period delays the next one instead of overlapping with it.
+     */
+    private class DispatchedJob implements Runnable {
+
+        private final String id;
+        private final Runnable job;
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private DispatchedJob(String id, Runnable job) {
+            this.id = id;
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            if (pending.getAndIncrement() == 0) {
+                // the scheduler thread keeps firing other jobs, the executions must not share its context
+                jobExecutor.execute(ExecutionContext.create().wrap(this::drain));
+            }
+        }
+
+        private void drain() {
+            do {
+                try {
+                    job.run();
+                } catch (RuntimeException e) {
+                    LOGGER.error("Error executing job {}", id, e);
+                }
+                // executions queued while the job was running are dropped once it has been cancelled
+            } while (pending.decrementAndGet() > 0 && scheduledJobs.containsKey(id));
+        }
+    }
+
     private class SignalProcessInstanceOnExpiredTimer implements Runnable {
 
         private final String id;
         private boolean removeAtExecution;
         private String processInstanceId;
-        private Integer limit;
+        private final AtomicInteger limit;
 
         private SignalProcessInstanceOnExpiredTimer(String id, String processInstanceId, boolean removeAtExecution, Integer limit) {
             this.id = id;
             this.processInstanceId = processInstanceId;
             this.removeAtExecution = removeAtExecution;
-            this.limit = limit;
+            this.limit = new AtomicInteger(limit);
         }
 
         @Override
@@ -149,9 +218,9 @@ public class InMemoryJobService implements JobsService {
                     KogitoProcessInstance pi = processRuntime.getProcessInstance(processInstanceId);
                     if (pi != null) {
                         String[] ids = id.split("_");
-                        limit--;
-                        pi.signalEvent("timerTriggered", TimerInstance.with(Long.valueOf(ids[1]), id, limit));
-                        if (limit == 0) {
+                        int remaining = limit.decrementAndGet();
+                        pi.signalEvent("timerTriggered", TimerInstance.with(Long.valueOf(ids[1]), id, remaining));
+                        if (remaining == 0) {
                             cancel(id);
                         }
                     } else {
@@ -185,13 +254,13 @@ public class InMemoryJobService implements JobsService {
         @SuppressWarnings("rawtypes")
         private org.kie.kogito.process.Process process;
 
-        private Integer limit;
+        private final AtomicInteger limit;
 
         private StartProcessOnExpiredTimer(String id, org.kie.kogito.process.Process<?> process, boolean removeAtExecution, Integer limit) {
             this.id = id;
             this.process = process;
             this.removeAtExecution = removeAtExecution;
-            this.limit = limit;
+            this.limit = new AtomicInteger(limit);
         }
 
         @SuppressWarnings("unchecked")
@@ -207,9 +276,8 @@ public class InMemoryJobService implements JobsService {
 
                     return null;
                 });
-                limit--;
-                if (limit == 0) {
-                    scheduledJobs.remove(id).cancel(false);
+                if (limit.decrementAndGet() == 0) {
+                    cancel(id);
                 }
                 LOGGER.debug("Job {} completed", id);
             } finally {
@@ -227,13 +295,13 @@ public class InMemoryJobService implements JobsService {
         private boolean removeAtExecution;
         private String processId;
 
-        private Integer limit;
+        private final AtomicInteger limit;
 
         private LegacyStartProcessOnExpiredTimer(String id, String processId, boolean removeAtExecution, Integer limit) {
             this.id = id;
             this.processId = processId;
             this.removeAtExecution = removeAtExecution;
-            this.limit = limit;
+            this.limit = new AtomicInteger(limit);
         }
 
         @Override
@@ -248,9 +316,8 @@ public class InMemoryJobService implements JobsService {
 
                     return null;
                 });
-                limit--;
-                if (limit == 0) {
-                    scheduledJobs.remove(id).cancel(false);
+                if (limit.decrementAndGet() == 0) {
+                    cancel(id);
                 }
                 LOGGER.debug("Job {} completed", id);
             } finally {
@@ -16,9 +16,20 @@
 
 package org.kie.kogito.services.event.impl;
 
+import java.util.Collection;
+
 import org.junit.jupiter.api.Test;
+import org.kie.api.definition.process.Node;
+import org.kie.api.definition.process.Process;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
+import org.kie.api.event.process.ProcessStartedEvent;
+import org.kie.kogito.Addons;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.internal.process.event.ProcessEventJournal;
+import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.internal.process.runtime.KogitoWorkflowProcessInstance;
 import org.kie.kogito.process.flexible.Milestone;
+import org.kie.kogito.services.event.ProcessInstanceDataEvent;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
@@ -72,4 +83,44 @@ public class ProcessInstanceEventBatchTest {
         MilestoneEventBody milestoneEventBody = MilestoneEventBody.create().id("id").name("name").status(Status.AVAILABLE.name()).build();
         assertThat(batch.createMilestones(pi)).containsOnly(milestoneEventBody);
     }
+
+    @Test
+    public void testJournalExpandedWhenBuildingEvents() {
+        ProcessInstanceEventBatch batch = new ProcessInstanceEventBatch("http://localhost:8080", Addons.EMTPY);
+
+        KogitoWorkflowProcessInstance pi = mock(KogitoWorkflowProcessInstance.class);
+        Process process = mock(Process.class);
+        when(pi.getStringId()).thenReturn("1");
+        when(pi.getProcessId()).thenReturn("travels");
+        when(pi.getProcess()).thenReturn(process);
+        when(process.getMetaData()).thenReturn(emptyMap());
+
+        ProcessStartedEvent started = mock(ProcessStartedEvent.class);
+        when(started.getProcessInstance()).thenReturn(pi);
+
+        ProcessEventJournal journal = new ProcessEventJournal();
+        journal.append(0, started);
+        batch.append(journal);
+        // events recorded after the journal was appended, e.g. raised by listeners while it is replayed
+        journal.append(1, nodeTriggered(pi, "n1"));
+        journal.append(1, nodeTriggered(pi, "n2"));
+
+        Collection<DataEvent<?>> events = batch.events();
+
+        assertThat(events).hasSize(1).first().isInstanceOf(ProcessInstanceDataEvent.class);
+        ProcessInstanceEventBody body = ((ProcessInstanceDataEvent) events.iterator().next()).getData();
+        assertThat(body.getId()).isEqualTo("1");
+        assertThat(body.getNodeInstances()).extracting(NodeInstanceEventBody::getId).containsExactlyInAnyOrder("n1", "n2");
+    }
+
+    private static ProcessNodeTriggeredEvent nodeTriggered(KogitoWorkflowProcessInstance pi, String nodeInstanceId) {
+        KogitoNodeInstance ni = mock(KogitoNodeInstance.class);
+        when(ni.getStringId()).thenReturn(nodeInstanceId);
+        when(ni.getNode()).thenReturn(mock(Node.class));
+
+        ProcessNodeTriggeredEvent event = mock(ProcessNodeTriggeredEvent.class);
+        when(event.getProcessInstance()).thenReturn(pi);
+        when(event.getNodeInstance()).thenReturn(ni);
+        return event;
+    }
 }
@@ -15,10 +15,14 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.uow.ExecutionContext;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.WorkUnit;
@@ -27,6 +31,7 @@ import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -70,6 +75,63 @@ public class DefaultUnitOfWorkManagerTest {
         verify(listener, never()).onAfterAbortEvent(any());
     }
 
+    @Test
+    public void testFailingListenerDoesNotSkipOthers() {
+        UnitOfWorkEventListener failing = mock(UnitOfWorkEventListener.class);
+        doThrow(new IllegalStateException("flush failed")).when(failing).onAfterEndEvent(any());
+        UnitOfWorkEventListener last = mock(UnitOfWorkEventListener.class);
+        unitOfWorkManager.register(failing);
+        unitOfWorkManager.register(last);
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        unit.start();
+        assertThrows(IllegalStateException.class, unit::end);
+
+        verify(listener).onAfterEndEvent(any());
+        verify(last).onAfterEndEvent(any());
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+    }
+
+    @Test
+    public void testAfterEndRunsAfterListeners() {
+        final AtomicInteger counter = new AtomicInteger(0);
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        unit.start();
+        unitOfWorkManager.afterEnd(() -> {
+            verify(listener).onAfterEndEvent(any());
+            counter.incrementAndGet();
+        });
+        assertThat(counter.get()).isEqualTo(0);
+        unit.end();
+
+        assertThat(counter.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAfterEndDiscardedOnAbortAndFailure() {
+        final AtomicInteger counter = new AtomicInteger(0);
+        UnitOfWork aborted = unitOfWorkManager.newUnitOfWork();
+        aborted.start();
+        unitOfWorkManager.afterEnd(counter::incrementAndGet);
+        aborted.abort();
+
+        doThrow(new IllegalStateException("commit failed")).when(listener).onAfterEndEvent(any());
+        UnitOfWork failed = unitOfWorkManager.newUnitOfWork();
+        failed.start();
+        unitOfWorkManager.afterEnd(counter::incrementAndGet);
+        assertThrows(IllegalStateException.class, failed::end);
+
+        assertThat(counter.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void testAfterEndWithoutUnitOfWork() {
+        final AtomicInteger counter = new AtomicInteger(0);
+        unitOfWorkManager.afterEnd(counter::incrementAndGet);
+
+        assertThat(counter.get()).isEqualTo(1);
+    }
+
     @Test
     public void testUnitOfWorkStartAbort() {
 
@@ -146,4 +208,48 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter.get()).isEqualTo(1);
         assertThat(picounter.get()).isEqualTo(0);
     }
+
+    @Test
+    public void testUnitOfWorkFollowsExecutionContext() throws Exception {
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        unit.start();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            UnitOfWork isolated = CompletableFuture.supplyAsync(unitOfWorkManager::currentUnitOfWork, executor).get();
+            assertThat(isolated).isInstanceOf(PassThroughUnitOfWork.class);
+
+            UnitOfWork propagated = CompletableFuture.supplyAsync(unitOfWorkManager::currentUnitOfWork, ExecutionContext.propagating(executor)).get();
+            assertThat(propagated).isSameAs(unit);
+
+            UnitOfWork afterwards = CompletableFuture.supplyAsync(unitOfWorkManager::currentUnitOfWork, executor).get();
+            assertThat(afterwards).isInstanceOf(PassThroughUnitOfWork.class);
+        } finally {
+            executor.shutdownNow();
+            unit.end();
+        }
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+    }
+
+    @Test
+    public void testUnitOfWorkNotSharedWithIsolatedExecution() throws Exception {
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        unit.start();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            UnitOfWork isolated = CompletableFuture.supplyAsync(unitOfWorkManager::currentUnitOfWork, ExecutionContext.isolating(executor)).get();
+            assertThat(isolated).isInstanceOf(PassThroughUnitOfWork.class);
+
+            Object key = new Object();
+            ExecutionContext.current().put(key, "value");
+            assertThat(CompletableFuture.supplyAsync(() -> ExecutionContext.current().get(key), ExecutionContext.isolating(executor)).get()).isNull();
+            assertThat(CompletableFuture.supplyAsync(() -> ExecutionContext.current().get(key), ExecutionContext.propagating(executor)).get()).isEqualTo("value");
+            ExecutionContext.current().remove(key);
+        } finally {
+            executor.shutdownNow();
+            unit.end();
+        }
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+    }
 }
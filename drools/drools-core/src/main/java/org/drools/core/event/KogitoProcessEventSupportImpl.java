@@ -15,9 +15,14 @@
  */
 package org.drools.core.event;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
+import org.kie.api.event.process.DefaultProcessEventListener;
 import org.kie.api.event.process.MessageEvent;
 import org.kie.api.event.process.ProcessCompletedEvent;
 import org.kie.api.event.process.ProcessEventListener;
@@ -28,21 +33,96 @@ import org.kie.api.event.process.ProcessVariableChangedEvent;
 import org.kie.api.event.process.SLAViolatedEvent;
 import org.kie.api.event.process.SignalEvent;
 import org.kie.api.runtime.KieRuntime;
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.internal.process.event.DefaultKogitoProcessEventListener;
 import org.kie.kogito.internal.process.event.HumanTaskDeadlineEvent;
 import org.kie.kogito.internal.process.event.HumanTaskDeadlineEvent.DeadlineType;
 import org.kie.kogito.internal.process.event.KogitoProcessEventListener;
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
+import org.kie.kogito.internal.process.event.ProcessEventJournal;
 import org.kie.kogito.internal.process.event.ProcessWorkItemTransitionEvent;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
 import org.kie.kogito.process.workitem.HumanTaskWorkItem;
 import org.kie.kogito.process.workitem.Transition;
+import org.kie.kogito.uow.ExecutionContext;
+import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.WorkUnit;
 
+/**
+ * Process event support that defers the notification of listeners to the end of the unit of work.
+ * <p>
+ * The events raised within a unit of work are recorded in a single {@link ProcessEventJournal} that is registered
+ * as one work unit and replayed to the listeners in one pass, the journal is also what the unit of work hands
+ * over to the event batch. Signals and messages are recorded as well, so listeners receive them in the order they
+ * were raised relative to the other events.
+ * <p>
+ * Events no listener implements are not created at all, unless event publishers are registered and the event is one
+ * of those the process instance event batch builds the published data events from: process started and completed,
+ * node triggered and left, variable changed, SLA violated, work item transitioned and human task deadline. Of each
+ * before and after pair only the one the batch relies on is created for the publishers.
+ */
 public class KogitoProcessEventSupportImpl extends AbstractEventSupport<KogitoProcessEventListener> implements KogitoProcessEventSupport {
 
+    private enum EventType {
+
+        BEFORE_PROCESS_STARTED("beforeProcessStarted", ProcessStartedEvent.class, true, (l, e) -> l.beforeProcessStarted((ProcessStartedEvent) e)),
+        AFTER_PROCESS_STARTED("afterProcessStarted", ProcessStartedEvent.class, false, (l, e) -> l.afterProcessStarted((ProcessStartedEvent) e)),
+        BEFORE_PROCESS_COMPLETED("beforeProcessCompleted", ProcessCompletedEvent.class, false, (l, e) -> l.beforeProcessCompleted((ProcessCompletedEvent) e)),
+        AFTER_PROCESS_COMPLETED("afterProcessCompleted", ProcessCompletedEvent.class, true, (l, e) -> l.afterProcessCompleted((ProcessCompletedEvent) e)),
+        BEFORE_NODE_TRIGGERED("beforeNodeTriggered", ProcessNodeTriggeredEvent.class, true, (l, e) -> l.beforeNodeTriggered((ProcessNodeTriggeredEvent) e)),
+        AFTER_NODE_TRIGGERED("afterNodeTriggered", ProcessNodeTriggeredEvent.class, false, (l, e) -> l.afterNodeTriggered((ProcessNodeTriggeredEvent) e)),
+        BEFORE_NODE_LEFT("beforeNodeLeft", ProcessNodeLeftEvent.class, false, (l, e) -> l.beforeNodeLeft((ProcessNodeLeftEvent) e)),
+        AFTER_NODE_LEFT("afterNodeLeft", ProcessNodeLeftEvent.class, true, (l, e) -> l.afterNodeLeft((ProcessNodeLeftEvent) e)),
+        BEFORE_VARIABLE_CHANGED("beforeVariableChanged", ProcessVariableChangedEvent.class, true, (l, e) -> l.beforeVariableChanged((ProcessVariableChangedEvent) e)),
+        AFTER_VARIABLE_CHANGED("afterVariableChanged", ProcessVariableChangedEvent.class, false, (l, e) -> l.afterVariableChanged((ProcessVariableChangedEvent) e)),
+        BEFORE_SLA_VIOLATED("beforeSLAViolated", SLAViolatedEvent.class, true, (l, e) -> l.beforeSLAViolated((SLAViolatedEvent) e)),
+        AFTER_SLA_VIOLATED("afterSLAViolated", SLAViolatedEvent.class, false, (l, e) -> l.afterSLAViolated((SLAViolatedEvent) e)),
+        BEFORE_WORK_ITEM_TRANSITION("beforeWorkItemTransition", ProcessWorkItemTransitionEvent.class, false, (l, e) -> l.beforeWorkItemTransition((ProcessWorkItemTransitionEvent) e)),
+        AFTER_WORK_ITEM_TRANSITION("afterWorkItemTransition", ProcessWorkItemTransitionEvent.class, true, (l, e) -> l.afterWorkItemTransition((ProcessWorkItemTransitionEvent) e)),
+        HUMAN_TASK_DEADLINE("onHumanTaskDeadline", HumanTaskDeadlineEvent.class, true, (l, e) -> l.onHumanTaskDeadline((HumanTaskDeadlineEvent) e)),
+        SIGNAL("onSignal", SignalEvent.class, false, (l, e) -> l.onSignal((SignalEvent) e)),
+        MESSAGE("onMessage", MessageEvent.class, false, (l, e) -> l.onMessage((MessageEvent) e));
+
+        private static final EventType[] VALUES = values();
+
+        private final String method;
+        private final Class<?> eventClass;
+        // whether the process instance event batch builds the published data events out of this event
+        private final boolean published;
+        private final BiConsumer<KogitoProcessEventListener, Object> dispatcher;
+
+        EventType(String method, Class<?> eventClass, boolean published, BiConsumer<KogitoProcessEventListener, Object> dispatcher) {
+            this.method = method;
+            this.eventClass = eventClass;
+            this.published = published;
+            this.dispatcher = dispatcher;
+        }
+
+        private int mask() {
+            return 1 << ordinal();
+        }
+    }
+
+    // listener methods inherited from these types do nothing, so the listener does not need the event
+    private static final Set<Class<?>> NO_OP_LISTENERS = new HashSet<>(Arrays.asList(ProcessEventListener.class, KogitoProcessEventListener.class,
+            DefaultProcessEventListener.class, DefaultKogitoProcessEventListener.class));
+
+    private static final ClassValue<Integer> INTERESTS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> listenerClass) {
+            int interests = 0;
+            for (EventType type : EventType.VALUES) {
+                if (implementsMethod(listenerClass, type)) {
+                    interests |= type.mask();
+                }
+            }
+            return interests;
+        }
+    };
+
     private UnitOfWorkManager unitOfWorkManager;
 
     public KogitoProcessEventSupportImpl(UnitOfWorkManager unitOfWorkManager) {
@@ -57,82 +137,58 @@ public class KogitoProcessEventSupportImpl extends AbstractEventSupport<KogitoPr
 
     @Override
     public void fireBeforeProcessStarted(final KogitoProcessInstance instance, KieRuntime kruntime) {
-        final ProcessStartedEvent event = new ProcessStartedEventImpl(instance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.beforeProcessStarted(e1));
-            }
-        }));
+        if (isObserved(EventType.BEFORE_PROCESS_STARTED)) {
+            record(EventType.BEFORE_PROCESS_STARTED, new ProcessStartedEventImpl(instance, kruntime));
+        }
     }
 
     @Override
     public void fireAfterProcessStarted(final KogitoProcessInstance instance, KieRuntime kruntime) {
-        final ProcessStartedEvent event = new ProcessStartedEventImpl(instance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.afterProcessStarted(e1));
-            }
-        }));
+        if (isObserved(EventType.AFTER_PROCESS_STARTED)) {
+            record(EventType.AFTER_PROCESS_STARTED, new ProcessStartedEventImpl(instance, kruntime));
+        }
     }
 
     @Override
     public void fireBeforeProcessCompleted(final KogitoProcessInstance instance, KieRuntime kruntime) {
-        final ProcessCompletedEvent event = new ProcessCompletedEventImpl(instance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.beforeProcessCompleted(e1));
-            }
-        }));
+        if (isObserved(EventType.BEFORE_PROCESS_COMPLETED)) {
+            record(EventType.BEFORE_PROCESS_COMPLETED, new ProcessCompletedEventImpl(instance, kruntime));
+        }
     }
 
     @Override
     public void fireAfterProcessCompleted(final KogitoProcessInstance instance, KieRuntime kruntime) {
-        final ProcessCompletedEvent event = new ProcessCompletedEventImpl(instance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.afterProcessCompleted(e1));
-            }
-        }));
+        if (isObserved(EventType.AFTER_PROCESS_COMPLETED)) {
+            record(EventType.AFTER_PROCESS_COMPLETED, new ProcessCompletedEventImpl(instance, kruntime));
+        }
     }
 
     @Override
     public void fireBeforeNodeTriggered(final KogitoNodeInstance nodeInstance, KieRuntime kruntime) {
-        final ProcessNodeTriggeredEvent event = new KogitoProcessNodeTriggeredEventImpl(nodeInstance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.beforeNodeTriggered(e1));
-            }
-        }));
+        if (isObserved(EventType.BEFORE_NODE_TRIGGERED)) {
+            record(EventType.BEFORE_NODE_TRIGGERED, new KogitoProcessNodeTriggeredEventImpl(nodeInstance, kruntime));
+        }
     }
 
     @Override
     public void fireAfterNodeTriggered(final KogitoNodeInstance nodeInstance, KieRuntime kruntime) {
-        final ProcessNodeTriggeredEvent event = new KogitoProcessNodeTriggeredEventImpl(nodeInstance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.afterNodeTriggered(e1));
-            }
-        }));
+        if (isObserved(EventType.AFTER_NODE_TRIGGERED)) {
+            record(EventType.AFTER_NODE_TRIGGERED, new KogitoProcessNodeTriggeredEventImpl(nodeInstance, kruntime));
+        }
     }
 
     @Override
     public void fireBeforeNodeLeft(final KogitoNodeInstance nodeInstance, KieRuntime kruntime) {
-        final ProcessNodeLeftEvent event = new KogitoProcessNodeLeftEventImpl(nodeInstance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.beforeNodeLeft(e1));
-            }
-        }));
+        if (isObserved(EventType.BEFORE_NODE_LEFT)) {
+            record(EventType.BEFORE_NODE_LEFT, new KogitoProcessNodeLeftEventImpl(nodeInstance, kruntime));
+        }
     }
 
     @Override
     public void fireAfterNodeLeft(final KogitoNodeInstance nodeInstance, KieRuntime kruntime) {
-        final ProcessNodeLeftEvent event = new KogitoProcessNodeLeftEventImpl(nodeInstance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.afterNodeLeft(e1));
-            }
-        }));
+        if (isObserved(EventType.AFTER_NODE_LEFT)) {
+            record(EventType.AFTER_NODE_LEFT, new KogitoProcessNodeLeftEventImpl(nodeInstance, kruntime));
+        }
     }
 
     @Override
@@ -140,13 +196,10 @@ public class KogitoProcessEventSupportImpl extends AbstractEventSupport<KogitoPr
             final Object oldValue, final Object newValue,
             final List<String> tags,
             final KogitoProcessInstance processInstance, KogitoNodeInstance nodeInstance, KieRuntime kruntime) {
-        final ProcessVariableChangedEvent event = new KogitoProcessVariableChangedEventImpl(
-                id, instanceId, oldValue, newValue, tags, processInstance, nodeInstance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.beforeVariableChanged(e1));
-            }
-        }));
+        if (isObserved(EventType.BEFORE_VARIABLE_CHANGED)) {
+            record(EventType.BEFORE_VARIABLE_CHANGED, new KogitoProcessVariableChangedEventImpl(
+                    id, instanceId, oldValue, newValue, tags, processInstance, nodeInstance, kruntime));
+        }
     }
 
     @Override
@@ -154,89 +207,65 @@ public class KogitoProcessEventSupportImpl extends AbstractEventSupport<KogitoPr
             final Object oldValue, final Object newValue,
             final List<String> tags,
             final KogitoProcessInstance processInstance, KogitoNodeInstance nodeInstance, KieRuntime kruntime) {
-        final ProcessVariableChangedEvent event = new KogitoProcessVariableChangedEventImpl(
-                name, id, oldValue, newValue, tags, processInstance, nodeInstance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.afterVariableChanged(e1));
-            }
-        }));
+        if (isObserved(EventType.AFTER_VARIABLE_CHANGED)) {
+            record(EventType.AFTER_VARIABLE_CHANGED, new KogitoProcessVariableChangedEventImpl(
+                    name, id, oldValue, newValue, tags, processInstance, nodeInstance, kruntime));
+        }
     }
 
     @Override
     public void fireBeforeSLAViolated(final KogitoProcessInstance instance, KieRuntime kruntime) {
-        final SLAViolatedEvent event = new SLAViolatedEventImpl(instance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.beforeSLAViolated(e1));
-            }
-        }));
+        if (isObserved(EventType.BEFORE_SLA_VIOLATED)) {
+            record(EventType.BEFORE_SLA_VIOLATED, new SLAViolatedEventImpl(instance, kruntime));
+        }
     }
 
     @Override
     public void fireAfterSLAViolated(final KogitoProcessInstance instance, KieRuntime kruntime) {
-        final SLAViolatedEvent event = new SLAViolatedEventImpl(instance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.afterSLAViolated(e1));
-            }
-        }));
+        if (isObserved(EventType.AFTER_SLA_VIOLATED)) {
+            record(EventType.AFTER_SLA_VIOLATED, new SLAViolatedEventImpl(instance, kruntime));
+        }
     }
 
     @Override
     public void fireBeforeSLAViolated(final KogitoProcessInstance instance, KogitoNodeInstance nodeInstance, KieRuntime kruntime) {
-        final SLAViolatedEvent event = new SLAViolatedEventImpl(instance, nodeInstance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.beforeSLAViolated(e1));
-            }
-        }));
+        if (isObserved(EventType.BEFORE_SLA_VIOLATED)) {
+            record(EventType.BEFORE_SLA_VIOLATED, new SLAViolatedEventImpl(instance, nodeInstance, kruntime));
+        }
     }
 
     @Override
     public void fireAfterSLAViolated(final KogitoProcessInstance instance, KogitoNodeInstance nodeInstance, KieRuntime kruntime) {
-        final SLAViolatedEvent event = new SLAViolatedEventImpl(instance, nodeInstance, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.afterSLAViolated(e1));
-            }
-        }));
+        if (isObserved(EventType.AFTER_SLA_VIOLATED)) {
+            record(EventType.AFTER_SLA_VIOLATED, new SLAViolatedEventImpl(instance, nodeInstance, kruntime));
+        }
     }
 
     @Override
     public void fireBeforeWorkItemTransition(final KogitoProcessInstance instance, KogitoWorkItem workitem, Transition<?> transition, KieRuntime kruntime) {
-        final ProcessWorkItemTransitionEvent event = new KogitoProcessWorkItemTransitionEventImpl(instance, workitem, transition, kruntime, false);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.beforeWorkItemTransition(e1));
-            }
-        }));
+        if (isObserved(EventType.BEFORE_WORK_ITEM_TRANSITION)) {
+            record(EventType.BEFORE_WORK_ITEM_TRANSITION, new KogitoProcessWorkItemTransitionEventImpl(instance, workitem, transition, kruntime, false));
+        }
     }
 
     @Override
     public void fireAfterWorkItemTransition(final KogitoProcessInstance instance, KogitoWorkItem workitem, Transition<?> transition, KieRuntime kruntime) {
-        final ProcessWorkItemTransitionEvent event = new KogitoProcessWorkItemTransitionEventImpl(instance, workitem, transition, kruntime, true);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event, e -> {
-            if (hasListeners()) {
-                notifyAllListeners(event, (l, e1) -> l.afterWorkItemTransition(e1));
-            }
-        }));
+        if (isObserved(EventType.AFTER_WORK_ITEM_TRANSITION)) {
+            record(EventType.AFTER_WORK_ITEM_TRANSITION, new KogitoProcessWorkItemTransitionEventImpl(instance, workitem, transition, kruntime, true));
+        }
     }
 
     @Override
     public void fireOnSignal(final KogitoProcessInstance instance, KogitoNodeInstance nodeInstance, KieRuntime kruntime, String signalName, Object signalObject) {
-        if (hasListeners()) {
-            final SignalEvent event = new SignalEventImpl(instance, kruntime, nodeInstance, signalName, signalObject);
-            notifyAllListeners(event, ProcessEventListener::onSignal);
+        if (isObserved(EventType.SIGNAL)) {
+            record(EventType.SIGNAL, new SignalEventImpl(instance, kruntime, nodeInstance, signalName, signalObject));
         }
     }
 
     @Override
     public void fireOnMessage(final KogitoProcessInstance instance, KogitoNodeInstance nodeInstance, KieRuntime kruntime, String messageName, Object messageObject) {
-        if (hasListeners()) {
-            final MessageEvent event = new MessageEventImpl(instance, kruntime, nodeInstance, messageName,
-                    messageObject);
-            notifyAllListeners(event, ProcessEventListener::onMessage);
+        if (isObserved(EventType.MESSAGE)) {
+            record(EventType.MESSAGE, new MessageEventImpl(instance, kruntime, nodeInstance, messageName, messageObject));
         }
     }
 
@@ -261,13 +290,95 @@ public class KogitoProcessEventSupportImpl extends AbstractEventSupport<KogitoPr
             Map<String, Object> notification,
             DeadlineType type,
             KieRuntime kruntime) {
-        final HumanTaskDeadlineEvent event = new HumanTaskDeadlineEventImpl(instance, workItem, notification, type, kruntime);
-        unitOfWorkManager.currentUnitOfWork().intercept(WorkUnit.create(event,
-                e -> notifyAllListeners(event, KogitoProcessEventListener::onHumanTaskDeadline)));
+        if (isObserved(EventType.HUMAN_TASK_DEADLINE)) {
+            record(EventType.HUMAN_TASK_DEADLINE, new HumanTaskDeadlineEventImpl(instance, workItem, notification, type, kruntime));
+        }
     }
 
     @Override
     public void reset() {
         this.clear();
     }
+
+    private boolean isListened(EventType type) {
+        for (KogitoProcessEventListener listener : getEventListeners()) {
+            if ((INTERESTS.get(listener.getClass()) & type.mask()) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isObserved(EventType type) {
+        if (isListened(type)) {
+            return true;
+        }
+        if (!type.published) {
+            return false;
+        }
+        // recorded events are also handed over to the event publishers at the end of the unit of work
+        EventManager eventManager = unitOfWorkManager.eventManager();
+        return eventManager == null || eventManager.hasPublishers();
+    }
+
+    private void record(EventType type, Object event) {
+        UnitOfWork unitOfWork = unitOfWorkManager.currentUnitOfWork();
+        ExecutionContext context = ExecutionContext.current();
+        JournalWorkUnit work = context.get(this);
+        if (work == null || work.unitOfWork != unitOfWork || work.closed) {
+            work = new JournalWorkUnit(unitOfWork);
+            work.journal.append(type.ordinal(), event);
+            context.put(this, work);
+            // units of work that do not collect perform the work right away
+            unitOfWork.intercept(work);
+        } else {
+            work.journal.append(type.ordinal(), event);
+        }
+    }
+
+    private static boolean implementsMethod(Class<?> listenerClass, EventType type) {
+        try {
+            return !NO_OP_LISTENERS.contains(listenerClass.getMethod(type.method, type.eventClass).getDeclaringClass());
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    private class JournalWorkUnit implements WorkUnit<ProcessEventJournal> {
+
+        private final UnitOfWork unitOfWork;
+        private final ProcessEventJournal journal = new ProcessEventJournal();
+        private boolean closed;
+
+        private JournalWorkUnit(UnitOfWork unitOfWork) {
+            this.unitOfWork = unitOfWork;
+        }
+
+        @Override
+        public ProcessEventJournal data() {
+            return journal;
+        }
+
+        @Override
+        public void perform() {
+            // events raised by the listeners themselves are appended to the journal and replayed within this pass
+            for (int i = 0; i < journal.size(); i++) {
+                notifyAllListeners(journal.event(i), EventType.VALUES[journal.code(i)].dispatcher);
+            }
+            close();
+        }
+
+        @Override
+        public void abort() {
+            close();
+        }
+
+        private void close() {
+            closed = true;
+            ExecutionContext context = ExecutionContext.current();
+            if (context.get(KogitoProcessEventSupportImpl.this) == this) {
+                context.remove(KogitoProcessEventSupportImpl.this);
+            }
+        }
+    }
 }
@@ -474,6 +474,13 @@ public abstract class AbstractNodeHandler extends BaseAbstractHandler implements
             } else if (COMPLETION_CONDITION.equals(nodeName)) {
                 String expression = subNode.getTextContent();
                 forEachNode.setCompletionConditionExpression(expression);
+                // only java conditions get compiled at build time, any other language stays interpreted
+                String language = ((Element) subNode).getAttribute("language");
+                if (XmlBPMNProcessDumper.JAVA_LANGUAGE.equals(language)) {
+                    forEachNode.setCompletionConditionDialect("java");
+                } else if (XmlBPMNProcessDumper.MVEL_LANGUAGE.equals(language)) {
+                    forEachNode.setCompletionConditionDialect("mvel");
+                }
             }
             subNode = subNode.getNextSibling();
         }
@@ -110,6 +110,9 @@ public class CallActivityHandler extends AbstractNodeHandler {
                 forEachNode.setId(node.getId());
                 String uniqueId = (String) node.getMetaData().get("UniqueId");
                 forEachNode.setMetaData("UniqueId", uniqueId);
+                if (node.getMetaData().containsKey(ForEachNode.MAX_PARALLELISM_METADATA)) {
+                    forEachNode.setMetaData(ForEachNode.MAX_PARALLELISM_METADATA, node.getMetaData().get(ForEachNode.MAX_PARALLELISM_METADATA));
+                }
                 node.setMetaData("UniqueId", uniqueId + ":" + uniqueIdGen++);
                 node.setMetaData("hidden", true);
                 forEachNode.addNode(node);
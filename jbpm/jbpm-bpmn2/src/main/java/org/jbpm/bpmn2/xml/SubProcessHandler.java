@@ -89,6 +89,9 @@ public class SubProcessHandler extends AbstractNodeHandler {
                 }
                 forEachNode.setMetaData("UniqueId", ((CompositeContextNode) node).getMetaData("UniqueId"));
                 forEachNode.setMetaData(ProcessHandler.CONNECTIONS, ((CompositeContextNode) node).getMetaData(ProcessHandler.CONNECTIONS));
+                if (node.getMetaData().containsKey(ForEachNode.MAX_PARALLELISM_METADATA)) {
+                    forEachNode.setMetaData(ForEachNode.MAX_PARALLELISM_METADATA, node.getMetaData().get(ForEachNode.MAX_PARALLELISM_METADATA));
+                }
                 VariableScope v = (VariableScope) ((CompositeContextNode) node).getDefaultContext(VariableScope.VARIABLE_SCOPE);
                 ((VariableScope) ((CompositeContextNode) forEachNode.internalGetNode(2)).getDefaultContext(VariableScope.VARIABLE_SCOPE)).setVariables(v.getVariables());
                 node = forEachNode;
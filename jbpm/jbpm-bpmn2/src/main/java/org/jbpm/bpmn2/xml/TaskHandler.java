@@ -314,6 +314,9 @@ public class TaskHandler extends AbstractNodeHandler {
                 forEachNode.setId(node.getId());
                 String uniqueId = (String) node.getMetaData().get("UniqueId");
                 forEachNode.setMetaData("UniqueId", uniqueId);
+                if (node.getMetaData().containsKey(ForEachNode.MAX_PARALLELISM_METADATA)) {
+                    forEachNode.setMetaData(ForEachNode.MAX_PARALLELISM_METADATA, node.getMetaData().get(ForEachNode.MAX_PARALLELISM_METADATA));
+                }
                 node.setMetaData("UniqueId", uniqueId + ":" + uniqueIdGen++);
                 forEachNode.addNode(node);
                 forEachNode.linkIncomingConnections(NodeImpl.CONNECTION_DEFAULT_TYPE, node.getId(), NodeImpl.CONNECTION_DEFAULT_TYPE);
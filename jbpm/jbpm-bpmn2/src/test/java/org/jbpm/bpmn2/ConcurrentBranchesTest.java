@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.bpmn2;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.jbpm.workflow.instance.impl.ConcurrentBranches;
+import org.junit.jupiter.api.Test;
+import org.kie.api.event.process.ProcessCompletedEvent;
+import org.kie.kogito.internal.process.event.DefaultKogitoProcessEventListener;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.AbstractProcessConfig;
+import org.kie.kogito.process.impl.CachedWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentBranchesTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void testSequentialBranches() throws Exception {
+        RecordingWorkItemHandler handler = new RecordingWorkItemHandler(null);
+        runParallelTasks(handler, new ConcurrentBranches(false, 3, 3));
+
+        assertThat(handler.threads).hasSize(1);
+    }
+
+    @Test
+    public void testConcurrentBranches() throws Exception {
+        // every branch waits for the other ones, so the process only completes if all of them run at the same time
+        RecordingWorkItemHandler handler = new RecordingWorkItemHandler(new CountDownLatch(3));
+        runParallelTasks(handler, new ConcurrentBranches(true, 3, 3));
+
+        assertThat(handler.rendezvous).hasSize(3).containsOnly(true);
+        assertThat(handler.threads).hasSize(3);
+    }
+
+    @Test
+    public void testSaturatedPoolRunsWorkItemsSynchronously() throws Exception {
+        // one thread and one queue slot: the first branch holds the thread until the third one, rejected by the
+        // pool, has run on the engine thread; the second one waits in the queue
+        GatedWorkItemHandler handler = new GatedWorkItemHandler(Thread.currentThread());
+        runParallelTasks(handler, new ConcurrentBranches(true, 1, 1));
+
+        assertThat(handler.threads).hasSize(2).contains(Thread.currentThread());
+    }
+
+    private void runParallelTasks(KogitoWorkItemHandler handler, ConcurrentBranches concurrentBranches) throws InterruptedException {
+        CountDownLatch completed = new CountDownLatch(1);
+        CachedWorkItemHandlerConfig workItemHandlers = new CachedWorkItemHandlerConfig();
+        workItemHandlers.register("Slow", handler);
+        UnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        ProcessConfig config = new TestProcessConfig(workItemHandlers, new DefaultProcessEventListenerConfig(new DefaultKogitoProcessEventListener() {
+            @Override
+            public void afterProcessCompleted(ProcessCompletedEvent event) {
+                completed.countDown();
+            }
+        }), unitOfWorkManager, concurrentBranches);
+
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource("BPMN2-ParallelSlowTasks.bpmn2")).get(0);
+        process.configure();
+
+        UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+            process.createInstance(BpmnVariables.create(Collections.emptyMap())).start();
+            return null;
+        });
+
+        assertThat(completed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static class TestProcessConfig extends AbstractProcessConfig {
+
+        private TestProcessConfig(CachedWorkItemHandlerConfig workItemHandlers, DefaultProcessEventListenerConfig listeners, UnitOfWorkManager unitOfWorkManager,
+                ConcurrentBranches concurrentBranches) {
+            super(Collections.singletonList(workItemHandlers), Collections.singletonList(listeners), Collections.emptyList(), Collections.singletonList(unitOfWorkManager),
+                    Collections.emptyList(), Collections.emptyList(), null, Collections.emptyList(), null, null, concurrentBranches);
+        }
+    }
+
+    private static class RecordingWorkItemHandler implements KogitoWorkItemHandler {
+
+        private final CountDownLatch latch;
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private final List<Boolean> rendezvous = new CopyOnWriteArrayList<>();
+
+        private RecordingWorkItemHandler(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            threads.add(Thread.currentThread());
+            if (latch != null) {
+                latch.countDown();
+                try {
+                    rendezvous.add(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            manager.completeWorkItem(workItem.getStringId(), Collections.emptyMap());
+        }
+
+        @Override
+        public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        }
+    }
+
+    private static class GatedWorkItemHandler implements KogitoWorkItemHandler {
+
+        private final Thread engineThread;
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        private GatedWorkItemHandler(Thread engineThread) {
+            this.engineThread = engineThread;
+        }
+
+        @Override
+        public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            threads.add(Thread.currentThread());
+            if (Thread.currentThread() == engineThread) {
+                gate.countDown();
+            } else {
+                try {
+                    gate.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            manager.completeWorkItem(workItem.getStringId(), Collections.emptyMap());
+        }
+
+        @Override
+        public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.bpmn2;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.CachedWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultiInstanceParallelismTest {
+
+    private static final long TASK_DURATION = 300;
+
+    @Test
+    public void testBoundedParallelism() throws Exception {
+        SlowWorkItemHandler handler = new SlowWorkItemHandler();
+        CachedWorkItemHandlerConfig workItemHandlers = new CachedWorkItemHandlerConfig();
+        workItemHandlers.register("Slow", handler);
+        UnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        ProcessConfig config = new StaticProcessConfig(workItemHandlers, new DefaultProcessEventListenerConfig(), unitOfWorkManager, null);
+
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource("BPMN2-MultiInstanceBoundedParallelism.bpmn2")).get(0);
+        process.configure();
+
+        long start = System.currentTimeMillis();
+        ProcessInstance<BpmnVariables> processInstance = UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+            ProcessInstance<BpmnVariables> pi = process.createInstance(BpmnVariables.create(
+                    Collections.singletonMap("list", Arrays.asList("first", "second", "third", "fourth"))));
+            pi.start();
+            return pi;
+        });
+
+        long deadline = start + 10 * TASK_DURATION;
+        while (process.instances().findById(processInstance.id()).isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(process.instances().findById(processInstance.id())).isEmpty();
+        assertThat(handler.items).containsExactlyInAnyOrder("first", "second", "third", "fourth");
+        assertThat(handler.maxRunning.get()).isEqualTo(2);
+        assertThat(elapsed).isGreaterThanOrEqualTo(2 * TASK_DURATION).isLessThan(4 * TASK_DURATION);
+    }
+
+    private static class SlowWorkItemHandler implements KogitoWorkItemHandler {
+
+        private final Set<Object> items = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Override
+        public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            items.add(workItem.getParameter("Item"));
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(TASK_DURATION);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            manager.completeWorkItem(workItem.getStringId(), Collections.emptyMap());
+        }
+
+        @Override
+        public void abortWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        }
+    }
+}
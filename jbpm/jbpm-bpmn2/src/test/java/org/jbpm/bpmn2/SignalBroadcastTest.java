@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.bpmn2;
+
+import java.util.Collections;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SignalBroadcastTest {
+
+    @Test
+    public void testOnlyInstancesWaitingForEventAreFound() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-IntermediateCatchEventSignal.bpmn2")).get(0);
+        process.configure();
+
+        ProcessInstance<BpmnVariables> waiting = process.createInstance(BpmnVariables.create(Collections.singletonMap("name", "waiting")));
+        waiting.start();
+        ProcessInstance<BpmnVariables> busy = process.createInstance(BpmnVariables.create(Collections.singletonMap("name", "busy")));
+        busy.start();
+
+        ProcessInstanceQuery query = ProcessInstanceQuery.first(10).withEventType("MyMessage");
+        assertThat(process.instances().find(query, ProcessInstanceReadMode.READ_ONLY).instances()).isEmpty();
+
+        WorkItem workItem = waiting.workItems().get(0);
+        waiting.completeWorkItem(workItem.getId(), null);
+
+        assertThat(process.instances().find(query, ProcessInstanceReadMode.READ_ONLY).instances())
+                .extracting(ProcessInstance::id)
+                .containsExactly(waiting.id());
+        assertThat(process.instances().find(ProcessInstanceQuery.first(10), ProcessInstanceReadMode.READ_ONLY).instances()).hasSize(2);
+
+        waiting.abort();
+        assertThat(process.instances().find(query, ProcessInstanceReadMode.READ_ONLY).instances()).isEmpty();
+    }
+}
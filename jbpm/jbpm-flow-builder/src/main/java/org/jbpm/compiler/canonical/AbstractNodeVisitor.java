@@ -15,9 +15,13 @@
  */
 package org.jbpm.compiler.canonical;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 import org.jbpm.process.core.context.variable.Mappable;
 import org.jbpm.process.core.context.variable.Variable;
@@ -28,6 +32,7 @@ import org.jbpm.workflow.core.node.StartNode;
 import org.kie.api.definition.process.Connection;
 import org.kie.api.definition.process.Node;
 
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.expr.AssignExpr;
 import com.github.javaparser.ast.expr.CastExpr;
@@ -59,6 +64,8 @@ import static org.jbpm.ruleflow.core.factory.NodeFactory.METHOD_NAME;
 
 public abstract class AbstractNodeVisitor<T extends Node> extends AbstractVisitor {
 
+    private static final Pattern PROPERTY_PATH = Pattern.compile("[A-Za-z_$][\\w$]*(\\.[A-Za-z_$][\\w$]*)+");
+
     protected abstract String getNodeKey();
 
     public void visitNode(T node, BlockStmt body, VariableScope variableScope, ProcessMetaData metadata) {
@@ -204,4 +211,62 @@ public abstract class AbstractNodeVisitor<T extends Node> extends AbstractVisito
                 conditionBody);
     }
 
+    /**
+     * Compiles a property path rooted at a variable, such as <code>person.address.street</code>, into a lambda calling
+     * the getters of the variable type. Returns empty when the path cannot be resolved at build time, because the
+     * variable or its type cannot be found or a property has no public getter; it is then interpreted at runtime.
+     */
+    protected static Optional<LambdaExpr> compilePropertyPath(String path, VariableScope variableScope, ClassLoader classLoader) {
+        if (classLoader == null || !PROPERTY_PATH.matcher(path).matches()) {
+            return Optional.empty();
+        }
+        String[] properties = path.split("\\.");
+        Variable variable = variableScope.findVariable(properties[0]);
+        if (variable == null) {
+            return Optional.empty();
+        }
+        Class<?> type;
+        try {
+            type = classLoader.loadClass(rawTypeName(variable.getType().getStringType()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return Optional.empty();
+        }
+        if (type.getCanonicalName() == null || !Modifier.isPublic(type.getModifiers())) {
+            return Optional.empty();
+        }
+        Expression expression = new EnclosedExpr(new CastExpr(parseClassOrInterfaceType(type.getCanonicalName()),
+                new MethodCallExpr(new NameExpr(KCONTEXT_VAR), "getVariable", NodeList.nodeList(new StringLiteralExpr(properties[0])))));
+        for (int i = 1; i < properties.length; i++) {
+            Method getter = getter(type, properties[i]);
+            if (getter == null) {
+                return Optional.empty();
+            }
+            expression = new MethodCallExpr(expression, getter.getName());
+            type = getter.getReturnType();
+        }
+        BlockStmt lambdaBody = new BlockStmt();
+        lambdaBody.addStatement(new ReturnStmt(expression));
+        return Optional.of(new LambdaExpr(new Parameter(new UnknownType(), KCONTEXT_VAR), lambdaBody));
+    }
+
+    private static String rawTypeName(String typeName) {
+        int generics = typeName.indexOf('<');
+        String rawType = generics < 0 ? typeName : typeName.substring(0, generics);
+        return rawType.contains(".") ? rawType : "java.lang." + rawType;
+    }
+
+    private static Method getter(Class<?> type, String property) {
+        for (String prefix : new String[] { "get", "is" }) {
+            try {
+                Method method = type.getMethod(prefix + ucFirst(property));
+                if (!Modifier.isStatic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                        && (prefix.equals("get") ? method.getReturnType() != void.class : method.getReturnType() == boolean.class)) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // try the next prefix
+            }
+        }
+        return null;
+    }
 }
@@ -15,8 +15,11 @@
  */
 package org.jbpm.compiler.canonical;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
 import org.jbpm.ruleflow.core.factory.ForEachNodeFactory;
@@ -34,13 +37,27 @@ import static org.jbpm.ruleflow.core.factory.CompositeContextNodeFactory.METHOD_
 import static org.jbpm.ruleflow.core.factory.CompositeContextNodeFactory.METHOD_LINK_OUTGOING_CONNECTIONS;
 import static org.jbpm.ruleflow.core.factory.CompositeContextNodeFactory.METHOD_VARIABLE;
 import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_COLLECTION_EXPRESSION;
+import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_COMPILED_COLLECTION_EXPRESSION;
+import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_COMPLETION_CONDITION;
+import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_COMPLETION_EXPRESSION;
 import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_OUTPUT_COLLECTION_EXPRESSION;
 import static org.jbpm.ruleflow.core.factory.ForEachNodeFactory.METHOD_OUTPUT_VARIABLE;
 
 public class ForEachNodeVisitor extends AbstractCompositeNodeVisitor<ForEachNode> {
 
+    private static final String JAVA_DIALECT = "java";
+
+    private static final String FOREACH_OUTPUT_VAR = "foreach_output";
+
+    private final ClassLoader contextClassLoader;
+
     public ForEachNodeVisitor(Map<Class<?>, AbstractNodeVisitor<? extends org.kie.api.definition.process.Node>> nodesVisitors) {
+        this(nodesVisitors, null);
+    }
+
+    public ForEachNodeVisitor(Map<Class<?>, AbstractNodeVisitor<? extends org.kie.api.definition.process.Node>> nodesVisitors, ClassLoader contextClassLoader) {
         super(nodesVisitors);
+        this.contextClassLoader = contextClassLoader;
     }
 
     @Override
@@ -54,10 +71,14 @@ public class ForEachNodeVisitor extends AbstractCompositeNodeVisitor<ForEachNode
                 .addStatement(getNameMethod(node, "ForEach"));
         visitMetaData(node.getMetaData(), body, getNodeId(node));
 
-        body.addStatement(getFactoryMethod(getNodeId(node), METHOD_COLLECTION_EXPRESSION, new StringLiteralExpr(stripExpression(node.getCollectionExpression()))))
+        String collectionExpression = stripExpression(node.getCollectionExpression());
+        body.addStatement(getFactoryMethod(getNodeId(node), METHOD_COLLECTION_EXPRESSION, new StringLiteralExpr(collectionExpression)))
                 .addStatement(getFactoryMethod(getNodeId(node), METHOD_VARIABLE, new StringLiteralExpr(node.getVariableName()),
                         new ObjectCreationExpr(null, new ClassOrInterfaceType(null, ObjectDataType.class.getSimpleName()), NodeList.nodeList(
                                 new StringLiteralExpr(node.getVariableType().getStringType())))));
+        // a property path is compiled into a lambda, any other expression than a variable name is interpreted
+        compilePropertyPath(collectionExpression, variableScope, contextClassLoader)
+                .ifPresent(lambda -> body.addStatement(getFactoryMethod(getNodeId(node), METHOD_COMPILED_COLLECTION_EXPRESSION, lambda)));
 
         if (node.getOutputCollectionExpression() != null) {
             body.addStatement(getFactoryMethod(getNodeId(node), METHOD_OUTPUT_COLLECTION_EXPRESSION, new StringLiteralExpr(stripExpression(node.getOutputCollectionExpression()))))
@@ -65,6 +86,15 @@ public class ForEachNodeVisitor extends AbstractCompositeNodeVisitor<ForEachNode
                             new ObjectCreationExpr(null, new ClassOrInterfaceType(null, ObjectDataType.class.getSimpleName()), NodeList.nodeList(
                                     new StringLiteralExpr(node.getOutputVariableType().getStringType())))));
         }
+        String completionCondition = node.getCompletionConditionExpression();
+        if (completionCondition != null && !completionCondition.trim().isEmpty()) {
+            // the expression is kept for the interpreted evaluation; java conditions are also compiled into a lambda,
+            // MVEL ones are evaluated at runtime through an expression compiled once and cached
+            body.addStatement(getFactoryMethod(getNodeId(node), METHOD_COMPLETION_CONDITION, new StringLiteralExpr().setString(completionCondition)));
+            if (JAVA_DIALECT.equals(node.getCompletionConditionDialect())) {
+                body.addStatement(getFactoryMethod(getNodeId(node), METHOD_COMPLETION_EXPRESSION, createLambdaExpr(completionCondition, completionConditionScope(node, variableScope))));
+            }
+        }
         // visit nodes
         visitNodes(getNodeId(node), node.getNodes(), body, ((VariableScope) node.getCompositeNode().getDefaultContext(VariableScope.VARIABLE_SCOPE)), metadata);
         body.addStatement(getFactoryMethod(getNodeId(node), METHOD_LINK_INCOMING_CONNECTIONS, new LongLiteralExpr(node.getLinkedIncomingNode(Node.CONNECTION_DEFAULT_TYPE).getNodeId())))
@@ -73,4 +103,20 @@ public class ForEachNodeVisitor extends AbstractCompositeNodeVisitor<ForEachNode
 
     }
 
+    // the condition sees the process variables as well as the iteration ones, which take precedence
+    private static VariableScope completionConditionScope(ForEachNode node, VariableScope variableScope) {
+        Map<String, Variable> variables = new LinkedHashMap<>();
+        for (Variable variable : variableScope.getVariables()) {
+            variables.put(variable.getSanitizedName(), variable);
+        }
+        VariableScope iterationScope = (VariableScope) node.getCompositeNode().getDefaultContext(VariableScope.VARIABLE_SCOPE);
+        for (Variable variable : iterationScope.getVariables()) {
+            if (!FOREACH_OUTPUT_VAR.equals(variable.getName())) {
+                variables.put(variable.getSanitizedName(), variable);
+            }
+        }
+        VariableScope scope = new VariableScope();
+        scope.setVariables(new ArrayList<>(variables.values()));
+        return scope;
+    }
 }
@@ -116,7 +116,7 @@ public class ProcessVisitor extends AbstractVisitor {
         this.nodesVisitors.put(RuleSetNode.class, new RuleSetNodeVisitor(contextClassLoader));
         this.nodesVisitors.put(BoundaryEventNode.class, new BoundaryEventNodeVisitor());
         this.nodesVisitors.put(EventNode.class, new EventNodeVisitor());
-        this.nodesVisitors.put(ForEachNode.class, new ForEachNodeVisitor(nodesVisitors));
+        this.nodesVisitors.put(ForEachNode.class, new ForEachNodeVisitor(nodesVisitors, contextClassLoader));
         this.nodesVisitors.put(CompositeContextNode.class, new CompositeContextNodeVisitor<>(nodesVisitors));
         this.nodesVisitors.put(EventSubProcessNode.class, new EventSubProcessNodeVisitor(nodesVisitors));
         this.nodesVisitors.put(TimerNode.class, new TimerNodeVisitor());
@@ -15,15 +15,19 @@
  */
 package org.jbpm.compiler.canonical;
 
+import java.util.LinkedHashSet;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
 
 import org.jbpm.compiler.canonical.descriptors.TaskDescriptor;
 import org.jbpm.compiler.canonical.descriptors.TaskDescriptorBuilder;
 import org.jbpm.process.core.Work;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.ruleflow.core.factory.WorkItemNodeFactory;
+import org.jbpm.util.PatternConstants;
 import org.jbpm.workflow.core.node.WorkItemNode;
 
 import com.github.javaparser.ast.expr.BooleanLiteralExpr;
@@ -38,6 +42,7 @@ import com.github.javaparser.ast.stmt.BlockStmt;
 
 import static org.jbpm.ruleflow.core.factory.WorkItemNodeFactory.METHOD_WORK_NAME;
 import static org.jbpm.ruleflow.core.factory.WorkItemNodeFactory.METHOD_WORK_PARAMETER;
+import static org.jbpm.ruleflow.core.factory.WorkItemNodeFactory.METHOD_WORK_PARAMETER_EXPRESSION;
 
 public class WorkItemNodeVisitor<T extends WorkItemNode> extends AbstractNodeVisitor<T> {
 
@@ -97,6 +102,7 @@ public class WorkItemNodeVisitor<T extends WorkItemNode> extends AbstractNodeVis
                 .addStatement(getFactoryMethod(getNodeId(node), METHOD_WORK_NAME, new StringLiteralExpr(workName)));
 
         addWorkItemParameters(work, body, getNodeId(node));
+        addParameterExpressions(work, body, getNodeId(node), variableScope);
         addNodeMappings(node, body, getNodeId(node));
 
         body.addStatement(getDoneMethod(getNodeId(node)));
@@ -119,6 +125,23 @@ public class WorkItemNodeVisitor<T extends WorkItemNode> extends AbstractNodeVis
         }
     }
 
+    // property paths found in #{...} parameter expressions are compiled, any other expression is interpreted at runtime
+    protected void addParameterExpressions(Work work, BlockStmt body, String variableName, VariableScope variableScope) {
+        Set<String> expressions = new LinkedHashSet<>();
+        for (Object value : work.getParameters().values()) {
+            if (value instanceof String) {
+                Matcher matcher = PatternConstants.PARAMETER_MATCHER.matcher((String) value);
+                while (matcher.find()) {
+                    expressions.add(matcher.group(1));
+                }
+            }
+        }
+        for (String expression : expressions) {
+            compilePropertyPath(expression, variableScope, contextClassLoader)
+                    .ifPresent(lambda -> body.addStatement(getFactoryMethod(variableName, METHOD_WORK_PARAMETER_EXPRESSION, new StringLiteralExpr(expression), lambda)));
+        }
+    }
+
     private Expression getParameterExpr(String type, Object value) {
         if (value == null) {
             return new NullLiteralExpr();
@@ -21,6 +21,7 @@ import java.util.List;
 import org.jbpm.compiler.canonical.NodeValidator;
 import org.jbpm.workflow.core.node.DataAssociation;
 import org.jbpm.workflow.core.node.WorkItemNode;
+import org.kie.kogito.internal.process.runtime.AsyncKogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
@@ -37,6 +38,7 @@ import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.AssignExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.LambdaExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.NullLiteralExpr;
@@ -215,4 +217,33 @@ public abstract class AbstractServiceTaskDescriptor implements TaskDescriptor {
 
         return cls;
     }
+
+    /**
+     * Turns the given handler class into an {@link AsyncKogitoWorkItemHandler} whose asynchronous execution
+     * performs the same service call off the engine thread. Work items still run synchronously unless they opt in.
+     */
+    protected final void addAsyncExecution(ClassOrInterfaceDeclaration cls) {
+        cls.getImplementedTypes().clear();
+        cls.addImplementedType(AsyncKogitoWorkItemHandler.class.getCanonicalName());
+
+        BlockStmt callServiceBody = new BlockStmt();
+        MethodCallExpr callService = new MethodCallExpr(new NameExpr("service"), operationName);
+        this.handleParametersForServiceCall(callServiceBody, callService);
+        MethodCallExpr completeWorkItem = completeWorkItem(
+                callServiceBody,
+                callService,
+                getCompleteWorkItemExceptionTypes());
+        callServiceBody.addStatement(new ReturnStmt(completeWorkItem.getArgument(1)));
+
+        MethodCallExpr supplyBlocking = new MethodCallExpr(new NameExpr(AsyncKogitoWorkItemHandler.class.getCanonicalName()), "supplyBlocking")
+                .addArgument(new LambdaExpr(NodeList.nodeList(), callServiceBody));
+        MethodDeclaration executeWorkItemAsync = new MethodDeclaration()
+                .setModifiers(Modifier.Keyword.PUBLIC)
+                .setType(StaticJavaParser.parseClassOrInterfaceType("java.util.concurrent.CompletionStage<java.util.Map<String, Object>>"))
+                .setName("executeWorkItemAsync")
+                .setBody(new BlockStmt().addStatement(new ReturnStmt(supplyBlocking)))
+                .addParameter(KogitoWorkItem.class.getCanonicalName(), "workItem")
+                .addParameter(KogitoWorkItemManager.class.getCanonicalName(), "workItemManager");
+        cls.addMember(executeWorkItemAsync);
+    }
 }
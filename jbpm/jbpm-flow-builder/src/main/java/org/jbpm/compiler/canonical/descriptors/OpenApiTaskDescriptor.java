@@ -34,6 +34,7 @@ import org.kie.api.definition.process.Node;
 import org.kie.kogito.process.workitem.WorkItemExecutionException;
 
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.CastExpr;
 import com.github.javaparser.ast.expr.Expression;
@@ -103,7 +104,10 @@ public class OpenApiTaskDescriptor extends AbstractServiceTaskDescriptor {
     @Override
     public CompilationUnit generateHandlerClassForService() {
         CompilationUnit compilationUnit = new CompilationUnit("org.kie.kogito.handlers");
-        compilationUnit.getTypes().add(classDeclaration());
+        // the generated clients are blocking, async work items run them off the engine thread
+        ClassOrInterfaceDeclaration cls = classDeclaration();
+        addAsyncExecution(cls);
+        compilationUnit.getTypes().add(cls);
         compilationUnit.addImport(WorkItemExecutionException.class);
         return compilationUnit;
     }
@@ -24,7 +24,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ProcessToExecModelGeneratorTest {
 
@@ -115,4 +117,65 @@ public class ProcessToExecModelGeneratorTest {
         assertEquals("com.myspace.demo.OrdersModel", modelMetadata.getModelClassName());
     }
 
+    @Test
+    public void testParameterPropertyPathsCompilation() {
+
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("demo.orders");
+        factory
+                .variable("order", new ObjectDataType(Order.class.getName()))
+                .name("orders")
+                .packageName("com.myspace.demo")
+                .dynamic(false)
+                .version("1.0")
+                .workItemNode(1)
+                .name("Log")
+                .workName("Log")
+                .workParameter("Message", "Order of #{order.customer.name}, vip #{order.customer.vip}, #{order.total}")
+                .done()
+                .endNode(2)
+                .name("end")
+                .terminate(false)
+                .done()
+                .startNode(3)
+                .name("start")
+                .done()
+                .connection(3, 1)
+                .connection(1, 2);
+
+        WorkflowProcess process = factory.validate().getProcess();
+
+        ProcessMetaData processMetadata = ProcessToExecModelGenerator.INSTANCE.generate(process);
+        String generated = processMetadata.getGeneratedClassModel().toString();
+        logger.debug(generated);
+
+        String order = "((" + Order.class.getCanonicalName() + ") kcontext.getVariable(\"order\"))";
+        assertTrue(generated.contains("workParameterExpression(\"order.customer.name\""));
+        assertTrue(generated.contains(order + ".getCustomer().getName()"));
+        assertTrue(generated.contains(order + ".getCustomer().isVip()"));
+        // without a getter the expression is left to the runtime
+        assertFalse(generated.contains("workParameterExpression(\"order.total\""));
+    }
+
+    public static class Order {
+
+        private Customer customer;
+
+        public Customer getCustomer() {
+            return customer;
+        }
+    }
+
+    public static class Customer {
+
+        private String name;
+        private boolean vip;
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isVip() {
+            return vip;
+        }
+    }
 }
@@ -20,7 +20,10 @@ import java.util.Collections;
 
 import org.jbpm.workflow.core.node.WorkItemNode;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.AsyncKogitoWorkItemHandler;
 
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
@@ -67,6 +70,22 @@ class OpenApiTaskDescriptorTest {
         assertEquals(2, ((MethodCallExpr) decoratedServiceCall).getArguments().size());
     }
 
+    @Test
+    void generateAsyncHandler() {
+        final WorkItemNode workItemNode =
+                OpenApiTaskDescriptor.builderFor("http://myspec.com", "add")
+                        .withParamResolverType("org.jbpm.serverless.workflow.function.JsonNodeParameterResolver")
+                        .addParamResolver("body", () -> null)
+                        .build();
+        workItemNode.setName("addTask");
+        OpenApiTaskDescriptor.modifierFor(workItemNode).modify(this.getClass().getCanonicalName(), "add", Collections.singletonList("body"));
+        final CompilationUnit handler = new OpenApiTaskDescriptor(workItemNode).generateHandlerClassForService();
+        final ClassOrInterfaceDeclaration handlerClass = handler.getType(0).asClassOrInterfaceDeclaration();
+        assertEquals(AsyncKogitoWorkItemHandler.class.getCanonicalName(), handlerClass.getImplementedTypes(0).getNameWithScope());
+        assertEquals(1, handlerClass.getMethodsByName("executeWorkItem").size());
+        assertEquals(1, handlerClass.getMethodsByName("executeWorkItemAsync").size());
+    }
+
     @Test
     void verifyModifierWithSingleParameter() {
         final WorkItemNode workItemNode =
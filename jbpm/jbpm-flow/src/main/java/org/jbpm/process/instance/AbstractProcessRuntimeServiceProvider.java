@@ -16,9 +16,11 @@
 package org.jbpm.process.instance;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 import org.drools.core.event.KogitoProcessEventSupportImpl;
 import org.jbpm.process.instance.impl.DefaultProcessInstanceManager;
+import org.jbpm.workflow.instance.impl.ConcurrentBranches;
 import org.kie.api.event.process.ProcessEventListener;
 import org.kie.kogito.internal.process.event.KogitoProcessEventListener;
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
@@ -26,6 +28,7 @@ import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.process.ProcessEventListenerConfig;
 import org.kie.kogito.process.WorkItemHandlerConfig;
+import org.kie.kogito.process.impl.WorkItemResumptions;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.signal.SignalManagerHub;
 import org.kie.kogito.uow.UnitOfWorkManager;
@@ -39,13 +42,47 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
     private final KogitoWorkItemManager workItemManager;
     private final KogitoProcessEventSupportImpl eventSupport;
     private final UnitOfWorkManager unitOfWorkManager;
+    private final ExecutorService jobExecutor;
+    private final WorkItemResumptions workItemResumptions;
 
     public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
             WorkItemHandlerConfig workItemHandlerProvider,
             ProcessEventListenerConfig processEventListenerProvider,
             SignalManagerHub compositeSignalManager,
             UnitOfWorkManager unitOfWorkManager) {
+        this(jobsService, workItemHandlerProvider, processEventListenerProvider, compositeSignalManager, unitOfWorkManager, null);
+    }
+
+    public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
+            WorkItemHandlerConfig workItemHandlerProvider,
+            ProcessEventListenerConfig processEventListenerProvider,
+            SignalManagerHub compositeSignalManager,
+            UnitOfWorkManager unitOfWorkManager,
+            ExecutorService jobExecutor) {
+        this(jobsService, workItemHandlerProvider, processEventListenerProvider, compositeSignalManager, unitOfWorkManager, jobExecutor, null);
+    }
+
+    public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
+            WorkItemHandlerConfig workItemHandlerProvider,
+            ProcessEventListenerConfig processEventListenerProvider,
+            SignalManagerHub compositeSignalManager,
+            UnitOfWorkManager unitOfWorkManager,
+            ExecutorService jobExecutor,
+            WorkItemResumptions workItemResumptions) {
+        this(jobsService, workItemHandlerProvider, processEventListenerProvider, compositeSignalManager, unitOfWorkManager, jobExecutor, workItemResumptions, null);
+    }
+
+    public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
+            WorkItemHandlerConfig workItemHandlerProvider,
+            ProcessEventListenerConfig processEventListenerProvider,
+            SignalManagerHub compositeSignalManager,
+            UnitOfWorkManager unitOfWorkManager,
+            ExecutorService jobExecutor,
+            WorkItemResumptions workItemResumptions,
+            ConcurrentBranches concurrentBranches) {
         this.unitOfWorkManager = unitOfWorkManager;
+        this.jobExecutor = jobExecutor;
+        this.workItemResumptions = workItemResumptions;
         processInstanceManager = new DefaultProcessInstanceManager();
         signalManager = new LightSignalManager(
                 id -> Optional.ofNullable(
@@ -53,7 +90,7 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
                 compositeSignalManager);
         this.eventSupport = new KogitoProcessEventSupportImpl(this.unitOfWorkManager);
         this.jobsService = jobsService;
-        this.workItemManager = new LightWorkItemManager(processInstanceManager, signalManager, eventSupport);
+        this.workItemManager = new LightWorkItemManager(processInstanceManager, signalManager, eventSupport, concurrentBranches);
 
         for (String workItem : workItemHandlerProvider.names()) {
             workItemManager.registerWorkItemHandler(
@@ -94,4 +131,14 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
     public UnitOfWorkManager getUnitOfWorkManager() {
         return unitOfWorkManager;
     }
+
+    @Override
+    public ExecutorService getJobExecutor() {
+        return jobExecutor;
+    }
+
+    @Override
+    public WorkItemResumptions getWorkItemResumptions() {
+        return workItemResumptions;
+    }
 }
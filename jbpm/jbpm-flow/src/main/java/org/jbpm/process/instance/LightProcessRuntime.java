@@ -90,7 +90,7 @@ public class LightProcessRuntime extends AbstractProcessRuntime {
         this.runtimeContext = runtimeContext;
         this.processInstanceManager = services.getProcessInstanceManager();
         this.signalManager = services.getSignalManager();
-        this.jobService = services.getJobsService() == null ? new InMemoryJobService(kogitoProcessRuntime, this.unitOfWorkManager) : services.getJobsService();
+        this.jobService = services.getJobsService() == null ? createInMemoryJobService(services) : services.getJobsService();
         this.processEventSupport = services.getEventSupport();
         this.workItemManager = services.getKogitoWorkItemManager();
         if (isActive()) {
@@ -100,6 +100,13 @@ public class LightProcessRuntime extends AbstractProcessRuntime {
         initProcessActivationListener();
     }
 
+    private JobsService createInMemoryJobService(ProcessRuntimeServiceProvider services) {
+        if (services.getJobExecutor() == null) {
+            return new InMemoryJobService(kogitoProcessRuntime, this.unitOfWorkManager);
+        }
+        return new InMemoryJobService(1, services.getJobExecutor(), kogitoProcessRuntime, this.unitOfWorkManager);
+    }
+
     public void initStartTimers() {
         Collection<Process> processes = runtimeContext.getProcesses();
         for (Process process : processes) {
@@ -23,17 +23,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.drools.core.process.instance.WorkItem;
+import org.jbpm.process.instance.impl.humantask.HumanTaskWorkItemHandler;
 import org.jbpm.process.instance.impl.workitem.Abort;
 import org.jbpm.process.instance.impl.workitem.Active;
 import org.jbpm.process.instance.impl.workitem.Complete;
+import org.jbpm.workflow.instance.impl.ConcurrentBranches;
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
+import org.kie.kogito.internal.process.runtime.AsyncKogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.WorkItemNotFoundException;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.process.workitem.NotAuthorizedException;
 import org.kie.kogito.process.workitem.Policy;
 import org.kie.kogito.process.workitem.Transition;
@@ -57,14 +62,29 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
     private final ProcessInstanceManager processInstanceManager;
     private final SignalManager signalManager;
     private final KogitoProcessEventSupport eventSupport;
+    private final ConcurrentBranches concurrentBranches;
 
     private Complete completePhase = new Complete();
     private Abort abortPhase = new Abort();
 
     public LightWorkItemManager(ProcessInstanceManager processInstanceManager, SignalManager signalManager, KogitoProcessEventSupport eventSupport) {
+        this(processInstanceManager, signalManager, eventSupport, null);
+    }
+
+    /**
+     * @param concurrentBranches detaches the first work item of the branches of parallel splits,
+     *        <code>null</code> to use {@link ConcurrentBranches#defaults()}
+     */
+    public LightWorkItemManager(ProcessInstanceManager processInstanceManager, SignalManager signalManager, KogitoProcessEventSupport eventSupport,
+            ConcurrentBranches concurrentBranches) {
         this.processInstanceManager = processInstanceManager;
         this.signalManager = signalManager;
         this.eventSupport = eventSupport;
+        this.concurrentBranches = concurrentBranches != null ? concurrentBranches : ConcurrentBranches.defaults();
+    }
+
+    public ConcurrentBranches getConcurrentBranches() {
+        return concurrentBranches;
     }
 
     @Override
@@ -77,7 +97,20 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
             Transition<?> transition = new TransitionToActive();
             eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
 
-            handler.executeWorkItem(workItem, this);
+            boolean async = runsAsync(handler, workItem);
+            AbstractProcessInstance<?> owner = async || runsConcurrently(handler, workItem) ? managedInstance(processInstance) : null;
+            CompletionStage<Map<String, Object>> execution = null;
+            if (owner != null) {
+                // a saturated branch pool gives no stage back, the work item then runs synchronously
+                execution = async
+                        ? ((AsyncKogitoWorkItemHandler) handler).executeWorkItemAsync(workItem, this)
+                        : concurrentBranches.execute(handler, workItem, this);
+            }
+            if (execution != null) {
+                owner.completeWorkItemAsync(workItem.getStringId(), execution);
+            } else {
+                handler.executeWorkItem(workItem, this);
+            }
 
             eventSupport.fireAfterWorkItemTransition(processInstance, workItem, transition, null);
         } else {
@@ -85,6 +118,26 @@ public class LightWorkItemManager implements InternalKogitoWorkItemManager {
         }
     }
 
+    private static boolean runsAsync(KogitoWorkItemHandler handler, InternalKogitoWorkItem workItem) {
+        return handler instanceof AsyncKogitoWorkItemHandler && ((AsyncKogitoWorkItemHandler) handler).isAsync(workItem);
+    }
+
+    // human tasks wait for their actors anyway, there is nothing to run concurrently
+    private boolean runsConcurrently(KogitoWorkItemHandler handler, InternalKogitoWorkItem workItem) {
+        return !(handler instanceof HumanTaskWorkItemHandler) && concurrentBranches.claim(workItem);
+    }
+
+    // asynchronous work items can only be resumed when the instance can be loaded again through its process
+    private static AbstractProcessInstance<?> managedInstance(KogitoProcessInstance processInstance) {
+        if (processInstance instanceof ProcessInstance) {
+            Object owner = ((ProcessInstance) processInstance).getMetaData().get(AbstractProcessInstance.KOGITO_PROCESS_INSTANCE);
+            if (owner instanceof AbstractProcessInstance) {
+                return (AbstractProcessInstance<?>) owner;
+            }
+        }
+        return null;
+    }
+
     @Override
     public void internalAddWorkItem(InternalKogitoWorkItem workItem) {
         workItems.put(workItem.getStringId(), workItem);
@@ -15,9 +15,12 @@
  */
 package org.jbpm.process.instance;
 
+import java.util.concurrent.ExecutorService;
+
 import org.kie.kogito.internal.process.event.KogitoProcessEventSupport;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
 import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.process.impl.WorkItemResumptions;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
 
@@ -34,4 +37,20 @@ public interface ProcessRuntimeServiceProvider {
     KogitoProcessEventSupport getEventSupport();
 
     UnitOfWorkManager getUnitOfWorkManager();
+
+    /**
+     * Executor the in memory jobs service hands expired jobs over to when no jobs service is configured,
+     * <code>null</code> to use the defaults of {@link org.kie.services.jobs.impl.InMemoryJobService}.
+     */
+    default ExecutorService getJobExecutor() {
+        return null;
+    }
+
+    /**
+     * Executor resuming process instances once their asynchronous work items complete, <code>null</code> to use
+     * {@link org.kie.kogito.process.impl.WorkItemResumptions#defaults()}.
+     */
+    default WorkItemResumptions getWorkItemResumptions() {
+        return null;
+    }
 }
@@ -135,6 +135,7 @@ public class MigrateProcessInstanceCommand implements ExecutableCommand<Void>, K
                 updateNodeInstances((NodeInstanceContainer) nodeInstance, nodeMapping);
             }
         }
+        nodeInstanceContainer.reindexNodeInstances();
     }
 
     public String toString() {
@@ -23,7 +23,13 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.jbpm.process.instance.ProcessInstanceManager;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.uow.ExecutionContext;
 
+/**
+ * Keeps the process instances loaded in memory. In lock mode every execution gets its own copy of an instance,
+ * registered under the id of the current {@link ExecutionContext}, so the copy stays reachable when the
+ * execution moves to another thread.
+ */
 public class DefaultProcessInstanceManager implements ProcessInstanceManager {
 
     private Map<String, KogitoProcessInstance> processInstances = new ConcurrentHashMap<>();
@@ -38,7 +44,7 @@ public class DefaultProcessInstanceManager implements ProcessInstanceManager {
 
     public void internalAddProcessInstance(KogitoProcessInstance processInstance) {
         if (lock) {
-            processInstances.put(processInstance.getStringId() + "_" + Thread.currentThread().getId(), processInstance);
+            processInstances.put(contextKey(processInstance.getStringId()), processInstance);
         } else {
             processInstances.put(processInstance.getStringId(), processInstance);
         }
@@ -50,7 +56,7 @@ public class DefaultProcessInstanceManager implements ProcessInstanceManager {
 
     public KogitoProcessInstance getProcessInstance(String id) {
         if (lock) {
-            return processInstances.get(id + "_" + Thread.currentThread().getId());
+            return processInstances.get(contextKey(id));
         } else {
             return processInstances.get(id);
         }
@@ -58,7 +64,7 @@ public class DefaultProcessInstanceManager implements ProcessInstanceManager {
 
     public KogitoProcessInstance getProcessInstance(String id, boolean readOnly) {
         if (lock) {
-            return processInstances.get(id + "_" + Thread.currentThread().getId());
+            return processInstances.get(contextKey(id));
         } else {
             return processInstances.get(id);
         }
@@ -70,7 +76,7 @@ public class DefaultProcessInstanceManager implements ProcessInstanceManager {
 
     public void internalRemoveProcessInstance(KogitoProcessInstance processInstance) {
         if (lock) {
-            processInstances.remove(processInstance.getStringId() + "_" + Thread.currentThread().getId());
+            processInstances.remove(contextKey(processInstance.getStringId()));
         } else {
             processInstances.remove(processInstance.getStringId());
         }
@@ -87,4 +93,8 @@ public class DefaultProcessInstanceManager implements ProcessInstanceManager {
     public void setLock(boolean lock) {
         this.lock = lock;
     }
+
+    private static String contextKey(String id) {
+        return id + "_" + ExecutionContext.current().id();
+    }
 }
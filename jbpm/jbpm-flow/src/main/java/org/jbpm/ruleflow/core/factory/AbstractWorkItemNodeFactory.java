@@ -16,6 +16,7 @@
 package org.jbpm.ruleflow.core.factory;
 
 import java.util.Set;
+import java.util.function.Function;
 
 import org.jbpm.process.core.ParameterDefinition;
 import org.jbpm.process.core.Work;
@@ -27,12 +28,14 @@ import org.jbpm.ruleflow.core.RuleFlowNodeContainerFactory;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.NodeContainer;
 import org.jbpm.workflow.core.node.WorkItemNode;
+import org.kie.api.runtime.process.ProcessContext;
 
 public class AbstractWorkItemNodeFactory<T extends AbstractWorkItemNodeFactory<T, P>, P extends RuleFlowNodeContainerFactory<P, ?>> extends StateBasedNodeFactory<T, P>
         implements MappableNodeFactory<T> {
 
     public static final String METHOD_WORK_NAME = "workName";
     public static final String METHOD_WORK_PARAMETER = "workParameter";
+    public static final String METHOD_WORK_PARAMETER_EXPRESSION = "workParameterExpression";
 
     protected AbstractWorkItemNodeFactory(P nodeContainerFactory, NodeContainer nodeContainer, Node node, long id) {
         super(nodeContainerFactory, nodeContainer, node, id);
@@ -72,6 +75,11 @@ public class AbstractWorkItemNodeFactory<T extends AbstractWorkItemNodeFactory<T
         return (T) this;
     }
 
+    public T workParameterExpression(String expression, Function<ProcessContext, Object> compiledExpression) {
+        getWorkItemNode().setParameterExpression(expression, compiledExpression);
+        return (T) this;
+    }
+
     public T workParameterDefinition(String name, DataType dataType) {
         Work work = getWorkItemNode().getWork();
         if (work == null) {
@@ -15,16 +15,23 @@
  */
 package org.jbpm.ruleflow.core.factory;
 
+import java.util.function.Function;
+import java.util.function.Predicate;
+
 import org.jbpm.process.core.datatype.DataType;
 import org.jbpm.ruleflow.core.RuleFlowNodeContainerFactory;
 import org.jbpm.workflow.core.NodeContainer;
 import org.jbpm.workflow.core.node.ForEachNode;
+import org.kie.api.runtime.process.ProcessContext;
 
 public class ForEachNodeFactory<T extends RuleFlowNodeContainerFactory<T, ?>> extends AbstractCompositeNodeFactory<ForEachNodeFactory<T>, T> {
 
     public static final String METHOD_COLLECTION_EXPRESSION = "collectionExpression";
+    public static final String METHOD_COMPILED_COLLECTION_EXPRESSION = "compiledCollectionExpression";
     public static final String METHOD_OUTPUT_COLLECTION_EXPRESSION = "outputCollectionExpression";
     public static final String METHOD_OUTPUT_VARIABLE = "outputVariable";
+    public static final String METHOD_COMPLETION_CONDITION = "completionCondition";
+    public static final String METHOD_COMPLETION_EXPRESSION = "completionExpression";
 
     public ForEachNodeFactory(T nodeContainerFactory, NodeContainer nodeContainer, long id) {
         super(nodeContainerFactory, nodeContainer, new ForEachNode(), id);
@@ -39,6 +46,11 @@ public class ForEachNodeFactory<T extends RuleFlowNodeContainerFactory<T, ?>> ex
         return this;
     }
 
+    public ForEachNodeFactory<T> compiledCollectionExpression(Function<ProcessContext, Object> compiledCollectionExpression) {
+        getForEachNode().setCompiledCollectionExpression(compiledCollectionExpression);
+        return this;
+    }
+
     @Override
     public ForEachNodeFactory<T> variable(String variableName, DataType dataType) {
         getForEachNode().setVariable(variableName, dataType);
@@ -59,4 +71,14 @@ public class ForEachNodeFactory<T extends RuleFlowNodeContainerFactory<T, ?>> ex
         getForEachNode().setWaitForCompletion(waitForCompletion);
         return this;
     }
+
+    public ForEachNodeFactory<T> completionCondition(String completionCondition) {
+        getForEachNode().setCompletionConditionExpression(completionCondition);
+        return this;
+    }
+
+    public ForEachNodeFactory<T> completionExpression(Predicate<ProcessContext> completionExpression) {
+        getForEachNode().setCompletionExpression(completionExpression);
+        return this;
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.process.core.event.EventFilter;
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.core.node.EventNodeInterface;
+import org.kie.api.definition.process.Node;
+import org.kie.api.definition.process.NodeContainer;
+
+/**
+ * Candidate nodes of a process definition for every signal type, so that signalling an instance does not
+ * need to go through all the top level nodes of its definition.
+ * <p>
+ * Event nodes whose filters only match constant event types are indexed by those types and are known to
+ * accept them. Any other event node (variable dependent types, custom filters, composite nodes) has to be
+ * checked with {@link EventNodeInterface#acceptsEvent(String, Object, java.util.function.Function)} for
+ * every signal. Candidates are always returned in definition order.
+ *
+ * @see WorkflowProcessImpl#getSignalDispatchTable()
+ */
+public final class SignalDispatchTable {
+
+    public static final class Candidate {
+
+        private final int position;
+        private final Node node;
+        private final boolean accepted;
+
+        private Candidate(int position, Node node, boolean accepted) {
+            this.position = position;
+            this.node = node;
+            this.accepted = accepted;
+        }
+
+        public Node node() {
+            return node;
+        }
+
+        /**
+         * @return <code>true</code> when the node is known to accept the signal type it was looked up for
+         */
+        public boolean isAccepted() {
+            return accepted;
+        }
+    }
+
+    private final Map<String, List<Candidate>> staticCandidates;
+    private final List<Candidate> dynamicCandidates;
+
+    private SignalDispatchTable(Map<String, List<Candidate>> staticCandidates, List<Candidate> dynamicCandidates) {
+        this.staticCandidates = staticCandidates;
+        this.dynamicCandidates = dynamicCandidates;
+    }
+
+    public static SignalDispatchTable of(NodeContainer process) {
+        Map<String, List<Candidate>> staticCandidates = new HashMap<>();
+        List<Candidate> dynamicCandidates = new ArrayList<>();
+        Node[] nodes = process.getNodes();
+        for (int i = 0; i < nodes.length; i++) {
+            Node node = nodes[i];
+            if (!(node instanceof EventNodeInterface)) {
+                continue;
+            }
+            Set<String> types = staticTypes(node);
+            if (types == null) {
+                dynamicCandidates.add(new Candidate(i, node, false));
+            } else {
+                for (String type : types) {
+                    staticCandidates.computeIfAbsent(type, k -> new ArrayList<>()).add(new Candidate(i, node, true));
+                }
+            }
+        }
+        return new SignalDispatchTable(staticCandidates, dynamicCandidates);
+    }
+
+    /**
+     * @return the event types the node accepts, or <code>null</code> when they cannot be determined from the
+     *         definition alone
+     */
+    private static Set<String> staticTypes(Node node) {
+        if (node.getClass() != EventNode.class && node.getClass() != BoundaryEventNode.class) {
+            return null;
+        }
+        List<EventFilter> filters = ((EventNode) node).getEventFilters();
+        if (filters.isEmpty()) {
+            return null;
+        }
+        Set<String> types = new LinkedHashSet<>();
+        for (EventFilter filter : filters) {
+            if (filter.getClass() != EventTypeFilter.class) {
+                return null;
+            }
+            String type = ((EventTypeFilter) filter).getType();
+            if (type == null || type.contains("#{")) {
+                return null;
+            }
+            types.add(type);
+        }
+        if (node.getClass() == EventNode.class && types.size() > 1) {
+            // every filter must accept the event, which is not possible with different types
+            return Collections.emptySet();
+        }
+        return types;
+    }
+
+    /**
+     * @return the nodes that might accept the given event type, in definition order
+     */
+    public List<Candidate> candidates(String type) {
+        List<Candidate> matching = staticCandidates.getOrDefault(type, Collections.emptyList());
+        if (matching.isEmpty()) {
+            return dynamicCandidates;
+        }
+        if (dynamicCandidates.isEmpty()) {
+            return matching;
+        }
+        List<Candidate> result = new ArrayList<>(matching.size() + dynamicCandidates.size());
+        int i = 0;
+        int j = 0;
+        while (i < matching.size() || j < dynamicCandidates.size()) {
+            if (j == dynamicCandidates.size() || (i < matching.size() && matching.get(i).position < dynamicCandidates.get(j).position)) {
+                result.add(matching.get(i++));
+            } else {
+                result.add(dynamicCandidates.get(j++));
+            }
+        }
+        return result;
+    }
+}
@@ -47,6 +47,7 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
     private boolean autoComplete = false;
     private boolean dynamic = false;
     private org.jbpm.workflow.core.NodeContainer nodeContainer;
+    private transient volatile SignalDispatchTable signalDispatchTable;
 
     private transient BiFunction<String, ProcessInstance, String> expressionEvaluator = (expression, p) -> {
 
@@ -109,11 +110,26 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
     public void removeNode(final org.kie.api.definition.process.Node node) {
         nodeContainer.removeNode(node);
         ((Node) node).setParentContainer(null);
+        signalDispatchTable = null;
     }
 
     public void addNode(final org.kie.api.definition.process.Node node) {
         nodeContainer.addNode(node);
         ((Node) node).setParentContainer(this);
+        signalDispatchTable = null;
+    }
+
+    /**
+     * Returns the candidate event nodes per signal type, built on first use and rebuilt when nodes are
+     * added or removed.
+     */
+    public SignalDispatchTable getSignalDispatchTable() {
+        SignalDispatchTable table = signalDispatchTable;
+        if (table == null) {
+            table = SignalDispatchTable.of(this);
+            signalDispatchTable = table;
+        }
+        return table;
     }
 
     public boolean isAutoComplete() {
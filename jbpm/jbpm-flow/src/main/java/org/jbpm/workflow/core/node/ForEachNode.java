@@ -17,6 +17,8 @@ package org.jbpm.workflow.core.node;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.jbpm.process.core.Context;
 import org.jbpm.process.core.context.AbstractContext;
@@ -26,6 +28,7 @@ import org.jbpm.process.core.datatype.DataType;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.impl.ConnectionImpl;
 import org.jbpm.workflow.core.impl.ExtendedNodeImpl;
+import org.kie.api.runtime.process.ProcessContext;
 
 /**
  * A for each node.
@@ -39,11 +42,20 @@ public class ForEachNode extends CompositeContextNode {
 
     private static final long serialVersionUID = 510l;
 
+    /**
+     * Metadata limiting how many iterations run at the same time; when set to a positive value the iterations
+     * are started in parallel, at most that many at once.
+     */
+    public static final String MAX_PARALLELISM_METADATA = "maxParallelism";
+
     private String variableName;
     private String outputVariableName;
     private String collectionExpression;
+    private Function<ProcessContext, Object> compiledCollectionExpression;
     private String outputCollectionExpression;
     private String completionConditionExpression;
+    private String completionConditionDialect;
+    private Predicate<ProcessContext> completionPredicate;
     private boolean waitForCompletion = true;
 
     public ForEachNode() {
@@ -226,6 +238,19 @@ public class ForEachNode extends CompositeContextNode {
         this.collectionExpression = collectionExpression;
     }
 
+    /**
+     * @return the collection expression compiled at build time, or null when it is a variable name or has to be
+     *         interpreted from {@link #getCollectionExpression()}
+     */
+    public Function<ProcessContext, Object> getCompiledCollectionExpression() {
+        return compiledCollectionExpression;
+    }
+
+    public ForEachNode setCompiledCollectionExpression(Function<ProcessContext, Object> compiledCollectionExpression) {
+        this.compiledCollectionExpression = compiledCollectionExpression;
+        return this;
+    }
+
     public String getOutputCollectionExpression() {
         return outputCollectionExpression;
     }
@@ -299,4 +324,25 @@ public class ForEachNode extends CompositeContextNode {
             String completionConditionExpression) {
         this.completionConditionExpression = completionConditionExpression;
     }
+
+    public String getCompletionConditionDialect() {
+        return completionConditionDialect;
+    }
+
+    public void setCompletionConditionDialect(String completionConditionDialect) {
+        this.completionConditionDialect = completionConditionDialect;
+    }
+
+    /**
+     * @return the completion condition compiled at build time, or null when it has to be interpreted
+     *         from {@link #getCompletionConditionExpression()}
+     */
+    public Predicate<ProcessContext> getCompletionExpression() {
+        return completionPredicate;
+    }
+
+    public ForEachNode setCompletionExpression(Predicate<ProcessContext> completionPredicate) {
+        this.completionPredicate = completionPredicate;
+        return this;
+    }
 }
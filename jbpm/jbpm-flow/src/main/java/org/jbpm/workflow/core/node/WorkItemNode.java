@@ -21,6 +21,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.jbpm.process.core.Context;
 import org.jbpm.process.core.ContextContainer;
@@ -30,6 +31,7 @@ import org.jbpm.process.core.context.variable.Mappable;
 import org.jbpm.process.core.impl.ContextContainerImpl;
 import org.jbpm.workflow.core.Node;
 import org.kie.api.definition.process.Connection;
+import org.kie.api.runtime.process.ProcessContext;
 
 /**
  * Default implementation of a task node.
@@ -46,6 +48,7 @@ public class WorkItemNode extends StateBasedNode implements Mappable, ContextCon
     private List<DataAssociation> inMapping = new LinkedList<DataAssociation>();
     private List<DataAssociation> outMapping = new LinkedList<DataAssociation>();
     private boolean waitForCompletion = true;
+    private Map<String, Function<ProcessContext, Object>> parameterExpressions = new HashMap<>();
     // TODO boolean independent (cancel work item if node gets cancelled?)
 
     public Work getWork() {
@@ -140,6 +143,18 @@ public class WorkItemNode extends StateBasedNode implements Mappable, ContextCon
         this.waitForCompletion = waitForCompletion;
     }
 
+    /**
+     * @return the given <code>#{...}</code> parameter expression compiled at build time, or null when it has to be
+     *         interpreted
+     */
+    public Function<ProcessContext, Object> getParameterExpression(String expression) {
+        return parameterExpressions.get(expression);
+    }
+
+    public void setParameterExpression(String expression, Function<ProcessContext, Object> compiledExpression) {
+        parameterExpressions.put(expression, compiledExpression);
+    }
+
     public void validateAddIncomingConnection(final String type, final Connection connection) {
         super.validateAddIncomingConnection(type, connection);
         if (!Node.CONNECTION_DEFAULT_TYPE.equals(type)) {
@@ -38,6 +38,12 @@ public interface NodeInstanceContainer extends KogitoNodeInstanceContainer {
 
     void removeNodeInstance(NodeInstance nodeInstance);
 
+    /**
+     * Refreshes the node instance lookups after the node ids of already added node instances were changed,
+     * e.g. when migrating a process instance to another process definition.
+     */
+    void reindexNodeInstances();
+
     NodeContainer getNodeContainer();
 
     void nodeInstanceCompleted(NodeInstance nodeInstance, String outType);
@@ -167,6 +167,7 @@ public class WorkflowProcessInstanceUpgrader {
                 updateNodeInstances((NodeInstanceContainer) nodeInstance, nodeMapping);
             }
         }
+        nodeInstanceContainer.reindexNodeInstances();
 
     }
 
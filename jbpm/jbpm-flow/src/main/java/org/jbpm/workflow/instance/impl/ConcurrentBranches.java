@@ -0,0 +1,274 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jbpm.process.instance.LightWorkItemManager;
+import org.jbpm.workflow.core.node.Split;
+import org.kie.api.runtime.process.WorkItemManager;
+import org.kie.kogito.event.VirtualThreadExecutor;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.process.workitem.Policy;
+import org.kie.kogito.process.workitem.WorkItemExecutionException;
+import org.kie.kogito.process.workitems.InternalKogitoWorkItem;
+import org.kie.kogito.process.workitems.impl.KogitoWorkItemImpl;
+import org.kie.kogito.uow.ExecutionContext;
+
+/**
+ * Detaches the first work item of each branch of a parallel split.
+ * <p>
+ * Branches are not executed concurrently: they are still triggered one after another on the engine thread.
+ * Only the first synchronous work item each branch reaches is handed over to a worker thread and becomes a wait
+ * state, the same way an asynchronous work item does, so the work items of all branches run at the same time
+ * instead of one after the other. Their results are applied one by one to the process instance, each in its own
+ * unit of work, so the join is satisfied once every branch has reported back. Any other work item, including the
+ * following ones of the same branch, the ones reached after the join and the ones of sub-processes, runs
+ * synchronously as usual.
+ * <p>
+ * Handlers executed on a worker thread receive a detached copy of the work item, holding its ids, name and a
+ * copy of its parameters; {@link KogitoWorkItem#getNodeInstance()} and {@link KogitoWorkItem#getProcessInstance()}
+ * return <code>null</code> because the engine thread keeps changing them meanwhile. They also run in an execution
+ * context of their own, outside the unit of work the engine thread is still running. Updates and handler
+ * registrations go to the work item manager of the engine.
+ * <p>
+ * Work items are detached to a bounded pool of {@value #THREADS_PROPERTY} threads (virtual threads when
+ * available) queueing at most {@value #QUEUE_SIZE_PROPERTY} work items; once it is saturated, further work items
+ * run synchronously on the engine thread, which slows the engine down instead of piling up work.
+ * <p>
+ * Instances are created by the process configuration from the {@value #CONCURRENT_PROPERTY},
+ * {@value #THREADS_PROPERTY} and {@value #QUEUE_SIZE_PROPERTY} application properties, the first one enabling
+ * the mode for all parallel splits; {@link #defaults()} reads them from system properties, for applications
+ * without a configuration source. A single split overrides it with the {@value #CONCURRENT_METADATA} metadata
+ * entry.
+ */
+public class ConcurrentBranches {
+
+    public static final String CONCURRENT_PROPERTY = "jbpm.parallel.branches.concurrent";
+    public static final String DEFAULT_CONCURRENT = "false";
+    public static final String THREADS_PROPERTY = "jbpm.parallel.branches.threads";
+    public static final String DEFAULT_THREADS = "16";
+    public static final String QUEUE_SIZE_PROPERTY = "jbpm.parallel.branches.queueSize";
+    public static final String DEFAULT_QUEUE_SIZE = "256";
+    public static final String CONCURRENT_METADATA = "concurrentBranches";
+
+    private final boolean enabled;
+    private final ExecutorService executor;
+    private final ThreadLocal<Branch> dispatching = new ThreadLocal<>();
+
+    /**
+     * @param enabled whether the first work item of the branches of every parallel split is detached
+     * @param threads maximum number of work items executed at the same time
+     * @param queueSize maximum number of detached work items waiting for a thread
+     */
+    public ConcurrentBranches(boolean enabled, int threads, int queueSize) {
+        this.enabled = enabled;
+        this.executor = VirtualThreadExecutor.isSupported()
+                ? new VirtualThreadExecutor("jbpm-branch", threads, queueSize)
+                : boundedPool(threads, queueSize);
+    }
+
+    public static ConcurrentBranches defaults() {
+        return Defaults.INSTANCE;
+    }
+
+    /**
+     * @return the instance the work item manager of the given node instance detaches work items with
+     */
+    public static ConcurrentBranches of(NodeInstanceImpl nodeInstance) {
+        WorkItemManager manager = nodeInstance.getProcessInstance().getKnowledgeRuntime().getWorkItemManager();
+        return manager instanceof LightWorkItemManager ? ((LightWorkItemManager) manager).getConcurrentBranches() : defaults();
+    }
+
+    public boolean isEnabled(Split split) {
+        Object value = split.getMetaData().get(CONCURRENT_METADATA);
+        return value != null ? Boolean.parseBoolean(value.toString()) : enabled;
+    }
+
+    /**
+     * Triggers one branch of a split, marking the current thread so that the first work item the branch reaches
+     * in the given process instance is detached.
+     */
+    public void dispatch(String processInstanceId, Runnable trigger) {
+        Branch previous = dispatching.get();
+        dispatching.set(new Branch(processInstanceId));
+        try {
+            trigger.run();
+        } finally {
+            dispatching.set(previous);
+        }
+    }
+
+    /**
+     * Claims the branch being triggered for the given work item.
+     *
+     * @return true when the work item is the first one reached by the branch and must be detached
+     */
+    public boolean claim(KogitoWorkItem workItem) {
+        Branch branch = dispatching.get();
+        if (branch == null || !branch.open || !branch.processInstanceId.equals(workItem.getProcessInstanceStringId())) {
+            return false;
+        }
+        branch.open = false;
+        return true;
+    }
+
+    /**
+     * Ends the branch being triggered, if any, so the nodes following a join run synchronously.
+     */
+    public void leave() {
+        Branch branch = dispatching.get();
+        if (branch != null) {
+            branch.open = false;
+        }
+    }
+
+    /**
+     * Executes a synchronous work item handler on a worker thread.
+     *
+     * @param manager work item manager of the engine, which updates and handler registrations are delegated to
+     * @return stage completed with the results the handler completed the work item with, it never completes if the
+     *         handler leaves the work item active, which is then completed through the regular API; <code>null</code>
+     *         when the pool is saturated and the work item must be executed synchronously
+     */
+    public CompletionStage<Map<String, Object>> execute(KogitoWorkItemHandler handler, KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        CapturingWorkItemManager capturing = new CapturingWorkItemManager(workItem.getStringId(), manager);
+        KogitoWorkItem detached = detach(workItem);
+        try {
+            executor.execute(ExecutionContext.create().wrap(() -> {
+                try {
+                    handler.executeWorkItem(detached, capturing);
+                } catch (RuntimeException e) {
+                    capturing.results.completeExceptionally(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        return capturing.results;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static KogitoWorkItem detach(KogitoWorkItem workItem) {
+        KogitoWorkItemImpl copy = new KogitoWorkItemImpl();
+        copy.setId(workItem.getStringId());
+        copy.setName(workItem.getName());
+        copy.setState(workItem.getState());
+        copy.setProcessInstanceId(workItem.getProcessInstanceStringId());
+        if (workItem instanceof InternalKogitoWorkItem) {
+            copy.setNodeInstanceId(((InternalKogitoWorkItem) workItem).getNodeInstanceStringId());
+        }
+        copy.setNodeId(workItem.getNodeId());
+        copy.setDeploymentId(workItem.getDeploymentId());
+        copy.setPhaseId(workItem.getPhaseId());
+        copy.setPhaseStatus(workItem.getPhaseStatus());
+        copy.setStartDate(workItem.getStartDate());
+        copy.setParameters(new HashMap<>(workItem.getParameters()));
+        return copy;
+    }
+
+    private static ExecutorService boundedPool(int threads, int queueSize) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                new DaemonThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static class Branch {
+
+        private final String processInstanceId;
+        private boolean open = true;
+
+        private Branch(String processInstanceId) {
+            this.processInstanceId = processInstanceId;
+        }
+    }
+
+    private static class Defaults {
+
+        private static final ConcurrentBranches INSTANCE = new ConcurrentBranches(Boolean.getBoolean(CONCURRENT_PROPERTY),
+                Integer.getInteger(THREADS_PROPERTY, Integer.parseInt(DEFAULT_THREADS)),
+                Integer.getInteger(QUEUE_SIZE_PROPERTY, Integer.parseInt(DEFAULT_QUEUE_SIZE)));
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "jbpm-branch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static class CapturingWorkItemManager implements KogitoWorkItemManager {
+
+        private final String workItemId;
+        private final KogitoWorkItemManager delegate;
+        private final CompletableFuture<Map<String, Object>> results = new CompletableFuture<>();
+
+        private CapturingWorkItemManager(String workItemId, KogitoWorkItemManager delegate) {
+            this.workItemId = workItemId;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void completeWorkItem(String id, Map<String, Object> results, Policy<?>... policies) {
+            checkId(id);
+            this.results.complete(results);
+        }
+
+        @Override
+        public void abortWorkItem(String id, Policy<?>... policies) {
+            checkId(id);
+            this.results.completeExceptionally(new WorkItemExecutionException("Aborted"));
+        }
+
+        @Override
+        public <T> T updateWorkItem(String id, Function<KogitoWorkItem, T> updater, Policy<?>... policies) {
+            return delegate.updateWorkItem(id, updater, policies);
+        }
+
+        @Override
+        public void registerWorkItemHandler(String workItemName, KogitoWorkItemHandler handler) {
+            delegate.registerWorkItemHandler(workItemName, handler);
+        }
+
+        private void checkId(String id) {
+            if (!workItemId.equals(id)) {
+                throw new IllegalArgumentException("Work item " + id + " is not the one being executed (" + workItemId + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.workflow.instance.NodeInstance;
+import org.jbpm.workflow.instance.NodeInstanceContainer;
+
+/**
+ * Hash based lookup of the node instances held by a {@link NodeInstanceContainer}, by node instance id and by node id.
+ * The index mirrors the container's list of node instances and keeps its insertion order per node id, so lookups
+ * return the same node instance a linear scan of that list would.
+ */
+public final class NodeInstanceIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, NodeInstance> byId = new HashMap<>();
+    private final Map<Long, List<NodeInstance>> byNodeId = new HashMap<>();
+    private final Set<NodeInstanceContainer> containers = new LinkedHashSet<>();
+
+    public void add(NodeInstance nodeInstance) {
+        byId.put(nodeInstance.getStringId(), nodeInstance);
+        byNodeId.computeIfAbsent(nodeInstance.getNodeId(), k -> new ArrayList<>(1)).add(nodeInstance);
+        if (nodeInstance instanceof NodeInstanceContainer) {
+            containers.add((NodeInstanceContainer) nodeInstance);
+        }
+    }
+
+    public void remove(NodeInstance nodeInstance) {
+        byId.remove(nodeInstance.getStringId(), nodeInstance);
+        List<NodeInstance> sameNode = byNodeId.get(nodeInstance.getNodeId());
+        if (sameNode != null && sameNode.remove(nodeInstance) && sameNode.isEmpty()) {
+            byNodeId.remove(nodeInstance.getNodeId());
+        }
+        if (nodeInstance instanceof NodeInstanceContainer) {
+            containers.remove(nodeInstance);
+        }
+    }
+
+    public void rebuild(Collection<NodeInstance> nodeInstances) {
+        byId.clear();
+        byNodeId.clear();
+        containers.clear();
+        nodeInstances.forEach(this::add);
+    }
+
+    public NodeInstance get(String nodeInstanceId, boolean recursive) {
+        NodeInstance nodeInstance = byId.get(nodeInstanceId);
+        if (nodeInstance == null && recursive) {
+            for (NodeInstanceContainer container : containers) {
+                nodeInstance = container.getNodeInstance(nodeInstanceId, true);
+                if (nodeInstance != null) {
+                    break;
+                }
+            }
+        }
+        return nodeInstance;
+    }
+
+    public NodeInstance getFirst(long nodeId, int level) {
+        for (NodeInstance nodeInstance : getByNodeId(nodeId)) {
+            if (nodeInstance.getLevel() == level) {
+                return nodeInstance;
+            }
+        }
+        return null;
+    }
+
+    public List<NodeInstance> getByNodeId(long nodeId) {
+        return byNodeId.getOrDefault(nodeId, Collections.emptyList());
+    }
+}
@@ -15,18 +15,20 @@
  */
 package org.jbpm.workflow.instance.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -35,7 +37,11 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.drools.core.common.InternalKnowledgeRuntime;
+import org.jbpm.process.core.Context;
 import org.jbpm.process.core.ContextContainer;
+import org.jbpm.process.core.context.exception.CompensationHandler;
+import org.jbpm.process.core.context.exception.CompensationScope;
+import org.jbpm.process.core.context.exception.ExceptionHandler;
 import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.core.timer.BusinessCalendar;
@@ -50,6 +56,8 @@ import org.jbpm.util.PatternConstants;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.impl.NodeImpl;
+import org.jbpm.workflow.core.impl.SignalDispatchTable;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
 import org.jbpm.workflow.core.node.ActionNode;
 import org.jbpm.workflow.core.node.BoundaryEventNode;
 import org.jbpm.workflow.core.node.CompositeNode;
@@ -116,13 +124,22 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
     private static final long serialVersionUID = 510l;
     private static final Logger logger = LoggerFactory.getLogger(WorkflowProcessInstanceImpl.class);
+    // parsed #{} expressions of event types and their compiled parameters, shared by all instances
+    private static final Map<String, List<String>> PARAMETER_NAMES = new ConcurrentHashMap<>();
+    private static final Map<String, Serializable> COMPILED_PARAMETERS = new ConcurrentHashMap<>();
+    // read once, completions are recorded on every node transition
+    private static final boolean FULL_COMPLETED_HISTORY = Boolean.getBoolean("jbpm.completed.history.full");
 
     private final List<NodeInstance> nodeInstances = new ArrayList<>();
+    private final NodeInstanceIndex nodeInstanceIndex = new NodeInstanceIndex();
 
     private Map<String, List<KogitoEventListener>> eventListeners = new HashMap<>();
     private Map<String, List<KogitoEventListener>> externalEventListeners = new HashMap<>();
 
     private List<String> completedNodeIds = new ArrayList<>();
+    // unique ids of nodes whose completion is read at runtime, derived from the process definition
+    private transient Set<String> referencedCompletedNodeIds;
+    private transient Set<String> compensableNodeIds;
     private List<String> activatingNodeIds;
     private Map<String, Integer> iterationLevels = new HashMap<>();
     private int currentLevel;
@@ -161,6 +178,12 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
             ((NodeInstanceImpl) nodeInstance).setId(UUID.randomUUID().toString());
         }
         this.nodeInstances.add(nodeInstance);
+        this.nodeInstanceIndex.add(nodeInstance);
+    }
+
+    @Override
+    public void reindexNodeInstances() {
+        this.nodeInstanceIndex.rebuild(nodeInstances);
     }
 
     @Override
@@ -188,7 +211,9 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
             getKnowledgeRuntime().delete(
                     getKnowledgeRuntime().getFactHandle(nodeInstance));
         }
-        this.nodeInstances.remove(nodeInstance);
+        if (this.nodeInstances.remove(nodeInstance)) {
+            this.nodeInstanceIndex.remove(nodeInstance);
+        }
     }
 
     @Override
@@ -238,10 +263,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
     @Override
     public NodeInstance getNodeInstance(String nodeInstanceId, boolean recursive) {
-        return getNodeInstances(recursive).stream()
-                .filter(nodeInstance -> Objects.equals(nodeInstance.getStringId(), nodeInstanceId))
-                .findFirst()
-                .orElse(null);
+        return this.nodeInstanceIndex.get(nodeInstanceId, recursive);
     }
 
     public List<String> getActiveNodeIds() {
@@ -261,22 +283,11 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
     @Override
     public NodeInstance getFirstNodeInstance(final long nodeId) {
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId() == nodeId && nodeInstance.getLevel() == getCurrentLevel()) {
-                return nodeInstance;
-            }
-        }
-        return null;
+        return this.nodeInstanceIndex.getFirst(nodeId, getCurrentLevel());
     }
 
     public List<NodeInstance> getNodeInstances(final long nodeId) {
-        List<NodeInstance> result = new ArrayList<>();
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId() == nodeId) {
-                result.add(nodeInstance);
-            }
-        }
-        return result;
+        return new ArrayList<>(this.nodeInstanceIndex.getByNodeId(nodeId));
     }
 
     public List<NodeInstance> getNodeInstances(final long nodeId, final List<NodeInstance> currentView) {
@@ -312,6 +323,13 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         return (KogitoWorkflowProcess) getProcess();
     }
 
+    @Override
+    public void setProcess(org.kie.api.definition.process.Process process) {
+        super.setProcess(process);
+        this.referencedCompletedNodeIds = null;
+        this.compensableNodeIds = null;
+    }
+
     @Override
     public Object getVariable(String name) {
         // for disconnected process instances, try going through the variable scope instances
@@ -618,9 +636,10 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                         listener.signalEvent(type, event);
                     }
                 }
-                for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodes()) {
-                    if (node instanceof EventNodeInterface
-                            && ((EventNodeInterface) node).acceptsEvent(type, event, getResolver(node, currentView))) {
+                for (SignalDispatchTable.Candidate candidate : getSignalDispatchTable().candidates(type)) {
+                    org.kie.api.definition.process.Node node = candidate.node();
+                    if (candidate.isAccepted()
+                            || ((EventNodeInterface) node).acceptsEvent(type, event, getResolver(node, currentView))) {
                         if (node instanceof EventNode && ((EventNode) node).getFrom() == null) {
                             EventNodeInstance eventNodeInstance = (EventNodeInstance) getNodeInstance(node);
                             eventNodeInstance.signalEvent(type, event);
@@ -668,6 +687,11 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         }
     }
 
+    private SignalDispatchTable getSignalDispatchTable() {
+        KogitoWorkflowProcess process = getWorkflowProcess();
+        return process instanceof WorkflowProcessImpl ? ((WorkflowProcessImpl) process).getSignalDispatchTable() : SignalDispatchTable.of(process);
+    }
+
     private Function<String, String> getResolver(org.kie.api.definition.process.Node node, List<NodeInstance> currentView) {
         if (node instanceof DynamicNode) {
             // special handling for dynamic node to allow to resolve variables from individual node instances of the dynamic node
@@ -699,10 +723,11 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
     }
 
     private String resolveVariable(String s, VariableResolverFactory factory) {
+        if (s.indexOf("#{") < 0) {
+            return s;
+        }
         Map<String, String> replacements = new HashMap<>();
-        Matcher matcher = PatternConstants.PARAMETER_MATCHER.matcher(s);
-        while (matcher.find()) {
-            String paramName = matcher.group(1);
+        for (String paramName : PARAMETER_NAMES.computeIfAbsent(s, WorkflowProcessInstanceImpl::parameterNames)) {
             if (replacements.get(paramName) == null) {
 
                 Object variableValue = getVariable(paramName);
@@ -711,7 +736,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                 } else {
                     try {
                         MVELEvaluator mvelEvaluator = MVELProcessHelper.evaluator();
-                        variableValue = mvelEvaluator.eval(paramName, factory);
+                        variableValue = mvelEvaluator.executeExpression(COMPILED_PARAMETERS.computeIfAbsent(paramName, MVELProcessHelper::compileExpression), factory);
                         String variableValueString = variableValue == null ? "" : variableValue.toString();
                         replacements.put(paramName, variableValueString);
                     } catch (Throwable t) {
@@ -726,6 +751,15 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         return s;
     }
 
+    private static List<String> parameterNames(String s) {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = PatternConstants.PARAMETER_MATCHER.matcher(s);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        return names;
+    }
+
     @Override
     public void addEventListener(String type, KogitoEventListener listener, boolean external) {
         Map<String, List<KogitoEventListener>> eventListeners = external ? this.externalEventListeners : this.eventListeners;
@@ -911,7 +945,67 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
     }
 
     public void addCompletedNodeId(String uniqueId) {
-        this.completedNodeIds.add(uniqueId.intern());
+        if (FULL_COMPLETED_HISTORY) {
+            this.completedNodeIds.add(uniqueId.intern());
+            return;
+        }
+        Set<String> referenced = getReferencedCompletedNodeIds();
+        if (compensableNodeIds.contains(uniqueId)) {
+            // every completion of a compensable activity is compensated, in reverse completion order
+            this.completedNodeIds.add(uniqueId.intern());
+        } else if (referenced.contains(uniqueId)) {
+            // only the fact that the node completed is checked, keep its latest completion
+            this.completedNodeIds.remove(uniqueId);
+            this.completedNodeIds.add(uniqueId.intern());
+        }
+    }
+
+    /**
+     * Returns the unique ids of the nodes whose completion is still checked at runtime: milestones, nodes
+     * with boundary events attached, compensable activities and sub-processes holding compensation event
+     * sub-processes. Completions of other nodes are not retained in {@link #getCompletedNodeIds()}, unless
+     * the full history is requested with the <code>jbpm.completed.history.full</code> system property, read at startup.
+     */
+    public Set<String> getReferencedCompletedNodeIds() {
+        if (referencedCompletedNodeIds == null) {
+            Set<String> referenced = new HashSet<>();
+            Set<String> compensable = new HashSet<>();
+            if (getProcess() instanceof ContextContainer) {
+                collectCompensationReferences((ContextContainer) getProcess(), referenced, compensable);
+            }
+            for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodesRecursively()) {
+                if (node instanceof MilestoneNode) {
+                    referenced.add((String) node.getMetaData().get(UNIQUE_ID));
+                } else if (node instanceof BoundaryEventNode) {
+                    referenced.add(((BoundaryEventNode) node).getAttachedToNodeId());
+                }
+                if (node instanceof ContextContainer) {
+                    collectCompensationReferences((ContextContainer) node, referenced, compensable);
+                }
+            }
+            referenced.addAll(compensable);
+            this.compensableNodeIds = compensable;
+            this.referencedCompletedNodeIds = Collections.unmodifiableSet(referenced);
+        }
+        return referencedCompletedNodeIds;
+    }
+
+    private static void collectCompensationReferences(ContextContainer contextContainer, Set<String> referenced, Set<String> compensable) {
+        List<Context> compensationScopes = contextContainer.getContexts(CompensationScope.COMPENSATION_SCOPE);
+        if (compensationScopes == null) {
+            return;
+        }
+        for (Context context : compensationScopes) {
+            for (Map.Entry<String, ExceptionHandler> handler : ((CompensationScope) context).getExceptionHandlers().entrySet()) {
+                compensable.add(handler.getKey());
+                if (handler.getValue() instanceof CompensationHandler) {
+                    org.kie.api.definition.process.Node handlerNode = ((CompensationHandler) handler.getValue()).getnode();
+                    if (handlerNode instanceof EventSubProcessNode && ((Node) handlerNode).getParentContainer() instanceof NodeImpl) {
+                        referenced.add((String) ((NodeImpl) ((Node) handlerNode).getParentContainer()).getMetaData(UNIQUE_ID));
+                    }
+                }
+            }
+        }
     }
 
     public List<String> getCompletedNodeIds() {
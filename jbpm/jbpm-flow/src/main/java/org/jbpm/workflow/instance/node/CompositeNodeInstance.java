@@ -40,6 +40,7 @@ import org.jbpm.workflow.instance.WorkflowProcessInstance;
 import org.jbpm.workflow.instance.impl.NodeInstanceFactory;
 import org.jbpm.workflow.instance.impl.NodeInstanceFactoryRegistry;
 import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
+import org.jbpm.workflow.instance.impl.NodeInstanceIndex;
 import org.kie.api.definition.process.Connection;
 import org.kie.api.definition.process.NodeContainer;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
@@ -60,6 +61,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     private static final long serialVersionUID = 510l;
 
     private final List<NodeInstance> nodeInstances = new ArrayList<>();
+    private final NodeInstanceIndex nodeInstanceIndex = new NodeInstanceIndex();
 
     private int state = STATE_ACTIVE;
     private Map<String, Integer> iterationLevels = new HashMap<>();
@@ -194,11 +196,19 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
             ((NodeInstanceImpl) nodeInstance).setId(UUID.randomUUID().toString());
         }
         this.nodeInstances.add(nodeInstance);
+        this.nodeInstanceIndex.add(nodeInstance);
+    }
+
+    @Override
+    public void reindexNodeInstances() {
+        this.nodeInstanceIndex.rebuild(nodeInstances);
     }
 
     @Override
     public void removeNodeInstance(final NodeInstance nodeInstance) {
-        this.nodeInstances.remove(nodeInstance);
+        if (this.nodeInstances.remove(nodeInstance)) {
+            this.nodeInstanceIndex.remove(nodeInstance);
+        }
     }
 
     @Override
@@ -245,32 +255,17 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
 
     @Override
     public NodeInstance getNodeInstance(String nodeInstanceId) {
-        for (NodeInstance nodeInstance : nodeInstances) {
-            if (nodeInstance.getStringId().equals(nodeInstanceId)) {
-                return nodeInstance;
-            }
-        }
-        return null;
+        return this.nodeInstanceIndex.get(nodeInstanceId, false);
     }
 
     @Override
     public NodeInstance getNodeInstance(String nodeInstanceId, boolean recursive) {
-        for (NodeInstance nodeInstance : getNodeInstances(recursive)) {
-            if (nodeInstance.getStringId().equals(nodeInstanceId)) {
-                return nodeInstance;
-            }
-        }
-        return null;
+        return this.nodeInstanceIndex.get(nodeInstanceId, recursive);
     }
 
     @Override
     public NodeInstance getFirstNodeInstance(final long nodeId) {
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId() == nodeId && nodeInstance.getLevel() == getCurrentLevel()) {
-                return nodeInstance;
-            }
-        }
-        return null;
+        return this.nodeInstanceIndex.getFirst(nodeId, getCurrentLevel());
     }
 
     @Override
@@ -337,13 +332,7 @@ public class CompositeNodeInstance extends StateBasedNodeInstance implements Nod
     }
 
     public List<NodeInstance> getNodeInstances(final long nodeId) {
-        List<NodeInstance> result = new ArrayList<>();
-        for (final NodeInstance nodeInstance : this.nodeInstances) {
-            if (nodeInstance.getNodeId() == nodeId) {
-                result.add(nodeInstance);
-            }
-        }
-        return result;
+        return new ArrayList<>(this.nodeInstanceIndex.getByNodeId(nodeId));
     }
 
     public List<NodeInstance> getNodeInstances(final long nodeId, List<NodeInstance> currentView) {
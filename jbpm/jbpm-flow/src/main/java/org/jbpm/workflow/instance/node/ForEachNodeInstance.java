@@ -15,6 +15,7 @@
  */
 package org.jbpm.workflow.instance.node;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -22,7 +23,10 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+import org.drools.core.spi.KogitoProcessContextImpl;
 import org.jbpm.process.core.ContextContainer;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.instance.ContextInstance;
@@ -33,10 +37,12 @@ import org.jbpm.workflow.core.node.ForEachNode.ForEachJoinNode;
 import org.jbpm.workflow.core.node.ForEachNode.ForEachSplitNode;
 import org.jbpm.workflow.instance.NodeInstance;
 import org.jbpm.workflow.instance.NodeInstanceContainer;
+import org.jbpm.workflow.instance.impl.ConcurrentBranches;
 import org.jbpm.workflow.instance.impl.MVELProcessHelper;
 import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.jbpm.workflow.instance.impl.NodeInstanceResolverFactory;
 import org.kie.api.definition.process.Connection;
+import org.kie.api.runtime.process.ProcessContext;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.mvel2.integration.VariableResolver;
 import org.mvel2.integration.impl.SimpleValueResolver;
@@ -50,6 +56,12 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
 
     private static final String TEMP_OUTPUT_VAR = "foreach_output";
 
+    private static final String PENDING_ITEMS_VAR = "foreach_pending";
+
+    private static final Map<String, Serializable> COMPILED_EXPRESSIONS = new ConcurrentHashMap<>();
+
+    private transient boolean startingIterations;
+
     public ForEachNode getForEachNode() {
         return (ForEachNode) getNode();
     }
@@ -92,6 +104,17 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
         return getForEachNode().getCompositeNode();
     }
 
+    // property paths are compiled at build time by codegen, any other expression is interpreted
+    private Object evaluateCompiledCollectionExpression(String collectionExpression) {
+        Function<ProcessContext, Object> compiledExpression = getForEachNode().getCompiledCollectionExpression();
+        if (compiledExpression != null) {
+            KogitoProcessContextImpl context = new KogitoProcessContextImpl(getProcessInstance().getKnowledgeRuntime());
+            context.setNodeInstance(this);
+            return compiledExpression.apply(context);
+        }
+        return MVELProcessHelper.evaluator().executeExpression(compiled(collectionExpression), new NodeInstanceResolverFactory(this));
+    }
+
     private Collection<?> evaluateCollectionExpression(String collectionExpression) {
         Object collection;
         VariableScopeInstance variableScopeInstance = (VariableScopeInstance) resolveContextInstance(VariableScope.VARIABLE_SCOPE, collectionExpression);
@@ -99,7 +122,7 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
             collection = variableScopeInstance.getVariable(collectionExpression);
         } else {
             try {
-                collection = MVELProcessHelper.evaluator().eval(collectionExpression, new NodeInstanceResolverFactory(this));
+                collection = evaluateCompiledCollectionExpression(collectionExpression);
             } catch (Throwable t) {
                 throw new IllegalArgumentException(
                         "Could not find collection " + collectionExpression);
@@ -120,6 +143,83 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                 "Unexpected collection type: " + collection.getClass());
     }
 
+    private static Serializable compiled(String expression) {
+        return COMPILED_EXPRESSIONS.computeIfAbsent(expression, MVELProcessHelper::compileExpression);
+    }
+
+    private int getMaxParallelism() {
+        Object maxParallelism = getForEachNode().getMetaData().get(ForEachNode.MAX_PARALLELISM_METADATA);
+        if (maxParallelism instanceof Number) {
+            return ((Number) maxParallelism).intValue();
+        }
+        if (maxParallelism instanceof String) {
+            try {
+                return Integer.parseInt(((String) maxParallelism).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + ForEachNode.MAX_PARALLELISM_METADATA + " " + maxParallelism, e);
+            }
+        }
+        return 0;
+    }
+
+    private VariableScopeInstance getForEachVariableScope() {
+        return (VariableScopeInstance) getContextInstance(VariableScope.VARIABLE_SCOPE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> getPendingItems() {
+        List<Object> pendingItems = (List<Object>) getForEachVariableScope().getVariable(PENDING_ITEMS_VAR);
+        return pendingItems == null ? Collections.emptyList() : pendingItems;
+    }
+
+    private int countRunningIterations() {
+        int running = 0;
+        for (org.kie.api.runtime.process.NodeInstance nodeInstance : getNodeInstances()) {
+            if (!(nodeInstance instanceof ForEachSplitNodeInstance) && !(nodeInstance instanceof ForEachJoinNodeInstance)) {
+                running++;
+            }
+        }
+        return running;
+    }
+
+    /**
+     * Starts pending iterations until the configured parallelism is reached. Iterations completing synchronously
+     * re-enter through the join while this loop is active, so the loop itself picks up the freed slots instead of
+     * recursing once per item.
+     */
+    private void startPendingIterations(NodeInstanceImpl from) {
+        if (startingIterations) {
+            return;
+        }
+        startingIterations = true;
+        try {
+            int maxParallelism = getMaxParallelism();
+            ConcurrentBranches branches = ConcurrentBranches.of(this);
+            List<Object> pendingItems = getPendingItems();
+            while (!pendingItems.isEmpty() && countRunningIterations() < maxParallelism) {
+                Object item = pendingItems.remove(0);
+                String variableName = getForEachNode().getVariableName();
+                ForEachSplitNode splitNode = getForEachNode().getForEachSplitNode();
+                NodeInstance nodeInstance = getNodeInstance(splitNode.getTo().getTo());
+                VariableScopeInstance variableScopeInstance = (VariableScopeInstance) nodeInstance.resolveContextInstance(VariableScope.VARIABLE_SCOPE, variableName);
+                variableScopeInstance.setVariable(from, variableName, item);
+                logger.debug("Triggering [{}] in parallel multi-instance loop, {} items pending.", nodeInstance.getNodeId(), pendingItems.size());
+                branches.dispatch(getProcessInstance().getStringId(), () -> nodeInstance.trigger(from, splitNode.getTo().getToType()));
+            }
+        } finally {
+            startingIterations = false;
+        }
+    }
+
+    private void cancelRemainingIterations() {
+        getPendingItems().clear();
+        for (org.kie.api.runtime.process.NodeInstance nodeInstance : new ArrayList<>(getNodeInstances())) {
+            if (!(nodeInstance instanceof ForEachJoinNodeInstance)) {
+                ((NodeInstance) nodeInstance).cancel();
+            }
+        }
+    }
+
     public class ForEachSplitNodeInstance extends NodeInstanceImpl {
 
         private static final long serialVersionUID = 510l;
@@ -136,6 +236,12 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
             ((NodeInstanceContainer) getNodeInstanceContainer()).removeNodeInstance(this);
             if (collection.isEmpty()) {
                 ForEachNodeInstance.this.triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true);
+            } else if (getMaxParallelism() > 0) {
+                getForEachVariableScope().internalSetVariable(PENDING_ITEMS_VAR, new ArrayList<>(collection));
+                startPendingIterations(this);
+                if (!getForEachNode().isWaitForCompletion()) {
+                    ForEachNodeInstance.this.triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, false);
+                }
             } else {
                 List<NodeInstance> nodeInstances = new ArrayList<>();
                 for (Object o : collection) {
@@ -186,14 +292,30 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
                 }
                 outputCollection.add(outputVariable);
 
-                subprocessVariableScopeInstance.setVariable(this, TEMP_OUTPUT_VAR, outputCollection);
+                if (getMaxParallelism() > 0) {
+                    // the temporary collection is appended in place and only published once the loop completes
+                    subprocessVariableScopeInstance.internalSetVariable(TEMP_OUTPUT_VAR, outputCollection);
+                } else {
+                    subprocessVariableScopeInstance.setVariable(this, TEMP_OUTPUT_VAR, outputCollection);
+                }
                 // add temp collection under actual mi output name for completion condition evaluation
                 tempVariables.put(getForEachNode().getOutputVariableName(), outputVariable);
                 String outputCollectionName = getForEachNode().getOutputCollectionExpression();
                 tempVariables.put(outputCollectionName, outputCollection);
             }
             boolean isCompletionConditionMet = evaluateCompletionCondition(getForEachNode().getCompletionConditionExpression(), tempVariables);
-            if (getNodeInstanceContainer().getNodeInstances().size() == 1 || isCompletionConditionMet) {
+            if (isCompletionConditionMet) {
+                if (getMaxParallelism() > 0) {
+                    cancelRemainingIterations();
+                }
+            } else {
+                startPendingIterations(this);
+                if (getNodeInstanceContainer().getNodeInstance(getStringId()) == null) {
+                    // completed by an iteration that finished synchronously while starting pending ones
+                    return;
+                }
+            }
+            if ((getPendingItems().isEmpty() && getNodeInstanceContainer().getNodeInstances().size() == 1) || isCompletionConditionMet) {
                 String outputCollection = getForEachNode().getOutputCollectionExpression();
                 if (outputCollection != null) {
                     VariableScopeInstance variableScopeInstance = (VariableScopeInstance) resolveContextInstance(VariableScope.VARIABLE_SCOPE, outputCollection);
@@ -223,11 +345,14 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
         }
 
         private boolean evaluateCompletionCondition(String expression, Map<String, Object> tempVariables) {
+            if (getForEachNode().getCompletionExpression() != null) {
+                return getForEachNode().getCompletionExpression().test(new ForEachProcessContext(this, tempVariables));
+            }
             if (expression == null || expression.isEmpty()) {
                 return false;
             }
             try {
-                Object result = MVELProcessHelper.evaluator().eval(expression, new ForEachNodeInstanceResolverFactory(this, tempVariables));
+                Object result = MVELProcessHelper.evaluator().executeExpression(compiled(expression), new ForEachNodeInstanceResolverFactory(this, tempVariables));
                 if (!(result instanceof Boolean)) {
                     throw new RuntimeException("Completion condition expression must return boolean values: " + result
                             + " for expression " + expression);
@@ -256,6 +381,26 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
         return 1;
     }
 
+    // exposes the aggregated outputs to completion conditions compiled at build time
+    private static class ForEachProcessContext extends KogitoProcessContextImpl {
+
+        private final Map<String, Object> tempVariables;
+
+        public ForEachProcessContext(NodeInstanceImpl nodeInstance, Map<String, Object> tempVariables) {
+            super(nodeInstance.getProcessInstance().getKnowledgeRuntime());
+            setNodeInstance(nodeInstance);
+            this.tempVariables = tempVariables;
+        }
+
+        @Override
+        public Object getVariable(String variableName) {
+            if (tempVariables.containsKey(variableName)) {
+                return tempVariables.get(variableName);
+            }
+            return super.getVariable(variableName);
+        }
+    }
+
     private class ForEachNodeInstanceResolverFactory extends NodeInstanceResolverFactory {
 
         private static final long serialVersionUID = -8856846610671009685L;
@@ -31,6 +31,7 @@ import org.jbpm.process.instance.context.variable.VariableScopeInstance;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.node.Join;
 import org.jbpm.workflow.core.node.Split;
+import org.jbpm.workflow.instance.impl.ConcurrentBranches;
 import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.kie.api.definition.process.Connection;
 import org.kie.api.runtime.process.NodeInstance;
@@ -265,6 +266,8 @@ public class JoinInstance extends NodeInstanceImpl {
     }
 
     public void triggerCompleted() {
+        // the nodes after the join no longer belong to the branch that satisfied it
+        ConcurrentBranches.of(this).leave();
         // join nodes are only removed from the container when they contain no more state
         triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, triggers.isEmpty());
     }
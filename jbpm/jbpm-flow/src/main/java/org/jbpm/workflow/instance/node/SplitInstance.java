@@ -35,6 +35,7 @@ import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.core.node.Split;
 import org.jbpm.workflow.instance.NodeInstanceContainer;
 import org.jbpm.workflow.instance.WorkflowRuntimeException;
+import org.jbpm.workflow.instance.impl.ConcurrentBranches;
 import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.kie.api.definition.process.Connection;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
@@ -47,6 +48,8 @@ public class SplitInstance extends NodeInstanceImpl {
 
     private static final long serialVersionUID = 510l;
 
+    private transient ConcurrentBranches dispatchingBranches;
+
     protected Split getSplit() {
         return (Split) getNode();
     }
@@ -68,11 +71,27 @@ public class SplitInstance extends NodeInstanceImpl {
         }
     }
 
+    @Override
+    protected void triggerNodeInstance(org.jbpm.workflow.instance.NodeInstance nodeInstance, String type, boolean fireEvents) {
+        if (dispatchingBranches != null) {
+            // each branch gets its own dispatch so that the first work item of every branch is detached
+            dispatchingBranches.dispatch(getProcessInstance().getStringId(), () -> super.triggerNodeInstance(nodeInstance, type, fireEvents));
+        } else {
+            super.triggerNodeInstance(nodeInstance, type, fireEvents);
+        }
+    }
+
     protected void executeStrategy(Split split, String type) {
         // TODO make different strategies for each type
         switch (split.getType()) {
             case Split.TYPE_AND:
-                triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true);
+                ConcurrentBranches branches = ConcurrentBranches.of(this);
+                dispatchingBranches = branches.isEnabled(split) ? branches : null;
+                try {
+                    triggerCompleted(Node.CONNECTION_DEFAULT_TYPE, true);
+                } finally {
+                    dispatchingBranches = null;
+                }
                 break;
             case Split.TYPE_XOR:
                 List<Connection> outgoing = split.getDefaultOutgoingConnections();
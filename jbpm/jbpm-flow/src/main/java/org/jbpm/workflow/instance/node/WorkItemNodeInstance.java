@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 
 import org.drools.core.WorkItemHandlerNotFoundException;
@@ -64,6 +65,7 @@ import org.kie.api.runtime.EnvironmentName;
 import org.kie.api.runtime.KieRuntime;
 import org.kie.api.runtime.process.DataTransformer;
 import org.kie.api.runtime.process.EventListener;
+import org.kie.api.runtime.process.ProcessContext;
 import org.kie.api.runtime.process.ProcessWorkItemHandlerException;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
@@ -167,14 +169,8 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
             } catch (WorkItemHandlerNotFoundException wihnfe) {
                 getProcessInstance().setState(STATE_ABORTED);
                 throw wihnfe;
-            } catch (ProcessWorkItemHandlerException handlerException) {
-                this.workItemId = workItem.getStringId();
-                handleWorkItemHandlerException(handlerException, workItem);
-            } catch (WorkItemExecutionException e) {
-                handleException(e.getErrorCode(), e);
             } catch (Exception e) {
-                String exceptionName = e.getClass().getName();
-                handleException(exceptionName, e);
+                internalHandleWorkItemFailure(e);
             }
         }
         if (!workItemNode.isWaitForCompletion()) {
@@ -183,6 +179,23 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
         this.workItemId = workItem.getStringId();
     }
 
+    /**
+     * Handles an error raised while executing the work item, either thrown by its handler or reported later
+     * by an asynchronous handler.
+     */
+    public void internalHandleWorkItemFailure(Exception e) {
+        // resolves the work item when the node instance has been reloaded
+        InternalKogitoWorkItem item = getWorkItem();
+        if (e instanceof ProcessWorkItemHandlerException) {
+            this.workItemId = item.getStringId();
+            handleWorkItemHandlerException((ProcessWorkItemHandlerException) e, item);
+        } else if (e instanceof WorkItemExecutionException) {
+            handleException(((WorkItemExecutionException) e).getErrorCode(), e);
+        } else {
+            handleException(e.getClass().getName(), e);
+        }
+    }
+
     protected void handleException(String exceptionName, Exception e) {
         ExceptionScopeInstance exceptionScopeInstance = (ExceptionScopeInstance) resolveContextInstance(ExceptionScope.EXCEPTION_SCOPE, exceptionName);
         if (exceptionScopeInstance == null) {
@@ -263,7 +276,7 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
                             replacements.put(paramName, variableValueString);
                         } else {
                             try {
-                                Object variableValue = MVELProcessHelper.evaluator().eval(paramName, new NodeInstanceResolverFactory(this));
+                                Object variableValue = evaluateParameterExpression(workItemNode, paramName);
                                 String variableValueString = variableValue == null ? "" : variableValue.toString();
                                 replacements.put(paramName, variableValueString);
                             } catch (Throwable t) {
@@ -285,6 +298,17 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
         return workItem;
     }
 
+    // property paths are compiled at build time by codegen, any other expression is interpreted
+    private Object evaluateParameterExpression(WorkItemNode workItemNode, String expression) {
+        Function<ProcessContext, Object> compiledExpression = workItemNode.getParameterExpression(expression);
+        if (compiledExpression != null) {
+            KogitoProcessContextImpl context = new KogitoProcessContextImpl(getProcessInstance().getKnowledgeRuntime());
+            context.setNodeInstance(this);
+            return compiledExpression.apply(context);
+        }
+        return MVELProcessHelper.evaluator().eval(expression, new NodeInstanceResolverFactory(this));
+    }
+
     private void handleAssignment(Assignment assignment) {
         AssignmentAction action = (AssignmentAction) assignment.getMetaData("Action");
         try {
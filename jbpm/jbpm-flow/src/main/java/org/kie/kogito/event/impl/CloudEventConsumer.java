@@ -15,7 +15,6 @@
  */
 package org.kie.kogito.event.impl;
 
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
@@ -24,10 +23,10 @@ import java.util.function.Function;
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.process.Process;
-import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.services.event.AbstractProcessDataEvent;
 import org.kie.kogito.services.event.EventConsumer;
+import org.kie.kogito.uow.ExecutionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,8 +60,7 @@ public class CloudEventConsumer<D, M extends Model, T extends AbstractProcessDat
             logger.debug("Received message with reference id '{}' going to use it to send signal '{}'",
                     cloudEvent.getKogitoReferenceId(),
                     trigger);
-            Optional<ProcessInstance<M>> instance = process.instances().findById(cloudEvent.getKogitoReferenceId());
-            if (instance.isPresent()) {
+            if (process.instances().exists(cloudEvent.getKogitoReferenceId())) {
                 return CompletableFuture.completedFuture(processService.signalProcessInstance((Process) process, cloudEvent.getKogitoReferenceId(), cloudEvent.getData(), "Message-" + trigger));
             } else {
                 logger.warn("Process instance with id '{}' not found for triggering signal '{}', starting a new one",
@@ -78,7 +76,8 @@ public class CloudEventConsumer<D, M extends Model, T extends AbstractProcessDat
     }
 
     private CompletionStage<Void> startNewInstance(Process<M> process, M model, T cloudEvent, String trigger) {
-        return CompletableFuture.runAsync(() -> processService.createProcessInstance(process, model, cloudEvent.getKogitoStartFromNode(), trigger, cloudEvent.getKogitoProcessinstanceId()), executor);
+        // the message consumer waits for the creation, which continues the execution consuming the event
+        return CompletableFuture.runAsync(() -> processService.createProcessInstance(process, model, cloudEvent.getKogitoStartFromNode(), trigger, cloudEvent.getKogitoProcessinstanceId()), ExecutionContext.propagating(executor));
     }
 
     private boolean ignoredMessageType(T cloudEvent, String type) {
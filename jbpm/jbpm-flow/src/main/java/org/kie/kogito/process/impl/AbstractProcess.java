@@ -45,18 +45,27 @@ import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstancePage;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.ProcessInstancesFactory;
 import org.kie.kogito.process.Signal;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractProcess<T extends Model> implements Process<T> {
 
+    /**
+     * Number of instances loaded at once when broadcasting a signal.
+     */
+    public static final int SIGNAL_BATCH_SIZE = 100;
+
     protected final ProcessRuntimeServiceProvider services;
     protected ProcessInstancesFactory processInstancesFactory;
     protected MutableProcessInstances<T> instances;
     protected CompletionEventListener completionEventListener = new CompletionEventListener();
+    protected ProcessInstanceIdentityMap identityMap;
 
     protected Application app;
 
@@ -125,12 +134,30 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
 
     @Override
     public <S> void send(Signal<S> signal) {
-        instances().values(ProcessInstanceReadMode.MUTABLE).forEach(pi -> pi.send(signal));
+        if (process() instanceof WorkflowProcessImpl && ((WorkflowProcessImpl) process()).isDynamic()) {
+            // dynamic processes may trigger any node by name, so every instance is a potential receiver
+            instances().values(ProcessInstanceReadMode.MUTABLE).forEach(pi -> pi.send(signal));
+            return;
+        }
+        ProcessInstanceQuery query = ProcessInstanceQuery.first(SIGNAL_BATCH_SIZE).withEventType(signal.channel());
+        ProcessInstancePage<T> page;
+        do {
+            page = instances().find(query, ProcessInstanceReadMode.MUTABLE);
+            page.instances().forEach(pi -> pi.send(signal));
+            if (page.continuationToken().isPresent()) {
+                query = query.after(page.continuationToken().get());
+            }
+        } while (page.continuationToken().isPresent());
     }
 
     public Process<T> configure() {
 
         registerListeners();
+        UnitOfWorkManager unitOfWorkManager = services.getUnitOfWorkManager();
+        if (identityMap == null && unitOfWorkManager != null) {
+            identityMap = new ProcessInstanceIdentityMap(unitOfWorkManager);
+            unitOfWorkManager.register(identityMap);
+        }
         if (isProcessFactorySet()) {
             this.instances = (MutableProcessInstances<T>) processInstancesFactory.createProcessInstances(this);
         }
@@ -150,6 +177,7 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
 
         configure();
         WorkflowProcessImpl p = (WorkflowProcessImpl) process();
+        p.getSignalDispatchTable();
         List<StartNode> startNodes = p.getTimerStart();
         if (startNodes != null && !startNodes.isEmpty()) {
             this.processRuntime = createProcessRuntime().getKogitoProcessRuntime();
@@ -215,6 +243,19 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
         this.processInstancesFactory = processInstancesFactory;
     }
 
+    /**
+     * Returns the identity map storages use to resolve mutable lookups done within a unit of work,
+     * or null when the process has not been configured yet.
+     */
+    public ProcessInstanceIdentityMap identityMap() {
+        return identityMap;
+    }
+
+    WorkItemResumptions workItemResumptions() {
+        WorkItemResumptions resumptions = services.getWorkItemResumptions();
+        return resumptions != null ? resumptions : WorkItemResumptions.defaults();
+    }
+
     public EventListener eventListener() {
         return completionEventListener;
     }
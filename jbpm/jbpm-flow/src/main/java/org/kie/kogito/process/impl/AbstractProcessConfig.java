@@ -18,11 +18,13 @@ package org.kie.kogito.process.impl;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.jbpm.workflow.instance.impl.ConcurrentBranches;
 import org.kie.api.event.process.ProcessEventListener;
 import org.kie.kogito.event.EventPublisher;
 import org.kie.kogito.jobs.JobsService;
@@ -43,6 +45,9 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
     private final ProcessEventListenerConfig processEventListenerConfig;
     private final UnitOfWorkManager unitOfWorkManager;
     private final JobsService jobsService;
+    private final ExecutorService jobExecutor;
+    private final WorkItemResumptions workItemResumptions;
+    private final ConcurrentBranches concurrentBranches;
 
     protected AbstractProcessConfig(
             Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
@@ -53,6 +58,69 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
             Iterable<EventPublisher> eventPublishers,
             String kogitoService,
             Iterable<UnitOfWorkEventListener> unitOfWorkListeners) {
+        this(workItemHandlerConfig, processEventListenerConfigs, processEventListeners, unitOfWorkManager, jobsService, eventPublishers, kogitoService, unitOfWorkListeners,
+                null);
+    }
+
+    /**
+     * @param jobExecutor executor the in memory jobs service hands expired jobs over to when no jobs service is available,
+     *        <code>null</code> to run them on the scheduler thread
+     */
+    protected AbstractProcessConfig(
+            Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
+            Iterable<ProcessEventListenerConfig> processEventListenerConfigs,
+            Iterable<ProcessEventListener> processEventListeners,
+            Iterable<UnitOfWorkManager> unitOfWorkManager,
+            Iterable<JobsService> jobsService,
+            Iterable<EventPublisher> eventPublishers,
+            String kogitoService,
+            Iterable<UnitOfWorkEventListener> unitOfWorkListeners,
+            ExecutorService jobExecutor) {
+        this(workItemHandlerConfig, processEventListenerConfigs, processEventListeners, unitOfWorkManager, jobsService, eventPublishers, kogitoService, unitOfWorkListeners,
+                jobExecutor, null);
+    }
+
+    /**
+     * @param jobExecutor executor the in memory jobs service hands expired jobs over to when no jobs service is available,
+     *        <code>null</code> to run them on the scheduler thread
+     * @param workItemResumptions executor resuming process instances once their asynchronous work items complete,
+     *        <code>null</code> to use {@link WorkItemResumptions#defaults()}
+     */
+    protected AbstractProcessConfig(
+            Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
+            Iterable<ProcessEventListenerConfig> processEventListenerConfigs,
+            Iterable<ProcessEventListener> processEventListeners,
+            Iterable<UnitOfWorkManager> unitOfWorkManager,
+            Iterable<JobsService> jobsService,
+            Iterable<EventPublisher> eventPublishers,
+            String kogitoService,
+            Iterable<UnitOfWorkEventListener> unitOfWorkListeners,
+            ExecutorService jobExecutor,
+            WorkItemResumptions workItemResumptions) {
+        this(workItemHandlerConfig, processEventListenerConfigs, processEventListeners, unitOfWorkManager, jobsService, eventPublishers, kogitoService, unitOfWorkListeners,
+                jobExecutor, workItemResumptions, null);
+    }
+
+    /**
+     * @param jobExecutor executor the in memory jobs service hands expired jobs over to when no jobs service is available,
+     *        <code>null</code> to run them on the scheduler thread
+     * @param workItemResumptions executor resuming process instances once their asynchronous work items complete,
+     *        <code>null</code> to use {@link WorkItemResumptions#defaults()}
+     * @param concurrentBranches detaches the first work item of the branches of parallel splits,
+     *        <code>null</code> to use {@link ConcurrentBranches#defaults()}
+     */
+    protected AbstractProcessConfig(
+            Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
+            Iterable<ProcessEventListenerConfig> processEventListenerConfigs,
+            Iterable<ProcessEventListener> processEventListeners,
+            Iterable<UnitOfWorkManager> unitOfWorkManager,
+            Iterable<JobsService> jobsService,
+            Iterable<EventPublisher> eventPublishers,
+            String kogitoService,
+            Iterable<UnitOfWorkEventListener> unitOfWorkListeners,
+            ExecutorService jobExecutor,
+            WorkItemResumptions workItemResumptions,
+            ConcurrentBranches concurrentBranches) {
 
         this.workItemHandlerConfig = orDefault(workItemHandlerConfig, DefaultWorkItemHandlerConfig::new);
         this.processEventListenerConfig = merge(processEventListenerConfigs, processEventListeners);
@@ -60,6 +128,9 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
                 () -> new DefaultUnitOfWorkManager(
                         new CollectingUnitOfWorkFactory()));
         this.jobsService = orDefault(jobsService, () -> null);
+        this.jobExecutor = jobExecutor;
+        this.workItemResumptions = workItemResumptions;
+        this.concurrentBranches = concurrentBranches;
 
         eventPublishers.forEach(publisher -> unitOfWorkManager().eventManager().addPublisher(publisher));
         unitOfWorkListeners.forEach(listener -> unitOfWorkManager().register(listener));
@@ -91,6 +162,18 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
         return jobsService;
     }
 
+    public ExecutorService jobExecutor() {
+        return jobExecutor;
+    }
+
+    public WorkItemResumptions workItemResumptions() {
+        return workItemResumptions;
+    }
+
+    public ConcurrentBranches concurrentBranches() {
+        return concurrentBranches;
+    }
+
     public org.kie.kogito.Addons addons() {
         return new org.kie.kogito.Addons(Arrays.asList());
     }
@@ -25,6 +25,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -63,11 +65,18 @@ import org.kie.kogito.process.flexible.AdHocFragment;
 import org.kie.kogito.process.flexible.Milestone;
 import org.kie.kogito.process.workitem.Policy;
 import org.kie.kogito.process.workitem.Transition;
+import org.kie.kogito.process.workitem.WorkItemExecutionException;
 import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class AbstractProcessInstance<T extends Model> implements ProcessInstance<T> {
 
-    private static final String KOGITO_PROCESS_INSTANCE = "KogitoProcessInstance";
+    public static final String KOGITO_PROCESS_INSTANCE = "KogitoProcessInstance";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractProcessInstance.class);
 
     protected final T variables;
     protected final AbstractProcess<T> process;
@@ -87,6 +96,10 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     protected Long version;
 
+    private byte[] snapshot;
+
+    private boolean variablesUnbound;
+
     public AbstractProcessInstance(AbstractProcess<T> process, T variables, ProcessRuntime rt) {
         this(process, variables, null, rt);
     }
@@ -115,7 +128,8 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.process = process;
         this.variables = variables;
         syncProcessInstance((WorkflowProcessInstance) wpi);
-        unbind(variables, processInstance.getVariables());
+        // variables are only unmarshalled and bound to the model once they are read
+        this.variablesUnbound = true;
     }
 
     public AbstractProcessInstance(AbstractProcess<T> process, T variables, ProcessRuntime rt, org.kie.api.runtime.process.WorkflowProcessInstance wpi) {
@@ -268,6 +282,10 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public T variables() {
+        if (variablesUnbound) {
+            variablesUnbound = false;
+            unbind(variables, processInstance.getVariables());
+        }
         return variables;
     }
 
@@ -305,6 +323,21 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.version = version;
     }
 
+    /**
+     * @return the serialized state this instance was last loaded from or stored as, when kept by the storage
+     */
+    public byte[] snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Keeps the serialized state this instance was loaded from or stored as, for storages that write
+     * the changes made to an instance relative to it.
+     */
+    public void setSnapshot(byte[] snapshot) {
+        this.snapshot = snapshot;
+    }
+
     @Override
     public T updateVariables(T updates) {
         Map<String, Object> map = bind(updates);
@@ -451,6 +484,95 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         removeOnFinish();
     }
 
+    /**
+     * Completes the given work item once its asynchronous execution finishes.
+     * <p>
+     * The stage is only observed after the current unit of work has stored, and committed, the instance waiting
+     * on the work item; the work item is then completed, or failed, on a freshly loaded instance within a new
+     * unit of work. Resumptions that cannot find the instance, or that fail, for instance because it was updated
+     * concurrently, are retried a few times; once the attempts are exhausted a failed resumption fails the work item.
+     */
+    public void completeWorkItemAsync(String workItemId, CompletionStage<Map<String, Object>> execution) {
+        UnitOfWorkManager unitOfWorkManager = getProcessRuntime().getUnitOfWorkManager();
+        WorkItemResumptions resumptions = process.workItemResumptions();
+        String processInstanceId = id;
+        unitOfWorkManager.afterEnd(() -> execution.whenComplete((results, error) -> resume(resumptions, unitOfWorkManager, processInstanceId, workItemId, results, error, 1)));
+    }
+
+    private void resume(WorkItemResumptions resumptions, UnitOfWorkManager unitOfWorkManager, String processInstanceId, String workItemId, Map<String, Object> results, Throwable error,
+            int attempt) {
+        resumptions.submit(processInstanceId, () -> {
+            boolean resumed;
+            try {
+                resumed = UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> resumeWorkItem(processInstanceId, workItemId, results, error));
+            } catch (RuntimeException e) {
+                // the unit of work has been rolled back, the instance is loaded again on the next attempt
+                if (attempt < WorkItemResumptions.MAX_ATTEMPTS) {
+                    LOGGER.debug("Attempt {} to resume process instance {} after completion of work item {} failed, retrying", attempt, processInstanceId, workItemId, e);
+                    resumptions.delay(() -> resume(resumptions, unitOfWorkManager, processInstanceId, workItemId, results, error, attempt + 1));
+                } else {
+                    failResumption(unitOfWorkManager, processInstanceId, workItemId, e);
+                }
+                return;
+            }
+            if (resumed) {
+                return;
+            }
+            if (attempt < WorkItemResumptions.MAX_ATTEMPTS) {
+                resumptions.delay(() -> resume(resumptions, unitOfWorkManager, processInstanceId, workItemId, results, error, attempt + 1));
+            } else {
+                LOGGER.error("Process instance {} not found after {} attempts, unable to apply outcome of work item {} (results {}, error {})",
+                        processInstanceId, attempt, workItemId, results, error);
+            }
+        });
+    }
+
+    private boolean resumeWorkItem(String processInstanceId, String workItemId, Map<String, Object> results, Throwable error) {
+        Optional<ProcessInstance<T>> instance = process.instances().findById(processInstanceId);
+        if (!instance.isPresent()) {
+            return false;
+        } else if (error == null) {
+            instance.get().completeWorkItem(workItemId, results);
+        } else {
+            ((AbstractProcessInstance<T>) instance.get()).failWorkItem(workItemId, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        }
+        return true;
+    }
+
+    private void failResumption(UnitOfWorkManager unitOfWorkManager, String processInstanceId, String workItemId, RuntimeException failure) {
+        LOGGER.error("Unable to resume process instance {} after completion of work item {}, failing the work item", processInstanceId, workItemId, failure);
+        try {
+            UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                process.instances().findById(processInstanceId)
+                        .ifPresent(instance -> ((AbstractProcessInstance<T>) instance).failWorkItem(workItemId, failure));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to fail work item {} of process instance {}", workItemId, processInstanceId, e);
+        }
+    }
+
+    /**
+     * Fails the given work item as if its handler had thrown the given error, triggering the error handling
+     * defined for the node. Without error handling the instance is put in error state, as it is when a handler
+     * fails synchronously.
+     */
+    public void failWorkItem(String workItemId, Throwable error) {
+        WorkItemNodeInstance nodeInstance = processInstance().getNodeInstances(true).stream()
+                .filter(WorkItemNodeInstance.class::isInstance)
+                .map(WorkItemNodeInstance.class::cast)
+                .filter(ni -> workItemId.equals(ni.getWorkItemId()))
+                .findFirst()
+                .orElseThrow(() -> new WorkItemNotFoundException(workItemId));
+        Exception exception = error instanceof Exception ? (Exception) error : new WorkItemExecutionException(error.getClass().getName(), error);
+        try {
+            nodeInstance.internalHandleWorkItemFailure(exception);
+        } catch (RuntimeException e) {
+            processInstance().setErrorState(nodeInstance, e);
+        }
+        removeOnFinish();
+    }
+
     @Override
     public <R> R updateWorkItem(String id, Function<KogitoWorkItem, R> updater, Policy<?>... policies) {
         R result = getProcessRuntime().getKogitoProcessRuntime().getKogitoWorkItemManager().updateWorkItem(id, updater,
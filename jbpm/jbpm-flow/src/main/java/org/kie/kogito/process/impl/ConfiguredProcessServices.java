@@ -25,7 +25,10 @@ public class ConfiguredProcessServices extends AbstractProcessRuntimeServiceProv
                 config.workItemHandlers(),
                 config.processEventListeners(),
                 config.signalManagerHub(),
-                config.unitOfWorkManager());
+                config.unitOfWorkManager(),
+                config instanceof AbstractProcessConfig ? ((AbstractProcessConfig) config).jobExecutor() : null,
+                config instanceof AbstractProcessConfig ? ((AbstractProcessConfig) config).workItemResumptions() : null,
+                config instanceof AbstractProcessConfig ? ((AbstractProcessConfig) config).concurrentBranches() : null);
 
     }
 }
@@ -16,17 +16,27 @@
 package org.kie.kogito.process.impl;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstancePage;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 
 class MapProcessInstances<T> implements MutableProcessInstances<T> {
 
     private final ConcurrentHashMap<String, ProcessInstance<T>> instances = new ConcurrentHashMap<>();
+    // event type -> ids of the instances listening to it, and the reverse mapping used to drop stale entries
+    private final ConcurrentHashMap<String, Set<String>> subscriptions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<String>> eventTypes = new ConcurrentHashMap<>();
 
     @Override
     public Integer size() {
@@ -43,6 +53,20 @@ class MapProcessInstances<T> implements MutableProcessInstances<T> {
         return instances.values();
     }
 
+    @Override
+    public ProcessInstancePage<T> find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        Collection<String> ids = query.eventType() == null ? instances.keySet() : subscriptions.getOrDefault(query.eventType(), Collections.emptySet());
+        return ProcessInstancePage.of(query, ids.stream()
+                .filter(query::isAfterToken)
+                .sorted()
+                .map(instances::get)
+                .filter(Objects::nonNull)
+                .filter(query::matches)
+                .skip(query.offset())
+                .limit(query.limit())
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public void create(String id, ProcessInstance<T> instance) {
         if (isActive(instance)) {
@@ -50,6 +74,7 @@ class MapProcessInstances<T> implements MutableProcessInstances<T> {
             if (existing != null) {
                 throw new ProcessInstanceDuplicatedException(id);
             }
+            subscribe(id, instance);
         }
     }
 
@@ -57,12 +82,29 @@ class MapProcessInstances<T> implements MutableProcessInstances<T> {
     public void update(String id, ProcessInstance<T> instance) {
         if (isActive(instance)) {
             instances.put(id, instance);
+            subscribe(id, instance);
         }
     }
 
     @Override
     public void remove(String id) {
         instances.remove(id);
+        unsubscribe(id, eventTypes.remove(id));
+    }
+
+    private void subscribe(String id, ProcessInstance<T> instance) {
+        List<String> types = ProcessInstanceMetadata.of(instance).eventTypes();
+        List<String> previous = eventTypes.put(id, types);
+        if (previous != null) {
+            unsubscribe(id, previous.stream().filter(type -> !types.contains(type)).collect(Collectors.toList()));
+        }
+        types.forEach(type -> subscriptions.computeIfAbsent(type, k -> ConcurrentHashMap.newKeySet()).add(id));
+    }
+
+    private void unsubscribe(String id, List<String> types) {
+        if (types != null) {
+            types.forEach(type -> subscriptions.computeIfPresent(type, (k, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids));
+        }
     }
 
     @Override
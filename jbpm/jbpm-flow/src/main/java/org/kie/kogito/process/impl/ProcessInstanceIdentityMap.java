@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.uow.ExecutionContext;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.kie.kogito.uow.events.UnitOfWorkStartEvent;
+
+/**
+ * Identity map of the process instances loaded for update within the unit of work in progress.
+ * <p>
+ * Repeated mutable lookups of the same instance return the live instance loaded by the first one instead of
+ * reading and unmarshalling it again, so every change made during the unit of work lands on a single instance
+ * that is flushed once. Read only lookups and lookups done outside of a unit of work go straight to the storage.
+ * The loaded instances are kept in the current {@link ExecutionContext} and dropped once the unit of work ends.
+ */
+@SuppressWarnings("unchecked")
+public class ProcessInstanceIdentityMap implements UnitOfWorkEventListener {
+
+    private final UnitOfWorkManager unitOfWorkManager;
+
+    public ProcessInstanceIdentityMap(UnitOfWorkManager unitOfWorkManager) {
+        this.unitOfWorkManager = unitOfWorkManager;
+    }
+
+    /**
+     * Looks up the instance with the given id through the identity map of the given process, if it has one,
+     * otherwise through the given loader.
+     */
+    public static <P> Optional<P> findById(Process<?> process, String id, ProcessInstanceReadMode mode, Function<String, ? extends Optional<? extends P>> loader) {
+        ProcessInstanceIdentityMap identityMap = mode == ProcessInstanceReadMode.MUTABLE ? of(process) : null;
+        return identityMap == null ? (Optional<P>) loader.apply(id) : identityMap.findById(id, loader);
+    }
+
+    /**
+     * Asynchronous variant of {@link #findById(Process, String, ProcessInstanceReadMode, Function)}.
+     */
+    public static <P> CompletionStage<Optional<P>> findByIdAsync(Process<?> process, String id, ProcessInstanceReadMode mode,
+            Function<String, ? extends CompletionStage<? extends Optional<? extends P>>> loader) {
+        ProcessInstanceIdentityMap identityMap = mode == ProcessInstanceReadMode.MUTABLE ? of(process) : null;
+        return identityMap == null ? (CompletionStage<Optional<P>>) loader.apply(id) : identityMap.findByIdAsync(id, loader);
+    }
+
+    private static ProcessInstanceIdentityMap of(Process<?> process) {
+        return process instanceof AbstractProcess ? ((AbstractProcess<?>) process).identityMap() : null;
+    }
+
+    public <P> Optional<P> findById(String id, Function<String, ? extends Optional<? extends P>> loader) {
+        Scope scope = currentScope();
+        if (scope == null) {
+            return (Optional<P>) loader.apply(id);
+        }
+        ProcessInstance<?> loaded = scope.instances.get(id);
+        if (loaded != null) {
+            return scope.lookup(loaded);
+        }
+        return scope.register(id, (Optional<P>) loader.apply(id));
+    }
+
+    public <P> CompletionStage<Optional<P>> findByIdAsync(String id, Function<String, ? extends CompletionStage<? extends Optional<? extends P>>> loader) {
+        Scope scope = currentScope();
+        if (scope == null) {
+            return (CompletionStage<Optional<P>>) loader.apply(id);
+        }
+        ProcessInstance<?> loaded = scope.instances.get(id);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(scope.lookup(loaded));
+        }
+        return loader.apply(id).thenApply(instance -> scope.register(id, (Optional<P>) instance));
+    }
+
+    private Scope currentScope() {
+        Scope scope = ExecutionContext.current().get(this);
+        // a scope left behind by a unit of work that did not end on this execution must not leak into the next one
+        return scope != null && scope.unitOfWork == unitOfWorkManager.currentUnitOfWork() ? scope : null;
+    }
+
+    @Override
+    public void onBeforeStartEvent(UnitOfWorkStartEvent event) {
+        ExecutionContext.current().put(this, new Scope(event.getUnitOfWork()));
+    }
+
+    @Override
+    public void onAfterEndEvent(UnitOfWorkEndEvent event) {
+        release(event.getUnitOfWork());
+    }
+
+    @Override
+    public void onAfterAbortEvent(UnitOfWorkAbortEvent event) {
+        release(event.getUnitOfWork());
+    }
+
+    private void release(UnitOfWork unitOfWork) {
+        ExecutionContext context = ExecutionContext.current();
+        Scope scope = context.get(this);
+        if (scope != null && scope.unitOfWork == unitOfWork) {
+            context.remove(this);
+        }
+    }
+
+    private static class Scope {
+
+        private final UnitOfWork unitOfWork;
+        private final Map<String, ProcessInstance<?>> instances = new ConcurrentHashMap<>();
+
+        private Scope(UnitOfWork unitOfWork) {
+            this.unitOfWork = unitOfWork;
+        }
+
+        private <P> Optional<P> lookup(ProcessInstance<?> loaded) {
+            // completed or aborted within this unit of work, so it is about to be removed from the storage
+            return isActive(loaded) ? Optional.of((P) loaded) : Optional.empty();
+        }
+
+        private <P> Optional<P> register(String id, Optional<P> instance) {
+            if (instance.isEmpty()) {
+                return instance;
+            }
+            ProcessInstance<?> loaded = instances.putIfAbsent(id, (ProcessInstance<?>) instance.get());
+            return loaded == null ? instance : lookup(loaded);
+        }
+
+        private static boolean isActive(ProcessInstance<?> instance) {
+            return instance.status() == ProcessInstance.STATE_ACTIVE || instance.status() == ProcessInstance.STATE_ERROR;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jbpm.workflow.instance.NodeInstance;
+import org.jbpm.workflow.instance.WorkflowProcessInstance;
+import org.kie.kogito.process.ProcessInstance;
+
+/**
+ * Queryable attributes of a process instance that persistence backends store next to the
+ * serialized payload, so that lookups by state, business key or hierarchy do not need to
+ * unmarshall the instance.
+ */
+public final class ProcessInstanceMetadata {
+
+    private final String id;
+    private final int state;
+    private final String businessKey;
+    private final String rootProcessInstanceId;
+    private final String parentProcessInstanceId;
+    private final Date startDate;
+    private final Date lastUpdate;
+    private final List<String> waitingOn;
+    private final List<String> eventTypes;
+
+    private ProcessInstanceMetadata(String id, int state, String businessKey, String rootProcessInstanceId, String parentProcessInstanceId, Date startDate, Date lastUpdate,
+            List<String> waitingOn, List<String> eventTypes) {
+        this.id = id;
+        this.state = state;
+        this.businessKey = businessKey;
+        this.rootProcessInstanceId = rootProcessInstanceId;
+        this.parentProcessInstanceId = parentProcessInstanceId;
+        this.startDate = startDate;
+        this.lastUpdate = lastUpdate;
+        this.waitingOn = waitingOn;
+        this.eventTypes = eventTypes;
+    }
+
+    /**
+     * Extracts the metadata of the given instance, which is expected to be still connected to its
+     * runtime state, that is, before it is disconnected by the persistence layer.
+     */
+    public static ProcessInstanceMetadata of(ProcessInstance<?> instance) {
+        WorkflowProcessInstance wpi = instance instanceof AbstractProcessInstance ? ((AbstractProcessInstance<?>) instance).internalGetProcessInstance() : null;
+        if (wpi == null) {
+            return new ProcessInstanceMetadata(instance.id(), instance.status(), instance.businessKey(), null, null, instance.startDate(), new Date(), Collections.emptyList(),
+                    Collections.emptyList());
+        }
+        List<String> waitingOn = wpi.getNodeInstances(true).stream()
+                .map(NodeInstance::getNodeDefinitionId)
+                .distinct()
+                .collect(Collectors.toList());
+        String[] eventTypes = wpi.getEventTypes();
+        return new ProcessInstanceMetadata(instance.id(), wpi.getState(), instance.businessKey(), wpi.getRootProcessInstanceId(), wpi.getParentProcessInstanceStringId(),
+                wpi.getStartDate(), new Date(), waitingOn, eventTypes == null ? Collections.emptyList() : Arrays.stream(eventTypes).distinct().collect(Collectors.toList()));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public int state() {
+        return state;
+    }
+
+    public String businessKey() {
+        return businessKey;
+    }
+
+    public String rootProcessInstanceId() {
+        return rootProcessInstanceId;
+    }
+
+    public String parentProcessInstanceId() {
+        return parentProcessInstanceId;
+    }
+
+    public Date startDate() {
+        return startDate;
+    }
+
+    public Date lastUpdate() {
+        return lastUpdate;
+    }
+
+    /**
+     * Definition ids of the nodes that currently have an active node instance.
+     */
+    public List<String> waitingOn() {
+        return waitingOn;
+    }
+
+    /**
+     * External event types, with <code>#{}</code> expressions already resolved, the instance is currently
+     * listening to. Storages index them so a broadcast signal only loads the instances waiting for it.
+     */
+    public List<String> eventTypes() {
+        return eventTypes;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstanceMetadata [id=" + id + ", state=" + state + ", businessKey=" + businessKey + ", rootProcessInstanceId=" + rootProcessInstanceId
+                + ", parentProcessInstanceId=" + parentProcessInstanceId + ", startDate=" + startDate + ", lastUpdate=" + lastUpdate + ", waitingOn=" + waitingOn + ", eventTypes=" + eventTypes + "]";
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded, least recently used cache of the serialized snapshots written by a persistence backend,
+ * keyed by process instance id.
+ * <p>
+ * Every entry keeps the optimistic lock version the snapshot was stored with, so that backends
+ * can serve reads and reloads of hot instances by only reading the current version from the
+ * underlying store instead of the whole payload. Entries whose version no longer matches, as well
+ * as the ones of instances removed by other nodes, must be evicted by the backend.
+ * The cache is bounded both by number of entries and by the total size of the retained payloads.
+ */
+public class ProcessInstanceSnapshotCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Snapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public ProcessInstanceSnapshotCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    public ProcessInstanceSnapshotCache(int maxEntries, long maxBytes) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Snapshot cache bounds must be positive, found entries " + maxEntries + " and bytes " + maxBytes);
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized Optional<Snapshot> get(String id) {
+        return Optional.ofNullable(snapshots.get(id));
+    }
+
+    /**
+     * Stores the snapshot last written (or read) for the given instance, replacing any previous one.
+     * Payloads bigger than the whole cache are not retained.
+     */
+    public synchronized void put(String id, byte[] payload, Long version) {
+        remove(id);
+        if (payload == null || payload.length > maxBytes) {
+            return;
+        }
+        snapshots.put(id, new Snapshot(payload, version));
+        bytes += payload.length;
+        evict();
+    }
+
+    public synchronized void invalidate(String id) {
+        remove(id);
+    }
+
+    public synchronized void clear() {
+        snapshots.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return snapshots.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    private void remove(String id) {
+        Snapshot previous = snapshots.remove(id);
+        if (previous != null) {
+            bytes -= previous.payload.length;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Snapshot>> iterator = snapshots.entrySet().iterator();
+        while ((snapshots.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+            bytes -= iterator.next().getValue().payload.length;
+            iterator.remove();
+        }
+    }
+
+    public static final class Snapshot {
+
+        private final byte[] payload;
+        private final Long version;
+
+        public Snapshot(byte[] payload, Long version) {
+            this.payload = payload;
+            this.version = version;
+        }
+
+        public byte[] payload() {
+            return payload;
+        }
+
+        public Long version() {
+            return version;
+        }
+    }
+}
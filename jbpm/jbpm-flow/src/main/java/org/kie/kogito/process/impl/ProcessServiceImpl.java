@@ -20,7 +20,13 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.jbpm.process.instance.impl.humantask.HumanTaskHelper;
@@ -30,10 +36,13 @@ import org.kie.kogito.Application;
 import org.kie.kogito.MapOutput;
 import org.kie.kogito.MappableToModel;
 import org.kie.kogito.Model;
+import org.kie.kogito.process.AsyncProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.workitem.Attachment;
@@ -42,13 +51,24 @@ import org.kie.kogito.process.workitem.Comment;
 import org.kie.kogito.process.workitem.HumanTaskWorkItem;
 import org.kie.kogito.process.workitem.Policies;
 import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.ExecutionContext;
 
 public class ProcessServiceImpl implements ProcessService {
 
     private final Application application;
+    private final Executor executor;
 
     public ProcessServiceImpl(Application application) {
+        this(application, BlockingExecutor.INSTANCE);
+    }
+
+    /**
+     * @param executor runs the blocking operations behind the <code>*Async</code> methods
+     */
+    public ProcessServiceImpl(Application application, Executor executor) {
         this.application = application;
+        // each operation runs in its own unit of work, it must not share the context of a caller that keeps running
+        this.executor = ExecutionContext.isolating(executor);
     }
 
     @Override
@@ -93,6 +113,16 @@ public class ProcessServiceImpl implements ProcessService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, int offset, int limit) {
+        return process.instances().find(ProcessInstanceQuery.page(offset, limit), ProcessInstanceReadMode.READ_ONLY)
+                .instances()
+                .stream()
+                .map(ProcessInstance::variables)
+                .map(MappableToModel::toModel)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id) {
         return process.instances()
@@ -101,6 +131,73 @@ public class ProcessServiceImpl implements ProcessService {
                 .map(MappableToModel::toModel);
     }
 
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<List<R>> getProcessInstanceOutputAsync(Process<T> process) {
+        return CompletableFuture.supplyAsync(() -> getProcessInstanceOutput(process), executor);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<List<R>> getProcessInstanceOutputAsync(Process<T> process, int offset, int limit) {
+        ProcessInstances<T> instances = process.instances();
+        if (instances instanceof AsyncProcessInstances) {
+            return ((AsyncProcessInstances<T>) instances).findAsync(ProcessInstanceQuery.page(offset, limit), ProcessInstanceReadMode.READ_ONLY)
+                    .thenApply(page -> page.instances()
+                            .stream()
+                            .map(ProcessInstance::variables)
+                            .map(MappableToModel::toModel)
+                            .collect(Collectors.toList()));
+        }
+        return CompletableFuture.supplyAsync(() -> getProcessInstanceOutput(process, offset, limit), executor);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id) {
+        ProcessInstances<T> instances = process.instances();
+        if (instances instanceof AsyncProcessInstances) {
+            return ((AsyncProcessInstances<T>) instances).findByIdAsync(id, ProcessInstanceReadMode.READ_ONLY)
+                    .thenApply(pi -> pi.map(ProcessInstance::variables).map(MappableToModel::toModel));
+        }
+        return CompletableFuture.supplyAsync(() -> findById(process, id), executor);
+    }
+
+    @Override
+    public <T extends Model> CompletionStage<ProcessInstance<T>> createProcessInstanceAsync(Process<T> process, String businessKey,
+            T model,
+            String startFromNodeId) {
+        return CompletableFuture.supplyAsync(() -> createProcessInstance(process, businessKey, model, startFromNodeId), executor);
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> deleteAsync(Process<T> process, String id) {
+        return whenExists(process, id, () -> delete(process, id));
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> updateAsync(Process<T> process, String id, T resource) {
+        return whenExists(process, id, () -> update(process, id, resource));
+    }
+
+    @Override
+    public <T extends Model> CompletionStage<Optional<List<WorkItem>>> getTasksAsync(Process<T> process, String id, String user, List<String> groups) {
+        return whenExists(process, id, () -> getTasks(process, id, user, groups));
+    }
+
+    /**
+     * Runs the blocking operation on the executor, unless an asynchronous storage reports that the instance
+     * does not exist.
+     */
+    @SuppressWarnings("unchecked")
+    private <T, R> CompletionStage<Optional<R>> whenExists(Process<T> process, String id, Supplier<Optional<R>> operation) {
+        ProcessInstances<T> instances = process.instances();
+        if (instances instanceof AsyncProcessInstances) {
+            return ((AsyncProcessInstances<T>) instances).existsAsync(id)
+                    .thenCompose(exists -> exists ? CompletableFuture.supplyAsync(operation, executor) : CompletableFuture.completedFuture(Optional.empty()));
+        }
+        return CompletableFuture.supplyAsync(operation, executor);
+    }
+
     @Override
     public <T extends MappableToModel<R>, R> Optional<R> delete(Process<T> process, String id) {
         return UnitOfWorkExecutor.executeInUnitOfWork(
@@ -426,4 +523,17 @@ public class ProcessServiceImpl implements ProcessService {
                 JsonSchemaUtil.load(Thread.currentThread().getContextClassLoader(), process.id(), taskName));
     }
 
+    /**
+     * Default executor of the blocking operations, shared by all the services that are not given one.
+     */
+    private static final class BlockingExecutor {
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        private static final Executor INSTANCE = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "kogito-process-service-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
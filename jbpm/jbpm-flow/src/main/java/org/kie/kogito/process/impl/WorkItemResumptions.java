@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kie.kogito.event.KeyAffinityExecutor;
+import org.kie.kogito.uow.ExecutionContext;
+
+/**
+ * Executor resuming process instances once their asynchronous work items complete.
+ * <p>
+ * Resumptions run on a dedicated pool, so they neither compete with nor block the common pool the handlers
+ * may complete on, and the ones of the same instance are applied one at a time, in completion order.
+ * A resumption rejected because its lane is full is retried later instead of being lost, and resumptions
+ * that failed can be retried with {@link #delay(Runnable)}, on a scheduler owned by this instance.
+ * <p>
+ * Instances are created by the process configuration from the {@value #THREADS_PROPERTY} and
+ * {@value #LANE_CAPACITY_PROPERTY} application properties; {@link #defaults()} reads them from system
+ * properties, for applications without a configuration source.
+ */
+public class WorkItemResumptions {
+
+    public static final String THREADS_PROPERTY = "jbpm.workitem.resume.threads";
+    public static final String DEFAULT_THREADS = "0";
+    public static final String LANE_CAPACITY_PROPERTY = "jbpm.workitem.resume.laneCapacity";
+    public static final String DEFAULT_LANE_CAPACITY = "128";
+    public static final int DEFAULT_LANE_CAPACITY_INT = KeyAffinityExecutor.DEFAULT_LANE_CAPACITY;
+
+    static final int MAX_ATTEMPTS = 5;
+
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    private final KeyAffinityExecutor executor;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param threads number of threads resuming instances, <code>0</code> or less for the number of available processors
+     * @param laneCapacity maximum number of pending resumptions per lane
+     */
+    public WorkItemResumptions(int threads, int laneCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize, new DaemonThreadFactory("jbpm-resume-"));
+        this.executor = KeyAffinityExecutor.of(pool, Math.max(poolSize, KeyAffinityExecutor.DEFAULT_LANES), laneCapacity);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("jbpm-resume-scheduler-"));
+    }
+
+    public static WorkItemResumptions defaults() {
+        return Defaults.INSTANCE;
+    }
+
+    void submit(String processInstanceId, Runnable resumption) {
+        try {
+            // a resumption is a new execution, not the continuation of the thread that completed the work item
+            executor.execute(processInstanceId, ExecutionContext.create().wrap(resumption));
+        } catch (RejectedExecutionException e) {
+            delay(() -> submit(processInstanceId, resumption));
+        }
+    }
+
+    void delay(Runnable task) {
+        scheduler.schedule(task, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdown();
+    }
+
+    private static class Defaults {
+
+        private static final WorkItemResumptions INSTANCE = new WorkItemResumptions(Integer.getInteger(THREADS_PROPERTY, 0),
+                Integer.getInteger(LANE_CAPACITY_PROPERTY, DEFAULT_LANE_CAPACITY_INT));
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.event.process;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.drools.core.event.KogitoProcessEventSupportImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.definition.process.Node;
+import org.kie.api.definition.process.Process;
+import org.kie.api.event.process.MessageEvent;
+import org.kie.api.event.process.ProcessNodeLeftEvent;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
+import org.kie.api.event.process.SignalEvent;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.internal.process.event.DefaultKogitoProcessEventListener;
+import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
+import org.kie.kogito.internal.process.runtime.KogitoWorkflowProcessInstance;
+import org.kie.kogito.services.event.ProcessInstanceDataEvent;
+import org.kie.kogito.services.event.impl.NodeInstanceEventBody;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.mockito.ArgumentCaptor;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class KogitoProcessEventSupportImplTest {
+
+    private KogitoWorkflowProcessInstance processInstance;
+
+    @BeforeEach
+    public void setup() {
+        processInstance = mock(KogitoWorkflowProcessInstance.class);
+        Process process = mock(Process.class);
+        when(processInstance.getStringId()).thenReturn("1");
+        when(processInstance.getProcessId()).thenReturn("travels");
+        when(processInstance.getProcess()).thenReturn(process);
+        when(process.getMetaData()).thenReturn(emptyMap());
+    }
+
+    @Test
+    public void testNoEventWithoutListenersAndPublishers() {
+        UnitOfWork unitOfWork = mock(UnitOfWork.class);
+        KogitoProcessEventSupportImpl eventSupport = new KogitoProcessEventSupportImpl(new DefaultUnitOfWorkManager(unitOfWork, new CollectingUnitOfWorkFactory()));
+
+        eventSupport.fireBeforeProcessStarted(processInstance, null);
+        eventSupport.fireBeforeNodeTriggered(nodeInstance("n1"), null);
+        eventSupport.fireAfterNodeLeft(nodeInstance("n1"), null);
+        eventSupport.fireAfterProcessCompleted(processInstance, null);
+
+        verify(unitOfWork, never()).intercept(any());
+    }
+
+    @Test
+    public void testOnlyEventsImplementedByListenersAreRecorded() {
+        UnitOfWork unitOfWork = mock(UnitOfWork.class);
+        KogitoProcessEventSupportImpl eventSupport = new KogitoProcessEventSupportImpl(new DefaultUnitOfWorkManager(unitOfWork, new CollectingUnitOfWorkFactory()));
+        eventSupport.addEventListener(new NodeTriggeredListener(new ArrayList<>()));
+
+        // inherited from DefaultKogitoProcessEventListener, so nothing listens to them
+        eventSupport.fireBeforeNodeTriggered(nodeInstance("n1"), null);
+        eventSupport.fireAfterNodeLeft(nodeInstance("n1"), null);
+        verify(unitOfWork, never()).intercept(any());
+
+        eventSupport.fireAfterNodeTriggered(nodeInstance("n1"), null);
+        verify(unitOfWork, times(1)).intercept(any());
+    }
+
+    @Test
+    public void testEventsRecordedForPublishersWithoutListeners() {
+        UnitOfWork unitOfWork = mock(UnitOfWork.class);
+        DefaultUnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(unitOfWork, new CollectingUnitOfWorkFactory());
+        unitOfWorkManager.eventManager().addPublisher(mock(EventPublisher.class));
+        KogitoProcessEventSupportImpl eventSupport = new KogitoProcessEventSupportImpl(unitOfWorkManager);
+
+        eventSupport.fireBeforeNodeTriggered(nodeInstance("n1"), null);
+
+        verify(unitOfWork, times(1)).intercept(any());
+    }
+
+    @Test
+    public void testOnlyEventsTheBatchConsumesAreRecordedForPublishers() {
+        UnitOfWork unitOfWork = mock(UnitOfWork.class);
+        DefaultUnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(unitOfWork, new CollectingUnitOfWorkFactory());
+        unitOfWorkManager.eventManager().addPublisher(mock(EventPublisher.class));
+        KogitoProcessEventSupportImpl eventSupport = new KogitoProcessEventSupportImpl(unitOfWorkManager);
+
+        eventSupport.fireAfterProcessStarted(processInstance, null);
+        eventSupport.fireAfterNodeTriggered(nodeInstance("n1"), null);
+        eventSupport.fireBeforeNodeLeft(nodeInstance("n1"), null);
+        eventSupport.fireOnSignal(processInstance, null, null, "signal", null);
+        eventSupport.fireOnMessage(processInstance, null, null, "message", null);
+        verify(unitOfWork, never()).intercept(any());
+
+        eventSupport.fireAfterNodeLeft(nodeInstance("n1"), null);
+        verify(unitOfWork, times(1)).intercept(any());
+    }
+
+    @Test
+    public void testPassThroughUnitOfWorkDeliversImmediately() {
+        List<String> triggered = new ArrayList<>();
+        // no unit of work is started, so the pass through fallback is used
+        KogitoProcessEventSupportImpl eventSupport = new KogitoProcessEventSupportImpl(new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+        eventSupport.addEventListener(new NodeTriggeredListener(triggered));
+
+        eventSupport.fireAfterNodeTriggered(nodeInstance("n1"), null);
+        assertThat(triggered).containsExactly("n1");
+
+        eventSupport.fireAfterNodeTriggered(nodeInstance("n2"), null);
+        assertThat(triggered).containsExactly("n1", "n2");
+    }
+
+    @Test
+    public void testCollectingUnitOfWorkDeliversOnEnd() {
+        List<String> triggered = new ArrayList<>();
+        DefaultUnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        KogitoProcessEventSupportImpl eventSupport = new KogitoProcessEventSupportImpl(unitOfWorkManager);
+        eventSupport.addEventListener(new NodeTriggeredListener(triggered));
+
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        eventSupport.fireAfterNodeTriggered(nodeInstance("n1"), null);
+        eventSupport.fireAfterNodeTriggered(nodeInstance("n2"), null);
+        assertThat(triggered).isEmpty();
+
+        unitOfWork.end();
+        assertThat(triggered).containsExactly("n1", "n2");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testEventsRaisedByListenersDuringReplay() {
+        List<String> left = new ArrayList<>();
+        DefaultUnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        EventPublisher publisher = mock(EventPublisher.class);
+        unitOfWorkManager.eventManager().addPublisher(publisher);
+        KogitoProcessEventSupportImpl eventSupport = new KogitoProcessEventSupportImpl(unitOfWorkManager);
+        eventSupport.addEventListener(new DefaultKogitoProcessEventListener() {
+            @Override
+            public void afterNodeTriggered(ProcessNodeTriggeredEvent event) {
+                eventSupport.fireAfterNodeLeft(nodeInstance("n2"), null);
+            }
+
+            @Override
+            public void afterNodeLeft(ProcessNodeLeftEvent event) {
+                left.add(((KogitoNodeInstance) event.getNodeInstance()).getStringId());
+            }
+        });
+
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        eventSupport.fireAfterNodeTriggered(nodeInstance("n1"), null);
+        unitOfWork.end();
+
+        assertThat(left).containsExactly("n2");
+
+        ArgumentCaptor<Collection<DataEvent<?>>> published = ArgumentCaptor.forClass(Collection.class);
+        verify(publisher).publish(published.capture());
+        assertThat(published.getValue()).hasSize(1).first().isInstanceOf(ProcessInstanceDataEvent.class);
+        assertThat(((ProcessInstanceDataEvent) published.getValue().iterator().next()).getData().getNodeInstances())
+                .extracting(NodeInstanceEventBody::getId).containsExactly("n1", "n2");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSignalsAndMessagesDeliveredInOrderButNotPublished() {
+        List<String> received = new ArrayList<>();
+        DefaultUnitOfWorkManager unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        EventPublisher publisher = mock(EventPublisher.class);
+        unitOfWorkManager.eventManager().addPublisher(publisher);
+        KogitoProcessEventSupportImpl eventSupport = new KogitoProcessEventSupportImpl(unitOfWorkManager);
+        eventSupport.addEventListener(new DefaultKogitoProcessEventListener() {
+            @Override
+            public void afterNodeLeft(ProcessNodeLeftEvent event) {
+                received.add("left " + ((KogitoNodeInstance) event.getNodeInstance()).getStringId());
+            }
+
+            @Override
+            public void onSignal(SignalEvent event) {
+                received.add("signal " + event.getSignalName());
+            }
+
+            @Override
+            public void onMessage(MessageEvent event) {
+                received.add("message " + event.getMessageName());
+            }
+        });
+
+        KogitoWorkflowProcessInstance otherInstance = mock(KogitoWorkflowProcessInstance.class);
+        when(otherInstance.getStringId()).thenReturn("2");
+
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        eventSupport.fireAfterNodeLeft(nodeInstance("n1"), null);
+        eventSupport.fireOnSignal(otherInstance, null, null, "go", null);
+        eventSupport.fireOnMessage(otherInstance, null, null, "order", null);
+        eventSupport.fireAfterNodeLeft(nodeInstance("n2"), null);
+        assertThat(received).isEmpty();
+        unitOfWork.end();
+
+        assertThat(received).containsExactly("left n1", "signal go", "message order", "left n2");
+
+        // the instance that was only signalled does not get a process instance event
+        ArgumentCaptor<Collection<DataEvent<?>>> published = ArgumentCaptor.forClass(Collection.class);
+        verify(publisher).publish(published.capture());
+        assertThat(published.getValue()).hasSize(1).first().isInstanceOf(ProcessInstanceDataEvent.class);
+        assertThat(((ProcessInstanceDataEvent) published.getValue().iterator().next()).getData().getId()).isEqualTo("1");
+    }
+
+    private KogitoNodeInstance nodeInstance(String id) {
+        KogitoNodeInstance nodeInstance = mock(KogitoNodeInstance.class);
+        when(nodeInstance.getStringId()).thenReturn(id);
+        when(nodeInstance.getProcessInstance()).thenReturn(processInstance);
+        when(nodeInstance.getNode()).thenReturn(mock(Node.class));
+        return nodeInstance;
+    }
+
+    private static class NodeTriggeredListener extends DefaultKogitoProcessEventListener {
+
+        private final List<String> triggered;
+
+        private NodeTriggeredListener(List<String> triggered) {
+            this.triggered = triggered;
+        }
+
+        @Override
+        public void afterNodeTriggered(ProcessNodeTriggeredEvent event) {
+            triggered.add(((KogitoNodeInstance) event.getNodeInstance()).getStringId());
+        }
+    }
+}
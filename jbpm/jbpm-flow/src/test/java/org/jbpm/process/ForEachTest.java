@@ -19,14 +19,18 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
 import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
 import org.jbpm.test.util.AbstractBaseTest;
 import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.ProcessContext;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.slf4j.LoggerFactory;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class ForEachTest extends AbstractBaseTest {
 
     public void addLogger() {
@@ -90,4 +94,56 @@ public class ForEachTest extends AbstractBaseTest {
         kruntime.startProcess("ParentProcess", parameters);
     }
 
+    @Test
+    public void testCompiledCompletionCondition() {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("ParentProcess");
+        factory.variable("list", new ObjectDataType("java.util.List"));
+        factory.variable("listOut", new ObjectDataType("java.util.List"));
+        factory.name("Parent Process");
+        factory.packageName("org.drools.bpmn2");
+        factory.dynamic(false);
+        factory.version("1.0");
+        factory.visibility("Private");
+        org.jbpm.ruleflow.core.factory.StartNodeFactory startNode1 = factory.startNode(1);
+        startNode1.name("StartProcess");
+        startNode1.done();
+        org.jbpm.ruleflow.core.factory.ForEachNodeFactory forEachNode2 = factory.forEachNode(2);
+        forEachNode2.metaData("UniqueId", "_2");
+        forEachNode2.collectionExpression("list");
+        forEachNode2.variable("x", new ObjectDataType("java.lang.String"));
+        forEachNode2.outputCollectionExpression("listOut");
+        forEachNode2.outputVariable("y", new ObjectDataType("java.lang.String"));
+        // the aggregated outputs are visible to the condition under the output collection name
+        Predicate<ProcessContext> completion = kcontext -> ((List<?>) kcontext.getVariable("listOut")).size() == 2;
+        forEachNode2.completionExpression(completion);
+
+        forEachNode2.actionNode(5).action((kcontext) -> kcontext.setVariable("y", kcontext.getVariable("x"))).done();
+        forEachNode2.linkIncomingConnections(5);
+        forEachNode2.linkOutgoingConnections(5);
+
+        forEachNode2.done();
+        org.jbpm.ruleflow.core.factory.EndNodeFactory endNode3 = factory.endNode(3);
+        endNode3.name("EndProcess");
+        endNode3.terminate(true);
+        endNode3.done();
+        factory.connection(1, 2, "_1-_2");
+        factory.connection(2, 3, "_2-_3");
+        factory.validate();
+
+        List<String> list = new ArrayList<>();
+        list.add("first");
+        list.add("second");
+        list.add("third");
+        List<String> listOut = new ArrayList<>();
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("list", list);
+        parameters.put("listOut", listOut);
+
+        KogitoProcessRuntime kruntime = createKogitoProcessRuntime(factory.getProcess());
+
+        kruntime.startProcess("ParentProcess", parameters);
+
+        assertThat(listOut).containsExactly("first", "second");
+    }
 }
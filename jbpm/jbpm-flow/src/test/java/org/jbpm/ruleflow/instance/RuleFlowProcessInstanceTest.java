@@ -17,8 +17,11 @@ package org.jbpm.ruleflow.instance;
 
 import org.drools.core.runtime.process.ProcessRuntimeFactory;
 import org.jbpm.process.instance.ProcessRuntimeFactoryServiceImpl;
+import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.ruleflow.core.RuleFlowProcess;
 import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.core.node.ActionNode;
+import org.jbpm.workflow.core.node.MilestoneNode;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
@@ -63,4 +66,28 @@ public class RuleFlowProcessInstanceTest extends AbstractBaseTest {
         assertNotNull(instance);
     }
 
+    @Test
+    public void testCompletedNodeIdsKeepOnlyReferencedNodes() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        process.setId(PROCESS_ID);
+        MilestoneNode milestone = new MilestoneNode();
+        milestone.setId(1);
+        milestone.setMetaData(Metadata.UNIQUE_ID, "milestone");
+        process.addNode(milestone);
+        ActionNode action = new ActionNode();
+        action.setId(2);
+        action.setMetaData(Metadata.UNIQUE_ID, "action");
+        process.addNode(action);
+
+        RuleFlowProcessInstance processInstance = new RuleFlowProcessInstance();
+        processInstance.setProcess(process);
+        for (int i = 0; i < 10; i++) {
+            processInstance.addCompletedNodeId("action");
+            processInstance.addCompletedNodeId("milestone");
+        }
+
+        assertThat(processInstance.getReferencedCompletedNodeIds()).containsExactly("milestone");
+        assertThat(processInstance.getCompletedNodeIds()).containsExactly("milestone");
+    }
+
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.workflow.core.impl.SignalDispatchTable.Candidate;
+import org.jbpm.workflow.core.node.ActionNode;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SignalDispatchTableTest {
+
+    @Test
+    public void testStaticAndVariableEventTypes() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        process.addNode(action(1));
+        EventNode staticNode = eventNode(new EventNode(), 2, "MyMessage");
+        process.addNode(staticNode);
+        EventNode boundaryNode = eventNode(new BoundaryEventNode(), 3, "First", "Second");
+        process.addNode(boundaryNode);
+        EventNode variableNode = eventNode(new EventNode(), 4, "#{name}");
+        process.addNode(variableNode);
+        process.addNode(eventNode(new EventNode(), 5, "First", "Second"));
+
+        SignalDispatchTable table = process.getSignalDispatchTable();
+
+        assertThat(table.candidates("MyMessage")).extracting(Candidate::node).containsExactlyInAnyOrder(staticNode, variableNode);
+        assertThat(table.candidates("MyMessage")).filteredOn(Candidate::isAccepted).extracting(Candidate::node).containsExactly(staticNode);
+        assertThat(table.candidates("Second")).extracting(Candidate::node).containsExactlyInAnyOrder(boundaryNode, variableNode);
+        assertThat(table.candidates("Other")).extracting(Candidate::node).containsExactly(variableNode);
+        assertThat(table.candidates("Other")).noneMatch(Candidate::isAccepted);
+    }
+
+    @Test
+    public void testCandidatesKeepDefinitionOrder() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        for (int i = 1; i <= 6; i++) {
+            process.addNode(eventNode(new EventNode(), i, i % 2 == 0 ? "MyMessage" : "#{name}"));
+        }
+        SignalDispatchTable table = process.getSignalDispatchTable();
+
+        assertThat(table.candidates("MyMessage")).extracting(Candidate::node).containsExactly(process.getNodes());
+    }
+
+    @Test
+    public void testTableIsRebuiltWhenNodesChange() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        SignalDispatchTable table = process.getSignalDispatchTable();
+        assertThat(table.candidates("MyMessage")).isEmpty();
+
+        EventNode node = eventNode(new EventNode(), 1, "MyMessage");
+        process.addNode(node);
+        assertThat(process.getSignalDispatchTable().candidates("MyMessage")).extracting(Candidate::node).containsExactly(node);
+
+        process.removeNode(node);
+        assertThat(process.getSignalDispatchTable().candidates("MyMessage")).isEmpty();
+    }
+
+    private static ActionNode action(long id) {
+        ActionNode node = new ActionNode();
+        node.setId(id);
+        return node;
+    }
+
+    private static EventNode eventNode(EventNode node, long id, String... types) {
+        node.setId(id);
+        for (String type : types) {
+            EventTypeFilter filter = new EventTypeFilter();
+            filter.setType(type);
+            node.addEventFilter(filter);
+        }
+        return node;
+    }
+}
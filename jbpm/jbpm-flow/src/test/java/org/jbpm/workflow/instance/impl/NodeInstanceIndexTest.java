@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.jbpm.workflow.instance.node.ActionNodeInstance;
+import org.jbpm.workflow.instance.node.CompositeNodeInstance;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NodeInstanceIndexTest {
+
+    @Test
+    public void testLookupByIdAndNodeId() {
+        RuleFlowProcessInstance processInstance = new RuleFlowProcessInstance();
+        processInstance.setCurrentLevel(1);
+
+        CompositeNodeInstance composite = new CompositeNodeInstance();
+        composite.setNodeId(1);
+        composite.setLevel(1);
+        composite.setNodeInstanceContainer(processInstance);
+        composite.setCurrentLevel(1);
+
+        ActionNodeInstance first = nodeInstance(2, 1, processInstance);
+        ActionNodeInstance second = nodeInstance(2, 1, processInstance);
+        ActionNodeInstance nested = nodeInstance(3, 1, composite);
+
+        assertThat(processInstance.getNodeInstance(first.getStringId())).isSameAs(first);
+        assertThat(processInstance.getNodeInstance(nested.getStringId())).isNull();
+        assertThat(processInstance.getNodeInstance(nested.getStringId(), true)).isSameAs(nested);
+        assertThat(composite.getNodeInstance(nested.getStringId())).isSameAs(nested);
+        assertThat(processInstance.getFirstNodeInstance(2)).isSameAs(first);
+        assertThat(processInstance.getNodeInstances(2L)).containsExactly(first, second);
+        assertThat(composite.getFirstNodeInstance(3)).isSameAs(nested);
+
+        processInstance.removeNodeInstance(first);
+        assertThat(processInstance.getNodeInstance(first.getStringId())).isNull();
+        assertThat(processInstance.getFirstNodeInstance(2)).isSameAs(second);
+
+        composite.removeNodeInstance(nested);
+        assertThat(processInstance.getNodeInstance(nested.getStringId(), true)).isNull();
+        assertThat(composite.getNodeInstances(3L)).isEmpty();
+    }
+
+    @Test
+    public void testReindexAfterNodeIdChange() {
+        RuleFlowProcessInstance processInstance = new RuleFlowProcessInstance();
+        processInstance.setCurrentLevel(1);
+        ActionNodeInstance nodeInstance = nodeInstance(2, 1, processInstance);
+
+        nodeInstance.setNodeId(5);
+        processInstance.reindexNodeInstances();
+
+        assertThat(processInstance.getFirstNodeInstance(2)).isNull();
+        assertThat(processInstance.getFirstNodeInstance(5)).isSameAs(nodeInstance);
+    }
+
+    private static ActionNodeInstance nodeInstance(long nodeId, int level, org.jbpm.workflow.instance.NodeInstanceContainer container) {
+        ActionNodeInstance nodeInstance = new ActionNodeInstance();
+        nodeInstance.setNodeId(nodeId);
+        nodeInstance.setLevel(level);
+        nodeInstance.setNodeInstanceContainer(container);
+        return nodeInstance;
+    }
+}
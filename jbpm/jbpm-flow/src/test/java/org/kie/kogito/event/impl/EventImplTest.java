@@ -140,6 +140,7 @@ public class EventImplTest {
 
         when(process.instances()).thenReturn(processInstances);
         when(processInstances.findById(Mockito.anyString())).thenReturn(Optional.of(processInstance));
+        when(processInstances.exists(Mockito.anyString())).thenReturn(true);
         when(process.createInstance(Mockito.any(DummyModel.class))).thenReturn(processInstance);
         processService = mock(ProcessService.class);
         executor = Executors.newSingleThreadExecutor();
@@ -26,6 +26,7 @@ import org.jbpm.ruleflow.core.RuleFlowProcess;
 import org.jbpm.workflow.core.Node;
 import org.jbpm.workflow.instance.NodeInstance;
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kie.api.definition.process.Process;
@@ -39,6 +40,7 @@ import org.mockito.MockitoAnnotations;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -120,6 +122,22 @@ public class AbstractProcessInstanceTest {
         return nodeInstance;
     }
 
+    @Test
+    public void shouldSetErrorStateWhenWorkItemFailureIsNotHandled() {
+        WorkItemNodeInstance nodeInstance = mock(WorkItemNodeInstance.class);
+        when(nodeInstance.getWorkItemId()).thenReturn("work-item");
+        when(wpi.getNodeInstances(true)).thenReturn(Collections.singletonList(nodeInstance));
+        when(wpi.getState()).thenReturn(KogitoProcessInstance.STATE_ERROR);
+        RuntimeException unhandled = new RuntimeException("no error handling");
+        IllegalStateException failure = new IllegalStateException("failed");
+        doThrow(unhandled).when(nodeInstance).internalHandleWorkItemFailure(failure);
+
+        processInstance.failWorkItem("work-item", failure);
+
+        verify(wpi).setErrorState(nodeInstance, unhandled);
+        verify(unitOfWork).intercept(any());
+    }
+
     @Test
     public void testVersion() {
         processInstance.setVersion(10L);
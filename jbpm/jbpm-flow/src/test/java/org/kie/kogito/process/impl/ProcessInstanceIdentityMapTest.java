@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessInstanceIdentityMapTest {
+
+    private UnitOfWorkManager unitOfWorkManager;
+    private ProcessInstanceIdentityMap identityMap;
+    private AtomicInteger loads;
+    private Function<String, Optional<ProcessInstance<?>>> loader;
+
+    @BeforeEach
+    void setup() {
+        unitOfWorkManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        identityMap = new ProcessInstanceIdentityMap(unitOfWorkManager);
+        unitOfWorkManager.register(identityMap);
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            ProcessInstance<?> instance = mock(ProcessInstance.class);
+            when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+            return Optional.of(instance);
+        };
+    }
+
+    @Test
+    void testSameInstanceWithinUnitOfWork() {
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        Optional<ProcessInstance<?>> first = identityMap.findById("1", loader);
+        Optional<ProcessInstance<?>> second = identityMap.findById("1", loader);
+        assertThat(second.get()).isSameAs(first.get());
+        assertThat(identityMap.findById("2", loader).get()).isNotSameAs(first.get());
+        assertThat(loads).hasValue(2);
+        unitOfWork.end();
+
+        assertThat(identityMap.findById("1", loader).get()).isNotSameAs(first.get());
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void testNoCachingOutsideUnitOfWork() {
+        identityMap.findById("1", loader);
+        identityMap.findById("1", loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testReleasedOnAbort() {
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        ProcessInstance<?> first = identityMap.findById("1", loader).get();
+        unitOfWork.abort();
+
+        unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        assertThat(identityMap.findById("1", loader).get()).isNotSameAs(first);
+        unitOfWork.end();
+    }
+
+    @Test
+    void testCompletedInstanceNotFound() {
+        UnitOfWork unitOfWork = unitOfWorkManager.newUnitOfWork();
+        unitOfWork.start();
+        ProcessInstance<?> instance = identityMap.findById("1", loader).get();
+        when(instance.status()).thenReturn(ProcessInstance.STATE_COMPLETED);
+        assertThat(identityMap.findById("1", loader)).isEmpty();
+        assertThat(loads).hasValue(1);
+        unitOfWork.end();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProcessInstanceSnapshotCacheTest {
+
+    @Test
+    void testPutAndGet() {
+        ProcessInstanceSnapshotCache cache = new ProcessInstanceSnapshotCache();
+        cache.put("1", new byte[] { 1, 2, 3 }, 2L);
+
+        assertThat(cache.get("1")).hasValueSatisfying(snapshot -> {
+            assertThat(snapshot.payload()).containsExactly(1, 2, 3);
+            assertThat(snapshot.version()).isEqualTo(2L);
+        });
+        assertThat(cache.get("2")).isEmpty();
+        assertThat(cache.bytes()).isEqualTo(3);
+    }
+
+    @Test
+    void testReplaceAndInvalidate() {
+        ProcessInstanceSnapshotCache cache = new ProcessInstanceSnapshotCache();
+        cache.put("1", new byte[10], 1L);
+        cache.put("1", new byte[4], 2L);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.bytes()).isEqualTo(4);
+        assertThat(cache.get("1")).hasValueSatisfying(snapshot -> assertThat(snapshot.version()).isEqualTo(2L));
+
+        cache.invalidate("1");
+        assertThat(cache.get("1")).isEmpty();
+        assertThat(cache.bytes()).isZero();
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsedByEntries() {
+        ProcessInstanceSnapshotCache cache = new ProcessInstanceSnapshotCache(2, 1024);
+        cache.put("1", new byte[1], 1L);
+        cache.put("2", new byte[1], 1L);
+        cache.get("1");
+        cache.put("3", new byte[1], 1L);
+
+        assertThat(cache.get("1")).isPresent();
+        assertThat(cache.get("2")).isEmpty();
+        assertThat(cache.get("3")).isPresent();
+    }
+
+    @Test
+    void testEvictByBytes() {
+        ProcessInstanceSnapshotCache cache = new ProcessInstanceSnapshotCache(10, 10);
+        cache.put("1", new byte[6], 1L);
+        cache.put("2", new byte[6], 1L);
+        assertThat(cache.get("1")).isEmpty();
+        assertThat(cache.get("2")).isPresent();
+        assertThat(cache.bytes()).isEqualTo(6);
+
+        cache.put("3", new byte[11], 1L);
+        assertThat(cache.get("3")).isEmpty();
+        assertThat(cache.get("2")).isPresent();
+    }
+
+    @Test
+    void testInvalidBounds() {
+        assertThatThrownBy(() -> new ProcessInstanceSnapshotCache(0, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
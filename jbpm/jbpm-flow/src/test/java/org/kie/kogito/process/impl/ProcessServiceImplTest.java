@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Application;
+import org.kie.kogito.MappableToModel;
+import org.kie.kogito.process.AsyncProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class ProcessServiceImplTest {
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private final Executor executor = submitted::add;
+
+    private Process<MappableToModel<Object>> process;
+    private MutableProcessInstances<MappableToModel<Object>> instances;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        process = mock(Process.class);
+        instances = mock(MutableProcessInstances.class, withSettings().extraInterfaces(AsyncProcessInstances.class));
+        when(process.instances()).thenReturn(instances);
+    }
+
+    @Test
+    void testMissingInstanceIsReportedWithoutExecutor() throws Exception {
+        when(((AsyncProcessInstances<?>) instances).existsAsync("1")).thenReturn(CompletableFuture.completedFuture(false));
+        ProcessServiceImpl service = new ProcessServiceImpl(mock(Application.class), executor);
+
+        assertThat(service.deleteAsync(process, "1").toCompletableFuture().get(1, TimeUnit.SECONDS)).isEmpty();
+        assertThat(submitted).isEmpty();
+    }
+
+    @Test
+    void testExistingInstanceIsDeletedOnExecutor() {
+        when(((AsyncProcessInstances<?>) instances).existsAsync("1")).thenReturn(CompletableFuture.completedFuture(true));
+        ProcessServiceImpl service = new ProcessServiceImpl(mock(Application.class), executor);
+
+        CompletableFuture<Optional<Object>> result = service.deleteAsync(process, "1").toCompletableFuture();
+
+        assertThat(result).isNotDone();
+        assertThat(submitted).hasSize(1);
+        verify((AsyncProcessInstances<?>) instances).existsAsync("1");
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+/**
+ * Compression stage applied to the binary form of a process instance, see
+ * {@link ProcessInstanceMarshallerService.Builder#withCompression(ProcessInstanceCodec, int)}.
+ * <p>
+ * Encoded payloads are prefixed with the {@link #id()} of the codec that produced them, so that
+ * payloads written with any codec, or without one, can always be read back.
+ */
+public interface ProcessInstanceCodec {
+
+    /**
+     * Identifier written as the first byte of every payload encoded by this codec.
+     * Must be between {@link #MIN_ID} and {@link #MAX_ID}, as those values never start a plain process instance.
+     */
+    byte id();
+
+    byte[] encode(byte[] data);
+
+    byte[] decode(byte[] data);
+
+    byte MIN_ID = 1;
+
+    byte MAX_ID = 7;
+}
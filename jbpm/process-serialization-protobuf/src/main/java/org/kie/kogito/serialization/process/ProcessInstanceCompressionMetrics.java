@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the compression stage of a {@link ProcessInstanceMarshallerService}.
+ */
+public class ProcessInstanceCompressionMetrics {
+
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder decompressed = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressionNanos = new LongAdder();
+    private final LongAdder decompressionNanos = new LongAdder();
+
+    void recordCompression(int originalSize, int compressedSize, long nanos) {
+        compressed.increment();
+        uncompressedBytes.add(originalSize);
+        compressedBytes.add(compressedSize);
+        compressionNanos.add(nanos);
+    }
+
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    void recordDecompression(long nanos) {
+        decompressed.increment();
+        decompressionNanos.add(nanos);
+    }
+
+    /**
+     * Number of payloads stored compressed.
+     */
+    public long compressedCount() {
+        return compressed.sum();
+    }
+
+    /**
+     * Number of payloads stored as is, because below the threshold or not reduced by the codec.
+     */
+    public long skippedCount() {
+        return skipped.sum();
+    }
+
+    public long decompressedCount() {
+        return decompressed.sum();
+    }
+
+    public long uncompressedBytes() {
+        return uncompressedBytes.sum();
+    }
+
+    public long compressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * Ratio between the original and the compressed size of the payloads stored compressed, <code>1</code> if none.
+     */
+    public double compressionRatio() {
+        long compressedSize = compressedBytes.sum();
+        return compressedSize == 0 ? 1 : (double) uncompressedBytes.sum() / compressedSize;
+    }
+
+    public long compressionTime(TimeUnit unit) {
+        return unit.convert(compressionNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long decompressionTime(TimeUnit unit) {
+        return unit.convert(decompressionNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+}
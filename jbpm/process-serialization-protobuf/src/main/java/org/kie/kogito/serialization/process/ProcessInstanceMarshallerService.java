@@ -18,6 +18,7 @@ package org.kie.kogito.serialization.process;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +30,9 @@ import java.util.function.Supplier;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.serialization.process.impl.DeflaterProcessInstanceCodec;
+import org.kie.kogito.serialization.process.impl.LZProcessInstanceCodec;
+import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceDelta;
 import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceMarshallerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,12 +40,25 @@ import org.slf4j.LoggerFactory;
 public class ProcessInstanceMarshallerService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceMarshallerService.class);
 
+    /**
+     * Size in bytes below which payloads are stored uncompressed.
+     */
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
     private List<ObjectMarshallerStrategy> strats;
 
     private Map<MarshallerContextName<Object>, Object> contextEntries;
 
     private ProcessInstanceMarshallerFactory processInstanceMarshallerFactory;
 
+    private ProcessInstanceCodec codec;
+
+    private int compressionThreshold;
+
+    private ProcessInstanceCodec[] codecs;
+
+    private ProcessInstanceCompressionMetrics compressionMetrics;
+
     public class Builder {
 
         public Builder() {
@@ -76,6 +93,24 @@ public class ProcessInstanceMarshallerService {
             return this;
         }
 
+        public Builder withCompression(ProcessInstanceCodec codec) {
+            return withCompression(codec, DEFAULT_COMPRESSION_THRESHOLD);
+        }
+
+        /**
+         * Compresses with the given codec the payloads bigger than <code>threshold</code> bytes.
+         * Payloads written by any built-in codec, by the given one or without compression can always be read.
+         */
+        public Builder withCompression(ProcessInstanceCodec codec, int threshold) {
+            if (codec.id() < ProcessInstanceCodec.MIN_ID || codec.id() > ProcessInstanceCodec.MAX_ID) {
+                throw new IllegalArgumentException("Codec id must be between " + ProcessInstanceCodec.MIN_ID + " and " + ProcessInstanceCodec.MAX_ID + ", found " + codec.id());
+            }
+            ProcessInstanceMarshallerService.this.codec = codec;
+            ProcessInstanceMarshallerService.this.compressionThreshold = threshold;
+            ProcessInstanceMarshallerService.this.codecs[codec.id()] = codec;
+            return this;
+        }
+
         public ProcessInstanceMarshallerService build() {
             Collections.sort(ProcessInstanceMarshallerService.this.strats);
             return ProcessInstanceMarshallerService.this;
@@ -90,6 +125,14 @@ public class ProcessInstanceMarshallerService {
     private ProcessInstanceMarshallerService() {
         this.strats = new ArrayList<>();
         this.contextEntries = new HashMap<>();
+        this.codecs = new ProcessInstanceCodec[ProcessInstanceCodec.MAX_ID + 1];
+        this.codecs[DeflaterProcessInstanceCodec.ID] = new DeflaterProcessInstanceCodec();
+        this.codecs[LZProcessInstanceCodec.ID] = new LZProcessInstanceCodec();
+        this.compressionMetrics = new ProcessInstanceCompressionMetrics();
+    }
+
+    public ProcessInstanceCompressionMetrics compressionMetrics() {
+        return compressionMetrics;
     }
 
     protected void setupEnvironment(MarshallerContext env) {
@@ -106,14 +149,14 @@ public class ProcessInstanceMarshallerService {
             setupEnvironment(context);
             org.kie.kogito.serialization.process.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
             marshaller.writeProcessInstance(context, processInstance);
-            return baos.toByteArray();
+            return compress(baos.toByteArray());
         } catch (Exception e) {
             throw new ProcessInstanceMarshallerException("Error while marshalling process instance", e);
         }
     }
 
     public ProcessInstance<?> unmarshallProcessInstance(byte[] data, Process<?> process, boolean readOnly) {
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(decompress(data))) {
             MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
             context.set(MarshallerContextName.MARSHALLER_PROCESS, process);
             context.set(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY, readOnly);
@@ -133,13 +176,69 @@ public class ProcessInstanceMarshallerService {
         return unmarshallProcessInstance(data, process, true);
     }
 
+    /**
+     * Computes the delta between two binary snapshots of the same process instance.
+     */
+    public byte[] createDelta(byte[] base, byte[] current) {
+        return compress(ProtobufProcessInstanceDelta.diff(decompress(base), decompress(current)));
+    }
+
+    /**
+     * Rebuilds a binary snapshot applying, in order, the deltas created by {@link #createDelta(byte[], byte[])}.
+     * The snapshot is returned uncompressed.
+     */
+    public byte[] applyDeltas(byte[] snapshot, List<byte[]> deltas) {
+        if (deltas.isEmpty()) {
+            return snapshot;
+        }
+        List<byte[]> decompressed = new ArrayList<>(deltas.size());
+        deltas.forEach(delta -> decompressed.add(decompress(delta)));
+        return ProtobufProcessInstanceDelta.apply(decompress(snapshot), decompressed);
+    }
+
+    byte[] compress(byte[] data) {
+        if (codec == null) {
+            return data;
+        }
+        if (data.length < compressionThreshold) {
+            compressionMetrics.recordSkipped();
+            return data;
+        }
+        long start = System.nanoTime();
+        byte[] encoded = codec.encode(data);
+        if (encoded.length + 1 >= data.length) {
+            compressionMetrics.recordSkipped();
+            return data;
+        }
+        byte[] result = new byte[encoded.length + 1];
+        result[0] = codec.id();
+        System.arraycopy(encoded, 0, result, 1, encoded.length);
+        compressionMetrics.recordCompression(data.length, result.length, System.nanoTime() - start);
+        return result;
+    }
+
+    byte[] decompress(byte[] data) {
+        // plain payloads never start with a codec id: binary ones start with a field tag, json ones with a brace
+        if (data == null || data.length == 0 || data[0] < ProcessInstanceCodec.MIN_ID || data[0] > ProcessInstanceCodec.MAX_ID) {
+            return data;
+        }
+        ProcessInstanceCodec payloadCodec = codecs[data[0]];
+        if (payloadCodec == null) {
+            throw new ProcessInstanceMarshallerException("Unknown codec " + data[0] + " for process instance payload");
+        }
+        long start = System.nanoTime();
+        byte[] decoded = payloadCodec.decode(Arrays.copyOfRange(data, 1, data.length));
+        compressionMetrics.recordDecompression(System.nanoTime() - start);
+        return decoded;
+    }
+
     public Consumer<AbstractProcessInstance<?>> createdReloadFunction(Supplier<byte[]> dataSupplier) {
         return (processInstance) -> {
             byte[] data = dataSupplier.get();
             if (data == null) {
                 LOGGER.warn("Process Instance {} cannot be found", processInstance.id());
             }
-            try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+            try (ByteArrayInputStream bais = new ByteArrayInputStream(decompress(data))) {
                 MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
                 context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
                 setupEnvironment(context);
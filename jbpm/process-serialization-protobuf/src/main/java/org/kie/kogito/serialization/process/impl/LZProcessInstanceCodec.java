@@ -0,0 +1,162 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.util.Arrays;
+
+import org.kie.kogito.serialization.process.ProcessInstanceCodec;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+
+/**
+ * Fast LZ77 codec, trading some ratio for much lower CPU usage than {@link DeflaterProcessInstanceCodec}.
+ * <p>
+ * The encoded payload starts with the original length as a 4 bytes big endian integer, followed by
+ * a sequence of chunks, each one introduced by a control byte <code>c</code>:
+ * <ul>
+ * <li><code>c &lt; 32</code>: <code>c + 1</code> literal bytes follow</li>
+ * <li>otherwise a back reference: the length minus 2 is in the upper 3 bits of <code>c</code> (when 7, the
+ * following byte is added to it) and the distance minus 1 is given by the lower 5 bits of <code>c</code>
+ * and the next byte</li>
+ * </ul>
+ */
+public class LZProcessInstanceCodec implements ProcessInstanceCodec {
+
+    public static final byte ID = 2;
+
+    private static final int HASH_BITS = 14;
+    private static final int MIN_MATCH = 3;
+    private static final int MAX_LITERALS = 32;
+    private static final int MAX_DISTANCE = 1 << 13;
+    private static final int MAX_MATCH = 2 + 7 + 255;
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encode(byte[] data) {
+        int length = data.length;
+        // worst case: every chunk of 32 bytes stored as literals
+        byte[] out = new byte[4 + length + length / MAX_LITERALS + 1];
+        int op = writeInt(out, 0, length);
+        int[] table = new int[1 << HASH_BITS];
+        Arrays.fill(table, -1);
+
+        int ip = 0;
+        int literals = 0;
+        while (ip + MIN_MATCH <= length) {
+            int hash = hash(data, ip);
+            int ref = table[hash];
+            table[hash] = ip;
+            int distance = ip - ref - 1;
+            if (ref >= 0 && distance < MAX_DISTANCE && data[ref] == data[ip] && data[ref + 1] == data[ip + 1] && data[ref + 2] == data[ip + 2]) {
+                int max = Math.min(length - ip, MAX_MATCH);
+                int len = MIN_MATCH;
+                while (len < max && data[ref + len] == data[ip + len]) {
+                    len++;
+                }
+                op = writeLiterals(data, ip - literals, literals, out, op);
+                literals = 0;
+                int encodedLength = len - 2;
+                if (encodedLength < 7) {
+                    out[op++] = (byte) ((encodedLength << 5) | (distance >> 8));
+                } else {
+                    out[op++] = (byte) ((7 << 5) | (distance >> 8));
+                    out[op++] = (byte) (encodedLength - 7);
+                }
+                out[op++] = (byte) distance;
+                ip += len;
+            } else {
+                ip++;
+                literals++;
+            }
+        }
+        literals += length - ip;
+        op = writeLiterals(data, length - literals, literals, out, op);
+        return Arrays.copyOf(out, op);
+    }
+
+    @Override
+    public byte[] decode(byte[] data) {
+        if (data.length < 4) {
+            throw new ProcessInstanceMarshallerException("Truncated process instance payload");
+        }
+        byte[] out = new byte[readInt(data, 0)];
+        int ip = 4;
+        int op = 0;
+        try {
+            while (ip < data.length) {
+                int control = data[ip++] & 0xFF;
+                if (control < MAX_LITERALS) {
+                    int count = control + 1;
+                    System.arraycopy(data, ip, out, op, count);
+                    ip += count;
+                    op += count;
+                } else {
+                    int len = control >> 5;
+                    if (len == 7) {
+                        len += data[ip++] & 0xFF;
+                    }
+                    len += 2;
+                    int ref = op - ((control & 0x1F) << 8) - (data[ip++] & 0xFF) - 1;
+                    if (ref < 0) {
+                        throw new ProcessInstanceMarshallerException("Invalid back reference in process instance payload");
+                    }
+                    // byte by byte copy, as the reference may overlap the bytes being written
+                    for (int i = 0; i < len; i++) {
+                        out[op++] = out[ref++];
+                    }
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new ProcessInstanceMarshallerException("Corrupted process instance payload", e);
+        }
+        if (op != out.length) {
+            throw new ProcessInstanceMarshallerException("Truncated process instance payload");
+        }
+        return out;
+    }
+
+    private static int hash(byte[] data, int index) {
+        int value = ((data[index] & 0xFF) << 16) | ((data[index + 1] & 0xFF) << 8) | (data[index + 2] & 0xFF);
+        return (value * 0x9E3779B1) >>> (32 - HASH_BITS);
+    }
+
+    private static int writeLiterals(byte[] data, int start, int count, byte[] out, int op) {
+        while (count > 0) {
+            int chunk = Math.min(count, MAX_LITERALS);
+            out[op++] = (byte) (chunk - 1);
+            System.arraycopy(data, start, out, op, chunk);
+            op += chunk;
+            start += chunk;
+            count -= chunk;
+        }
+        return op;
+    }
+
+    private static int writeInt(byte[] out, int op, int value) {
+        out[op++] = (byte) (value >>> 24);
+        out[op++] = (byte) (value >>> 16);
+        out[op++] = (byte) (value >>> 8);
+        out[op++] = (byte) value;
+        return op;
+    }
+
+    private static int readInt(byte[] data, int index) {
+        return ((data[index] & 0xFF) << 24) | ((data[index + 1] & 0xFF) << 16) | ((data[index + 2] & 0xFF) << 8) | (data[index + 3] & 0xFF);
+    }
+}
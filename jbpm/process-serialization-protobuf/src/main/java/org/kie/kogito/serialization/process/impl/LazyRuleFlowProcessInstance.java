@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.jbpm.workflow.instance.NodeInstance;
+import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
+
+/**
+ * Process instance unmarshalled for read only access. Its node instances are only built from the snapshot
+ * when they are first navigated, so reading the status, business key or variables does not pay for them.
+ */
+class LazyRuleFlowProcessInstance extends RuleFlowProcessInstance {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient Runnable nodeInstancesLoader;
+
+    void setNodeInstancesLoader(Runnable nodeInstancesLoader) {
+        this.nodeInstancesLoader = nodeInstancesLoader;
+    }
+
+    private void loadNodeInstances() {
+        Runnable loader = nodeInstancesLoader;
+        if (loader != null) {
+            nodeInstancesLoader = null;
+            loader.run();
+        }
+    }
+
+    @Override
+    public Collection<NodeInstance> getNodeInstances(boolean recursive) {
+        loadNodeInstances();
+        return super.getNodeInstances(recursive);
+    }
+
+    @Override
+    public List<NodeInstance> getNodeInstances(long nodeId) {
+        loadNodeInstances();
+        return super.getNodeInstances(nodeId);
+    }
+
+    @Override
+    public Collection<KogitoNodeInstance> getKogitoNodeInstances(Predicate<KogitoNodeInstance> filter, boolean recursive) {
+        loadNodeInstances();
+        return super.getKogitoNodeInstances(filter, recursive);
+    }
+
+    @Override
+    public NodeInstance getNodeInstance(String nodeInstanceId, boolean recursive) {
+        loadNodeInstances();
+        return super.getNodeInstance(nodeInstanceId, recursive);
+    }
+
+    @Override
+    public NodeInstance getFirstNodeInstance(long nodeId) {
+        loadNodeInstances();
+        return super.getFirstNodeInstance(nodeId);
+    }
+
+    @Override
+    public void disconnect() {
+        loadNodeInstances();
+        super.disconnect();
+    }
+
+    @Override
+    public void reconnect() {
+        loadNodeInstances();
+        super.reconnect();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jbpm.process.instance.context.variable.VariableScopeInstance;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
+
+/**
+ * Variable scope of a read only process instance that unmarshalls each variable the first time it is accessed.
+ */
+class LazyVariableScopeInstance extends VariableScopeInstance {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ProtobufVariableReader varReader;
+    private final Map<String, KogitoTypesProtobuf.Variable> undecoded = new LinkedHashMap<>();
+
+    LazyVariableScopeInstance(ProtobufVariableReader varReader, List<KogitoTypesProtobuf.Variable> variables) {
+        this.varReader = varReader;
+        variables.forEach(variable -> undecoded.put(variable.getName(), variable));
+    }
+
+    @Override
+    public Object getVariable(String name) {
+        decode(name);
+        return super.getVariable(name);
+    }
+
+    @Override
+    public Map<String, Object> getVariables() {
+        new ArrayList<>(undecoded.keySet()).forEach(this::decode);
+        return super.getVariables();
+    }
+
+    @Override
+    public void internalSetVariable(String name, Object value) {
+        undecoded.remove(name);
+        super.internalSetVariable(name, value);
+    }
+
+    private void decode(String name) {
+        KogitoTypesProtobuf.Variable variable = undecoded.remove(name);
+        if (variable != null) {
+            super.internalSetVariable(name, varReader.buildVariable(variable).getValue());
+        }
+    }
+}
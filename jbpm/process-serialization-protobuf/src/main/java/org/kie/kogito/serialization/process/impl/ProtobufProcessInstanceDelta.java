@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Computes and applies incremental changes between two binary snapshots of the same process instance.
+ * <p>
+ * A delta carries the header of the newer snapshot (state, dates, sla, errors...) but only the top level
+ * variables and node instances that were added or changed, plus the names and ids of the removed ones.
+ * Node instances are compared as a whole, so a work item state change ships the content of its node
+ * instance only. The delta is encoded as a protobuf message with this layout:
+ *
+ * <pre>
+ * message ProcessInstanceDelta {
+ *     ProcessInstance instance = 1;
+ *     repeated string removed_variable = 2;
+ *     repeated string removed_node_instance = 3;
+ * }
+ * </pre>
+ *
+ * Only the binary format is supported.
+ */
+public final class ProtobufProcessInstanceDelta {
+
+    private static final int INSTANCE_FIELD = 1;
+    private static final int REMOVED_VARIABLE_FIELD = 2;
+    private static final int REMOVED_NODE_INSTANCE_FIELD = 3;
+
+    private final KogitoProcessInstanceProtobuf.ProcessInstance instance;
+    private final List<String> removedVariables;
+    private final List<String> removedNodeInstances;
+
+    private ProtobufProcessInstanceDelta(KogitoProcessInstanceProtobuf.ProcessInstance instance, List<String> removedVariables, List<String> removedNodeInstances) {
+        this.instance = instance;
+        this.removedVariables = removedVariables;
+        this.removedNodeInstances = removedNodeInstances;
+    }
+
+    /**
+     * Returns the delta that turns the <code>base</code> snapshot into the <code>current</code> one.
+     */
+    public static byte[] diff(byte[] base, byte[] current) {
+        try {
+            KogitoProcessInstanceProtobuf.ProcessInstance baseInstance = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(base);
+            KogitoProcessInstanceProtobuf.ProcessInstance currentInstance = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(current);
+            if (!currentInstance.hasContext()) {
+                return new ProtobufProcessInstanceDelta(currentInstance, new ArrayList<>(), new ArrayList<>()).toByteArray();
+            }
+            KogitoTypesProtobuf.WorkflowContext baseContext = baseInstance.getContext();
+            KogitoTypesProtobuf.WorkflowContext currentContext = currentInstance.getContext();
+
+            Map<String, KogitoTypesProtobuf.Variable> baseVariables = index(baseContext.getVariableList(), KogitoTypesProtobuf.Variable::getName);
+            Map<String, KogitoTypesProtobuf.NodeInstance> baseNodeInstances = index(baseContext.getNodeInstanceList(), KogitoTypesProtobuf.NodeInstance::getId);
+
+            KogitoTypesProtobuf.WorkflowContext.Builder changes = currentContext.toBuilder().clearVariable().clearNodeInstance();
+            for (KogitoTypesProtobuf.Variable variable : currentContext.getVariableList()) {
+                if (!variable.equals(baseVariables.remove(variable.getName()))) {
+                    changes.addVariable(variable);
+                }
+            }
+            for (KogitoTypesProtobuf.NodeInstance nodeInstance : currentContext.getNodeInstanceList()) {
+                if (!nodeInstance.equals(baseNodeInstances.remove(nodeInstance.getId()))) {
+                    changes.addNodeInstance(nodeInstance);
+                }
+            }
+            return new ProtobufProcessInstanceDelta(currentInstance.toBuilder().setContext(changes).build(),
+                    new ArrayList<>(baseVariables.keySet()),
+                    new ArrayList<>(baseNodeInstances.keySet())).toByteArray();
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while computing process instance delta", e);
+        }
+    }
+
+    /**
+     * Rebuilds the binary snapshot resulting from applying the given deltas, in order, to <code>snapshot</code>.
+     */
+    public static byte[] apply(byte[] snapshot, List<byte[]> deltas) {
+        if (deltas.isEmpty()) {
+            return snapshot;
+        }
+        try {
+            KogitoProcessInstanceProtobuf.ProcessInstance instance = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(snapshot);
+            for (byte[] delta : deltas) {
+                instance = parse(delta).applyTo(instance);
+            }
+            return instance.toByteArray();
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while applying process instance deltas", e);
+        }
+    }
+
+    private KogitoProcessInstanceProtobuf.ProcessInstance applyTo(KogitoProcessInstanceProtobuf.ProcessInstance base) {
+        if (!instance.hasContext()) {
+            return instance;
+        }
+        Map<String, KogitoTypesProtobuf.Variable> variables = index(base.getContext().getVariableList(), KogitoTypesProtobuf.Variable::getName);
+        removedVariables.forEach(variables::remove);
+        instance.getContext().getVariableList().forEach(variable -> variables.put(variable.getName(), variable));
+
+        Map<String, KogitoTypesProtobuf.NodeInstance> nodeInstances = index(base.getContext().getNodeInstanceList(), KogitoTypesProtobuf.NodeInstance::getId);
+        removedNodeInstances.forEach(nodeInstances::remove);
+        instance.getContext().getNodeInstanceList().forEach(nodeInstance -> nodeInstances.put(nodeInstance.getId(), nodeInstance));
+
+        return instance.toBuilder()
+                .setContext(instance.getContext().toBuilder()
+                        .clearVariable()
+                        .addAllVariable(variables.values())
+                        .clearNodeInstance()
+                        .addAllNodeInstance(nodeInstances.values()))
+                .build();
+    }
+
+    private byte[] toByteArray() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(baos);
+        output.writeMessage(INSTANCE_FIELD, instance);
+        for (String name : removedVariables) {
+            output.writeString(REMOVED_VARIABLE_FIELD, name);
+        }
+        for (String id : removedNodeInstances) {
+            output.writeString(REMOVED_NODE_INSTANCE_FIELD, id);
+        }
+        output.flush();
+        return baos.toByteArray();
+    }
+
+    private static ProtobufProcessInstanceDelta parse(byte[] data) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(data);
+        KogitoProcessInstanceProtobuf.ProcessInstance instance = null;
+        List<String> removedVariables = new ArrayList<>();
+        List<String> removedNodeInstances = new ArrayList<>();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case INSTANCE_FIELD:
+                    instance = input.readMessage(KogitoProcessInstanceProtobuf.ProcessInstance.parser(), ExtensionRegistryLite.getEmptyRegistry());
+                    break;
+                case REMOVED_VARIABLE_FIELD:
+                    removedVariables.add(input.readString());
+                    break;
+                case REMOVED_NODE_INSTANCE_FIELD:
+                    removedNodeInstances.add(input.readString());
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        if (instance == null) {
+            throw new IOException("Process instance delta without instance header");
+        }
+        return new ProtobufProcessInstanceDelta(instance, removedVariables, removedNodeInstances);
+    }
+
+    private static <T> Map<String, T> index(List<T> values, Function<T, String> key) {
+        Map<String, T> result = new LinkedHashMap<>();
+        values.forEach(value -> result.put(key.apply(value), value));
+        return result;
+    }
+}
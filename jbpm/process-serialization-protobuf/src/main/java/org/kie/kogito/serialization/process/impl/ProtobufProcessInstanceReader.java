@@ -94,7 +94,8 @@ public class ProtobufProcessInstanceReader {
 
     public ProtobufProcessInstanceReader(MarshallerReaderContext context) {
         this.context = context;
-        this.ruleFlowProcessInstance = new RuleFlowProcessInstance();
+        // read only instances only decode what is actually read from them
+        this.ruleFlowProcessInstance = Boolean.TRUE.equals(context.get(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY)) ? new LazyRuleFlowProcessInstance() : new RuleFlowProcessInstance();
         this.varReader = new ProtobufVariableReader(context);
     }
 
@@ -156,6 +157,26 @@ public class ProtobufProcessInstanceReader {
         }
 
         WorkflowContext workflowContext = processInstanceProtobuf.getContext();
+        if (processInstance instanceof LazyRuleFlowProcessInstance) {
+            ((LazyRuleFlowProcessInstance) processInstance).setNodeInstancesLoader(() -> buildNodeInstances(processInstance, workflowContext));
+            processInstance.addContextInstance(VariableScope.VARIABLE_SCOPE, new LazyVariableScopeInstance(varReader, workflowContext.getVariableList()));
+        } else {
+            buildNodeInstances(processInstance, workflowContext);
+            processInstance.addContextInstance(VariableScope.VARIABLE_SCOPE, new VariableScopeInstance());
+            if (workflowContext.getVariableCount() > 0) {
+                VariableScopeInstance variableScopeInstance = (VariableScopeInstance) processInstance.getContextInstance(VariableScope.VARIABLE_SCOPE);
+                varReader.buildVariables(workflowContext.getVariableList()).forEach(v -> variableScopeInstance.internalSetVariable(v.getName(), v.getValue()));
+            }
+        }
+
+        if (workflowContext.getIterationLevelsCount() > 0) {
+            processInstance.getIterationLevels().putAll(buildIterationLevels(workflowContext.getIterationLevelsList()));
+        }
+
+        return processInstance;
+    }
+
+    private void buildNodeInstances(RuleFlowProcessInstance processInstance, WorkflowContext workflowContext) {
         for (KogitoTypesProtobuf.NodeInstance nodeInstanceProtobuf : workflowContext.getNodeInstanceList()) {
             NodeInstanceImpl nodeInstanceImpl = buildNodeInstance(nodeInstanceProtobuf.getContent());
             nodeInstanceImpl.setProcessInstance(processInstance);
@@ -179,18 +200,6 @@ public class ProtobufProcessInstanceReader {
             Function<String, KogitoNodeInstance> finder = nodeInstanceId -> processInstance.getNodeInstance(nodeInstanceId, true);
             processInstance.addContextInstance(ExclusiveGroup.EXCLUSIVE_GROUP, buildExclusiveGroupInstance(group, finder));
         }
-
-        processInstance.addContextInstance(VariableScope.VARIABLE_SCOPE, new VariableScopeInstance());
-        if (workflowContext.getVariableCount() > 0) {
-            VariableScopeInstance variableScopeInstance = (VariableScopeInstance) processInstance.getContextInstance(VariableScope.VARIABLE_SCOPE);
-            varReader.buildVariables(workflowContext.getVariableList()).forEach(v -> variableScopeInstance.internalSetVariable(v.getName(), v.getValue()));
-        }
-
-        if (workflowContext.getIterationLevelsCount() > 0) {
-            processInstance.getIterationLevels().putAll(buildIterationLevels(workflowContext.getIterationLevelsList()));
-        }
-
-        return processInstance;
     }
 
     protected NodeInstanceImpl buildNodeInstance(com.google.protobuf.Any nodeContentProtobuf) {
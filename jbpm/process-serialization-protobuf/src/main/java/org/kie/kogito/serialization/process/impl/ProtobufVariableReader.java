@@ -48,22 +48,26 @@ public class ProtobufVariableReader {
     public List<Variable> buildVariables(List<KogitoTypesProtobuf.Variable> variablesProtobuf) {
         List<Variable> variables = new ArrayList<>();
         for (KogitoTypesProtobuf.Variable var : variablesProtobuf) {
-            Variable storedVar = new Variable();
-            storedVar.setName(var.getName());
-            Any value = var.getValue();
-            ObjectMarshallerStrategy strategy = context.findObjectUnmarshallerStrategyFor(value);
-            Object varValue = strategy.unmarshall(value);
-            if (varValue != null) {
-                storedVar.setType(buildDataType(varValue.getClass().getCanonicalName()));
-                storedVar.setValue(varValue);
-            } else {
-                storedVar.setType(new ObjectDataType("java.lang.Object"));
-            }
-            variables.add(storedVar);
+            variables.add(buildVariable(var));
         }
         return variables;
     }
 
+    public Variable buildVariable(KogitoTypesProtobuf.Variable var) {
+        Variable storedVar = new Variable();
+        storedVar.setName(var.getName());
+        Any value = var.getValue();
+        ObjectMarshallerStrategy strategy = context.findObjectUnmarshallerStrategyFor(value);
+        Object varValue = strategy.unmarshall(value);
+        if (varValue != null) {
+            storedVar.setType(buildDataType(varValue.getClass().getCanonicalName()));
+            storedVar.setValue(varValue);
+        } else {
+            storedVar.setType(new ObjectDataType("java.lang.Object"));
+        }
+        return storedVar;
+    }
+
     private DataType buildDataType(String dataType) {
         try {
             if (dataType == null || dataType.isEmpty()) {
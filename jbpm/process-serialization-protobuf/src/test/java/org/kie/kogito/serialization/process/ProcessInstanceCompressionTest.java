@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.serialization.process.impl.DeflaterProcessInstanceCodec;
+import org.kie.kogito.serialization.process.impl.LZProcessInstanceCodec;
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProcessInstanceCompressionTest {
+
+    @Test
+    public void testLZCodecRoundtrip() {
+        testRoundtrip(new LZProcessInstanceCodec());
+    }
+
+    @Test
+    public void testDeflaterCodecRoundtrip() {
+        testRoundtrip(new DeflaterProcessInstanceCodec());
+    }
+
+    @Test
+    public void testCompressionAboveThreshold() {
+        ProcessInstanceMarshallerService service = ProcessInstanceMarshallerService.newBuilder().withCompression(new LZProcessInstanceCodec(), 100).build();
+        byte[] small = instance("small").toByteArray();
+        byte[] big = instance(repeat("{\"name\":\"value\"}", 200)).toByteArray();
+
+        assertThat(service.compress(small)).isSameAs(small);
+        byte[] compressed = service.compress(big);
+        assertThat(compressed[0]).isEqualTo(LZProcessInstanceCodec.ID);
+        assertThat(compressed.length).isLessThan(big.length / 5);
+        assertThat(service.decompress(compressed)).isEqualTo(big);
+
+        assertThat(service.compressionMetrics().compressedCount()).isEqualTo(1);
+        assertThat(service.compressionMetrics().skippedCount()).isEqualTo(1);
+        assertThat(service.compressionMetrics().decompressedCount()).isEqualTo(1);
+        assertThat(service.compressionMetrics().compressionRatio()).isGreaterThan(5);
+    }
+
+    @Test
+    public void testReadPayloadsOfOtherCodecs() {
+        byte[] data = instance(repeat("abcdef", 500)).toByteArray();
+        byte[] deflated = ProcessInstanceMarshallerService.newBuilder().withCompression(new DeflaterProcessInstanceCodec()).build().compress(data);
+        ProcessInstanceMarshallerService service = ProcessInstanceMarshallerService.newBuilder().withCompression(new LZProcessInstanceCodec()).build();
+
+        assertThat(service.decompress(deflated)).isEqualTo(data);
+        assertThat(service.decompress(data)).isSameAs(data);
+        assertThat(ProcessInstanceMarshallerService.newBuilder().build().decompress(deflated)).isEqualTo(data);
+    }
+
+    @Test
+    public void testInvalidCodecId() {
+        ProcessInstanceCodec codec = new LZProcessInstanceCodec() {
+            @Override
+            public byte id() {
+                return 8;
+            }
+        };
+        assertThatThrownBy(() -> ProcessInstanceMarshallerService.newBuilder().withCompression(codec)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void testRoundtrip(ProcessInstanceCodec codec) {
+        Random random = new Random(0);
+        for (int length : new int[] { 0, 1, 3, 31, 32, 33, 1000, 70000 }) {
+            byte[] noise = new byte[length];
+            random.nextBytes(noise);
+            assertThat(codec.decode(codec.encode(noise))).isEqualTo(noise);
+
+            byte[] text = repeat("kogito", length / 6 + 1).substring(0, length).getBytes(StandardCharsets.UTF_8);
+            assertThat(codec.decode(codec.encode(text))).isEqualTo(text);
+        }
+    }
+
+    private static KogitoProcessInstanceProtobuf.ProcessInstance instance(String description) {
+        return KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder()
+                .setProcessType("RuleFlow")
+                .setProcessId("test")
+                .setId("1")
+                .setDescription(description)
+                .build();
+    }
+
+    private static String repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder(value.length() * times);
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceDelta;
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.StringValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProcessInstanceDeltaTest {
+
+    @Test
+    public void testDeltaOnlyContainsChanges() throws InvalidProtocolBufferException {
+        KogitoProcessInstanceProtobuf.ProcessInstance base = instance(1,
+                context().addVariable(variable("a", "1")).addVariable(variable("b", "2")).addNodeInstance(nodeInstance("n1", 1)));
+        KogitoProcessInstanceProtobuf.ProcessInstance current = instance(1,
+                context().addVariable(variable("a", "1")).addVariable(variable("b", "3")).addNodeInstance(nodeInstance("n1", 1)));
+
+        byte[] delta = ProtobufProcessInstanceDelta.diff(base.toByteArray(), current.toByteArray());
+
+        assertThat(delta.length).isLessThan(current.toByteArray().length);
+        assertThat(KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(
+                ProtobufProcessInstanceDelta.apply(base.toByteArray(), Collections.singletonList(delta)))).isEqualTo(current);
+    }
+
+    @Test
+    public void testApplySequenceOfDeltas() throws InvalidProtocolBufferException {
+        KogitoProcessInstanceProtobuf.ProcessInstance first = instance(1,
+                context().addVariable(variable("a", "1")).addNodeInstance(nodeInstance("n1", 1)));
+        KogitoProcessInstanceProtobuf.ProcessInstance second = instance(1,
+                context().addVariable(variable("a", "1")).addVariable(variable("b", "2")).addNodeInstance(nodeInstance("n2", 2)));
+        KogitoProcessInstanceProtobuf.ProcessInstance third = instance(2,
+                context().addVariable(variable("b", "4")).addNodeInstance(nodeInstance("n2", 2)).addNodeInstance(nodeInstance("n3", 3)));
+
+        byte[] delta1 = ProtobufProcessInstanceDelta.diff(first.toByteArray(), second.toByteArray());
+        byte[] delta2 = ProtobufProcessInstanceDelta.diff(second.toByteArray(), third.toByteArray());
+
+        assertThat(KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(
+                ProtobufProcessInstanceDelta.apply(first.toByteArray(), Arrays.asList(delta1, delta2)))).isEqualTo(third);
+    }
+
+    @Test
+    public void testDeltaWithoutContext() throws InvalidProtocolBufferException {
+        KogitoProcessInstanceProtobuf.ProcessInstance base = instance(1, context().addVariable(variable("a", "1")));
+        KogitoProcessInstanceProtobuf.ProcessInstance current = base.toBuilder().clearContext().setState(2).build();
+
+        byte[] delta = ProtobufProcessInstanceDelta.diff(base.toByteArray(), current.toByteArray());
+
+        assertThat(KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(
+                ProtobufProcessInstanceDelta.apply(base.toByteArray(), Collections.singletonList(delta)))).isEqualTo(current);
+    }
+
+    private static KogitoProcessInstanceProtobuf.ProcessInstance instance(int state, KogitoTypesProtobuf.WorkflowContext.Builder context) {
+        return KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder()
+                .setProcessType("RuleFlow")
+                .setProcessId("test")
+                .setId("1")
+                .setState(state)
+                .setContext(context)
+                .build();
+    }
+
+    private static KogitoTypesProtobuf.WorkflowContext.Builder context() {
+        return KogitoTypesProtobuf.WorkflowContext.newBuilder();
+    }
+
+    private static KogitoTypesProtobuf.Variable variable(String name, String value) {
+        return KogitoTypesProtobuf.Variable.newBuilder()
+                .setName(name)
+                .setDataType(String.class.getName())
+                .setValue(Any.pack(StringValue.of(value)))
+                .build();
+    }
+
+    private static KogitoTypesProtobuf.NodeInstance nodeInstance(String id, long nodeId) {
+        return KogitoTypesProtobuf.NodeInstance.newBuilder().setId(id).setNodeId(nodeId).build();
+    }
+}
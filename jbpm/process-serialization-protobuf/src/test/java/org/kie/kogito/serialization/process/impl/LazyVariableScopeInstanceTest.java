@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.serialization.process.MarshallerContextName;
+import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class LazyVariableScopeInstanceTest {
+
+    @Test
+    public void testVariablesDecodedOnFirstAccess() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("name", "john");
+        values.put("age", 42);
+        values.put("active", Boolean.TRUE);
+
+        ProtobufProcessMarshallerWriteContext writeContext = new ProtobufProcessMarshallerWriteContext(new ByteArrayOutputStream());
+        writeContext.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, defaultStrategies());
+        List<KogitoTypesProtobuf.Variable> variables = new ProtobufVariableWriter(writeContext).buildVariables(new ArrayList<>(values.entrySet()));
+
+        ProtobufMarshallerReaderContext readContext = new ProtobufMarshallerReaderContext(new ByteArrayInputStream(new byte[0]));
+        readContext.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, defaultStrategies());
+        ProtobufVariableReader reader = spy(new ProtobufVariableReader(readContext));
+        LazyVariableScopeInstance scope = new LazyVariableScopeInstance(reader, variables);
+
+        verify(reader, never()).buildVariable(any());
+        assertThat(scope.getVariable("age")).isEqualTo(42);
+        assertThat(scope.getVariable("age")).isEqualTo(42);
+        verify(reader, times(1)).buildVariable(any());
+
+        scope.internalSetVariable("active", Boolean.FALSE);
+        assertThat(scope.getVariables()).containsEntry("name", "john").containsEntry("age", 42).containsEntry("active", Boolean.FALSE);
+        verify(reader, times(2)).buildVariable(any());
+    }
+
+    private static ObjectMarshallerStrategy[] defaultStrategies() {
+        List<ObjectMarshallerStrategy> strategies = new ArrayList<>();
+        ServiceLoader.load(ObjectMarshallerStrategy.class).forEach(strategies::add);
+        return strategies.toArray(new ObjectMarshallerStrategy[0]);
+    }
+}
@@ -22,6 +22,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
@@ -30,6 +32,7 @@ import org.kie.kogito.cloud.kubernetes.client.DefaultKogitoKubeClient;
 import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClient;
 import org.kie.kogito.cloud.workitems.service.discovery.ServiceDiscovery;
 import org.kie.kogito.cloud.workitems.service.discovery.ServiceDiscoveryFactory;
+import org.kie.kogito.internal.process.runtime.AsyncKogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +41,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -175,6 +180,48 @@ public abstract class DiscoveredServiceWorkItemHandler implements KogitoWorkItem
      * @return returns map of data that was returned from the service call
      */
     protected Map<String, Object> discoverAndCall(WorkItem workItem, String namespace, String serviceName, HttpMethods method) {
+        Request request = discoverAndProduceRequest(workItem, namespace, serviceName, method);
+
+        try (Response response = this.buildHttpClient().newCall(request).execute()) {
+
+            Map<String, Object> results = produceResultsFromResponse(response);
+
+            return results;
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #discoverAndCall(WorkItem, String, String, HttpMethods)} but does not block the calling thread
+     * while the service is invoked, meant to be used by {@link AsyncKogitoWorkItemHandler} implementations.
+     *
+     * @return stage completed with the map of data returned from the service call
+     */
+    protected CompletionStage<Map<String, Object>> discoverAndCallAsync(WorkItem workItem, String namespace, String serviceName, HttpMethods method) {
+        Request request = discoverAndProduceRequest(workItem, namespace, serviceName, method);
+        CompletableFuture<Map<String, Object>> results = new CompletableFuture<>();
+        this.buildHttpClient().newCall(request).enqueue(new Callback() {
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response closeable = response) {
+                    results.complete(produceResultsFromResponse(closeable));
+                } catch (IOException | RuntimeException e) {
+                    results.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                results.completeExceptionally(e);
+            }
+        });
+        return results;
+    }
+
+    private Request discoverAndProduceRequest(WorkItem workItem, String namespace, String serviceName, HttpMethods method) {
         Map<String, Object> data = new HashMap<>(workItem.getParameters());
         String service = (String) data.remove(serviceName);
 
@@ -204,16 +251,7 @@ public abstract class DiscoveredServiceWorkItemHandler implements KogitoWorkItem
             default:
                 break;
         }
-
-        try (Response response = this.buildHttpClient().newCall(request).execute()) {
-
-            Map<String, Object> results = produceResultsFromResponse(response);
-
-            return results;
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return request;
     }
 
     protected RequestBody produceRequestPayload(Map<String, Object> data) {
@@ -18,6 +18,7 @@ package org.kie.kogito.cloud.workitems;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -25,11 +26,13 @@ import org.junit.jupiter.api.Test;
 import org.kie.api.runtime.process.WorkItem;
 import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClient;
 import org.kie.kogito.cloud.workitems.service.discovery.ServiceDiscovery;
+import org.kie.kogito.internal.process.runtime.AsyncKogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
 import org.mockito.Mockito;
 
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
@@ -41,7 +44,10 @@ import okio.BufferedSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Disabled("Disabled in favor of the refactoring: https://issues.redhat.com/browse/KOGITO-5284")
@@ -62,6 +68,38 @@ public class DiscoveredServiceWorkItemHandlerTest {
         when(workItem.getParameters()).thenReturn(Collections.singletonMap("service", "test"));
 
         Call call = mock(Call.class);
+        Response response = response();
+
+        when(call.execute()).thenReturn(response);
+        when(httpClient.newCall(any())).thenReturn(call);
+
+        Map<String, Object> results = handler.discoverAndCall(workItem, "", "service", HttpMethods.POST);
+
+        assertThat(results).isNotNull().containsKey("test").containsValue("fake");
+    }
+
+    @Test
+    public void testGivenEndpointAsync() throws Exception {
+        AsyncTestDiscoveredServiceWorkItemHandler handler = new AsyncTestDiscoveredServiceWorkItemHandler("test", "http://testhost:9000");
+
+        KogitoWorkItem workItem = Mockito.mock(KogitoWorkItem.class);
+        when(workItem.getParameters()).thenReturn(Collections.singletonMap("service", "test"));
+
+        Call call = mock(Call.class);
+        Response response = response();
+        doAnswer(invocation -> {
+            invocation.<Callback> getArgument(0).onResponse(call, response);
+            return null;
+        }).when(call).enqueue(any());
+        when(httpClient.newCall(any())).thenReturn(call);
+
+        Map<String, Object> results = handler.executeWorkItemAsync(workItem, mock(KogitoWorkItemManager.class)).toCompletableFuture().get();
+
+        assertThat(results).isNotNull().containsKey("test").containsValue("fake");
+        verify(call, never()).execute();
+    }
+
+    private Response response() {
         ResponseBody body = new ResponseBody() {
             private String content = "{\"test\" : \"fake\"}";
 
@@ -82,14 +120,7 @@ public class DiscoveredServiceWorkItemHandlerTest {
                 return content.length();
             }
         };
-        Response response = new Response.Builder().body(body).protocol(Protocol.HTTP_1_1).message("test").request(new Request.Builder().url("http://localhost:9000").build()).code(200).build();
-
-        when(call.execute()).thenReturn(response);
-        when(httpClient.newCall(any())).thenReturn(call);
-
-        Map<String, Object> results = handler.discoverAndCall(workItem, "", "service", HttpMethods.POST);
-
-        assertThat(results).isNotNull().containsKey("test").containsValue("fake");
+        return new Response.Builder().body(body).protocol(Protocol.HTTP_1_1).message("test").request(new Request.Builder().url("http://localhost:9000").build()).code(200).build();
     }
 
     private class TestDiscoveredServiceWorkItemHandler extends DiscoveredServiceWorkItemHandler {
@@ -117,4 +148,21 @@ public class DiscoveredServiceWorkItemHandlerTest {
             return mock(ServiceDiscovery.class);
         }
     }
+
+    private class AsyncTestDiscoveredServiceWorkItemHandler extends TestDiscoveredServiceWorkItemHandler implements AsyncKogitoWorkItemHandler {
+
+        public AsyncTestDiscoveredServiceWorkItemHandler(String service, String endpoint) {
+            super(service, endpoint);
+        }
+
+        @Override
+        public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            AsyncKogitoWorkItemHandler.super.executeWorkItem(workItem, manager);
+        }
+
+        @Override
+        public CompletionStage<Map<String, Object>> executeWorkItemAsync(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+            return discoverAndCallAsync(workItem, "", "service", HttpMethods.POST);
+        }
+    }
 }
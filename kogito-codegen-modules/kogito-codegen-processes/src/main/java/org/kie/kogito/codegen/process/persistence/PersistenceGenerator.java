@@ -63,6 +63,7 @@ import com.github.javaparser.ast.expr.NullLiteralExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.SimpleName;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.SuperExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.CatchClause;
 import com.github.javaparser.ast.stmt.ExplicitConstructorInvocationStmt;
@@ -77,6 +78,8 @@ public class PersistenceGenerator extends AbstractGenerator {
     private static final String AUTO_DDL = "autoDDL";
     private static final String KOGITO = "kogito";
     private static final String CLASS_TEMPLATES_PERSISTENCE = "/class-templates/persistence/";
+    private static final String MESSAGE_MARSHALLER = "MessageMarshaller";
+    private static final String OBJECT_MARSHALLER_NAMESPACE = "org.kie.kogito/";
     public static final String FILESYSTEM_PERSISTENCE_TYPE = "filesystem";
     public static final String INFINISPAN_PERSISTENCE_TYPE = "infinispan";
     public static final String DEFAULT_PERSISTENCE_TYPE = INFINISPAN_PERSISTENCE_TYPE;
@@ -108,6 +111,18 @@ public class PersistenceGenerator extends AbstractGenerator {
     private static final String KOGITO_PERSISTENCE_QUERY_TIMEOUT = "kogito.persistence.query.timeout.millis";
     private static final String OPTIMISTIC_LOCK = "lock";
     private static final String OPTIMISTIC_LOCK_PROP = "kogito.persistence.optimistic.lock";
+    private static final String JDBC_GROUP_COMMIT = "groupCommit";
+    private static final String JDBC_GROUP_COMMIT_PROP = "kogito.persistence.jdbc.group.commit";
+    private static final String NEAR_CACHE = "nearCache";
+    private static final String NEAR_CACHE_PROP = "kogito.persistence.near.cache";
+    private static final String DELTA = "delta";
+    private static final String DELTA_PROP = "kogito.persistence.delta";
+    private static final String COMPRESSION = "compression";
+    private static final String COMPRESSION_PROP = "kogito.persistence.compression";
+    private static final String KAFKA_PIPELINED = "pipelined";
+    private static final String KAFKA_PIPELINED_PROP = "kogito.persistence.kafka.pipelined";
+    private static final String FILESYSTEM_SEGMENTED = "segmented";
+    private static final String FILESYSTEM_SEGMENTED_PROP = "kogito.persistence.filesystem.segmented";
 
     private final ProtoGenerator protoGenerator;
 
@@ -230,6 +245,8 @@ public class PersistenceGenerator extends AbstractGenerator {
                 clazzName.replace('.', '/') + JAVA,
                 parsedClazzFile.toString()));
 
+        addBooleanFlag(persistenceProviderClazz, COMPRESSION, COMPRESSION_PROP);
+        addBooleanFlag(persistenceProviderClazz, KAFKA_PIPELINED, KAFKA_PIPELINED_PROP);
         CompilationUnit compilationUnit = new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE);
         compilationUnit.getTypes().add(persistenceProviderClazz);
         generatePersistenceProviderClazz(persistenceProviderClazz, compilationUnit).ifPresent(generatedFiles::add);
@@ -337,7 +354,7 @@ public class PersistenceGenerator extends AbstractGenerator {
             body.addStatement(new MethodCallExpr(new NameExpr("context"), "registerProtoFiles", NodeList.nodeList(chainExpression)));
             for (String baseMarshallers : variableMarshallers) {
                 Expression newMarshallerExpr = new ObjectCreationExpr(null, new ClassOrInterfaceType(null, baseMarshallers), NodeList.nodeList());
-                body.addStatement(new MethodCallExpr(new NameExpr("context"), "registerMarshaller", NodeList.nodeList(newMarshallerExpr)));
+                body.addStatement(new MethodCallExpr(null, "register", NodeList.nodeList(newMarshallerExpr)));
             }
             CatchClause catchClause = new CatchClause(new Parameter().setType(IOException.class).setName("e"), new BlockStmt());
             TryStmt tryStmt = new TryStmt(body, NodeList.nodeList(catchClause), null);
@@ -347,14 +364,57 @@ public class PersistenceGenerator extends AbstractGenerator {
                     fqnProtoStreamMarshaller.replace('.', '/') + JAVA,
                     parsedClazzFile.toString()));
 
+            // every model class gets a dedicated strategy, taking precedence over the generic one
+            StringBuilder strategies = new StringBuilder();
+            TemplatedGenerator generatorModelStrategy = TemplatedGenerator.builder().withTemplateBasePath(CLASS_TEMPLATES_PERSISTENCE)
+                    .withFallbackContext(JavaKogitoBuildContext.CONTEXT_NAME)
+                    .withPackageName(KOGITO_PROCESS_INSTANCE_PACKAGE)
+                    .build(context(), "ModelObjectMarshallerStrategy");
+            for (CompilationUnit unit : marshallers) {
+                unit.findFirst(ClassOrInterfaceDeclaration.class, c -> c.getNameAsString().endsWith(MESSAGE_MARSHALLER)).ifPresent(marshaller -> {
+                    CompilationUnit strategyFile = generateModelObjectMarshallerStrategy(generatorModelStrategy, marshaller);
+                    String fqnStrategy = packageName + "." + strategyFile.getType(0).getNameAsString();
+                    strategies.append(fqnStrategy).append('\n');
+                    generatedFiles.add(new GeneratedFile(GeneratedFileType.SOURCE,
+                            fqnStrategy.replace('.', '/') + JAVA,
+                            strategyFile.toString()));
+                });
+            }
+
             generatedFiles.add(new GeneratedFile(GeneratedFileType.RESOURCE,
                     "META-INF/services/org.kie.kogito.serialization.process.ObjectMarshallerStrategy",
-                    fqnProtoStreamMarshaller + "\n"));
+                    strategies + fqnProtoStreamMarshaller + "\n"));
         }
 
         return generatedFiles;
     }
 
+    private CompilationUnit generateModelObjectMarshallerStrategy(TemplatedGenerator generatorModelStrategy, ClassOrInterfaceDeclaration marshaller) {
+
+        CompilationUnit parsedClazzFile = generatorModelStrategy.compilationUnitOrThrow();
+
+        ClassOrInterfaceDeclaration clazz = parsedClazzFile.findFirst(ClassOrInterfaceDeclaration.class)
+                .orElseThrow(() -> new InvalidTemplateException(generatorModelStrategy, "Failed to find template for ModelObjectMarshallerStrategy"));
+
+        String marshallerName = marshaller.getNameAsString();
+        clazz.setName(marshallerName.substring(0, marshallerName.length() - MESSAGE_MARSHALLER.length()) + "ObjectMarshallerStrategy");
+
+        // the generated marshaller declares the model class as Class<T> and returns the full protobuf type name
+        ClassOrInterfaceType javaClass = marshaller.getMethodsByName("getJavaClass").get(0).getType().asClassOrInterfaceType()
+                .getTypeArguments().map(args -> args.get(0).asClassOrInterfaceType())
+                .orElseThrow(() -> new InvalidTemplateException(generatorModelStrategy, "Failed to find the model class of " + marshallerName));
+        String typeName = marshaller.getMethodsByName("getTypeName").get(0).findFirst(StringLiteralExpr.class)
+                .map(StringLiteralExpr::getValue)
+                .orElseThrow(() -> new InvalidTemplateException(generatorModelStrategy, "Failed to find the type name of " + marshallerName));
+
+        clazz.findAll(ClassOrInterfaceType.class, t -> t.getNameAsString().equals("$Type$"))
+                .forEach(t -> t.setName(javaClass.getNameWithScope()));
+        clazz.findAll(StringLiteralExpr.class, l -> l.getValue().equals("$TypeUrl$"))
+                .forEach(l -> l.setString(OBJECT_MARSHALLER_NAMESPACE + typeName));
+
+        return parsedClazzFile;
+    }
+
     private CompilationUnit generateProtostreamBaseMarshaller(TemplatedGenerator generatorProtostreamSerialization, String protobufType, Class<?> javaClazz, String method) {
 
         CompilationUnit parsedClazzFile = generatorProtostreamSerialization.compilationUnitOrThrow();
@@ -415,6 +475,12 @@ public class PersistenceGenerator extends AbstractGenerator {
 
             persistenceProviderClazz.addMember(pathField);
             persistenceProviderClazz.addMember(pathMethod);
+            // stops the segment stores and syncs them when the application shuts down
+            persistenceProviderClazz.addMethod("close", Keyword.PUBLIC)
+                    .addAnnotation("javax.annotation.PreDestroy")
+                    .setBody(new BlockStmt().addStatement(new MethodCallExpr(new SuperExpr(), "close")));
+            addBooleanFlag(persistenceProviderClazz, DELTA, DELTA_PROP);
+            addBooleanFlag(persistenceProviderClazz, FILESYSTEM_SEGMENTED, FILESYSTEM_SEGMENTED_PROP);
             generatedClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                     new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         }
@@ -463,6 +529,7 @@ public class PersistenceGenerator extends AbstractGenerator {
             persistenceProviderClazz.addMember(dbNameMethod);
             generatedTMFile = mongodbBasedTransaction(persistenceProviderClazz);
             addOptimisticLockFlag(persistenceProviderClazz);
+            addBooleanFlag(persistenceProviderClazz, NEAR_CACHE, NEAR_CACHE_PROP);
             generatedClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                     new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         }
@@ -539,6 +606,7 @@ public class PersistenceGenerator extends AbstractGenerator {
             generatedPgClientFile.ifPresent(generatedFiles::add);
         }
         addOptimisticLockFlag(persistenceProviderClazz);
+        addBooleanFlag(persistenceProviderClazz, NEAR_CACHE, NEAR_CACHE_PROP);
         Optional<GeneratedFile> generatedPgClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                 new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         generatedPgClientFile.ifPresent(generatedFiles::add);
@@ -573,9 +641,17 @@ public class PersistenceGenerator extends AbstractGenerator {
             context().getDependencyInjectionAnnotator().withInjection(constructor);
             //empty constructor for DI
             persistenceProviderClazz.addConstructor(Keyword.PROTECTED);
+            // stops the group commit writer thread when the application shuts down
+            persistenceProviderClazz.addMethod("close", Keyword.PUBLIC)
+                    .addAnnotation("javax.annotation.PreDestroy")
+                    .setBody(new BlockStmt().addStatement(new MethodCallExpr(new SuperExpr(), "close")));
         }
 
         addOptimisticLockFlag(persistenceProviderClazz);
+        addBooleanFlag(persistenceProviderClazz, JDBC_GROUP_COMMIT, JDBC_GROUP_COMMIT_PROP);
+        addBooleanFlag(persistenceProviderClazz, NEAR_CACHE, NEAR_CACHE_PROP);
+        addBooleanFlag(persistenceProviderClazz, DELTA, DELTA_PROP);
+        addBooleanFlag(persistenceProviderClazz, COMPRESSION, COMPRESSION_PROP);
         Optional<GeneratedFile> generatedPgClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                 new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         generatedPgClientFile.ifPresent(generatedFiles::add);
@@ -584,21 +660,25 @@ public class PersistenceGenerator extends AbstractGenerator {
     }
 
     private void addOptimisticLockFlag(ClassOrInterfaceDeclaration persistenceProviderClazz) {
-        FieldDeclaration lockField = new FieldDeclaration().addVariable(new VariableDeclarator()
+        addBooleanFlag(persistenceProviderClazz, OPTIMISTIC_LOCK, OPTIMISTIC_LOCK_PROP);
+    }
+
+    private void addBooleanFlag(ClassOrInterfaceDeclaration persistenceProviderClazz, String name, String property) {
+        FieldDeclaration flagField = new FieldDeclaration().addVariable(new VariableDeclarator()
                 .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, Boolean.class.getCanonicalName()))))
-                .setName(OPTIMISTIC_LOCK));
-        context().getDependencyInjectionAnnotator().withConfigInjection(lockField, OPTIMISTIC_LOCK_PROP);
+                .setName(name));
+        context().getDependencyInjectionAnnotator().withConfigInjection(flagField, property);
 
-        BlockStmt lockMethodBody = new BlockStmt();
-        lockMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(OPTIMISTIC_LOCK), OR_ELSE).addArgument(new BooleanLiteralExpr(false))));
-        MethodDeclaration enabledMethod = new MethodDeclaration()
+        BlockStmt flagMethodBody = new BlockStmt();
+        flagMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(name), OR_ELSE).addArgument(new BooleanLiteralExpr(false))));
+        MethodDeclaration flagMethod = new MethodDeclaration()
                 .addModifier(Keyword.PUBLIC)
-                .setName(OPTIMISTIC_LOCK)
+                .setName(name)
                 .setType("boolean")
-                .setBody(lockMethodBody);
+                .setBody(flagMethodBody);
 
-        persistenceProviderClazz.addMember(lockField);
-        persistenceProviderClazz.addMember(enabledMethod);
+        persistenceProviderClazz.addMember(flagField);
+        persistenceProviderClazz.addMember(flagMethod);
     }
 
     private Optional<GeneratedFile> mongodbBasedTransaction(ClassOrInterfaceDeclaration persistenceProviderClazz) {
@@ -17,10 +17,10 @@ package com.myspace.demo;
 
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.kie.kogito.Application;
+import org.kie.kogito.event.KogitoEventExecutor;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.impl.ProcessServiceImpl;
@@ -37,7 +37,7 @@ public class $Type$MessageConsumer {
 
     EventConsumerFactory eventConsumerFactory;
     
-    ExecutorService executor = Executors.newSingleThreadExecutor();
+    ExecutorService executor = KogitoEventExecutor.getSingleEventExecutor();
     
     ProcessService service;
 
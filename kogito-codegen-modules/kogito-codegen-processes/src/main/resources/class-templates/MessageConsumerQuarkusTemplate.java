@@ -23,6 +23,7 @@ import org.kie.kogito.Application;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.event.EventConverter;
 import org.kie.kogito.event.EventReceiver;
+import org.kie.kogito.event.KeyAffinityExecutor;
 import org.kie.kogito.event.KogitoEventExecutor;
 import org.kie.kogito.event.impl.DefaultEventConsumerFactory;
 import org.kie.kogito.process.Process;
@@ -57,6 +58,12 @@ public class $Type$MessageConsumer extends AbstractMessageConsumer<$Type$, $Data
     @Inject
     ProcessService processService;
 
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = KogitoEventExecutor.LANES_PROPERTY, defaultValue = KogitoEventExecutor.DEFAULT_LANES)
+    int lanes;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = KogitoEventExecutor.LANE_CAPACITY_PROPERTY, defaultValue = KogitoEventExecutor.DEFAULT_LANE_CAPACITY)
+    int laneCapacity;
+
     @javax.annotation.PostConstruct
     void init() {
         init(application,
@@ -68,7 +75,7 @@ public class $Type$MessageConsumer extends AbstractMessageConsumer<$Type$, $Data
                 $DataEventType$.class,
                 configBean.useCloudEvents(),
                 processService,
-                executorService,
+                KeyAffinityExecutor.of(executorService, lanes, laneCapacity),
                 eventConverter);
 
     }
@@ -26,6 +26,7 @@ import org.kie.kogito.services.event.impl.AbstractMessageConsumer;
 import org.kie.kogito.services.event.impl.JsonStringToObject;
 import org.kie.kogito.event.EventConverter;
 import org.kie.kogito.event.EventReceiver;
+import org.kie.kogito.event.KeyAffinityExecutor;
 import org.kie.kogito.event.KogitoEventExecutor;
 
 
@@ -40,7 +41,9 @@ public class $Type$MessageConsumer extends AbstractMessageConsumer<$Type$, $Data
             EventReceiver eventReceiver,
             ProcessService processService,
             @org.springframework.beans.factory.annotation.Qualifier(KogitoEventExecutor.BEAN_NAME) ExecutorService executorService,
-            EventConverter<String> eventConverter) {
+            EventConverter<String> eventConverter,
+            @org.springframework.beans.factory.annotation.Value("${"+KogitoEventExecutor.LANES_PROPERTY+":#{"+KogitoEventExecutor.DEFAULT_LANES_INT+"}}") int lanes,
+            @org.springframework.beans.factory.annotation.Value("${"+KogitoEventExecutor.LANE_CAPACITY_PROPERTY+":#{"+KogitoEventExecutor.DEFAULT_LANE_CAPACITY_INT+"}}") int laneCapacity) {
         super(application,
               process,
               "$Trigger$",
@@ -50,7 +53,7 @@ public class $Type$MessageConsumer extends AbstractMessageConsumer<$Type$, $Data
               $DataEventType$.class,
               configBean.useCloudEvents(),
               processService,
-              executorService,
+              KeyAffinityExecutor.of(executorService, lanes, laneCapacity),
               eventConverter);
     }
 
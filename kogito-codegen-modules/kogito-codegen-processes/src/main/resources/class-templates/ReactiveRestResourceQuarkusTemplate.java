@@ -19,7 +19,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 import javax.ws.rs.Consumes;
@@ -40,6 +39,7 @@ import javax.ws.rs.core.MediaType;
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.workitem.Attachment;
@@ -62,37 +62,39 @@ public class $Type$ReactiveResource {
     public CompletionStage<$Type$Output> createResource_$name$(@Context HttpHeaders httpHeaders,
                                                                @QueryParam("businessKey") String businessKey,
                                                                $Type$Input resource) {
-        return CompletableFuture
-                .supplyAsync(
-                        () -> {
-                            ProcessInstance<$Type$> pi = processService.createProcessInstance(process,
-                                                                                              businessKey,
-                                                                                              Optional.ofNullable(resource).orElse(new $Type$Input()).toModel(),
-                                                                                              httpHeaders.getHeaderString("X-KOGITO-StartFromNode"));
-                            return Response.created(uriInfo.getAbsolutePathBuilder().path(pi.id()).build())
-                                    .entity(pi.checkError().variables().toModel())
-                                    .build();
-                        });
+        // executing the process needs a synchronous unit of work, so the service runs it on its own executor
+        return processService.createProcessInstanceAsync(process,
+                                                         businessKey,
+                                                         Optional.ofNullable(resource).orElse(new $Type$Input()).toModel(),
+                                                         httpHeaders.getHeaderString("X-KOGITO-StartFromNode"))
+                .thenApply(pi -> Response.created(uriInfo.getAbsolutePathBuilder().path(pi.id()).build())
+                        .entity(pi.checkError().variables().toModel())
+                        .build());
     }
 
     @GET()
     @Produces(MediaType.APPLICATION_JSON)
-    public CompletionStage<List<$Type$Output>> getResources_$name$() {
-        return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process));
+    public CompletionStage<List<$Type$Output>> getResources_$name$(@QueryParam("offset") final Integer offset,
+                                                                   @QueryParam("limit") final Integer limit) {
+        // paging is opt-in, without paging parameters all the instances are returned
+        if (offset == null && limit == null) {
+            return processService.getProcessInstanceOutputAsync(process);
+        }
+        return processService.getProcessInstanceOutputAsync(process, offset == null ? 0 : offset, limit == null ? ProcessInstanceQuery.DEFAULT_LIMIT : limit);
     }
 
     @GET()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> getResource_$name$(@PathParam("id") String id) {
-        return CompletableFuture.supplyAsync(() -> processService.findById(process, id).orElseThrow(NotFoundException::new));
+        return processService.findByIdAsync(process, id).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @DELETE()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> deleteResource_$name$(@PathParam("id") final String id) {
-        return CompletableFuture.supplyAsync(() -> processService.delete(process, id).orElseThrow(NotFoundException::new));
+        return processService.deleteAsync(process, id).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @PUT()
@@ -100,7 +102,7 @@ public class $Type$ReactiveResource {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> updateModel_$name$(@PathParam("id") String id, $Type$ resource) {
-        return CompletableFuture.supplyAsync(() -> processService.update(process, id, resource).orElseThrow(NotFoundException::new));
+        return processService.updateAsync(process, id, resource).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @GET()
@@ -109,9 +111,8 @@ public class $Type$ReactiveResource {
     public CompletionStage<List<TaskModel>> getTasks_$name$(@PathParam("id") String id,
                                                            @QueryParam("user") final String user,
                                                            @QueryParam("group") final List<String> groups) {
-        return CompletableFuture.supplyAsync(
-                () -> processService.getTasks(process, id, user, groups)
-                        .orElseThrow(NotFoundException::new)
+        return processService.getTasksAsync(process, id, user, groups)
+                .thenApply(tasks -> tasks.orElseThrow(NotFoundException::new)
                         .stream()
                         .map($TaskModelFactory$::from)
                         .collect(Collectors.toList()));
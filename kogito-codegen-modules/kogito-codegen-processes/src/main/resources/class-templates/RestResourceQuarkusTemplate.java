@@ -46,6 +46,7 @@ import javax.ws.rs.core.Response.Status;
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.workitem.Attachment;
@@ -81,8 +82,13 @@ public class $Type$Resource {
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@QueryParam("offset") final Integer offset,
+                                                  @QueryParam("limit") final Integer limit) {
+        // paging is opt-in, without paging parameters all the instances are returned
+        if (offset == null && limit == null) {
+            return processService.getProcessInstanceOutput(process);
+        }
+        return processService.getProcessInstanceOutput(process, offset == null ? 0 : offset, limit == null ? ProcessInstanceQuery.DEFAULT_LIMIT : limit);
     }
 
     @GET
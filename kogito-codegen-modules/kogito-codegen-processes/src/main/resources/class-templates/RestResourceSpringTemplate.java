@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.workitem.Attachment;
@@ -78,8 +79,13 @@ public class $Type$Resource {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@RequestParam(value = "offset", required = false) final Integer offset,
+                                                  @RequestParam(value = "limit", required = false) final Integer limit) {
+        // paging is opt-in, without paging parameters all the instances are returned
+        if (offset == null && limit == null) {
+            return processService.getProcessInstanceOutput(process);
+        }
+        return processService.getProcessInstanceOutput(process, offset == null ? 0 : offset, limit == null ? ProcessInstanceQuery.DEFAULT_LIMIT : limit);
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
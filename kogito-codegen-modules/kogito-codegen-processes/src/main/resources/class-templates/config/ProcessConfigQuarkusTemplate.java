@@ -15,16 +15,21 @@
  */
 package $Package$;
 
+import org.jbpm.workflow.instance.impl.ConcurrentBranches;
 import org.kie.api.event.process.ProcessEventListener;
 import org.kie.kogito.event.EventPublisher;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.process.ProcessEventListenerConfig;
 import org.kie.kogito.process.WorkItemHandlerConfig;
+import org.kie.kogito.process.impl.WorkItemResumptions;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.kie.services.jobs.impl.InMemoryJobService;
 
 import javax.enterprise.inject.Instance;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
 @javax.inject.Singleton
 public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessConfig {
 
@@ -37,7 +42,14 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
             Instance<ProcessEventListener> processEventListeners,
             Instance<EventPublisher> eventPublishers,
             ConfigBean configBean,
-            Instance<UnitOfWorkEventListener> unitOfWorkEventListeners) {
+            Instance<UnitOfWorkEventListener> unitOfWorkEventListeners,
+            @ConfigProperty(name = InMemoryJobService.VIRTUAL_THREADS_PROPERTY, defaultValue = InMemoryJobService.DEFAULT_VIRTUAL_THREADS) boolean virtualJobThreads,
+            @ConfigProperty(name = InMemoryJobService.MAX_CONCURRENCY_PROPERTY, defaultValue = InMemoryJobService.DEFAULT_MAX_CONCURRENCY) int maxJobConcurrency,
+            @ConfigProperty(name = WorkItemResumptions.THREADS_PROPERTY, defaultValue = WorkItemResumptions.DEFAULT_THREADS) int resumptionThreads,
+            @ConfigProperty(name = WorkItemResumptions.LANE_CAPACITY_PROPERTY, defaultValue = WorkItemResumptions.DEFAULT_LANE_CAPACITY) int resumptionLaneCapacity,
+            @ConfigProperty(name = ConcurrentBranches.CONCURRENT_PROPERTY, defaultValue = ConcurrentBranches.DEFAULT_CONCURRENT) boolean concurrentBranches,
+            @ConfigProperty(name = ConcurrentBranches.THREADS_PROPERTY, defaultValue = ConcurrentBranches.DEFAULT_THREADS) int branchThreads,
+            @ConfigProperty(name = ConcurrentBranches.QUEUE_SIZE_PROPERTY, defaultValue = ConcurrentBranches.DEFAULT_QUEUE_SIZE) int branchQueueSize) {
 
         super(workItemHandlerConfig,
               processEventListenerConfigs,
@@ -46,7 +58,10 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
               jobsService,
               eventPublishers,
               configBean.getServiceUrl(),
-              unitOfWorkEventListeners);
+              unitOfWorkEventListeners,
+              InMemoryJobService.jobExecutor(virtualJobThreads, maxJobConcurrency),
+              new WorkItemResumptions(resumptionThreads, resumptionLaneCapacity),
+              new ConcurrentBranches(concurrentBranches, branchThreads, branchQueueSize));
     }
 
 }
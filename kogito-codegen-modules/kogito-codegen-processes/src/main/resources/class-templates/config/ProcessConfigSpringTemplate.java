@@ -17,13 +17,16 @@ package $Package$;
 
 import java.util.List;
 
+import org.jbpm.workflow.instance.impl.ConcurrentBranches;
 import org.kie.api.event.process.ProcessEventListener;
 import org.kie.kogito.event.EventPublisher;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.process.ProcessEventListenerConfig;
 import org.kie.kogito.process.WorkItemHandlerConfig;
+import org.kie.kogito.process.impl.WorkItemResumptions;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.kie.services.jobs.impl.InMemoryJobService;
 
 @org.springframework.stereotype.Component
 public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessConfig {
@@ -37,7 +40,14 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
             List<ProcessEventListener> processEventListeners,
             List<EventPublisher> eventPublishers,
             ConfigBean configBean,
-            List<UnitOfWorkEventListener> unitOfWorkEventListeners) {
+            List<UnitOfWorkEventListener> unitOfWorkEventListeners,
+            @org.springframework.beans.factory.annotation.Value("${"+InMemoryJobService.VIRTUAL_THREADS_PROPERTY+":"+InMemoryJobService.DEFAULT_VIRTUAL_THREADS+"}") boolean virtualJobThreads,
+            @org.springframework.beans.factory.annotation.Value("${"+InMemoryJobService.MAX_CONCURRENCY_PROPERTY+":#{"+InMemoryJobService.DEFAULT_MAX_CONCURRENCY_INT+"}}") int maxJobConcurrency,
+            @org.springframework.beans.factory.annotation.Value("${"+WorkItemResumptions.THREADS_PROPERTY+":"+WorkItemResumptions.DEFAULT_THREADS+"}") int resumptionThreads,
+            @org.springframework.beans.factory.annotation.Value("${"+WorkItemResumptions.LANE_CAPACITY_PROPERTY+":"+WorkItemResumptions.DEFAULT_LANE_CAPACITY+"}") int resumptionLaneCapacity,
+            @org.springframework.beans.factory.annotation.Value("${"+ConcurrentBranches.CONCURRENT_PROPERTY+":"+ConcurrentBranches.DEFAULT_CONCURRENT+"}") boolean concurrentBranches,
+            @org.springframework.beans.factory.annotation.Value("${"+ConcurrentBranches.THREADS_PROPERTY+":"+ConcurrentBranches.DEFAULT_THREADS+"}") int branchThreads,
+            @org.springframework.beans.factory.annotation.Value("${"+ConcurrentBranches.QUEUE_SIZE_PROPERTY+":"+ConcurrentBranches.DEFAULT_QUEUE_SIZE+"}") int branchQueueSize) {
 
         super(workItemHandlerConfig,
               processEventListenerConfigs,
@@ -46,6 +56,9 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
               jobsService,
               eventPublishers,
               configBean.getServiceUrl(),
-              unitOfWorkEventListeners);
+              unitOfWorkEventListeners,
+              InMemoryJobService.jobExecutor(virtualJobThreads, maxJobConcurrency),
+              new WorkItemResumptions(resumptionThreads, resumptionLaneCapacity),
+              new ConcurrentBranches(concurrentBranches, branchThreads, branchQueueSize));
     }
 }
@@ -0,0 +1,58 @@
+package org.kie.kogito.codegen.process.persistence;
+
+import java.io.IOException;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import org.infinispan.protostream.ProtobufUtil;
+import org.infinispan.protostream.SerializationContext;
+import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+
+/**
+ * Marshals a single model class field by field with the protostream marshaller generated for it at build
+ * time, ahead of the generic {@link ProtostreamObjectMarshaller} and of the Java serialization fallback.
+ */
+public class ModelObjectMarshallerStrategy implements ObjectMarshallerStrategy {
+
+    private static final String TYPE_URL = "$TypeUrl$";
+
+    private final SerializationContext context = ProtostreamObjectMarshaller.sharedContext();
+
+    @Override
+    public Integer order() {
+        return 3;
+    }
+
+    @Override
+    public boolean acceptForMarshalling(Object value) {
+        return value.getClass() == $Type$.class;
+    }
+
+    @Override
+    public Object marshall(Object unmarshalled) {
+        try {
+            return Any.newBuilder()
+                    .setTypeUrl(TYPE_URL)
+                    .setValue(ByteString.copyFrom(ProtobufUtil.toByteArray(context, unmarshalled))).build();
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("cannot marshall protobuf stream", e);
+        }
+    }
+
+    @Override
+    public boolean acceptForUnmarshalling(Object value) {
+        return TYPE_URL.equals(((Any) value).getTypeUrl());
+    }
+
+    @Override
+    public Object unmarshall(Object marshalled) {
+        try {
+            byte[] bytes = ((Any) marshalled).getValue().toByteArray();
+            return ProtobufUtil.fromByteArray(context, bytes, 0, bytes.length, $Type$.class);
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("cannot unmarshall protobuf stream", e);
+        }
+    }
+
+}
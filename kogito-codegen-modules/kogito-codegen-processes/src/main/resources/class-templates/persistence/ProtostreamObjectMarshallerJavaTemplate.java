@@ -1,9 +1,12 @@
 package org.kie.kogito.codegen.process.persistence;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
+import org.infinispan.protostream.BaseMarshaller;
 import org.infinispan.protostream.ProtobufUtil;
 import org.infinispan.protostream.SerializationContext;
 import org.infinispan.protostream.config.Configuration;
@@ -11,17 +14,46 @@ import org.infinispan.protostream.impl.SerializationContextImpl;
 import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
 
+/**
+ * Marshals the model classes of the application with the protostream marshallers generated at build time,
+ * ahead of the Java serialization fallback.
+ * <p>
+ * Every model class also gets a dedicated strategy generated from its marshaller, which takes precedence over
+ * this one and shares its serialization context through {@link #sharedContext()}, so that nested model
+ * classes are resolved as well.
+ */
 public class ProtostreamObjectMarshaller implements ObjectMarshallerStrategy {
 
     private static final String NAMESPACE = "org.kie.kogito/";
-    private SerializationContext context;
+    private final SerializationContext context;
+    // dispatch tables of the model classes registered at build time
+    private final Map<Class<?>, String> typeUrls = new HashMap<>();
+    private final Map<String, Class<?>> javaClasses = new HashMap<>();
 
+    private static final class Shared {
+
+        private static final ProtostreamObjectMarshaller INSTANCE = new ProtostreamObjectMarshaller();
+    }
+
+    /**
+     * @return a serialization context with every marshaller generated for the application registered
+     */
+    static SerializationContext sharedContext() {
+        return Shared.INSTANCE.context;
+    }
 
     public ProtostreamObjectMarshaller() {
         context = new SerializationContextImpl(Configuration.builder().build());
 
     }
 
+    private void register(BaseMarshaller<?> marshaller) {
+        context.registerMarshaller(marshaller);
+        String typeUrl = NAMESPACE + marshaller.getTypeName();
+        typeUrls.put(marshaller.getJavaClass(), typeUrl);
+        javaClasses.put(typeUrl, marshaller.getJavaClass());
+    }
+
     @Override
     public Integer order() {
         return 2;
@@ -29,15 +61,14 @@ public class ProtostreamObjectMarshaller implements ObjectMarshallerStrategy {
 
     @Override
     public boolean acceptForMarshalling(Object value) {
-        return context.canMarshall(value.getClass());
+        return typeUrls.containsKey(value.getClass());
     }
 
     @Override
     public Object marshall(Object unmarshalled) {
         try {
-            String fullTypeName = context.getMarshaller(unmarshalled.getClass()).getTypeName();
             return Any.newBuilder()
-                    .setTypeUrl(NAMESPACE + fullTypeName)
+                    .setTypeUrl(typeUrls.get(unmarshalled.getClass()))
                     .setValue(ByteString.copyFrom(ProtobufUtil.toByteArray(context, unmarshalled))).build();
         } catch (IOException e) {
             throw new ProcessInstanceMarshallerException("cannot marshall protobuf stream", e);
@@ -52,19 +83,18 @@ public class ProtostreamObjectMarshaller implements ObjectMarshallerStrategy {
 
     @Override
     public Object unmarshall(Object marshalled) {
+        Any data = (Any) marshalled;
+        Class<?> javaClass = javaClasses.get(data.getTypeUrl());
+        if (javaClass == null) {
+            throw new ProcessInstanceMarshallerException("no marshaller registered for type " + data.getTypeUrl());
+        }
         try {
-            Any data = (Any) marshalled;
-            String fqn = context.getMarshaller(removeNamespace(data.getTypeUrl())).getJavaClass().getCanonicalName();
             byte[] bytes = data.getValue().toByteArray();
-            return ProtobufUtil.fromByteArray(context, bytes, 0, bytes.length, Class.forName(fqn));
-        } catch(IOException | ClassNotFoundException e) {
+            return ProtobufUtil.fromByteArray(context, bytes, 0, bytes.length, javaClass);
+        } catch (IOException e) {
             throw new ProcessInstanceMarshallerException("cannot unmarshall protobuf stream", e);
         }
-        
-    }
 
-    private String removeNamespace(String dataTypeURL) {
-        return dataTypeURL.substring(NAMESPACE.length());
     }
 
 }
@@ -38,10 +38,13 @@ public class KogitoEventExecutorProducer {
     @ConfigProperty(name = KogitoEventExecutor.QUEUE_SIZE_PROPERTY, defaultValue = KogitoEventExecutor.DEFAULT_QUEUE_SIZE)
     int queueSize;
 
+    @ConfigProperty(name = KogitoEventExecutor.VIRTUAL_THREADS_PROPERTY, defaultValue = KogitoEventExecutor.DEFAULT_VIRTUAL_THREADS)
+    boolean virtualThreads;
+
     @Produces
     @Named(KogitoEventExecutor.BEAN_NAME)
     public ExecutorService getExecutorService() {
-        return KogitoEventExecutor.getEventExecutor(numThreads, queueSize);
+        return KogitoEventExecutor.getEventExecutor(numThreads, queueSize, virtualThreads);
     }
 
     public void close(@Disposes ExecutorService executor) {
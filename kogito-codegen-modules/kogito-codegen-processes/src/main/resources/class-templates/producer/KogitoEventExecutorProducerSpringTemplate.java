@@ -31,9 +31,12 @@ public class KogitoEventExecutorProducer {
 
     @org.springframework.beans.factory.annotation.Value("${"+KogitoEventExecutor.QUEUE_SIZE_PROPERTY+":#{"+KogitoEventExecutor.DEFAULT_QUEUE_SIZE_INT+"}}")
     int queueSize;
+
+    @org.springframework.beans.factory.annotation.Value("${"+KogitoEventExecutor.VIRTUAL_THREADS_PROPERTY+":"+KogitoEventExecutor.DEFAULT_VIRTUAL_THREADS+"}")
+    boolean virtualThreads;
     
     @Bean(KogitoEventExecutor.BEAN_NAME)
     public ExecutorService getExecutorService() {
-        return KogitoEventExecutor.getEventExecutor(numThreads, queueSize);
+        return KogitoEventExecutor.getEventExecutor(numThreads, queueSize, virtualThreads);
     }
 }
@@ -87,5 +87,8 @@ class FileSystemPersistenceGeneratorTest {
         assertThat(fieldDeclaration).isNotEmpty();
         assertThat(fieldDeclaration.get().getVariables()).hasSize(1);
         assertThat(fieldDeclaration.get().getVariables().get(0).getName().asString()).isEqualTo(PATH_NAME);
+        assertThat(classDeclaration.getMethodsByName("segmented")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("close")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("close").get(0).getAnnotationByName("javax.annotation.PreDestroy")).isPresent();
     }
 }
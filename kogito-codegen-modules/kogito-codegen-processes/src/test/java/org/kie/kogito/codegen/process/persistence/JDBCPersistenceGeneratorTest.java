@@ -79,6 +79,15 @@ class JDBCPersistenceGeneratorTest {
         final ClassOrInterfaceDeclaration classDeclaration = compilationUnit
                 .findFirst(ClassOrInterfaceDeclaration.class)
                 .orElseThrow(() -> new NoSuchElementException("Compilation unit doesn't contain a class or interface declaration!"));
+
+        assertThat(classDeclaration.getMethodsByName("lock")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("groupCommit")).hasSize(1);
+        assertThat(classDeclaration.getFieldByName("groupCommit")).isPresent();
+        assertThat(classDeclaration.getMethodsByName("nearCache")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("delta")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("compression")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("close")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("close").get(0).getAnnotationByName("javax.annotation.PreDestroy")).isPresent();
     }
 
 }
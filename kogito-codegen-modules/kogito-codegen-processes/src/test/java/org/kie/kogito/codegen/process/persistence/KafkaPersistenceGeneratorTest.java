@@ -72,11 +72,30 @@ class KafkaPersistenceGeneratorTest {
         assertThat(marshallerFiles.size()).isEqualTo(1);
         assertThat(marshallerFiles.get(0).relativePath()).endsWith(expectedMarshaller + ".java");
 
+        Optional<GeneratedFile> objectMarshaller = generatedFiles.stream()
+                .filter(gf -> gf.relativePath().endsWith("ProtostreamObjectMarshaller.java"))
+                .findFirst();
+        assertThat(objectMarshaller).hasValueSatisfying(gf -> assertThat(new String(gf.contents())).contains("register(new ", expectedMarshaller + "());"));
+
+        Optional<GeneratedFile> modelStrategy = generatedFiles.stream()
+                .filter(gf -> gf.relativePath().equals("org/kie/kogito/persistence/PersonObjectMarshallerStrategy.java"))
+                .findFirst();
+        assertThat(modelStrategy).hasValueSatisfying(gf -> assertThat(new String(gf.contents())).contains("return 3;", "\"org.kie.kogito/"));
+
+        Optional<GeneratedFile> strategies = generatedFiles.stream()
+                .filter(gf -> gf.relativePath().equals("META-INF/services/org.kie.kogito.serialization.process.ObjectMarshallerStrategy"))
+                .findFirst();
+        assertThat(strategies).hasValueSatisfying(gf -> assertThat(new String(gf.contents()))
+                .isEqualTo("org.kie.kogito.persistence.PersonObjectMarshallerStrategy\norg.kie.kogito.persistence.ProtostreamObjectMarshaller\n"));
+
         final CompilationUnit compilationUnit = parse(new ByteArrayInputStream(persistenceFactoryImpl.get().contents()));
 
-        compilationUnit
+        ClassOrInterfaceDeclaration classDeclaration = compilationUnit
                 .findFirst(ClassOrInterfaceDeclaration.class)
                 .orElseThrow(() -> new NoSuchElementException("Compilation unit doesn't contain a class or interface declaration!"));
 
+        assertThat(classDeclaration.getMethodsByName("compression")).hasSize(1);
+        assertThat(classDeclaration.getMethodsByName("pipelined")).hasSize(1);
+
     }
 }
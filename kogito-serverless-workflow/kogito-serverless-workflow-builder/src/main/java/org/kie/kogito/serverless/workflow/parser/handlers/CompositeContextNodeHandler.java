@@ -69,6 +69,7 @@ public abstract class CompositeContextNodeHandler<S extends State, P extends Rul
     private static final String SERVICE_INTERFACE_KEY = "interface";
     private static final String SERVICE_OPERATION_KEY = "operation";
     private static final String SERVICE_IMPL_KEY = "implementation";
+    private static final String JSONPATH_ZERO_COPY_KEY = "zeroCopy";
 
     private final WorkflowAppContext workflowAppContext = WorkflowAppContext.ofAppResources();
 
@@ -185,10 +186,13 @@ public abstract class CompositeContextNodeHandler<S extends State, P extends Rul
                             });
 
                     if (mapArguments != null) {
+                        // zero-copy arguments are the workflow data itself and must not be modified by the handler
+                        boolean zeroCopy = Boolean.parseBoolean(ServerlessWorkflowUtils
+                                .resolveFunctionMetadata(actionFunction, JSONPATH_ZERO_COPY_KEY, workflowAppContext, "false"));
                         for (Entry<String, String> param : mapArguments.entrySet()) {
                             // assuming param value is json string path
                             workItemFactory.workParameter(param.getKey(), new JsonPathExprSupplier(param
-                                    .getValue()));
+                                    .getValue(), zeroCopy));
                         }
                     }
                 }
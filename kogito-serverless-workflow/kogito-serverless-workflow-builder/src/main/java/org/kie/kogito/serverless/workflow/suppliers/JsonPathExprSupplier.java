@@ -19,23 +19,35 @@ import java.util.function.Supplier;
 
 import org.kie.kogito.serverless.workflow.functions.JsonPathResolver;
 
+import com.github.javaparser.ast.expr.BooleanLiteralExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.jayway.jsonpath.JsonPath;
 
 public class JsonPathExprSupplier implements Supplier<Expression> {
 
     private String jsonPathExpr;
 
+    private boolean zeroCopy;
+
     public JsonPathExprSupplier(String jsonPathExpr) {
+        this(jsonPathExpr, false);
+    }
+
+    public JsonPathExprSupplier(String jsonPathExpr, boolean zeroCopy) {
+        // fail the build on invalid expressions, the generated resolver compiles them once when created
+        JsonPath.compile(jsonPathExpr);
         this.jsonPathExpr = jsonPathExpr;
+        this.zeroCopy = zeroCopy;
     }
 
     @Override
     public Expression get() {
         return new ObjectCreationExpr()
                 .setType(JsonPathResolver.class.getCanonicalName())
-                .addArgument(new StringLiteralExpr(jsonPathExpr));
+                .addArgument(new StringLiteralExpr(jsonPathExpr))
+                .addArgument(new BooleanLiteralExpr(zeroCopy));
     }
 
 }
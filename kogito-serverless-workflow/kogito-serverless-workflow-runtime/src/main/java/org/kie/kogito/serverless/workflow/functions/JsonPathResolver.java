@@ -24,6 +24,7 @@ import org.jbpm.workflow.instance.impl.WorkItemHandlerParamResolver;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
@@ -36,19 +37,33 @@ public class JsonPathResolver implements WorkItemHandlerParamResolver {
             .jsonProvider(new JacksonJsonNodeJsonProvider())
             .build();
 
-    private String jsonPathExpr;
+    private final JsonPath jsonPath;
+
+    private final boolean zeroCopy;
 
     public JsonPathResolver(String jsonPathExpr) {
-        this.jsonPathExpr = jsonPathExpr;
+        this(jsonPathExpr, false);
+    }
+
+    /**
+     * @param jsonPathExpr expression compiled once, when the resolver is created
+     * @param zeroCopy when true, arrays and objects are returned as the {@link JsonNode} subtree of the input
+     *        instead of being copied into Java collections. Those nodes are the live workflow data: work item
+     *        handlers must only read them, any change would silently modify the workflow variables.
+     */
+    public JsonPathResolver(String jsonPathExpr, boolean zeroCopy) {
+        this.jsonPath = JsonPath.compile(jsonPathExpr);
+        this.zeroCopy = zeroCopy;
     }
 
     @Override
     public Object apply(Object context) {
-        JsonNode node = JsonPath
-                .using(jsonPathConfig)
-                .parse(context)
-                .read(jsonPathExpr, JsonNode.class);
-        return readValue(node);
+        DocumentContext document = JsonPath.using(jsonPathConfig).parse(context);
+        if (zeroCopy) {
+            // untyped reads keep arrays and objects as the nodes of the input, only scalars are unwrapped
+            return document.read(jsonPath);
+        }
+        return readValue(document.read(jsonPath, JsonNode.class));
     }
 
     private Object readValue(JsonNode node) {
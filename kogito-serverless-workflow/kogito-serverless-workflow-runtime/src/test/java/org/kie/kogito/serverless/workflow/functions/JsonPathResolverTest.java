@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serverless.workflow.functions;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class JsonPathResolverTest {
+
+    @Test
+    public void testZeroCopy() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode workflowData = objectMapper.createObjectNode();
+        workflowData.putArray("names").add("pepe").add("juan");
+        assertEquals(Arrays.asList("pepe", "juan"), new JsonPathResolver("$.names").apply(workflowData));
+        assertSame(workflowData.get("names"), new JsonPathResolver("$.names", true).apply(workflowData));
+        assertEquals("pepe", new JsonPathResolver("$.names[0]", true).apply(workflowData));
+    }
+}
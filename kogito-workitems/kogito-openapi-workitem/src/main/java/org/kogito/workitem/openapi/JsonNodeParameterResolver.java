@@ -15,14 +15,18 @@
  */
 package org.kogito.workitem.openapi;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
@@ -45,10 +49,13 @@ public class JsonNodeParameterResolver implements OpenApiParameterResolver {
 
     private final JsonNodeParser parser;
 
+    private final Map<String, JsonPath> jsonPaths = new HashMap<>();
+
     public JsonNodeParameterResolver(final String parameterDefinition) {
         this.parser = new JsonNodeParser(new ObjectMapper());
 
         this.parameterDefinition = parser.parse(parameterDefinition);
+        this.compileJsonPaths(this.parameterDefinition);
     }
 
     /**
@@ -61,29 +68,43 @@ public class JsonNodeParameterResolver implements OpenApiParameterResolver {
      */
     @Override
     public JsonNode apply(Object inputModel) {
-        return this.processInputModel(this.parser.parse(inputModel), this.parameterDefinition);
+        // parsed once and shared by every expression of the definition
+        final DocumentContext document = JsonPath.using(jsonPathConfig).parse(this.parser.parse(inputModel));
+        return this.processInputModel(document, this.parameterDefinition);
     }
 
-    private JsonNode processInputModel(final JsonNode inputModel, final JsonNode parameterDefinition) {
+    private void compileJsonPaths(final JsonNode parameterDefinition) {
+        if (parameterDefinition.isValueNode()) {
+            final String jsonPathExpr = parameterDefinition.asText();
+            if (parser.isJsonPath(jsonPathExpr)) {
+                jsonPaths.computeIfAbsent(jsonPathExpr, JsonPath::compile);
+            }
+        } else {
+            parameterDefinition.elements().forEachRemaining(this::compileJsonPaths);
+        }
+    }
+
+    private JsonNode processInputModel(final DocumentContext document, final JsonNode parameterDefinition) {
         if (parameterDefinition.isArray()) {
-            final JsonNode processedDefinition = parameterDefinition.deepCopy();
-            for (int index = 0; index < processedDefinition.size(); index++) {
-                ((ArrayNode) processedDefinition).set(index, this.processInputModel(inputModel, processedDefinition.get(index)));
+            final ArrayNode processedDefinition = JsonNodeFactory.instance.arrayNode(parameterDefinition.size());
+            for (JsonNode element : parameterDefinition) {
+                processedDefinition.add(this.processInputModel(document, element));
             }
             return processedDefinition;
         } else if (parameterDefinition.isValueNode()) {
-            final String jsonPathExpr = parameterDefinition.asText();
-            if (parser.isJsonPath(jsonPathExpr)) {
-                return JsonPath.using(jsonPathConfig).parse(inputModel).read(jsonPathExpr, JsonNode.class);
+            final JsonPath jsonPath = jsonPaths.get(parameterDefinition.asText());
+            if (jsonPath != null) {
+                return document.read(jsonPath, JsonNode.class);
             }
-            return parameterDefinition.deepCopy();
+            // value nodes are immutable, so the definition can be shared by every result
+            return parameterDefinition;
         }
 
-        final JsonNode processedDefinition = parameterDefinition.deepCopy();
-        final Iterator<Entry<String, JsonNode>> fields = processedDefinition.fields();
+        final ObjectNode processedDefinition = JsonNodeFactory.instance.objectNode();
+        final Iterator<Entry<String, JsonNode>> fields = parameterDefinition.fields();
         while (fields.hasNext()) {
             final Entry<String, JsonNode> jsonField = fields.next();
-            ((ObjectNode) processedDefinition).replace(jsonField.getKey(), this.processInputModel(inputModel, jsonField.getValue()));
+            processedDefinition.set(jsonField.getKey(), this.processInputModel(document, jsonField.getValue()));
         }
         return processedDefinition;
     }
@@ -93,4 +93,16 @@ class JsonNodeParameterResolverTest {
         assertTrue(processedNode.isValueNode());
         assertThat(processedNode.asInt(), equalTo(32));
     }
+
+    @Test
+    void verifyResolverIsReusable() throws JsonProcessingException {
+        final String parameterDefinition = "{ \"unit\": \"celsius\", \"value\": \"$.fahrenheit\" }";
+        final JsonNodeParameterResolver resolver = new JsonNodeParameterResolver(parameterDefinition);
+        final JsonNode first = resolver.apply(mapper.readTree("{ \"fahrenheit\": \"32\" }"));
+        final JsonNode second = resolver.apply(mapper.readTree("{ \"fahrenheit\": \"50\" }"));
+        assertThat(first.get("unit").asText(), equalTo("celsius"));
+        assertThat(first.get("value").asInt(), equalTo(32));
+        assertThat(second.get("unit").asText(), equalTo("celsius"));
+        assertThat(second.get("value").asInt(), equalTo(50));
+    }
 }
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.function.UnaryOperator;
 
 import org.jbpm.process.core.Process;
@@ -29,9 +30,9 @@ import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.workflow.core.node.WorkItemNode;
 import org.jbpm.workflow.instance.impl.WorkItemHandlerParamResolver;
 import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
+import org.kie.kogito.internal.process.runtime.AsyncKogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
-import org.kie.kogito.internal.process.runtime.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
 import org.kogito.workitem.rest.bodybuilders.DefaultWorkItemHandlerBodyBuilder;
 import org.kogito.workitem.rest.bodybuilders.RestWorkItemHandlerBodyBuilder;
@@ -40,13 +41,14 @@ import org.kogito.workitem.rest.resulthandlers.RestWorkItemHandlerResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.mutiny.core.buffer.Buffer;
 import io.vertx.mutiny.ext.web.client.HttpRequest;
 import io.vertx.mutiny.ext.web.client.HttpResponse;
 import io.vertx.mutiny.ext.web.client.WebClient;
 
-public class RestWorkItemHandler implements KogitoWorkItemHandler {
+public class RestWorkItemHandler implements AsyncKogitoWorkItemHandler {
 
     public static final String REST_TASK_TYPE = "Rest";
     public static final String URL = "Url";
@@ -89,10 +91,24 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
 
     @Override
     public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        RestInvocation invocation = prepare(workItem);
+        HttpResponse<Buffer> response = invocation.hasBody() ? invocation.request.sendJsonAndAwait(invocation.body) : invocation.request.sendAndAwait();
+        manager.completeWorkItem(workItem.getStringId(), invocation.results(response));
+    }
+
+    @Override
+    public CompletionStage<Map<String, Object>> executeWorkItemAsync(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        RestInvocation invocation = prepare(workItem);
+        Uni<HttpResponse<Buffer>> response = invocation.hasBody() ? invocation.request.sendJson(invocation.body) : invocation.request.send();
+        return response.subscribeAsCompletionStage().thenApply(invocation::results);
+    }
+
+    private RestInvocation prepare(KogitoWorkItem workItem) {
         RestWorkItemTargetInfo targetInfo = getTargetInfo(workItem);
         logger.debug("Using target {}", targetInfo);
         //retrieving parameters
         Map<String, Object> parameters = new HashMap<>(workItem.getParameters());
+        parameters.remove(ASYNC_PARAMETER);
         String endPoint = getParam(parameters, URL, String.class, null);
         if (endPoint == null) {
             throw new IllegalArgumentException("Missing required parameter " + URL);
@@ -120,9 +136,33 @@ public class RestWorkItemHandler implements KogitoWorkItemHandler {
         if (user != null && !user.trim().isEmpty() && password != null && !password.trim().isEmpty()) {
             request.basicAuthentication(user, password);
         }
-        HttpResponse<Buffer> response = method == HttpMethod.POST || method == HttpMethod.PUT ? request.sendJsonAndAwait(bodyBuilder.apply(inputModel, parameters, resolver)) : request.sendAndAwait();
-        manager.completeWorkItem(workItem.getStringId(), targetInfo != null ? Collections.singletonMap(RESULT,
-                resultHandler.apply(targetInfo, response)) : Collections.emptyMap());
+        boolean hasBody = method == HttpMethod.POST || method == HttpMethod.PUT;
+        return new RestInvocation(request, hasBody, hasBody ? bodyBuilder.apply(inputModel, parameters, resolver) : null, targetInfo, resultHandler);
+    }
+
+    private static class RestInvocation {
+
+        private final HttpRequest<Buffer> request;
+        private final boolean hasBody;
+        private final Object body;
+        private final RestWorkItemTargetInfo targetInfo;
+        private final RestWorkItemHandlerResult resultHandler;
+
+        private RestInvocation(HttpRequest<Buffer> request, boolean hasBody, Object body, RestWorkItemTargetInfo targetInfo, RestWorkItemHandlerResult resultHandler) {
+            this.request = request;
+            this.hasBody = hasBody;
+            this.body = body;
+            this.targetInfo = targetInfo;
+            this.resultHandler = resultHandler;
+        }
+
+        private boolean hasBody() {
+            return hasBody;
+        }
+
+        private Map<String, Object> results(HttpResponse<Buffer> response) {
+            return targetInfo != null ? Collections.singletonMap(RESULT, resultHandler.apply(targetInfo, response)) : Collections.emptyMap();
+        }
     }
 
     private RestWorkItemTargetInfo getTargetInfo(KogitoWorkItem workItem) {
@@ -39,6 +39,7 @@ import org.mockito.Mockito;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.buffer.Buffer;
@@ -47,11 +48,14 @@ import io.vertx.mutiny.ext.web.client.HttpResponse;
 import io.vertx.mutiny.ext.web.client.WebClient;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -237,12 +241,50 @@ public class RestWorkItemHandlerTest {
         ArgumentCaptor<Map<String, Object>> argCaptor = ArgumentCaptor.forClass(Map.class);
         RestWorkItemHandler handler = new RestWorkItemHandler(
                 webClient);
+        assertFalse(handler.isAsync(workItem));
         handler.executeWorkItem(workItem, manager);
         verify(manager).completeWorkItem(anyString(), argCaptor.capture());
         Map<String, Object> results = argCaptor.getValue();
         assertEquals(0, results.size());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testEmptyGetAsync() throws Exception {
+        WebClient webClient = mock(WebClient.class);
+        HttpRequest<Buffer> request = mock(HttpRequest.class);
+
+        when(webClient.request(HttpMethod.GET, 8080, "localhost", "/results/25"))
+                .thenReturn(request);
+        HttpResponse<Buffer> response = mock(HttpResponse.class);
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("id", 25);
+        parameters.put(RestWorkItemHandler.URL, "http://localhost:8080/results/{id}");
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC_PARAMETER, "true");
+
+        KogitoWorkItem workItem = mock(KogitoWorkItem.class);
+        when(workItem.getStringId()).thenReturn("2");
+        when(workItem.getParameters()).thenReturn(parameters);
+        when(workItem.getParameter(RestWorkItemHandler.ASYNC_PARAMETER)).thenReturn("true");
+
+        WorkItemNodeInstance nodeInstance = mock(WorkItemNodeInstance.class);
+        WorkItemNode node = mock(WorkItemNode.class);
+        when(workItem.getNodeInstance()).thenReturn(nodeInstance);
+        when(nodeInstance.getNode()).thenReturn(node);
+
+        KogitoWorkItemManager manager = mock(KogitoWorkItemManager.class);
+        RestWorkItemHandler handler = new RestWorkItemHandler(webClient);
+        assertTrue(handler.isAsync(workItem));
+        Map<String, Object> results = handler.executeWorkItemAsync(workItem, manager).toCompletableFuture().get();
+
+        assertEquals(0, results.size());
+        verify(request, never()).sendAndAwait();
+        verify(manager, never()).completeWorkItem(anyString(), any());
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testParametersPostRestTaskHandler() {
@@ -25,8 +25,11 @@ import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.kie.kogito.persistence.kafka.KafkaProcessInstances;
 import org.kie.kogito.persistence.kafka.KafkaStreamsStateListener;
+import org.kie.kogito.persistence.kafka.KafkaWritePipeline;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
+import org.kie.kogito.serialization.process.impl.LZProcessInstanceCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,12 +44,18 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     KafkaStreamsStateListener stateListener;
     KafkaProducer<String, byte[]> producer;
+    KafkaWritePipeline pipeline;
 
     @Inject
     public void setStateListener(KafkaStreamsStateListener stateListener) {
         this.stateListener = stateListener;
     }
 
+    @Inject
+    public void setPipeline(KafkaWritePipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
     @Inject
     public void setKafkaConfig(@Identifier("default-kafka-broker") Map<String, Object> kafkaConfig) {
         producer = new KafkaProducer<>(kafkaConfig, new StringSerializer(), new ByteArraySerializer());
@@ -59,10 +68,30 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
         }
     }
 
+    /**
+     * When enabled, payloads bigger than {@link ProcessInstanceMarshallerService#DEFAULT_COMPRESSION_THRESHOLD}
+     * are compressed with {@link LZProcessInstanceCodec} before being sent to the topic.
+     */
+    public boolean compression() {
+        return false;
+    }
+
+    /**
+     * When enabled, records are sent without waiting for the broker and awaited together when the unit
+     * of work ends, see {@link KafkaWritePipeline}.
+     */
+    public boolean pipelined() {
+        return false;
+    }
+
     public KafkaProcessInstances createProcessInstances(Process<?> process) {
         try {
             LOGGER.info("Creating KafkaProcessInstances for process: {}", process.id());
-            KafkaProcessInstances pi = new KafkaProcessInstances(process, producer);
+            ProcessInstanceMarshallerService.Builder marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies();
+            if (compression()) {
+                marshaller.withCompression(new LZProcessInstanceCodec());
+            }
+            KafkaProcessInstances pi = new KafkaProcessInstances(process, producer, marshaller.build(), pipelined() ? pipeline : null);
             stateListener.addProcessInstances(pi);
             return pi;
         } catch (Exception ex) {
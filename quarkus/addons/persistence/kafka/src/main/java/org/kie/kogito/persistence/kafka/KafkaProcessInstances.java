@@ -16,23 +16,32 @@
 package org.kie.kogito.persistence.kafka;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstancePage;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.ProcessInstanceIdentityMap;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,12 +59,68 @@ public class KafkaProcessInstances implements MutableProcessInstances {
     private ReadOnlyKeyValueStore<String, byte[]> store;
     private ProcessInstanceMarshallerService marshaller;
     private CountDownLatch latch = new CountDownLatch(1);
+    private KafkaWritePipeline pipeline;
+    // records sent by this node that the store may not contain yet, keyed by instance id
+    private Map<String, PendingWrite> overlay = new ConcurrentHashMap<>();
+
+    // upper bound of the key ranges read after a continuation token, sorts after any key made of regular characters
+    private static final String RANGE_END = String.valueOf(Character.MAX_VALUE);
+
+    /**
+     * How long a record stays in the overlay once the broker acknowledged it, should the store never show it
+     * (for instance because another writer replaced it in the meantime with the same content).
+     */
+    public static final long OVERLAY_RETENTION_MILLIS = 10_000;
+
+    private static class PendingWrite {
+
+        private final byte[] data;
+        // store content replaced by the first of the pending writes of the instance
+        private final byte[] replaced;
+        // pending write of the same instance sent before this one, if any
+        private final PendingWrite earlier;
+        private final CompletableFuture<RecordMetadata> sent;
+
+        private PendingWrite(byte[] data, byte[] replaced, PendingWrite earlier, CompletableFuture<RecordMetadata> sent) {
+            this.data = data;
+            this.replaced = replaced;
+            this.earlier = earlier;
+            this.sent = sent;
+        }
+
+        /**
+         * @return true when the stored record is the one this write replaced, or one of the earlier writes of this node,
+         *         that is the store did not receive this write yet
+         */
+        private boolean isBehind(byte[] stored) {
+            for (PendingWrite write = earlier; write != null; write = write.earlier) {
+                if (Arrays.equals(stored, write.data)) {
+                    return true;
+                }
+            }
+            return Arrays.equals(stored, replaced);
+        }
+    }
 
     public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer) {
+        this(process, producer, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
+    }
+
+    public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer, ProcessInstanceMarshallerService marshaller) {
+        this(process, producer, marshaller, null);
+    }
+
+    /**
+     * @param pipeline when not <code>null</code>, records are sent without waiting for the broker, see
+     *        {@link KafkaWritePipeline}. Until the store contains them, the records sent are kept in memory and
+     *        used by {@link #findById(String, ProcessInstanceReadMode)} and {@link #exists(String)}.
+     */
+    public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer, ProcessInstanceMarshallerService marshaller, KafkaWritePipeline pipeline) {
         this.process = process;
         this.topic = topicName(process.id());
         this.producer = producer;
-        setMarshaller(ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
+        this.pipeline = pipeline;
+        setMarshaller(marshaller);
     }
 
     protected Process<?> getProcess() {
@@ -97,18 +162,18 @@ public class KafkaProcessInstances implements MutableProcessInstances {
 
     @Override
     public boolean exists(String id) {
-        return getStore().get(id) != null;
+        return read(id) != null;
     }
 
     @Override
     public void create(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            if (getStore().get(id) != null) {
+            if (read(id) != null) {
                 throw new ProcessInstanceDuplicatedException(id);
             }
             byte[] data = marshaller.marshallProcessInstance(instance);
             try {
-                producer.send(new ProducerRecord<>(topic, id, data)).get();
+                send(id, data);
                 disconnect(instance);
             } catch (Exception e) {
                 throw new RuntimeException("Unable to persist process instance id: " + id, e);
@@ -121,7 +186,7 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         if (isActive(instance)) {
             byte[] data = marshaller.marshallProcessInstance(instance);
             try {
-                producer.send(new ProducerRecord<>(topic, id, data)).get();
+                send(id, data);
                 disconnect(instance);
             } catch (Exception e) {
                 throw new RuntimeException("Unable to update process instance id: " + id, e);
@@ -132,15 +197,63 @@ public class KafkaProcessInstances implements MutableProcessInstances {
     @Override
     public void remove(String id) {
         try {
-            producer.send(new ProducerRecord<>(topic, id, null)).get();
+            send(id, null);
         } catch (Exception e) {
             throw new RuntimeException("Unable to remove process instance id: " + id, e);
         }
     }
 
+    private void send(String id, byte[] data) throws Exception {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, id, data);
+        if (pipeline == null) {
+            producer.send(record).get();
+            return;
+        }
+        PendingWrite earlier = overlay.get(id);
+        if (earlier != null && earlier.sent.isCompletedExceptionally()) {
+            earlier = null;
+        }
+        byte[] replaced = earlier != null ? earlier.replaced : getStore().get(id);
+        CompletableFuture<RecordMetadata> sent = pipeline.send(producer, record);
+        PendingWrite pending = new PendingWrite(data, replaced, earlier, sent);
+        overlay.put(id, pending);
+        // once acknowledged, the record reaches the store within the replication lag of the global table
+        sent.whenComplete((metadata, error) -> {
+            if (error != null) {
+                overlay.remove(id, pending);
+            } else {
+                CompletableFuture.delayedExecutor(OVERLAY_RETENTION_MILLIS, TimeUnit.MILLISECONDS).execute(() -> overlay.remove(id, pending));
+            }
+        });
+    }
+
+    /**
+     * Returns the last record of the instance, from the records sent by this node if the store does not contain it yet.
+     * <p>
+     * A pending record is used only while the store still holds the record it replaced (or an earlier one sent by
+     * this node); as soon as the store holds anything else, either this write or a later one from another writer,
+     * the pending record is evicted and the store is used.
+     */
+    private byte[] read(String id) {
+        byte[] stored = getStore().get(id);
+        PendingWrite pending = overlay.get(id);
+        if (pending == null) {
+            return stored;
+        }
+        if (pending.sent.isCompletedExceptionally() || !pending.isBehind(stored)) {
+            overlay.remove(id, pending);
+            return stored;
+        }
+        return pending.data;
+    }
+
     @Override
     public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
-        byte[] data = getStore().get(id);
+        return ProcessInstanceIdentityMap.findById(process, id, mode, key -> load(key, mode));
+    }
+
+    private Optional<ProcessInstance> load(String id, ProcessInstanceReadMode mode) {
+        byte[] data = read(id);
         if (data == null) {
             return Optional.empty();
         }
@@ -161,13 +274,41 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public ProcessInstancePage find(ProcessInstanceQuery query, ProcessInstanceReadMode mode) {
+        return ProcessInstancePage.scan(query, (after, offset, limit) -> findPageInternal(after, offset, limit, mode));
+    }
+
+    private List findPageInternal(String after, int offset, int limit, ProcessInstanceReadMode mode) {
+        final List<ProcessInstance> instances = new ArrayList<>(limit);
+        // the store iterates in key order, so the page can be read while iterating, starting at the continuation token
+        try (final KeyValueIterator<String, byte[]> iterator = after == null ? getStore().all() : getStore().range(after, RANGE_END)) {
+            int skipped = 0;
+            while (iterator.hasNext() && instances.size() < limit) {
+                KeyValue<String, byte[]> entry = iterator.next();
+                if (entry.value == null || (after != null && entry.key.compareTo(after) <= 0)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    instances.add(mode == MUTABLE ? marshaller.unmarshallProcessInstance(entry.value, process) : marshaller.unmarshallReadOnlyProcessInstance(entry.value, process));
+                }
+            }
+            return instances;
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to read process instances ", e);
+        }
+    }
+
     @Override
     public Integer size() {
         return (int) getStore().approximateNumEntries();
     }
 
     protected void disconnect(ProcessInstance instance) {
-        Supplier<byte[]> supplier = () -> getStore().get(instance.id());
+        Supplier<byte[]> supplier = () -> read(instance.id());
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 }
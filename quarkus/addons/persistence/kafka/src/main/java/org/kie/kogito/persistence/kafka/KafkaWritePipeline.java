@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.kafka;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.kie.kogito.uow.ExecutionContext;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends process instance records without waiting for the broker acknowledgement, so that the records written by
+ * a unit of work are batched by the producer, and awaits all of them once, when the unit of work ends.
+ * <p>
+ * Sends are tracked per {@link ExecutionContext}, as units of work are. Writes done outside of a unit of work are
+ * awaited as soon as {@link #DEFAULT_MAX_PENDING} of them are in flight in the same context.
+ */
+@ApplicationScoped
+public class KafkaWritePipeline implements UnitOfWorkEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaWritePipeline.class);
+
+    public static final int DEFAULT_MAX_PENDING = 1000;
+
+    private static final long TIMEOUT_MINUTES = 1;
+
+    private final int maxPending;
+
+    public KafkaWritePipeline() {
+        this(DEFAULT_MAX_PENDING);
+    }
+
+    public KafkaWritePipeline(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    public CompletableFuture<RecordMetadata> send(KafkaProducer<String, byte[]> producer, ProducerRecord<String, byte[]> record) {
+        CompletableFuture<RecordMetadata> result = new CompletableFuture<>();
+        producer.send(record, (metadata, exception) -> {
+            if (exception != null) {
+                result.completeExceptionally(exception);
+            } else {
+                result.complete(metadata);
+            }
+        });
+        List<CompletableFuture<RecordMetadata>> sends = ExecutionContext.current().computeIfAbsent(this, () -> Collections.synchronizedList(new ArrayList<>()));
+        sends.add(result);
+        if (sends.size() >= maxPending) {
+            flush();
+        }
+        return result;
+    }
+
+    /**
+     * Waits for all the records sent in the current execution context, failing if any of them could not be written.
+     */
+    public void flush() {
+        List<CompletableFuture<RecordMetadata>> sends = ExecutionContext.current().remove(this);
+        if (sends == null || sends.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<RecordMetadata>> awaited;
+        synchronized (sends) {
+            awaited = new ArrayList<>(sends);
+        }
+        RuntimeException failure = null;
+        for (CompletableFuture<RecordMetadata> send : awaited) {
+            try {
+                send.get(TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = addFailure(failure, e);
+            } catch (ExecutionException | TimeoutException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static RuntimeException addFailure(RuntimeException failure, Exception e) {
+        if (failure == null) {
+            return new RuntimeException("Unable to persist process instances", e);
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
+    /**
+     * A record that could not be written fails the end of the unit of work, after the other listeners
+     * have been notified.
+     */
+    @Override
+    public void onAfterEndEvent(UnitOfWorkEndEvent event) {
+        flush();
+    }
+
+    @Override
+    public void onAfterAbortEvent(UnitOfWorkAbortEvent event) {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Error persisting process instances of aborted unit of work", e);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.streams.KeyValue;
@@ -32,6 +33,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceQuery;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
@@ -254,4 +256,64 @@ public class KafkaProcessInstancesTest {
 
         assertThatExceptionOfType(ProcessInstanceDuplicatedException.class).isThrownBy(() -> instances.create(id, instance));
     }
+
+    @Test
+    public void testPipelinedUpdateIsReadBeforeStoreCatchesUp() {
+        KafkaWritePipeline pipeline = new KafkaWritePipeline();
+        instances = new KafkaProcessInstances(process, producer, marshaller, pipeline);
+        instances.setStore(store);
+        byte[] data = new byte[] { 1 };
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        doReturn(data).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        doReturn(mock(ProcessInstance.class)).when(marshaller).unmarshallProcessInstance(data, process);
+
+        instances.update(id, instance);
+
+        ArgumentCaptor<Callback> callbackCaptor = ArgumentCaptor.forClass(Callback.class);
+        verify(producer).send(any(), callbackCaptor.capture());
+        verify(producer, never()).send(any());
+        assertThat(instances.exists(id)).isTrue();
+        assertThat(instances.findById(id)).isPresent();
+
+        callbackCaptor.getValue().onCompletion(null, new RuntimeException("broker down"));
+        assertThatExceptionOfType(RuntimeException.class).isThrownBy(pipeline::flush);
+        // failed writes are not served anymore
+        assertThat(instances.exists(id)).isFalse();
+    }
+
+    @Test
+    public void testPipelinedUpdateIsEvictedOnceStoreMovesOn() {
+        KafkaWritePipeline pipeline = new KafkaWritePipeline();
+        instances = new KafkaProcessInstances(process, producer, marshaller, pipeline);
+        instances.setStore(store);
+        byte[] previous = new byte[] { 0 };
+        byte[] data = new byte[] { 1 };
+        byte[] other = new byte[] { 2 };
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        doReturn(data).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        ProcessInstance otherInstance = mock(ProcessInstance.class);
+        doReturn(otherInstance).when(marshaller).unmarshallProcessInstance(other, process);
+        // the store still holds the replaced record, then a record written by another node
+        when(store.get(id)).thenReturn(previous, previous, other);
+
+        instances.update(id, instance);
+
+        assertThat(instances.exists(id)).isTrue();
+        assertThat(instances.findById(id)).containsSame(otherInstance);
+        verify(marshaller, never()).unmarshallProcessInstance(data, process);
+    }
+
+    @Test
+    public void testFindAfterContinuationTokenReadsRange() {
+        KeyValueIterator iterator = mock(KeyValueIterator.class);
+        when(iterator.hasNext()).thenReturn(true, true, false);
+        when(iterator.next()).thenReturn(new KeyValue<>(id, new byte[] {}), new KeyValue<>(id + "1", new byte[] {}));
+        doReturn(iterator).when(store).range(any(), any());
+
+        assertThat(instances.find(ProcessInstanceQuery.first(10).after(id)).instances()).hasSize(1);
+        verify(store).range(any(), any());
+        verify(store, never()).all();
+    }
 }